@@ -119,6 +119,10 @@ public class Activator extends AbstractUIPlugin
         groupService = new com.ditrix.edt.mcp.server.groups.internal.GroupServiceImpl();
         ((com.ditrix.edt.mcp.server.groups.internal.GroupServiceImpl) groupService).activate();
         
+        // Build the BSL method index and module catalog in the background (kept up to date by resource deltas)
+        com.ditrix.edt.mcp.server.index.MethodSymbolIndex.getInstance().scheduleBuildAll();
+        com.ditrix.edt.mcp.server.index.ModuleCatalog.getInstance().scheduleBuildAll();
+        
         // Initialize UI components only in non-headless mode
         if (!isHeadless())
         {
@@ -247,6 +251,20 @@ public class Activator extends AbstractUIPlugin
         }
         groupService = null;
 
+        // Close open write batches
+        com.ditrix.edt.mcp.server.utils.WorkspaceWriteBatcher.dispose();
+
+        // Release the BSL method index
+        com.ditrix.edt.mcp.server.index.MethodSymbolIndex.dispose();
+        com.ditrix.edt.mcp.server.index.ModuleCatalog.dispose();
+        com.ditrix.edt.mcp.server.index.ModuleOutlineCache.dispose();
+        com.ditrix.edt.mcp.server.index.ProjectReadiness.dispose();
+        com.ditrix.edt.mcp.server.index.DirtyObjectTracker.dispose();
+        com.ditrix.edt.mcp.server.index.MarkerIndex.dispose();
+        com.ditrix.edt.mcp.server.index.ReferenceCache.dispose();
+        com.ditrix.edt.mcp.server.index.ParsedModuleCache.dispose();
+        com.ditrix.edt.mcp.server.index.LineIndexCache.dispose();
+
         // Stop update checker scheduler
         UpdateChecker.getInstance().stopScheduler();
 
@@ -507,6 +525,17 @@ public class Activator extends AbstractUIPlugin
             com.ditrix.edt.mcp.server.preferences.PreferenceConstants.PREF_MAX_LIMIT);
     }
 
+    /**
+     * Returns the file content cache budget from preferences.
+     * 
+     * @return budget in megabytes
+     */
+    public int getFileCacheSizeMb()
+    {
+        return getPreferenceStore().getInt(
+            com.ditrix.edt.mcp.server.preferences.PreferenceConstants.PREF_FILE_CACHE_SIZE_MB);
+    }
+
     /**
      * Logs an info message.
      * 
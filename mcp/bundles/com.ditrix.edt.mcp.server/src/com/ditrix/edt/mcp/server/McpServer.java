@@ -39,6 +39,8 @@ import com.ditrix.edt.mcp.server.tools.impl.GetMetadataObjectsTool;
 import com.ditrix.edt.mcp.server.tools.impl.GetPlatformDocumentationTool;
 import com.ditrix.edt.mcp.server.tools.impl.GetProblemSummaryTool;
 import com.ditrix.edt.mcp.server.tools.impl.GetProjectErrorsTool;
+import com.ditrix.edt.mcp.server.tools.impl.WaitForValidationTool;
+import com.ditrix.edt.mcp.server.tools.impl.WriteBatchTool;
 import com.ditrix.edt.mcp.server.tools.impl.GetTagsTool;
 import com.ditrix.edt.mcp.server.tools.impl.GetObjectsByTagsTool;
 import com.ditrix.edt.mcp.server.tools.impl.GetTasksTool;
@@ -48,6 +50,8 @@ import com.ditrix.edt.mcp.server.tools.impl.RevalidateObjectsTool;
 import com.ditrix.edt.mcp.server.tools.impl.UpdateDatabaseTool;
 import com.ditrix.edt.mcp.server.tools.impl.ReadModuleSourceTool;
 import com.ditrix.edt.mcp.server.tools.impl.WriteModuleSourceTool;
+import com.ditrix.edt.mcp.server.tools.impl.WriteModulesTool;
+import com.ditrix.edt.mcp.server.tools.impl.CheckModulesSyntaxTool;
 import com.ditrix.edt.mcp.server.tools.impl.GetModuleStructureTool;
 import com.ditrix.edt.mcp.server.tools.impl.ListModulesTool;
 import com.ditrix.edt.mcp.server.tools.impl.SearchInCodeTool;
@@ -182,6 +186,7 @@ public class McpServer
         registry.register(new RevalidateObjectsTool());
         registry.register(new GetProblemSummaryTool());
         registry.register(new GetProjectErrorsTool());
+        registry.register(new WaitForValidationTool());
         registry.register(new GetBookmarksTool());
         registry.register(new GetTasksTool());
         registry.register(new GetCheckDescriptionTool());
@@ -203,6 +208,9 @@ public class McpServer
         // BSL code analysis tools
         registry.register(new ReadModuleSourceTool());
         registry.register(new WriteModuleSourceTool());
+        registry.register(new WriteModulesTool());
+        registry.register(new WriteBatchTool());
+        registry.register(new CheckModulesSyntaxTool());
         registry.register(new GetModuleStructureTool());
         registry.register(new ListModulesTool());
         registry.register(new SearchInCodeTool());
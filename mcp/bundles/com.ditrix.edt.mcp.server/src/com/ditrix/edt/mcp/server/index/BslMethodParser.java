@@ -0,0 +1,412 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.ditrix.edt.mcp.server.tools.impl.BslFileScanner;
+import com.ditrix.edt.mcp.server.tools.impl.BslLexer;
+import com.ditrix.edt.mcp.server.tools.impl.BslModuleUtils;
+
+/**
+ * Text-based extractor of method declarations and method calls from a BSL module.
+ * Works on the lines delivered by {@link BslFileScanner#forEachLine}, so a module is
+ * indexed without building an EMF model. Comments and string literals are recognized
+ * with {@link BslLexer}, which keeps keywords inside them from being taken as declarations.
+ * Parameter lists spanning several lines and compilation directives placed above
+ * the declaration are supported. A call is an identifier directly followed by an
+ * opening parenthesis on the same line, excluding statement keywords and constructors
+ * after {@code New}.
+ */
+public final class BslMethodParser implements BslFileScanner.LineVisitor
+{
+    /** Export keyword after the parameter list (Russian and English) */
+    private static final Pattern EXPORT_PATTERN = Pattern.compile(
+        "(?<![\\p{L}\\p{N}_])(?:Export|Экспорт)(?![\\p{L}\\p{N}_])", //$NON-NLS-1$
+        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+    /** Lower-case keywords that may be followed by a parenthesis but are not calls */
+    private static final Set<String> NON_CALL_KEYWORDS = new HashSet<>(Arrays.asList(
+        "if", "elsif", "while", "for", "each", "in", "to", "do", "then", "return", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+        "and", "or", "not", "val", "new", "execute", "await", "raise", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+        "procedure", "function", "addhandler", "removehandler", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        "если", "иначеесли", "пока", "для", "каждого", "из", "по", "цикл", "тогда", "возврат", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+        "и", "или", "не", "знач", "новый", "выполнить", "ждать", "вызватьисключение", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+        "процедура", "функция", "добавитьобработчик", "удалитьобработчик")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+    private final String modulePath;
+    private final List<MethodSymbol> methods = new ArrayList<>();
+    private final List<CallSite> calls = new ArrayList<>();
+    private final List<String> pendingPragmas = new ArrayList<>();
+    private final BslLexer.Spans spans = new BslLexer.Spans();
+    private final StringBuilder params = new StringBuilder();
+    private final StringBuilder tail = new StringBuilder();
+    private Matcher startMatcher;
+    private Matcher endMatcher;
+    private CharSequence target;
+    private int lexState = BslLexer.STATE_DEFAULT;
+
+    // Current declaration
+    private String name;
+    private boolean function;
+    private boolean export;
+    private int startLine;
+    private List<String> pragmas;
+    private int parenDepth;
+    private boolean expectExport;
+    private int lastLine;
+
+    /**
+     * Creates a parser for one module.
+     *
+     * @param modulePath module path stored in the produced symbols
+     */
+    public BslMethodParser(String modulePath)
+    {
+        this.modulePath = modulePath;
+    }
+
+    @Override
+    public void visit(CharSequence text, int start, int end, int lineNumber)
+    {
+        lastLine = lineNumber;
+        int stateBefore = lexState;
+        spans.clear();
+        lexState = BslLexer.scanLine(text, start, end, lexState, spans);
+        if (text != target)
+        {
+            startMatcher = BslModuleUtils.METHOD_START_PATTERN.matcher(text);
+            endMatcher = BslModuleUtils.METHOD_END_PATTERN.matcher(text);
+            target = text;
+        }
+
+        if (name == null)
+        {
+            if (stateBefore == BslLexer.STATE_DEFAULT && startMatcher.region(start, end).find())
+            {
+                name = startMatcher.group(1);
+                function = BslModuleUtils.FUNC_KEYWORD_PATTERN.matcher(
+                    text.subSequence(start, end)).find();
+                export = false;
+                startLine = lineNumber;
+                pragmas = new ArrayList<>(pendingPragmas);
+                pendingPragmas.clear();
+                params.setLength(0);
+                parenDepth = 1;
+                scanHeader(text, startMatcher.start(2));
+            }
+            else
+            {
+                collectPragma(text, start);
+                collectCalls(text, lineNumber);
+            }
+            return;
+        }
+
+        if (parenDepth > 0)
+        {
+            params.append(' ');
+            scanHeader(text, start);
+            return;
+        }
+
+        if (expectExport)
+        {
+            // Export may stand alone on the line after the parameter list
+            tail.setLength(0);
+            appendCode(text, start, tail);
+            if (!isBlank(tail, 0, tail.length()))
+            {
+                expectExport = false;
+                Matcher m = EXPORT_PATTERN.matcher(tail);
+                if (m.find() && isBlank(tail, 0, m.start()))
+                {
+                    export = true;
+                    return;
+                }
+            }
+        }
+
+        collectCalls(text, lineNumber);
+        if (stateBefore == BslLexer.STATE_DEFAULT && endMatcher.region(start, end).find())
+        {
+            finishMethod(lineNumber);
+        }
+    }
+
+    /**
+     * Returns the declarations found so far. A method without an end keyword
+     * is closed at the last visited line.
+     *
+     * @return method symbols in source order
+     */
+    public List<MethodSymbol> finish()
+    {
+        if (name != null)
+        {
+            finishMethod(lastLine);
+        }
+        return methods;
+    }
+
+    /**
+     * Returns the calls found so far, in source order.
+     *
+     * @return call sites
+     */
+    public List<CallSite> getCallSites()
+    {
+        return calls;
+    }
+
+    /**
+     * Consumes the parameter list from the given offset and, once it is closed,
+     * looks for the Export keyword in the rest of the line.
+     */
+    private void scanHeader(CharSequence text, int from)
+    {
+        tail.setLength(0);
+        for (int i = 0; i < spans.size(); i++)
+        {
+            int spanStart = Math.max(spans.start(i), from);
+            int spanEnd = spans.end(i);
+            if (spanStart >= spanEnd || spans.kind(i) == BslLexer.SpanKind.COMMENT)
+            {
+                continue;
+            }
+            if (parenDepth == 0)
+            {
+                if (spans.kind(i) == BslLexer.SpanKind.CODE)
+                {
+                    tail.append(text, spanStart, spanEnd).append(' ');
+                }
+                continue;
+            }
+            if (spans.kind(i) != BslLexer.SpanKind.CODE)
+            {
+                params.append(text, spanStart, spanEnd);
+                continue;
+            }
+            for (int j = spanStart; j < spanEnd; j++)
+            {
+                char c = text.charAt(j);
+                if (c == '(')
+                {
+                    parenDepth++;
+                }
+                else if (c == ')' && --parenDepth == 0)
+                {
+                    tail.append(text, j + 1, spanEnd).append(' ');
+                    break;
+                }
+                params.append(c);
+            }
+        }
+        if (parenDepth == 0)
+        {
+            export = EXPORT_PATTERN.matcher(tail).find();
+            expectExport = !export && isBlank(tail, 0, tail.length());
+        }
+    }
+
+    private void appendCode(CharSequence text, int from, StringBuilder target)
+    {
+        for (int i = 0; i < spans.size(); i++)
+        {
+            if (spans.kind(i) == BslLexer.SpanKind.CODE && spans.end(i) > from)
+            {
+                target.append(text, Math.max(spans.start(i), from), spans.end(i)).append(' ');
+            }
+        }
+    }
+
+    /**
+     * Remembers a compilation directive line (e.g. "&AtServer") for the next declaration.
+     * Any other code line between the directive and the declaration discards it.
+     */
+    private void collectPragma(CharSequence text, int lineStart)
+    {
+        for (int i = 0; i < spans.size(); i++)
+        {
+            BslLexer.SpanKind kind = spans.kind(i);
+            if (kind == BslLexer.SpanKind.COMMENT)
+            {
+                continue;
+            }
+            if (kind == BslLexer.SpanKind.CODE && isBlank(text, spans.start(i), spans.end(i)))
+            {
+                continue;
+            }
+            if (kind == BslLexer.SpanKind.PREPROCESSOR && text.charAt(spans.start(i)) == '&')
+            {
+                pendingPragmas.add(text.subSequence(spans.start(i), spans.end(i)).toString().trim());
+            }
+            else
+            {
+                pendingPragmas.clear();
+            }
+            return;
+        }
+    }
+
+    /**
+     * Records the calls in the code spans of the current line.
+     */
+    private void collectCalls(CharSequence text, int lineNumber)
+    {
+        for (int i = 0; i < spans.size(); i++)
+        {
+            if (spans.kind(i) != BslLexer.SpanKind.CODE)
+            {
+                continue;
+            }
+            int lineStart = spans.start(0);
+            int spanEnd = spans.end(i);
+            int j = spans.start(i);
+            while (j < spanEnd)
+            {
+                char c = text.charAt(j);
+                if (!isIdentifierStart(c) || j > spans.start(i) && isIdentifierPart(text.charAt(j - 1)))
+                {
+                    j++;
+                    continue;
+                }
+                int identStart = j;
+                while (j < spanEnd && isIdentifierPart(text.charAt(j)))
+                {
+                    j++;
+                }
+                int k = j;
+                while (k < spanEnd && Character.isWhitespace(text.charAt(k)))
+                {
+                    k++;
+                }
+                if (k < spanEnd && text.charAt(k) == '(')
+                {
+                    addCall(text, lineStart, identStart, j, lineNumber);
+                }
+            }
+        }
+    }
+
+    private void addCall(CharSequence text, int lineStart, int identStart, int identEnd, int lineNumber)
+    {
+        String callee = text.subSequence(identStart, identEnd).toString();
+        int p = skipWhitespaceBack(text, lineStart, identStart);
+        if (p > lineStart && text.charAt(p - 1) == '.')
+        {
+            calls.add(new CallSite(modulePath, name, readQualifier(text, lineStart, p - 1), callee, lineNumber));
+            return;
+        }
+        if (NON_CALL_KEYWORDS.contains(callee.toLowerCase(Locale.ROOT)))
+        {
+            return;
+        }
+        // Constructors: New Structure(...)
+        int wordEnd = p;
+        int wordStart = wordEnd;
+        while (wordStart > lineStart && isIdentifierPart(text.charAt(wordStart - 1)))
+        {
+            wordStart--;
+        }
+        if (wordStart < wordEnd)
+        {
+            String previous = text.subSequence(wordStart, wordEnd).toString().toLowerCase(Locale.ROOT);
+            if ("new".equals(previous) || "новый".equals(previous)) //$NON-NLS-1$ //$NON-NLS-2$
+            {
+                return;
+            }
+        }
+        calls.add(new CallSite(modulePath, name, null, callee, lineNumber));
+    }
+
+    /**
+     * Reads the dotted identifier chain that ends at the given dot, e.g. "Documents.Order".
+     *
+     * @return the chain, or an empty string if the qualifier is any other expression
+     */
+    private static String readQualifier(CharSequence text, int lineStart, int dot)
+    {
+        StringBuilder qualifier = new StringBuilder();
+        int p = dot;
+        while (true)
+        {
+            int end = skipWhitespaceBack(text, lineStart, p);
+            int start = end;
+            while (start > lineStart && isIdentifierPart(text.charAt(start - 1)))
+            {
+                start--;
+            }
+            if (start == end || !isIdentifierStart(text.charAt(start)))
+            {
+                return ""; //$NON-NLS-1$
+            }
+            qualifier.insert(0, text.subSequence(start, end));
+            int before = skipWhitespaceBack(text, lineStart, start);
+            if (before > lineStart && text.charAt(before - 1) == '.')
+            {
+                qualifier.insert(0, '.');
+                p = before - 1;
+                continue;
+            }
+            if (before > lineStart && (text.charAt(before - 1) == ')' || text.charAt(before - 1) == ']'))
+            {
+                return ""; //$NON-NLS-1$
+            }
+            return qualifier.toString();
+        }
+    }
+
+    private static int skipWhitespaceBack(CharSequence text, int lineStart, int from)
+    {
+        int p = from;
+        while (p > lineStart && Character.isWhitespace(text.charAt(p - 1)))
+        {
+            p--;
+        }
+        return p;
+    }
+
+    private static boolean isIdentifierStart(char c)
+    {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isIdentifierPart(char c)
+    {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private void finishMethod(int endLine)
+    {
+        String paramsText = params.toString().trim().replaceAll("\\s+", " "); //$NON-NLS-1$ //$NON-NLS-2$
+        methods.add(new MethodSymbol(modulePath, name, function, export, startLine, endLine, paramsText, pragmas));
+        name = null;
+        pragmas = null;
+        parenDepth = 0;
+        expectExport = false;
+    }
+
+    private static boolean isBlank(CharSequence text, int start, int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            if (!Character.isWhitespace(text.charAt(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,249 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Table of line start and end byte offsets of a file, for reading line ranges
+ * without decoding the whole file.
+ *
+ * <p>Only charsets where line terminators are single bytes that never occur
+ * inside multi-byte sequences are supported (UTF-8 and single-byte charsets);
+ * {@link #build(ByteBuffer, Charset)} returns {@code null} for others. Lines are
+ * numbered from 1 like {@link LineIndex}, and a UTF-8 BOM is not part of line 1.
+ *
+ * <p>Thread Safety: instances are immutable and can be shared between threads.
+ */
+public final class ByteLineTable
+{
+    private final Charset charset;
+    private final int[] lineStarts;
+    private final int[] lineEnds;
+    private final int lineCount;
+    private final int length;
+    /** Last modification time of the file the table was read from, or -1 if not known */
+    private final long lastModified;
+
+    private ByteLineTable(Charset charset, int[] lineStarts, int[] lineEnds, int lineCount, int length,
+        long lastModified)
+    {
+        this.charset = charset;
+        this.lineStarts = lineStarts;
+        this.lineEnds = lineEnds;
+        this.lineCount = lineCount;
+        this.length = length;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Builds the table from file content.
+     *
+     * @param bytes file content from its current position to its limit; the position is not changed
+     * @param fallbackCharset charset used when the content has no UTF-8 BOM
+     * @return the table, or null if the charset is not supported
+     */
+    public static ByteLineTable build(ByteBuffer bytes, Charset fallbackCharset)
+    {
+        return build(bytes, fallbackCharset, -1);
+    }
+
+    private static ByteLineTable build(ByteBuffer bytes, Charset fallbackCharset, long lastModified)
+    {
+        int start = bytes.position();
+        int end = bytes.limit();
+        Charset charset = fallbackCharset;
+        if (end - start >= 3
+            && (bytes.get(start) & 0xFF) == 0xEF
+            && (bytes.get(start + 1) & 0xFF) == 0xBB
+            && (bytes.get(start + 2) & 0xFF) == 0xBF)
+        {
+            charset = StandardCharsets.UTF_8;
+            start += 3;
+        }
+        if (!isSupported(charset))
+        {
+            return null;
+        }
+
+        int[] starts = new int[256];
+        int[] ends = new int[256];
+        int size = 0;
+        starts[0] = start;
+        for (int i = start; i < end; i++)
+        {
+            byte b = bytes.get(i);
+            if (b == '\n' || b == '\r')
+            {
+                if (size + 1 == starts.length)
+                {
+                    starts = Arrays.copyOf(starts, starts.length * 2);
+                    ends = Arrays.copyOf(ends, ends.length * 2);
+                }
+                ends[size] = i;
+                if (b == '\r' && i + 1 < end && bytes.get(i + 1) == '\n')
+                {
+                    i++;
+                }
+                starts[++size] = i + 1;
+            }
+        }
+        // The last line has no terminator unless the file ends with one
+        int lineCount = size;
+        if (starts[size] < end)
+        {
+            ends[size] = end;
+            lineCount++;
+        }
+        return new ByteLineTable(charset, Arrays.copyOf(starts, lineCount), Arrays.copyOf(ends, lineCount),
+            lineCount, end, lastModified);
+    }
+
+    /**
+     * Reads the whole file and builds its table.
+     *
+     * @param file file path
+     * @param fallbackCharset charset used when the file has no UTF-8 BOM
+     * @return the table, or null if the charset is not supported
+     * @throws IOException if reading fails
+     */
+    public static ByteLineTable read(Path file, Charset fallbackCharset) throws IOException
+    {
+        // Taken before reading, so a write during the read makes the table outdated rather than wrong
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("File too large: " + file); //$NON-NLS-1$
+            }
+            return build(readFully(channel, 0, (int) size), fallbackCharset, lastModified);
+        }
+    }
+
+    /**
+     * Reads and decodes a line range. Only the bytes of the range are read.
+     *
+     * @param file file path; must have the content the table was built from
+     * @param fromLine first line, 1-based
+     * @param toLine last line, inclusive
+     * @return range text with original line terminators, except after the last line
+     * @throws IOException if reading fails, or if the file size or, for a table from
+     *         {@link #read(Path, Charset)}, its modification time differs from the table
+     */
+    public String readLines(Path file, int fromLine, int toLine) throws IOException
+    {
+        if (toLine < fromLine)
+        {
+            return ""; //$NON-NLS-1$
+        }
+        int start = getLineStart(fromLine);
+        int end = getLineEnd(toLine);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            if (channel.size() != length)
+            {
+                throw new IOException("File changed while reading: " + file); //$NON-NLS-1$
+            }
+            ByteBuffer bytes = readFully(channel, start, end - start);
+            // Checked after reading: a same-size rewrite before or during the read changes the time
+            if (lastModified >= 0 && Files.getLastModifiedTime(file).toMillis() != lastModified)
+            {
+                throw new IOException("File changed while reading: " + file); //$NON-NLS-1$
+            }
+            return charset.decode(bytes).toString();
+        }
+    }
+
+    public Charset getCharset()
+    {
+        return charset;
+    }
+
+    public int getLineCount()
+    {
+        return lineCount;
+    }
+
+    /**
+     * Returns the byte offset where a line starts.
+     *
+     * @param line 1-based line number
+     * @return start offset
+     */
+    public int getLineStart(int line)
+    {
+        checkLine(line);
+        return lineStarts[line - 1];
+    }
+
+    /**
+     * Returns the byte offset where a line ends, before its terminator.
+     *
+     * @param line 1-based line number
+     * @return end offset (exclusive)
+     */
+    public int getLineEnd(int line)
+    {
+        checkLine(line);
+        return lineEnds[line - 1];
+    }
+
+    /**
+     * Estimated memory footprint in bytes, for cache weighing.
+     *
+     * @return size estimate
+     */
+    public long estimateSize()
+    {
+        return 48L + 8L * lineStarts.length;
+    }
+
+    private void checkLine(int line)
+    {
+        if (line < 1 || line > lineCount)
+        {
+            throw new IndexOutOfBoundsException("Line " + line + " of " + lineCount); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private static boolean isSupported(Charset charset)
+    {
+        return StandardCharsets.UTF_8.equals(charset)
+            || charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f;
+    }
+
+    /**
+     * Reads a byte range with positional reads into a heap buffer. Files are never
+     * memory-mapped: on Windows a live mapping blocks writing or deleting the file.
+     */
+    private static ByteBuffer readFully(FileChannel channel, long position, int size) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        long pos = position;
+        while (buffer.hasRemaining())
+        {
+            int read = channel.read(buffer, pos);
+            if (read < 0)
+            {
+                break;
+            }
+            pos += read;
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Transitive call hierarchy queries over the call sites of {@link MethodSymbolIndex}.
+ *
+ * <p>Both directions are walked breadth-first up to a depth limit. Every method is
+ * expanded at most once: an edge leading back to a method on the current path is
+ * reported as a cycle, an edge to a method already expanded elsewhere is reported
+ * as repeated, and neither is followed further.
+ */
+public final class CallGraph
+{
+    /**
+     * Call sites and their resolution, provided by the index of one project.
+     */
+    public interface Source
+    {
+        /**
+         * @param method a declared method
+         * @return calls made inside the method, in source order
+         */
+        List<CallSite> getCallsFrom(MethodSymbol method);
+
+        /**
+         * @param methodName called method name
+         * @return all calls of a method with this name (case-insensitive), whatever their target
+         */
+        List<CallSite> getCallsTo(String methodName);
+
+        /**
+         * @param call a call site
+         * @return declared methods the call may invoke (possibly empty)
+         */
+        List<MethodSymbol> resolve(CallSite call);
+
+        /**
+         * @param call a call site
+         * @return the method containing the call, or null for module body code
+         */
+        MethodSymbol getCaller(CallSite call);
+    }
+
+    /**
+     * One call relation found by a query.
+     */
+    public static final class Edge
+    {
+        private final int depth;
+        private final MethodSymbol caller;
+        private final CallSite call;
+        private final MethodSymbol callee;
+        private final boolean cycle;
+        private final boolean repeated;
+
+        Edge(int depth, MethodSymbol caller, CallSite call, MethodSymbol callee, boolean cycle, boolean repeated)
+        {
+            this.depth = depth;
+            this.caller = caller;
+            this.call = call;
+            this.callee = callee;
+            this.cycle = cycle;
+            this.repeated = repeated;
+        }
+
+        /** @return distance from the queried method, starting at 1 */
+        public int getDepth()
+        {
+            return depth;
+        }
+
+        /** @return calling method, or null for module body code */
+        public MethodSymbol getCaller()
+        {
+            return caller;
+        }
+
+        public CallSite getCall()
+        {
+            return call;
+        }
+
+        /** @return called method, or null if the call does not resolve to a declared method */
+        public MethodSymbol getCallee()
+        {
+            return callee;
+        }
+
+        /** @return true if the edge leads back to a method on the path from the queried method */
+        public boolean isCycle()
+        {
+            return cycle;
+        }
+
+        /** @return true if the edge leads to a method already expanded through another path */
+        public boolean isRepeated()
+        {
+            return repeated;
+        }
+    }
+
+    /**
+     * Query result.
+     */
+    public static final class Result
+    {
+        private final List<Edge> edges;
+        private final boolean truncated;
+
+        Result(List<Edge> edges, boolean truncated)
+        {
+            this.edges = Collections.unmodifiableList(edges);
+            this.truncated = truncated;
+        }
+
+        /** @return edges in breadth-first order */
+        public List<Edge> getEdges()
+        {
+            return edges;
+        }
+
+        /** @return true if the edge limit stopped the walk */
+        public boolean isTruncated()
+        {
+            return truncated;
+        }
+    }
+
+    private CallGraph()
+    {
+        // Utility class
+    }
+
+    /**
+     * Finds the methods calling the given method, transitively.
+     *
+     * @param source call sites of the project
+     * @param root queried method
+     * @param maxDepth number of levels to walk, at least 1
+     * @param limit maximum number of edges
+     * @return the callers
+     */
+    public static Result findCallers(Source source, MethodSymbol root, int maxDepth, int limit)
+    {
+        Walk walk = new Walk(root, limit);
+        while (!walk.queue.isEmpty() && !walk.truncated)
+        {
+            MethodSymbol method = walk.queue.poll();
+            int depth = walk.depthOf(method);
+            for (CallSite call : source.getCallsTo(method.getName()))
+            {
+                if (!resolvesTo(source.resolve(call), method))
+                {
+                    continue;
+                }
+                if (!walk.add(depth + 1, source.getCaller(call), call, method, method, true, maxDepth))
+                {
+                    break;
+                }
+            }
+        }
+        return new Result(walk.edges, walk.truncated);
+    }
+
+    /**
+     * Finds the methods called by the given method, transitively. Calls that do not
+     * resolve to a declared method (platform methods, calls on objects) are reported
+     * without a callee and are not expanded.
+     *
+     * @param source call sites of the project
+     * @param root queried method
+     * @param maxDepth number of levels to walk, at least 1
+     * @param limit maximum number of edges
+     * @return the callees
+     */
+    public static Result findCallees(Source source, MethodSymbol root, int maxDepth, int limit)
+    {
+        Walk walk = new Walk(root, limit);
+        while (!walk.queue.isEmpty() && !walk.truncated)
+        {
+            MethodSymbol method = walk.queue.poll();
+            int depth = walk.depthOf(method);
+            for (CallSite call : source.getCallsFrom(method))
+            {
+                List<MethodSymbol> targets = source.resolve(call);
+                if (targets.isEmpty())
+                {
+                    if (!walk.add(depth + 1, method, call, null, method, false, maxDepth))
+                    {
+                        break;
+                    }
+                    continue;
+                }
+                boolean stop = false;
+                for (MethodSymbol target : targets)
+                {
+                    if (!walk.add(depth + 1, method, call, target, method, false, maxDepth))
+                    {
+                        stop = true;
+                        break;
+                    }
+                }
+                if (stop)
+                {
+                    break;
+                }
+            }
+        }
+        return new Result(walk.edges, walk.truncated);
+    }
+
+    private static boolean resolvesTo(List<MethodSymbol> targets, MethodSymbol method)
+    {
+        String key = key(method);
+        for (MethodSymbol target : targets)
+        {
+            if (key(target).equals(key))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(MethodSymbol method)
+    {
+        return method.getModulePath().toLowerCase(Locale.ROOT) + '#' + method.getName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Breadth-first walk state: expanded methods with their depth and parent on the path.
+     */
+    private static final class Walk
+    {
+        final Deque<MethodSymbol> queue = new ArrayDeque<>();
+        final Map<String, Integer> depths = new HashMap<>();
+        final Map<String, String> parents = new HashMap<>();
+        final List<Edge> edges = new ArrayList<>();
+        final int limit;
+        boolean truncated;
+
+        Walk(MethodSymbol root, int limit)
+        {
+            this.limit = limit;
+            queue.add(root);
+            depths.put(key(root), 0);
+        }
+
+        int depthOf(MethodSymbol method)
+        {
+            return depths.get(key(method));
+        }
+
+        /**
+         * Records an edge and schedules its far end for expansion.
+         *
+         * @param from the method being expanded
+         * @param towardsCallers true to continue with the caller of the edge, false with its callee
+         * @return false if the edge limit is reached
+         */
+        boolean add(int depth, MethodSymbol caller, CallSite call, MethodSymbol callee, MethodSymbol from,
+            boolean towardsCallers, int maxDepth)
+        {
+            if (edges.size() >= limit)
+            {
+                truncated = true;
+                return false;
+            }
+            MethodSymbol next = towardsCallers ? caller : callee;
+            boolean cycle = false;
+            boolean repeated = false;
+            if (next != null)
+            {
+                String nextKey = key(next);
+                if (depths.containsKey(nextKey))
+                {
+                    cycle = isOnPath(nextKey, key(from));
+                    repeated = !cycle;
+                }
+                else if (depth < maxDepth)
+                {
+                    depths.put(nextKey, depth);
+                    parents.put(nextKey, key(from));
+                    queue.add(next);
+                }
+            }
+            edges.add(new Edge(depth, caller, call, callee, cycle, repeated));
+            return true;
+        }
+
+        private boolean isOnPath(String target, String from)
+        {
+            for (String node = from; node != null; node = parents.get(node))
+            {
+                if (node.equals(target))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+/**
+ * Immutable description of a method call found in a BSL module, as stored in
+ * {@link MethodSymbolIndex}. The call target is kept as written; it is resolved
+ * to declared methods by the index.
+ */
+public final class CallSite
+{
+    private final String modulePath;
+    private final String callerName;
+    private final String qualifier;
+    private final String calleeName;
+    private final int line;
+
+    /**
+     * Creates a call site.
+     *
+     * @param modulePath module path from src/ of the calling module
+     * @param callerName name of the enclosing method, or null for module body code
+     * @param qualifier dotted identifier chain before the called name (e.g. "CommonModuleName"
+     *        or "Documents.Order"), an empty string if it is any other expression, or null
+     *        for an unqualified call
+     * @param calleeName called method name as written
+     * @param line 1-based line of the call
+     */
+    public CallSite(String modulePath, String callerName, String qualifier, String calleeName, int line)
+    {
+        this.modulePath = modulePath;
+        this.callerName = callerName;
+        this.qualifier = qualifier;
+        this.calleeName = calleeName;
+        this.line = line;
+    }
+
+    public String getModulePath()
+    {
+        return modulePath;
+    }
+
+    public String getCallerName()
+    {
+        return callerName;
+    }
+
+    public String getQualifier()
+    {
+        return qualifier;
+    }
+
+    public String getCalleeName()
+    {
+        return calleeName;
+    }
+
+    public int getLine()
+    {
+        return line;
+    }
+
+    /**
+     * Returns the call as written, e.g. "CommonModule.Method" or "Method".
+     *
+     * @return call text without arguments
+     */
+    public String getCallText()
+    {
+        if (qualifier == null)
+        {
+            return calleeName;
+        }
+        return (qualifier.isEmpty() ? "..." : qualifier) + '.' + calleeName; //$NON-NLS-1$
+    }
+
+    @Override
+    public String toString()
+    {
+        return modulePath + ":" + line + " " + getCallText(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
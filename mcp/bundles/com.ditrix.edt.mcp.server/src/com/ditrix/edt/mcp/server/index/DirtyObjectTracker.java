@@ -0,0 +1,194 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ditrix.edt.mcp.server.utils.MetadataTypeUtils;
+
+/**
+ * Plugin-wide set of top-level metadata objects changed through MCP write tools
+ * since their last validation, per project.
+ *
+ * <p>Write tools report the module or object they changed; the tracker keeps the
+ * owning top-level object, e.g. {@code Documents/Order/Forms/Main/Module.bsl} and
+ * {@code Document.Order.Attribute.Amount} both mark {@code Document.Order}.
+ * {@code revalidate_objects} in dirty mode drains the set and validates only these
+ * objects; a full revalidation clears it.
+ *
+ * <p>Changes made outside MCP (EDT editors, external tools) are not tracked.
+ *
+ * <p>Thread Safety: all operations are synchronized.
+ */
+public final class DirtyObjectTracker
+{
+    private static DirtyObjectTracker instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    /** Project name -> dirty top-level FQNs in the order they were changed */
+    private final Map<String, Set<String>> dirty = new HashMap<>();
+
+    DirtyObjectTracker()
+    {
+        // Created by getInstance(); package-private for tests
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the tracker
+     */
+    public static DirtyObjectTracker getInstance()
+    {
+        DirtyObjectTracker localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new DirtyObjectTracker();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Disposes the tracker and forgets all dirty objects.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            instance = null;
+        }
+    }
+
+    /**
+     * Marks the top-level object of an FQN dirty.
+     *
+     * @param projectName the project
+     * @param fqn object FQN, possibly nested or with a Russian type name
+     */
+    public synchronized void markObject(String projectName, String fqn)
+    {
+        String topLevel = topLevelFqn(fqn);
+        if (projectName != null && topLevel != null)
+        {
+            dirty.computeIfAbsent(projectName, k -> new LinkedHashSet<>()).add(topLevel);
+        }
+    }
+
+    /**
+     * Marks the owner object of a BSL module dirty.
+     *
+     * @param projectName the project
+     * @param modulePath module path from src/, e.g. "CommonModules/Utils/Module.bsl"
+     */
+    public void markModule(String projectName, String modulePath)
+    {
+        ModuleDescriptor descriptor = modulePath != null ? ModuleDescriptor.of(modulePath, 0) : null;
+        if (descriptor == null)
+        {
+            return;
+        }
+        markObject(projectName, "Configuration".equals(descriptor.getOwnerType()) //$NON-NLS-1$
+            ? descriptor.getOwnerType()
+            : descriptor.getOwnerType() + '.' + descriptor.getOwnerName());
+    }
+
+    /**
+     * Returns the dirty objects of a project without clearing them.
+     *
+     * @param projectName the project
+     * @return top-level FQNs in the order they were changed
+     */
+    public synchronized List<String> get(String projectName)
+    {
+        Set<String> objects = dirty.get(projectName);
+        return objects != null ? new ArrayList<>(objects) : new ArrayList<>();
+    }
+
+    /**
+     * Returns and clears the dirty objects of a project. Put them back with
+     * {@link #restore} if their validation could not be scheduled.
+     *
+     * @param projectName the project
+     * @return top-level FQNs in the order they were changed
+     */
+    public synchronized List<String> drain(String projectName)
+    {
+        Set<String> objects = dirty.remove(projectName);
+        return objects != null ? new ArrayList<>(objects) : new ArrayList<>();
+    }
+
+    /**
+     * Marks drained objects dirty again, ahead of objects changed meanwhile.
+     *
+     * @param projectName the project
+     * @param fqns top-level FQNs returned by {@link #drain}
+     */
+    public synchronized void restore(String projectName, Collection<String> fqns)
+    {
+        if (fqns.isEmpty())
+        {
+            return;
+        }
+        Set<String> objects = new LinkedHashSet<>(fqns);
+        Set<String> changedMeanwhile = dirty.get(projectName);
+        if (changedMeanwhile != null)
+        {
+            objects.addAll(changedMeanwhile);
+        }
+        dirty.put(projectName, objects);
+    }
+
+    /**
+     * Forgets the dirty objects of a project, e.g. after a full revalidation.
+     *
+     * @param projectName the project
+     */
+    public synchronized void clear(String projectName)
+    {
+        dirty.remove(projectName);
+    }
+
+    /**
+     * Returns the top-level object of an FQN with the type in English singular form,
+     * e.g. "Документ.Заказ.Реквизит.Сумма" gives "Document.Заказ".
+     *
+     * @param fqn object FQN
+     * @return "Type.Name", "Configuration", or null if the FQN has no object name
+     */
+    static String topLevelFqn(String fqn)
+    {
+        if (fqn == null)
+        {
+            return null;
+        }
+        String trimmed = fqn.trim();
+        if ("Configuration".equals(trimmed)) //$NON-NLS-1$
+        {
+            return trimmed;
+        }
+        int first = trimmed.indexOf('.');
+        if (first <= 0 || first == trimmed.length() - 1)
+        {
+            return null;
+        }
+        int second = trimmed.indexOf('.', first + 1);
+        return MetadataTypeUtils.normalizeFqn(second < 0 ? trimmed : trimmed.substring(0, second));
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.Arrays;
+
+/**
+ * Immutable text with a table of line start offsets.
+ *
+ * <p>Offsets are converted to lines and columns by binary search, and any line
+ * or line range is sliced without scanning the text. {@code \n}, {@code \r\n}
+ * and {@code \r} are all recognized as line terminators. Lines are numbered
+ * from 1 the same way as {@link java.io.BufferedReader#readLine()} reads them:
+ * a terminator at the very end of the text does not start another line.
+ *
+ * <p>Thread Safety: instances are immutable and can be shared between threads.
+ */
+public final class LineIndex
+{
+    private final String text;
+    private final int[] lineStarts;
+    private final int lineCount;
+
+    private LineIndex(String text, int[] lineStarts, int lineCount)
+    {
+        this.text = text;
+        this.lineStarts = lineStarts;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Builds the index of a text.
+     *
+     * @param text the text
+     * @return the index
+     */
+    public static LineIndex of(String text)
+    {
+        int[] starts = new int[16];
+        int size = 0;
+        starts[size++] = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++)
+        {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r')
+            {
+                if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n')
+                {
+                    i++;
+                }
+                if (size == starts.length)
+                {
+                    starts = Arrays.copyOf(starts, size * 2);
+                }
+                starts[size++] = i + 1;
+            }
+        }
+        // The position after a trailing terminator is kept for offset lookups but is not a line
+        int lineCount = length == 0 ? 0 : starts[size - 1] == length ? size - 1 : size;
+        return new LineIndex(text, Arrays.copyOf(starts, size), lineCount);
+    }
+
+    public String getText()
+    {
+        return text;
+    }
+
+    public int getLineCount()
+    {
+        return lineCount;
+    }
+
+    /**
+     * Returns the 1-based line containing an offset. Offsets out of range are clamped.
+     *
+     * @param offset character offset
+     * @return line number
+     */
+    public int getLineOfOffset(int offset)
+    {
+        int clamped = Math.max(0, Math.min(offset, text.length()));
+        int idx = Arrays.binarySearch(lineStarts, clamped);
+        return idx >= 0 ? idx + 1 : -idx - 1;
+    }
+
+    /**
+     * Returns the 1-based column of an offset within its line.
+     *
+     * @param offset character offset
+     * @return column number
+     */
+    public int getColumnOfOffset(int offset)
+    {
+        int clamped = Math.max(0, Math.min(offset, text.length()));
+        return clamped - lineStarts[getLineOfOffset(clamped) - 1] + 1;
+    }
+
+    /**
+     * Returns the offset where a line starts.
+     *
+     * @param line 1-based line number
+     * @return start offset
+     */
+    public int getLineStart(int line)
+    {
+        checkLine(line);
+        return lineStarts[line - 1];
+    }
+
+    /**
+     * Returns the offset where a line ends, before its terminator.
+     *
+     * @param line 1-based line number
+     * @return end offset (exclusive)
+     */
+    public int getLineEnd(int line)
+    {
+        checkLine(line);
+        int end = line < lineStarts.length ? lineStarts[line] : text.length();
+        if (end > lineStarts[line - 1] && text.charAt(end - 1) == '\n')
+        {
+            end--;
+        }
+        if (end > lineStarts[line - 1] && text.charAt(end - 1) == '\r')
+        {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the text of a line without its terminator.
+     *
+     * @param line 1-based line number
+     * @return line text
+     */
+    public String getLine(int line)
+    {
+        return text.substring(getLineStart(line), getLineEnd(line));
+    }
+
+    /**
+     * Returns the text of a line range with original terminators, except after the last line.
+     *
+     * @param fromLine first line, 1-based
+     * @param toLine last line, inclusive
+     * @return range text
+     */
+    public String getLines(int fromLine, int toLine)
+    {
+        if (toLine < fromLine)
+        {
+            return ""; //$NON-NLS-1$
+        }
+        return text.substring(getLineStart(fromLine), getLineEnd(toLine));
+    }
+
+    /**
+     * Estimated memory footprint in bytes, for cache weighing.
+     *
+     * @return size estimate
+     */
+    public long estimateSize()
+    {
+        return 64L + 2L * text.length() + 4L * lineStarts.length;
+    }
+
+    private void checkLine(int line)
+    {
+        if (line < 1 || line > lineCount)
+        {
+            throw new IndexOutOfBoundsException("Line " + line + " of " + lineCount); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+}
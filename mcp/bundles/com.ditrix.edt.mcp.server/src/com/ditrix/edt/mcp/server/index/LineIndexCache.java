@@ -0,0 +1,276 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jface.util.IPropertyChangeListener;
+
+import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.preferences.PreferenceConstants;
+import com.ditrix.edt.mcp.server.tools.impl.BslModuleUtils;
+
+/**
+ * Shared cache of decoded workspace file contents, held as {@link LineIndex}es,
+ * and of {@link ByteLineTable}s. All BSL readers go through this cache via
+ * {@link BslModuleUtils#readFileText(IFile)} and {@link BslModuleUtils#readFileLines(IFile)}.
+ *
+ * <p>Entries are keyed by file path and validated on every hit against the
+ * {@link IFile#getModificationStamp() modification stamp} and the file system
+ * time stamp, so a file changed outside the workspace is re-read as well.
+ * Resource deltas drop entries of changed, removed and closed resources early.
+ * Contents are bounded by a weighted LRU with the budget from the
+ * {@link PreferenceConstants#PREF_FILE_CACHE_SIZE_MB} preference.
+ *
+ * <p>Thread Safety: this class is thread-safe.
+ */
+public final class LineIndexCache implements IResourceChangeListener
+{
+    /** Memory budget for byte line tables */
+    private static final long MAX_TABLE_WEIGHT = 16L * 1024 * 1024;
+
+    private static final long BYTES_PER_MB = 1024L * 1024;
+
+    private static LineIndexCache instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    private final WeightedLruCache<String, CachedIndex> cache = new WeightedLruCache<>(getBudget());
+
+    private final WeightedLruCache<String, CachedTable> tables = new WeightedLruCache<>(MAX_TABLE_WEIGHT);
+
+    private final IPropertyChangeListener preferenceListener = event -> {
+        if (PreferenceConstants.PREF_FILE_CACHE_SIZE_MB.equals(event.getProperty()))
+        {
+            cache.setMaxWeight(getBudget());
+        }
+    };
+
+    private LineIndexCache()
+    {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+        Activator activator = Activator.getDefault();
+        if (activator != null)
+        {
+            activator.getPreferenceStore().addPropertyChangeListener(preferenceListener);
+        }
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the cache
+     */
+    public static LineIndexCache getInstance()
+    {
+        LineIndexCache localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new LineIndexCache();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Releases all cached texts.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+                Activator activator = Activator.getDefault();
+                if (activator != null)
+                {
+                    activator.getPreferenceStore().removePropertyChangeListener(instance.preferenceListener);
+                }
+                instance.cache.clear();
+                instance.tables.clear();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the line index of the current file content, reading the file on a miss.
+     *
+     * @param file the file
+     * @return the line index
+     * @throws Exception if the file cannot be read
+     */
+    public LineIndex get(IFile file) throws Exception
+    {
+        String key = file.getFullPath().toString();
+        // Stamps are taken before reading, so a concurrent edit only causes a later re-read
+        long stamp = file.getModificationStamp();
+        long diskStamp = diskStamp(file);
+        CachedIndex entry = cache.get(key);
+        if (entry != null && entry.modificationStamp == stamp && entry.diskStamp == diskStamp)
+        {
+            return entry.index;
+        }
+
+        LineIndex index = LineIndex.of(BslModuleUtils.decodeFileText(file));
+        if (stamp != IResource.NULL_STAMP)
+        {
+            cache.put(key, new CachedIndex(stamp, diskStamp, index), index.estimateSize());
+        }
+        return index;
+    }
+
+    /**
+     * Returns the byte line table of the current file content, scanning the file on a miss.
+     *
+     * @param file the file
+     * @return the table, or null if the file is not on the local file system or
+     *         its charset is not supported by {@link ByteLineTable}
+     * @throws Exception if the file cannot be read
+     */
+    public ByteLineTable getByteLineTable(IFile file) throws Exception
+    {
+        IPath location = file.getLocation();
+        if (location == null)
+        {
+            return null;
+        }
+        String key = file.getFullPath().toString();
+        long stamp = file.getModificationStamp();
+        long diskStamp = diskStamp(file);
+        CachedTable entry = tables.get(key);
+        if (entry != null && entry.modificationStamp == stamp && entry.diskStamp == diskStamp)
+        {
+            return entry.table;
+        }
+
+        ByteLineTable table = ByteLineTable.read(location.toFile().toPath(), fallbackCharset(file));
+        if (table != null && stamp != IResource.NULL_STAMP)
+        {
+            tables.put(key, new CachedTable(stamp, diskStamp, table), table.estimateSize());
+        }
+        return table;
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event)
+    {
+        IResourceDelta rootDelta = event.getDelta();
+        if (rootDelta == null || cache.size() == 0 && tables.size() == 0)
+        {
+            return;
+        }
+        try
+        {
+            rootDelta.accept(delta -> {
+                IResource resource = delta.getResource();
+                if (resource.getType() == IResource.PROJECT)
+                {
+                    if (delta.getKind() == IResourceDelta.REMOVED
+                        || (delta.getFlags() & IResourceDelta.OPEN) != 0)
+                    {
+                        String prefix = resource.getFullPath().toString() + '/';
+                        cache.removeIf(k -> k.startsWith(prefix));
+                        tables.removeIf(k -> k.startsWith(prefix));
+                        return false;
+                    }
+                    return true;
+                }
+                if (resource.getType() == IResource.FILE)
+                {
+                    if (delta.getKind() != IResourceDelta.CHANGED
+                        || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED
+                            | IResourceDelta.ENCODING)) != 0)
+                    {
+                        String key = resource.getFullPath().toString();
+                        cache.remove(key);
+                        tables.remove(key);
+                    }
+                    return false;
+                }
+                return true;
+            });
+        }
+        catch (CoreException e)
+        {
+            Activator.logError("Error processing resource change for file content cache", e); //$NON-NLS-1$
+        }
+    }
+
+    private static long getBudget()
+    {
+        Activator activator = Activator.getDefault();
+        int megabytes = activator != null ? activator.getFileCacheSizeMb() : 0;
+        if (megabytes <= 0)
+        {
+            megabytes = PreferenceConstants.DEFAULT_FILE_CACHE_SIZE_MB;
+        }
+        return megabytes * BYTES_PER_MB;
+    }
+
+    private static long diskStamp(IFile file)
+    {
+        IPath location = file.getLocation();
+        return location != null ? location.toFile().lastModified() : 0;
+    }
+
+    private static Charset fallbackCharset(IFile file)
+    {
+        try
+        {
+            return Charset.forName(file.getCharset());
+        }
+        catch (Exception e)
+        {
+            // BSL files in EDT are always UTF-8
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static final class CachedTable
+    {
+        final long modificationStamp;
+        final long diskStamp;
+        final ByteLineTable table;
+
+        CachedTable(long modificationStamp, long diskStamp, ByteLineTable table)
+        {
+            this.modificationStamp = modificationStamp;
+            this.diskStamp = diskStamp;
+            this.table = table;
+        }
+    }
+
+    private static final class CachedIndex
+    {
+        final long modificationStamp;
+        final long diskStamp;
+        final LineIndex index;
+
+        CachedIndex(long modificationStamp, long diskStamp, LineIndex index)
+        {
+            this.modificationStamp = modificationStamp;
+            this.diskStamp = diskStamp;
+            this.index = index;
+        }
+    }
+}
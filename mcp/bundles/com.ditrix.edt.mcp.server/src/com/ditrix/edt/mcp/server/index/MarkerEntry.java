@@ -0,0 +1,134 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import com.ditrix.edt.mcp.server.utils.MetadataTypeUtils;
+
+/**
+ * Immutable copy of an EDT configuration problem marker, as stored in {@link MarkerStore}.
+ * Two entries are equal if all their fields are equal.
+ */
+public final class MarkerEntry
+{
+    private final String projectName;
+    private final String severity;
+    private final String checkCode;
+    private final String message;
+    private final String objectPresentation;
+    private final String objectKey;
+    private final int hash;
+
+    /**
+     * Creates an entry.
+     *
+     * @param projectName project of the marker
+     * @param severity severity name, e.g. "ERRORS" or "MAJOR"
+     * @param checkCode check short UID, e.g. "SU23", or an empty string
+     * @param message problem description
+     * @param objectPresentation location as shown by EDT, e.g. "Document.SalesOrder.Form.ItemForm.Form"
+     */
+    public MarkerEntry(String projectName, String severity, String checkCode, String message,
+        String objectPresentation)
+    {
+        this.projectName = projectName;
+        this.severity = severity;
+        this.checkCode = checkCode != null ? checkCode : ""; //$NON-NLS-1$
+        this.message = message != null ? message : ""; //$NON-NLS-1$
+        this.objectPresentation = objectPresentation != null ? objectPresentation : ""; //$NON-NLS-1$
+        this.objectKey = objectKey(this.objectPresentation);
+        this.hash = Objects.hash(projectName, severity, this.checkCode, this.message, this.objectPresentation);
+    }
+
+    public String getProjectName()
+    {
+        return projectName;
+    }
+
+    public String getSeverity()
+    {
+        return severity;
+    }
+
+    public String getCheckCode()
+    {
+        return checkCode;
+    }
+
+    public String getMessage()
+    {
+        return message;
+    }
+
+    public String getObjectPresentation()
+    {
+        return objectPresentation;
+    }
+
+    /**
+     * @return normalized top-level object of the location (see {@link #objectKey(String)}), or null
+     */
+    public String getObjectKey()
+    {
+        return objectKey;
+    }
+
+    /**
+     * Normalizes the top-level object of an FQN or marker location: the first two
+     * segments with the type in English singular form, lower-cased. For example
+     * "Документ.Заказ.Форма.ФормаДокумента" and "Documents.Заказ" both give "document.заказ".
+     *
+     * @param fqn object FQN or marker location
+     * @return the key, or null if the value has no "Type.Name" prefix
+     */
+    public static String objectKey(String fqn)
+    {
+        if (fqn == null)
+        {
+            return null;
+        }
+        int first = fqn.indexOf('.');
+        if (first <= 0 || first == fqn.length() - 1)
+        {
+            return null;
+        }
+        int second = fqn.indexOf('.', first + 1);
+        String topLevel = second < 0 ? fqn : fqn.substring(0, second);
+        return MetadataTypeUtils.normalizeFqn(topLevel.trim()).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (!(obj instanceof MarkerEntry))
+        {
+            return false;
+        }
+        MarkerEntry other = (MarkerEntry) obj;
+        return hash == other.hash && Objects.equals(projectName, other.projectName)
+            && Objects.equals(severity, other.severity) && checkCode.equals(other.checkCode)
+            && message.equals(other.message) && objectPresentation.equals(other.objectPresentation);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hash;
+    }
+
+    @Override
+    public String toString()
+    {
+        return projectName + " " + severity + " " + checkCode + " " + objectPresentation + ": " + message; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+}
@@ -0,0 +1,447 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+
+import com._1c.g5.v8.dt.validation.marker.IMarkerManager;
+import com._1c.g5.v8.dt.validation.marker.MarkerSeverity;
+import com.ditrix.edt.mcp.server.Activator;
+import com.e1c.g5.v8.dt.check.settings.CheckUid;
+import com.e1c.g5.v8.dt.check.settings.ICheckRepository;
+
+/**
+ * Plugin-wide index of EDT configuration problems, kept in a {@link MarkerStore}.
+ *
+ * <p>Markers are validation results that EDT writes after builds and derived data
+ * computations. A project is marked outdated by the marker deltas of a resource
+ * change event, by being added, removed, opened or closed, and by a finished build
+ * after its files changed; a background job then reads the markers of the outdated
+ * projects from {@link IMarkerManager} once and applies the difference to the store
+ * project by project. Projects without changes are never read again. All projects
+ * are read only as a fallback: on the first synchronization, after a read error and
+ * after a build that no known change explains, e.g. a clean build.
+ *
+ * <p>Marking is lock-free, so resource and job listeners never wait for a running
+ * synchronization. Queries never read the marker manager themselves, except for the
+ * first one; they wake the background job and may be up to {@link #SYNC_DELAY_MS}
+ * behind, which {@link #isSettled()} reports. {@link #refresh(String)} reads a project
+ * synchronously when its validation is known to be final.
+ *
+ * <p>Symbolic check IDs resolved from short UIDs are cached per project.
+ *
+ * <p>Thread Safety: this class is thread-safe.
+ */
+public final class MarkerIndex implements IResourceChangeListener
+{
+    /** Delay of the first synchronization after a change */
+    private static final long SYNC_DELAY_MS = 1000;
+
+    private static MarkerIndex instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    /**
+     * Revisions start at the creation time, so revisions handed out before a restart
+     * are older than the journal of the new store instead of matching current ones.
+     */
+    private final MarkerStore store =
+        new MarkerStore(System.currentTimeMillis(), MarkerStore.DEFAULT_JOURNAL_CAPACITY);
+
+    /** "project/shortUid" -> symbolic check ID */
+    private final Map<String, String> checkIds = new ConcurrentHashMap<>();
+
+    /** Serializes reads of the marker manager; never taken by listeners */
+    private final Object syncLock = new Object();
+
+    /** All projects need synchronizing, e.g. before the first synchronization */
+    private final AtomicBoolean allOutdated = new AtomicBoolean(true);
+
+    /** Projects whose markers may have changed since they were last read */
+    private final Set<String> outdatedProjects = ConcurrentHashMap.newKeySet();
+
+    /** Projects changed since the last finished build, which revalidates them */
+    private final Set<String> changedSinceBuild = ConcurrentHashMap.newKeySet();
+
+    /** True once the store has been synchronized */
+    private volatile boolean synced;
+
+    private final Job syncJob = new Job("Indexing configuration problems") //$NON-NLS-1$
+    {
+        @Override
+        protected IStatus run(IProgressMonitor monitor)
+        {
+            sync();
+            return Status.OK_STATUS;
+        }
+    };
+
+    private final IJobChangeListener buildListener = new JobChangeAdapter()
+    {
+        @Override
+        public void done(IJobChangeEvent event)
+        {
+            Job job = event.getJob();
+            if (job.belongsTo(ResourcesPlugin.FAMILY_AUTO_BUILD) || job.belongsTo(ResourcesPlugin.FAMILY_MANUAL_BUILD))
+            {
+                // A build revalidates the projects changed before it; a build without
+                // known changes, e.g. a clean build, may touch any project
+                Set<String> built = new HashSet<>(changedSinceBuild);
+                changedSinceBuild.removeAll(built);
+                if (built.isEmpty())
+                {
+                    markOutdated();
+                }
+                else
+                {
+                    built.forEach(MarkerIndex.this::markOutdated);
+                }
+            }
+        }
+    };
+
+    private MarkerIndex()
+    {
+        syncJob.setSystem(true);
+        syncJob.setPriority(Job.DECORATE);
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+        Job.getJobManager().addJobChangeListener(buildListener);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the index
+     */
+    public static MarkerIndex getInstance()
+    {
+        MarkerIndex localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new MarkerIndex();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Disposes the index, cancelling background jobs and releasing memory.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+                Job.getJobManager().removeJobChangeListener(instance.buildListener);
+                instance.syncJob.cancel();
+                instance.store.replaceAll(new HashMap<>());
+                instance.checkIds.clear();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the store. Only the first call reads the marker manager; if changes are
+     * pending, the background synchronization is started at once instead of after its delay.
+     *
+     * @return the store, or null if the marker manager is not available
+     */
+    public MarkerStore getStore()
+    {
+        MarkerStore current = getCurrentStore();
+        if (current != null && isOutdated())
+        {
+            syncJob.schedule();
+        }
+        return current;
+    }
+
+    /**
+     * Reads the markers of one project now, for a caller that knows its validation has
+     * finished. Runs in the caller's thread; not to be used on a query path.
+     *
+     * @param projectName the project
+     * @return the store, or null if the marker manager is not available
+     */
+    public MarkerStore refresh(String projectName)
+    {
+        if (Activator.getDefault().getMarkerManager() == null)
+        {
+            return null;
+        }
+        outdatedProjects.add(projectName);
+        sync();
+        return store;
+    }
+
+    /**
+     * Returns the store without waiting for pending changes; only the first call
+     * synchronizes it. Use {@link #isSettled()} to tell whether it may be behind.
+     *
+     * @return the store, or null if the marker manager is not available
+     */
+    public MarkerStore getCurrentStore()
+    {
+        if (Activator.getDefault().getMarkerManager() == null)
+        {
+            return null;
+        }
+        if (!synced)
+        {
+            sync();
+        }
+        return store;
+    }
+
+    /**
+     * Checks whether the store is up to date: no change is pending and the background
+     * synchronization is idle.
+     *
+     * @return true if the store reflects all known changes
+     */
+    public boolean isSettled()
+    {
+        return !isOutdated() && syncJob.getState() == Job.NONE;
+    }
+
+    /**
+     * Marks all projects outdated and schedules their synchronization. Called when
+     * validation results may have changed anywhere.
+     */
+    public void markOutdated()
+    {
+        allOutdated.set(true);
+        scheduleSync();
+    }
+
+    /**
+     * Marks one project outdated and schedules its synchronization. Called when its
+     * validation results may have changed. Does not block.
+     *
+     * @param projectName the project
+     */
+    public void markOutdated(String projectName)
+    {
+        outdatedProjects.add(projectName);
+        scheduleSync();
+    }
+
+    private boolean isOutdated()
+    {
+        return allOutdated.get() || !outdatedProjects.isEmpty();
+    }
+
+    private void scheduleSync()
+    {
+        syncJob.schedule(SYNC_DELAY_MS);
+    }
+
+    /**
+     * Resolves the symbolic ID of a check, e.g. "SU23" to "bsl-legacy-check-expression-type".
+     *
+     * @param project the project of the marker
+     * @param shortUid check short UID
+     * @return the symbolic check ID, or null if it cannot be resolved
+     */
+    public String getCheckId(IProject project, String shortUid)
+    {
+        if (project == null || shortUid == null || shortUid.isEmpty())
+        {
+            return null;
+        }
+        String key = project.getName() + '/' + shortUid;
+        String checkId = checkIds.get(key);
+        if (checkId != null)
+        {
+            return checkId;
+        }
+        ICheckRepository checkRepository = Activator.getDefault().getCheckRepository();
+        if (checkRepository == null)
+        {
+            return null;
+        }
+        try
+        {
+            CheckUid checkUid = checkRepository.getUidForShortUid(shortUid, project);
+            if (checkUid != null && checkUid.getCheckId() != null)
+            {
+                // Unresolved UIDs are not cached: the repository may not know the check yet
+                checkIds.put(key, checkUid.getCheckId());
+                return checkUid.getCheckId();
+            }
+        }
+        catch (Exception e)
+        {
+            // Ignore - callers fall back to the short UID
+        }
+        return null;
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event)
+    {
+        // Marker deltas tell exactly which projects got new, changed or removed markers
+        Set<String> projects = new HashSet<>();
+        for (IMarkerDelta markerDelta : event.findMarkerDeltas(null, true))
+        {
+            IProject project = markerDelta.getResource().getProject();
+            if (project != null)
+            {
+                projects.add(project.getName());
+            }
+        }
+        IResourceDelta delta = event.getDelta();
+        if (delta != null)
+        {
+            for (IResourceDelta projectDelta : delta.getAffectedChildren())
+            {
+                String projectName = projectDelta.getResource().getName();
+                if (changesProject(projectDelta))
+                {
+                    projects.add(projectName);
+                }
+                if (changesFiles(projectDelta))
+                {
+                    // Read again once the build has revalidated the files
+                    changedSinceBuild.add(projectName);
+                }
+            }
+        }
+        projects.forEach(this::markOutdated);
+    }
+
+    /**
+     * Checks whether the project itself was added, removed, opened or closed.
+     */
+    private static boolean changesProject(IResourceDelta projectDelta)
+    {
+        int kind = projectDelta.getKind();
+        return kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED
+            || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0;
+    }
+
+    /**
+     * Checks whether files of the project were added, removed or edited, which EDT
+     * revalidates. Deltas that only touch markers, sync info, encoding or similar
+     * properties are ignored.
+     */
+    private static boolean changesFiles(IResourceDelta projectDelta)
+    {
+        boolean[] changes = new boolean[1];
+        try
+        {
+            projectDelta.accept(child -> {
+                if (!changes[0] && child.getResource().getType() == IResource.FILE)
+                {
+                    int kind = child.getKind();
+                    changes[0] = kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED
+                        || (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0;
+                }
+                return !changes[0];
+            });
+        }
+        catch (CoreException e)
+        {
+            return true;
+        }
+        return changes[0];
+    }
+
+    /**
+     * Reads the markers of the outdated projects, or of all projects if all are outdated,
+     * and applies the difference to the store.
+     *
+     * @return true if the store changed; false if nothing changed or the marker manager is not available
+     */
+    private boolean sync()
+    {
+        IMarkerManager markerManager = Activator.getDefault().getMarkerManager();
+        if (markerManager == null)
+        {
+            return false;
+        }
+        synchronized (syncLock)
+        {
+            // Changes reported while reading are picked up by the next synchronization
+            boolean all = allOutdated.getAndSet(false) || !synced;
+            Set<String> projects = new HashSet<>(outdatedProjects);
+            outdatedProjects.removeAll(projects);
+            if (!all && projects.isEmpty())
+            {
+                return false;
+            }
+
+            Map<String, List<MarkerEntry>> markersByProject = new HashMap<>();
+            try
+            {
+                markerManager.markers().forEach(marker -> {
+                    IProject project = marker.getProject();
+                    if (project == null || !all && !projects.contains(project.getName()))
+                    {
+                        return;
+                    }
+                    MarkerSeverity severity = marker.getSeverity() != null ? marker.getSeverity() : MarkerSeverity.NONE;
+                    markersByProject.computeIfAbsent(project.getName(), k -> new ArrayList<>())
+                        .add(new MarkerEntry(project.getName(), severity.name(), marker.getCheckId(),
+                            marker.getMessage(), marker.getObjectPresentation()));
+                });
+            }
+            catch (Exception e)
+            {
+                if (all)
+                {
+                    allOutdated.set(true);
+                }
+                outdatedProjects.addAll(projects);
+                Activator.logError("Error reading configuration problems", e); //$NON-NLS-1$
+                return false;
+            }
+            synced = true;
+            if (all)
+            {
+                return store.replaceAll(markersByProject);
+            }
+            boolean changed = false;
+            for (String projectName : projects)
+            {
+                changed |= store.replaceProject(projectName, markersByProject.getOrDefault(projectName, List.of()));
+            }
+            return changed;
+        }
+    }
+}
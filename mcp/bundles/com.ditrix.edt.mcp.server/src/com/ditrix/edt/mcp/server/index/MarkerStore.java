@@ -0,0 +1,738 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * In-memory store of configuration problem markers, partitioned by project,
+ * severity, check code and top-level object.
+ *
+ * <p>The store is updated by replacing the markers of a project with a new
+ * snapshot; only the difference to the previous snapshot is applied to the
+ * partitions. Identical markers are kept once with an occurrence count.
+ * Queries look up the smallest matching partition and check the remaining
+ * filters on its entries only.
+ *
+ * <p>Marker counts per severity, check and object are maintained along with the
+ * partitions, so a {@link Summary} does not look at individual markers. Every
+ * update that changes the markers advances the store revision.
+ *
+ * <p>Added and removed markers are recorded in a bounded change journal, so the
+ * changes since an earlier revision can be returned without comparing full
+ * marker lists. The journal keeps the latest {@link #DEFAULT_JOURNAL_CAPACITY}
+ * changes; older revisions can no longer be served and need a full query.
+ *
+ * <p>Thread Safety: all operations are synchronized.
+ */
+public final class MarkerStore
+{
+    /** Default maximum number of marker changes kept in the journal */
+    public static final int DEFAULT_JOURNAL_CAPACITY = 50_000;
+
+    /** Project name -> markers of the project */
+    private final Map<String, ProjectMarkers> projects = new LinkedHashMap<>();
+
+    /** Marker changes in revision order */
+    private final ArrayDeque<Change> journal = new ArrayDeque<>();
+
+    private final int journalCapacity;
+
+    private long revision;
+
+    /** Oldest revision from which the journal holds all later changes */
+    private long journalStart;
+
+    /**
+     * Creates an empty store at revision 0.
+     */
+    public MarkerStore()
+    {
+        this(0, DEFAULT_JOURNAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store.
+     *
+     * @param initialRevision revision of the empty store; a value that grows between
+     *     sessions keeps revisions handed out by an earlier store from being mistaken for current ones
+     * @param journalCapacity maximum number of marker changes kept in the journal
+     */
+    public MarkerStore(long initialRevision, int journalCapacity)
+    {
+        this.revision = initialRevision;
+        this.journalStart = initialRevision;
+        this.journalCapacity = journalCapacity;
+    }
+
+    /**
+     * Replaces the markers of all projects. Projects missing from the map lose their markers.
+     *
+     * @param markersByProject project name -> current markers
+     * @return true if anything changed
+     */
+    public synchronized boolean replaceAll(Map<String, ? extends Collection<MarkerEntry>> markersByProject)
+    {
+        boolean changed = false;
+        for (String projectName : new ArrayList<>(projects.keySet()))
+        {
+            if (!markersByProject.containsKey(projectName))
+            {
+                changed |= replaceProject(projectName, Collections.emptyList());
+            }
+        }
+        for (Map.Entry<String, ? extends Collection<MarkerEntry>> entry : markersByProject.entrySet())
+        {
+            changed |= replaceProject(entry.getKey(), entry.getValue());
+        }
+        return changed;
+    }
+
+    /**
+     * Replaces the markers of one project.
+     *
+     * @param projectName the project
+     * @param markers current markers of the project
+     * @return true if anything changed
+     */
+    public synchronized boolean replaceProject(String projectName, Collection<MarkerEntry> markers)
+    {
+        Map<MarkerEntry, Integer> current = new HashMap<>();
+        for (MarkerEntry marker : markers)
+        {
+            current.merge(marker, 1, Integer::sum);
+        }
+
+        ProjectMarkers project = projects.get(projectName);
+        if (project == null)
+        {
+            if (current.isEmpty())
+            {
+                return false;
+            }
+            project = new ProjectMarkers();
+            projects.put(projectName, project);
+        }
+
+        boolean changed = false;
+        for (Map.Entry<MarkerEntry, int[]> entry : new ArrayList<>(project.counts.entrySet()))
+        {
+            int remaining = current.getOrDefault(entry.getKey(), 0);
+            int removed = entry.getValue()[0] - remaining;
+            if (removed > 0)
+            {
+                project.remove(entry.getKey(), removed);
+                record(entry.getKey(), -removed);
+                changed = true;
+            }
+        }
+        for (Map.Entry<MarkerEntry, Integer> entry : current.entrySet())
+        {
+            int[] count = project.counts.get(entry.getKey());
+            int added = entry.getValue() - (count != null ? count[0] : 0);
+            if (added > 0)
+            {
+                project.add(entry.getKey(), added);
+                record(entry.getKey(), added);
+                changed = true;
+            }
+        }
+
+        if (project.counts.isEmpty())
+        {
+            projects.remove(projectName);
+        }
+        if (changed)
+        {
+            revision++;
+        }
+        return changed;
+    }
+
+    /**
+     * Finds markers matching the query.
+     *
+     * @param query the filters
+     * @param limit maximum number of markers
+     * @return matching markers, each repeated by its number of occurrences
+     */
+    public synchronized List<MarkerEntry> find(Query query, int limit)
+    {
+        List<MarkerEntry> result = new ArrayList<>();
+        for (Map.Entry<String, ProjectMarkers> entry : projects.entrySet())
+        {
+            if (query.projectName != null && !query.projectName.equals(entry.getKey()))
+            {
+                continue;
+            }
+            if (!entry.getValue().find(entry.getKey(), query, result, limit))
+            {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the markers added and removed since a revision, as the net difference
+     * between the markers at that revision and the current ones.
+     *
+     * @param sinceRevision revision returned by an earlier query
+     * @param query the filters
+     * @param limit maximum number of added and removed markers together
+     * @return the changes, or null if the revision is not covered by the journal
+     */
+    public synchronized Changes changesSince(long sinceRevision, Query query, int limit)
+    {
+        if (sinceRevision < journalStart || sinceRevision > revision)
+        {
+            return null;
+        }
+
+        // Walk back to the requested revision, then sum the changes in their order
+        List<Change> recent = new ArrayList<>();
+        for (Iterator<Change> it = journal.descendingIterator(); it.hasNext();)
+        {
+            Change change = it.next();
+            if (change.revision <= sinceRevision)
+            {
+                break;
+            }
+            recent.add(change);
+        }
+        Map<MarkerEntry, int[]> net = new LinkedHashMap<>();
+        for (int i = recent.size() - 1; i >= 0; i--)
+        {
+            Change change = recent.get(i);
+            net.computeIfAbsent(change.marker, k -> new int[1])[0] += change.delta;
+        }
+
+        Map<String, Boolean> checkMatches = new HashMap<>();
+        List<MarkerEntry> added = new ArrayList<>();
+        List<MarkerEntry> removed = new ArrayList<>();
+        int addedCount = 0;
+        int removedCount = 0;
+        for (Map.Entry<MarkerEntry, int[]> entry : net.entrySet())
+        {
+            int delta = entry.getValue()[0];
+            if (delta == 0 || !query.matches(entry.getKey(), checkMatches))
+            {
+                continue;
+            }
+            List<MarkerEntry> target = delta > 0 ? added : removed;
+            if (delta > 0)
+            {
+                addedCount += delta;
+            }
+            else
+            {
+                removedCount -= delta;
+            }
+            for (int i = Math.abs(delta); i > 0 && added.size() + removed.size() < limit; i--)
+            {
+                target.add(entry.getKey());
+            }
+        }
+        return new Changes(sinceRevision, revision, added, removed, addedCount, removedCount);
+    }
+
+    /**
+     * Returns marker counts from the maintained counters.
+     *
+     * @param projectName project to summarize, or null for all projects
+     * @param topCount number of top checks and objects to return
+     * @return the summary
+     */
+    public synchronized Summary summarize(String projectName, int topCount)
+    {
+        Map<String, Map<String, Integer>> severities = new TreeMap<>();
+        Map<String, Integer> checks = new HashMap<>();
+        Map<String, Integer> objects = new HashMap<>();
+        for (Map.Entry<String, ProjectMarkers> entry : projects.entrySet())
+        {
+            if (projectName != null && !projectName.equals(entry.getKey()))
+            {
+                continue;
+            }
+            ProjectMarkers project = entry.getValue();
+            Map<String, Integer> projectSeverities = new LinkedHashMap<>();
+            project.severityCounts.forEach((severity, count) -> projectSeverities.put(severity, count[0]));
+            severities.put(entry.getKey(), projectSeverities);
+            project.checkCounts.forEach((check, count) -> checks.merge(check, count[0], Integer::sum));
+            project.objectCounts.forEach((object, count) -> objects.merge(object, count[0], Integer::sum));
+        }
+        return new Summary(revision, severities, top(checks, topCount), top(objects, topCount));
+    }
+
+    /**
+     * @return revision of the markers, advanced by every update that changes them
+     */
+    public synchronized long getRevision()
+    {
+        return revision;
+    }
+
+    /**
+     * @return total number of markers
+     */
+    public synchronized int size()
+    {
+        int size = 0;
+        for (ProjectMarkers project : projects.values())
+        {
+            size += project.size;
+        }
+        return size;
+    }
+
+    /**
+     * Appends a change of the revision being produced, dropping the oldest
+     * changes beyond the journal capacity.
+     */
+    private void record(MarkerEntry marker, int delta)
+    {
+        journal.addLast(new Change(revision + 1, marker, delta));
+        while (journal.size() > journalCapacity)
+        {
+            // Changes of the dropped revision may remain, so only later revisions stay complete
+            journalStart = journal.removeFirst().revision;
+        }
+    }
+
+    /**
+     * Selects the largest counts without sorting all of them.
+     */
+    private static List<Count> top(Map<String, Integer> counts, int topCount)
+    {
+        Comparator<Count> order = Comparator.comparingInt((Count c) -> -c.count).thenComparing(c -> c.key);
+        PriorityQueue<Count> heap = new PriorityQueue<>(order.reversed());
+        counts.forEach((key, count) -> {
+            heap.add(new Count(key, count));
+            if (heap.size() > topCount)
+            {
+                heap.poll();
+            }
+        });
+        List<Count> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * Number of markers of a check or an object.
+     */
+    public static final class Count
+    {
+        private final String key;
+        private final int count;
+
+        Count(String key, int count)
+        {
+            this.key = key;
+            this.count = count;
+        }
+
+        /** @return "SEVERITY/checkCode" for checks, the object key for objects */
+        public String getKey()
+        {
+            return key;
+        }
+
+        public int getCount()
+        {
+            return count;
+        }
+    }
+
+    /**
+     * One journal record: occurrences of a marker added (positive delta) or removed.
+     */
+    private static final class Change
+    {
+        final long revision;
+        final MarkerEntry marker;
+        final int delta;
+
+        Change(long revision, MarkerEntry marker, int delta)
+        {
+            this.revision = revision;
+            this.marker = marker;
+            this.delta = delta;
+        }
+    }
+
+    /**
+     * Markers added and removed between two store revisions.
+     */
+    public static final class Changes
+    {
+        private final long fromRevision;
+        private final long toRevision;
+        private final List<MarkerEntry> added;
+        private final List<MarkerEntry> removed;
+        private final int addedCount;
+        private final int removedCount;
+
+        Changes(long fromRevision, long toRevision, List<MarkerEntry> added, List<MarkerEntry> removed,
+            int addedCount, int removedCount)
+        {
+            this.fromRevision = fromRevision;
+            this.toRevision = toRevision;
+            this.added = added;
+            this.removed = removed;
+            this.addedCount = addedCount;
+            this.removedCount = removedCount;
+        }
+
+        public long getFromRevision()
+        {
+            return fromRevision;
+        }
+
+        /** @return current revision, to be passed to the next delta query */
+        public long getToRevision()
+        {
+            return toRevision;
+        }
+
+        /** @return added markers, each repeated by its number of new occurrences, up to the limit */
+        public List<MarkerEntry> getAdded()
+        {
+            return added;
+        }
+
+        /** @return removed markers, each repeated by its number of removed occurrences, up to the limit */
+        public List<MarkerEntry> getRemoved()
+        {
+            return removed;
+        }
+
+        /** @return number of added markers without the limit */
+        public int getAddedCount()
+        {
+            return addedCount;
+        }
+
+        /** @return number of removed markers without the limit */
+        public int getRemovedCount()
+        {
+            return removedCount;
+        }
+    }
+
+    /**
+     * Marker counts at one store revision.
+     */
+    public static final class Summary
+    {
+        private final long revision;
+        private final Map<String, Map<String, Integer>> severityCounts;
+        private final List<Count> topChecks;
+        private final List<Count> topObjects;
+
+        Summary(long revision, Map<String, Map<String, Integer>> severityCounts, List<Count> topChecks,
+            List<Count> topObjects)
+        {
+            this.revision = revision;
+            this.severityCounts = severityCounts;
+            this.topChecks = topChecks;
+            this.topObjects = topObjects;
+        }
+
+        public long getRevision()
+        {
+            return revision;
+        }
+
+        /** @return project name -> severity name -> number of markers, projects in name order */
+        public Map<String, Map<String, Integer>> getSeverityCounts()
+        {
+            return severityCounts;
+        }
+
+        /** @return checks with most markers, keyed "SEVERITY/checkCode" */
+        public List<Count> getTopChecks()
+        {
+            return topChecks;
+        }
+
+        /** @return top-level objects with most markers, keyed as {@link MarkerEntry#getObjectKey()} */
+        public List<Count> getTopObjects()
+        {
+            return topObjects;
+        }
+    }
+
+    /**
+     * Marker filters; unset filters match everything.
+     */
+    public static final class Query
+    {
+        String projectName;
+        String severity;
+        BiPredicate<String, String> checkFilter;
+        Set<String> objectKeys;
+        Predicate<MarkerEntry> filter;
+
+        /**
+         * @param value project name
+         * @return this query
+         */
+        public Query project(String value)
+        {
+            this.projectName = value;
+            return this;
+        }
+
+        /**
+         * @param value severity name
+         * @return this query
+         */
+        public Query severity(String value)
+        {
+            this.severity = value;
+            return this;
+        }
+
+        /**
+         * @param value test on project name and check code, called once per distinct check
+         * @return this query
+         */
+        public Query check(BiPredicate<String, String> value)
+        {
+            this.checkFilter = value;
+            return this;
+        }
+
+        /**
+         * @param value object keys (see {@link MarkerEntry#objectKey(String)}) of which any must match
+         * @return this query
+         */
+        public Query objects(Set<String> value)
+        {
+            this.objectKeys = value;
+            return this;
+        }
+
+        /**
+         * @param value additional test applied to the entries left by the other filters
+         * @return this query
+         */
+        public Query filter(Predicate<MarkerEntry> value)
+        {
+            this.filter = value;
+            return this;
+        }
+
+        /**
+         * Tests a single marker against all filters.
+         *
+         * @param marker the marker
+         * @param checkMatches results of the check filter by "project/checkCode", filled on demand
+         * @return true if the marker matches
+         */
+        boolean matches(MarkerEntry marker, Map<String, Boolean> checkMatches)
+        {
+            return (projectName == null || projectName.equals(marker.getProjectName()))
+                && (severity == null || severity.equals(marker.getSeverity()))
+                && (objectKeys == null || objectKeys.contains(marker.getObjectKey()))
+                && (checkFilter == null || checkMatches.computeIfAbsent(
+                    marker.getProjectName() + '/' + marker.getCheckCode(),
+                    k -> checkFilter.test(marker.getProjectName(), marker.getCheckCode())))
+                && (filter == null || filter.test(marker));
+        }
+    }
+
+    /**
+     * Markers of one project with their partitions.
+     */
+    private static final class ProjectMarkers
+    {
+        /** Distinct markers with their number of occurrences, in arrival order */
+        final Map<MarkerEntry, int[]> counts = new LinkedHashMap<>();
+        final Map<String, Set<MarkerEntry>> bySeverity = new HashMap<>();
+        final Map<String, Set<MarkerEntry>> byCheck = new HashMap<>();
+        final Map<String, Set<MarkerEntry>> byObject = new HashMap<>();
+        /** Number of markers per severity, per "SEVERITY/checkCode" and per object key */
+        final Map<String, int[]> severityCounts = new HashMap<>();
+        final Map<String, int[]> checkCounts = new HashMap<>();
+        final Map<String, int[]> objectCounts = new HashMap<>();
+        int size;
+
+        void add(MarkerEntry marker, int count)
+        {
+            int[] existing = counts.get(marker);
+            if (existing != null)
+            {
+                existing[0] += count;
+            }
+            else
+            {
+                counts.put(marker, new int[] { count });
+                partition(bySeverity, marker.getSeverity()).add(marker);
+                partition(byCheck, marker.getCheckCode()).add(marker);
+                partition(byObject, marker.getObjectKey()).add(marker);
+            }
+            size += count;
+            updateCounts(marker, count);
+        }
+
+        void remove(MarkerEntry marker, int count)
+        {
+            int[] existing = counts.get(marker);
+            if (existing == null)
+            {
+                return;
+            }
+            int removed = Math.min(count, existing[0]);
+            existing[0] -= removed;
+            size -= removed;
+            updateCounts(marker, -removed);
+            if (existing[0] == 0)
+            {
+                counts.remove(marker);
+                unpartition(bySeverity, marker.getSeverity(), marker);
+                unpartition(byCheck, marker.getCheckCode(), marker);
+                unpartition(byObject, marker.getObjectKey(), marker);
+            }
+        }
+
+        /**
+         * Adds matching markers to the result.
+         *
+         * @return false if the limit is reached
+         */
+        boolean find(String projectName, Query query, List<MarkerEntry> result, int limit)
+        {
+            Collection<MarkerEntry> candidates = counts.keySet();
+            if (query.severity != null)
+            {
+                candidates = smaller(candidates, bySeverity.getOrDefault(query.severity, Collections.emptySet()));
+            }
+            Set<String> checkCodes = null;
+            if (query.checkFilter != null)
+            {
+                checkCodes = new LinkedHashSet<>();
+                List<Set<MarkerEntry>> checkPartitions = new ArrayList<>();
+                for (Map.Entry<String, Set<MarkerEntry>> entry : byCheck.entrySet())
+                {
+                    if (query.checkFilter.test(projectName, entry.getKey()))
+                    {
+                        checkCodes.add(entry.getKey());
+                        checkPartitions.add(entry.getValue());
+                    }
+                }
+                candidates = smaller(candidates, union(checkPartitions));
+            }
+            if (query.objectKeys != null)
+            {
+                List<Set<MarkerEntry>> objectPartitions = new ArrayList<>();
+                for (String key : query.objectKeys)
+                {
+                    Set<MarkerEntry> partition = byObject.get(key);
+                    if (partition != null)
+                    {
+                        objectPartitions.add(partition);
+                    }
+                }
+                candidates = smaller(candidates, union(objectPartitions));
+            }
+
+            for (MarkerEntry marker : candidates)
+            {
+                if ((query.severity != null && !query.severity.equals(marker.getSeverity()))
+                    || (checkCodes != null && !checkCodes.contains(marker.getCheckCode()))
+                    || (query.objectKeys != null && !query.objectKeys.contains(marker.getObjectKey()))
+                    || (query.filter != null && !query.filter.test(marker)))
+                {
+                    continue;
+                }
+                for (int i = counts.get(marker)[0]; i > 0; i--)
+                {
+                    if (result.size() >= limit)
+                    {
+                        return false;
+                    }
+                    result.add(marker);
+                }
+            }
+            return result.size() < limit;
+        }
+
+        private void updateCounts(MarkerEntry marker, int delta)
+        {
+            count(severityCounts, marker.getSeverity(), delta);
+            count(checkCounts, marker.getSeverity() + '/' + marker.getCheckCode(), delta);
+            if (marker.getObjectKey() != null)
+            {
+                count(objectCounts, marker.getObjectKey(), delta);
+            }
+        }
+
+        private static void count(Map<String, int[]> counts, String key, int delta)
+        {
+            int[] count = counts.computeIfAbsent(key, k -> new int[1]);
+            count[0] += delta;
+            if (count[0] <= 0)
+            {
+                counts.remove(key);
+            }
+        }
+
+        private static Collection<MarkerEntry> smaller(Collection<MarkerEntry> a, Collection<MarkerEntry> b)
+        {
+            return b.size() < a.size() ? b : a;
+        }
+
+        private static Collection<MarkerEntry> union(List<Set<MarkerEntry>> partitions)
+        {
+            if (partitions.size() == 1)
+            {
+                return partitions.get(0);
+            }
+            Set<MarkerEntry> union = new LinkedHashSet<>();
+            for (Set<MarkerEntry> partition : partitions)
+            {
+                union.addAll(partition);
+            }
+            return union;
+        }
+
+        private static Set<MarkerEntry> partition(Map<String, Set<MarkerEntry>> partitions, String key)
+        {
+            return partitions.computeIfAbsent(key, k -> new LinkedHashSet<>());
+        }
+
+        private static void unpartition(Map<String, Set<MarkerEntry>> partitions, String key, MarkerEntry marker)
+        {
+            Set<MarkerEntry> partition = partitions.get(key);
+            if (partition != null)
+            {
+                partition.remove(marker);
+                if (partition.isEmpty())
+                {
+                    partitions.remove(key);
+                }
+            }
+        }
+    }
+}
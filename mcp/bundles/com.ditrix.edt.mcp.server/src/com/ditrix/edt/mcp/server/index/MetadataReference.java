@@ -0,0 +1,62 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+/**
+ * Immutable reference from a metadata object to a queried object, as stored in
+ * {@link ReferenceCache}.
+ */
+public final class MetadataReference
+{
+    private final String category;
+    private final String sourcePath;
+    private final String feature;
+
+    /**
+     * Creates a reference.
+     *
+     * @param category reference category (e.g. "Predefined items")
+     * @param sourcePath full path of the referencing object and its inner element
+     * @param feature referencing feature label, or null
+     */
+    public MetadataReference(String category, String sourcePath, String feature)
+    {
+        this.category = category;
+        this.sourcePath = sourcePath;
+        this.feature = feature;
+    }
+
+    public String getCategory()
+    {
+        return category;
+    }
+
+    public String getSourcePath()
+    {
+        return sourcePath;
+    }
+
+    public String getFeature()
+    {
+        return feature;
+    }
+
+    /**
+     * Estimates the memory held by this reference.
+     *
+     * @return approximate size in bytes
+     */
+    long estimateWeight()
+    {
+        return 48 + 2L * (length(category) + length(sourcePath) + length(feature));
+    }
+
+    private static int length(String value)
+    {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable description of a BSL method declaration as stored in {@link MethodSymbolIndex}.
+ */
+public final class MethodSymbol
+{
+    private final String modulePath;
+    private final String name;
+    private final boolean function;
+    private final boolean export;
+    private final int startLine;
+    private final int endLine;
+    private final String params;
+    private final List<String> pragmas;
+
+    /**
+     * Creates a method symbol.
+     *
+     * @param modulePath module path from src/, e.g. "CommonModules/MyModule/Module.bsl"
+     * @param name method name as declared
+     * @param function true for functions, false for procedures
+     * @param export whether the method is exported
+     * @param startLine 1-based line of the Procedure/Function keyword
+     * @param endLine 1-based line of the EndProcedure/EndFunction keyword
+     * @param params parameter list text without parentheses, empty if none
+     * @param pragmas compilation directives preceding the method (e.g. "&AtServer")
+     */
+    public MethodSymbol(String modulePath, String name, boolean function, boolean export, int startLine,
+        int endLine, String params, List<String> pragmas)
+    {
+        this.modulePath = modulePath;
+        this.name = name;
+        this.function = function;
+        this.export = export;
+        this.startLine = startLine;
+        this.endLine = endLine;
+        this.params = params;
+        this.pragmas = Collections.unmodifiableList(pragmas);
+    }
+
+    public String getModulePath()
+    {
+        return modulePath;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public boolean isFunction()
+    {
+        return function;
+    }
+
+    public boolean isExport()
+    {
+        return export;
+    }
+
+    public int getStartLine()
+    {
+        return startLine;
+    }
+
+    public int getEndLine()
+    {
+        return endLine;
+    }
+
+    public String getParams()
+    {
+        return params;
+    }
+
+    public List<String> getPragmas()
+    {
+        return pragmas;
+    }
+
+    /**
+     * Builds the declaration signature, e.g. "Function MyFunc(Param1, Val Param2 = 0) Export".
+     *
+     * @return signature string
+     */
+    public String getSignature()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(function ? "Function " : "Procedure "); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append(name).append('(').append(params).append(')');
+        if (export)
+        {
+            sb.append(" Export"); //$NON-NLS-1$
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return modulePath + ":" + startLine + " " + getSignature(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -0,0 +1,713 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.tools.impl.BslFileScanner;
+import com.ditrix.edt.mcp.server.utils.MetadataTypeUtils;
+
+/**
+ * Workspace-wide index of BSL method declarations and calls.
+ *
+ * <p>For every open project with a src/ folder the index keeps all .bsl modules,
+ * the methods declared in them (name, line range, export flag, compilation
+ * directives, parameters) and the calls made in them. Lookups by method name or
+ * by module path are hash or sorted-map hits; no module is loaded or parsed on the
+ * request path. Calls are indexed by called name and resolved to declarations on
+ * demand, which makes up the project call graph queried through {@link CallGraph}.
+ *
+ * <p>The index is built by a background job that parses modules in parallel, and
+ * is kept up to date from resource deltas: changed modules are queued and re-parsed
+ * by a short follow-up job. Pending changes are also applied before each lookup,
+ * so callers never see a module older than the last delta. Until the initial build
+ * of a project completes, lookups return {@code null} and callers fall back to
+ * their regular (EMF or file-walking) resolution.
+ *
+ * <p>Thread Safety: lookups are lock-free and may run on any thread; updates of
+ * one project are serialized.
+ */
+public final class MethodSymbolIndex implements IResourceChangeListener
+{
+    /** Delay before applying queued resource changes, to batch bursts of saves */
+    private static final long UPDATE_DELAY_MS = 300;
+
+    private static final String SRC_FOLDER = "src"; //$NON-NLS-1$
+    private static final String BSL_EXTENSION = "bsl"; //$NON-NLS-1$
+    private static final String COMMON_MODULES_PREFIX = "commonmodules/"; //$NON-NLS-1$
+
+    /** Lower-case qualifiers referring to the calling module itself */
+    private static final Set<String> SELF_QUALIFIERS = Set.of(
+        "thisobject", "thisform", "этотобъект", "этаформа"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+    private static MethodSymbolIndex instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    private final Map<String, ProjectIndex> projects = new ConcurrentHashMap<>();
+
+    private final Job updateJob = new Job("Updating BSL method index") //$NON-NLS-1$
+    {
+        @Override
+        protected IStatus run(IProgressMonitor monitor)
+        {
+            for (ProjectIndex index : projects.values())
+            {
+                index.applyPending();
+            }
+            return Status.OK_STATUS;
+        }
+    };
+
+    private MethodSymbolIndex()
+    {
+        updateJob.setSystem(true);
+        updateJob.setPriority(Job.DECORATE);
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the index
+     */
+    public static MethodSymbolIndex getInstance()
+    {
+        MethodSymbolIndex localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new MethodSymbolIndex();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Disposes the index, cancelling background jobs and releasing memory.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+                instance.updateJob.cancel();
+                for (ProjectIndex index : instance.projects.values())
+                {
+                    index.buildJob.cancel();
+                }
+                instance.projects.clear();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Schedules background indexing of all open projects that have a src/ folder.
+     */
+    public void scheduleBuildAll()
+    {
+        for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects())
+        {
+            if (isIndexable(project))
+            {
+                getProjectIndex(project);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the initial build of the project index has completed.
+     *
+     * @param project the project
+     * @return true if lookups for the project are answered from the index
+     */
+    public boolean isReady(IProject project)
+    {
+        ProjectIndex index = getProjectIndex(project);
+        return index != null && index.ready;
+    }
+
+    /**
+     * Finds all methods with the given name (case-insensitive) across the project.
+     *
+     * @param project the project
+     * @param methodName method name
+     * @return matching methods (possibly empty), or null if the index is not ready
+     */
+    public List<MethodSymbol> findMethods(IProject project, String methodName)
+    {
+        ProjectIndex index = readyIndex(project);
+        if (index == null)
+        {
+            return null;
+        }
+        List<MethodSymbol> methods = index.byName.get(key(methodName));
+        return methods != null ? methods : Collections.emptyList();
+    }
+
+    /**
+     * Returns the methods declared in a module.
+     *
+     * @param project the project
+     * @param modulePath module path from src/ (case-insensitive)
+     * @return methods in source order (possibly empty), or null if the module is unknown
+     *         or the index is not ready
+     */
+    public List<MethodSymbol> getModuleMethods(IProject project, String modulePath)
+    {
+        ProjectIndex index = readyIndex(project);
+        if (index == null)
+        {
+            return null;
+        }
+        ModuleEntry entry = index.modules.get(key(modulePath));
+        return entry != null ? entry.methods : null;
+    }
+
+    /**
+     * Finds a method in a module.
+     *
+     * @param project the project
+     * @param modulePath module path from src/ (case-insensitive)
+     * @param methodName method name (case-insensitive)
+     * @return the method, or null if not found or the index is not ready
+     */
+    public MethodSymbol findMethod(IProject project, String modulePath, String methodName)
+    {
+        List<MethodSymbol> methods = getModuleMethods(project, modulePath);
+        if (methods == null)
+        {
+            return null;
+        }
+        for (MethodSymbol method : methods)
+        {
+            if (method.getName().equalsIgnoreCase(methodName))
+            {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lists module paths starting with the given prefix (case-insensitive).
+     *
+     * @param project the project
+     * @param prefix module path prefix from src/, e.g. "Documents/SalesOrder/"
+     * @return module paths in sorted order, or null if the index is not ready
+     */
+    public List<String> getModulePaths(IProject project, String prefix)
+    {
+        ProjectIndex index = readyIndex(project);
+        if (index == null)
+        {
+            return null;
+        }
+        String from = key(prefix);
+        List<String> result = new ArrayList<>();
+        for (ModuleEntry entry : index.modules.subMap(from, from + Character.MAX_VALUE).values())
+        {
+            result.add(entry.modulePath);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the call graph of a project for call hierarchy queries.
+     *
+     * @param project the project
+     * @return the call graph, or null if the index is not ready
+     */
+    public CallGraph.Source getCallGraph(IProject project)
+    {
+        ProjectIndex index = readyIndex(project);
+        return index != null ? new ProjectCallGraph(index) : null;
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event)
+    {
+        IResourceDelta rootDelta = event.getDelta();
+        if (rootDelta == null || projects.isEmpty())
+        {
+            return;
+        }
+
+        boolean[] queued = { false };
+        try
+        {
+            rootDelta.accept(delta -> {
+                IResource resource = delta.getResource();
+                if (resource.getType() == IResource.PROJECT)
+                {
+                    if (delta.getKind() == IResourceDelta.REMOVED
+                        || (delta.getFlags() & IResourceDelta.OPEN) != 0)
+                    {
+                        ProjectIndex removed = projects.remove(resource.getName());
+                        if (removed != null)
+                        {
+                            removed.buildJob.cancel();
+                        }
+                        return false;
+                    }
+                    return projects.containsKey(resource.getName());
+                }
+                if (resource.getType() == IResource.FILE)
+                {
+                    if (isBslFile(resource) && (delta.getKind() != IResourceDelta.CHANGED
+                        || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0))
+                    {
+                        ProjectIndex index = projects.get(resource.getProject().getName());
+                        if (index != null)
+                        {
+                            index.pending.add((IFile) resource);
+                            queued[0] = true;
+                        }
+                    }
+                    return false;
+                }
+                return true;
+            });
+        }
+        catch (CoreException e)
+        {
+            Activator.logError("Error processing resource change for method index", e); //$NON-NLS-1$
+        }
+
+        if (queued[0])
+        {
+            updateJob.schedule(UPDATE_DELAY_MS);
+        }
+    }
+
+    /**
+     * Returns the project index, creating it and scheduling its build on first access.
+     */
+    private ProjectIndex getProjectIndex(IProject project)
+    {
+        if (project == null || !isIndexable(project))
+        {
+            return null;
+        }
+        return projects.computeIfAbsent(project.getName(), name -> {
+            ProjectIndex index = new ProjectIndex(project);
+            index.buildJob.schedule();
+            return index;
+        });
+    }
+
+    private ProjectIndex readyIndex(IProject project)
+    {
+        ProjectIndex index = getProjectIndex(project);
+        if (index == null || !index.ready)
+        {
+            return null;
+        }
+        index.applyPending();
+        return index;
+    }
+
+    private static boolean isIndexable(IProject project)
+    {
+        return project.isOpen() && project.getFolder(SRC_FOLDER).exists();
+    }
+
+    private static boolean isBslFile(IResource resource)
+    {
+        return BSL_EXTENSION.equalsIgnoreCase(resource.getFileExtension())
+            && resource.getProjectRelativePath().segmentCount() > 1
+            && SRC_FOLDER.equals(resource.getProjectRelativePath().segment(0));
+    }
+
+    private static String key(String value)
+    {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexed module with the modification stamp it was parsed at.
+     */
+    private static final class ModuleEntry
+    {
+        final String modulePath;
+        final long modificationStamp;
+        final List<MethodSymbol> methods;
+        final List<CallSite> calls;
+
+        ModuleEntry(String modulePath, long modificationStamp, List<MethodSymbol> methods, List<CallSite> calls)
+        {
+            this.modulePath = modulePath;
+            this.modificationStamp = modificationStamp;
+            this.methods = Collections.unmodifiableList(methods);
+            this.calls = Collections.unmodifiableList(calls);
+        }
+    }
+
+    /**
+     * Index of one project.
+     */
+    private static final class ProjectIndex
+    {
+        final IProject project;
+
+        /** Modules by lower-case path from src/ */
+        final ConcurrentSkipListMap<String, ModuleEntry> modules = new ConcurrentSkipListMap<>();
+
+        /** Methods by lower-case name; lists are replaced, never modified */
+        final Map<String, List<MethodSymbol>> byName = new ConcurrentHashMap<>();
+
+        /** Calls by lower-case called name, then by lower-case calling module path */
+        final Map<String, Map<String, List<CallSite>>> callsByCallee = new ConcurrentHashMap<>();
+
+        /** Files changed since they were last indexed */
+        final Set<IFile> pending = ConcurrentHashMap.newKeySet();
+
+        final Job buildJob;
+
+        volatile boolean ready;
+
+        ProjectIndex(IProject project)
+        {
+            this.project = project;
+            this.buildJob = new Job("Indexing BSL methods: " + project.getName()) //$NON-NLS-1$
+            {
+                @Override
+                protected IStatus run(IProgressMonitor monitor)
+                {
+                    return build(monitor);
+                }
+            };
+            buildJob.setSystem(true);
+            buildJob.setPriority(Job.DECORATE);
+        }
+
+        IStatus build(IProgressMonitor monitor)
+        {
+            long start = System.currentTimeMillis();
+            List<IFile> files = new ArrayList<>();
+            try
+            {
+                project.getFolder(SRC_FOLDER).accept((IResourceProxy proxy) -> {
+                    if (proxy.getType() == IResource.FILE)
+                    {
+                        if (proxy.getName().toLowerCase(Locale.ROOT).endsWith("." + BSL_EXTENSION)) //$NON-NLS-1$
+                        {
+                            files.add((IFile) proxy.requestResource());
+                        }
+                        return false;
+                    }
+                    return true;
+                }, IResource.NONE);
+            }
+            catch (CoreException e)
+            {
+                Activator.logError("Failed to list BSL modules of " + project.getName(), e); //$NON-NLS-1$
+                return Status.CANCEL_STATUS;
+            }
+
+            files.parallelStream().forEach(file -> {
+                if (!monitor.isCanceled())
+                {
+                    indexFile(file);
+                }
+            });
+            if (monitor.isCanceled())
+            {
+                return Status.CANCEL_STATUS;
+            }
+            ready = true;
+            applyPending();
+
+            Activator.logInfo("BSL method index built for " + project.getName() + ": " //$NON-NLS-1$ //$NON-NLS-2$
+                + modules.size() + " modules, " + byName.size() + " method names, " //$NON-NLS-1$ //$NON-NLS-2$
+                + callsByCallee.size() + " called names in " //$NON-NLS-1$
+                + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * Re-indexes files queued by resource deltas.
+         */
+        void applyPending()
+        {
+            if (pending.isEmpty())
+            {
+                return;
+            }
+            for (IFile file : new ArrayList<>(pending))
+            {
+                if (pending.remove(file))
+                {
+                    if (file.exists())
+                    {
+                        indexFile(file);
+                    }
+                    else
+                    {
+                        removeModule(modulePath(file));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Parses a file outside the lock; only storing the result is serialized.
+         */
+        private void indexFile(IFile file)
+        {
+            String modulePath = modulePath(file);
+            ModuleEntry current = modules.get(key(modulePath));
+            long stamp = file.getModificationStamp();
+            if (current != null && current.modificationStamp == stamp && current.modulePath.equals(modulePath))
+            {
+                return;
+            }
+
+            BslMethodParser parser = new BslMethodParser(modulePath);
+            try
+            {
+                BslFileScanner.forEachLine(file, parser);
+            }
+            catch (Exception e)
+            {
+                Activator.logWarning("Failed to index BSL module " + modulePath + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+                return;
+            }
+            List<MethodSymbol> methods = parser.finish();
+            replaceModule(new ModuleEntry(modulePath, stamp, methods, parser.getCallSites()));
+        }
+
+        private synchronized void replaceModule(ModuleEntry entry)
+        {
+            String moduleKey = key(entry.modulePath);
+            ModuleEntry old = modules.get(moduleKey);
+            if (old != null && old.modificationStamp > entry.modificationStamp)
+            {
+                // A concurrent re-index has already stored newer content
+                return;
+            }
+            modules.put(moduleKey, entry);
+            if (old != null)
+            {
+                unlink(old);
+            }
+            Map<String, List<CallSite>> callsByName = new HashMap<>();
+            for (CallSite call : entry.calls)
+            {
+                callsByName.computeIfAbsent(key(call.getCalleeName()), k -> new ArrayList<>()).add(call);
+            }
+            callsByName.forEach((callee, calls) -> callsByCallee
+                .computeIfAbsent(callee, k -> new ConcurrentHashMap<>())
+                .put(moduleKey, Collections.unmodifiableList(calls)));
+            for (MethodSymbol method : entry.methods)
+            {
+                byName.compute(key(method.getName()), (k, list) -> {
+                    List<MethodSymbol> updated = list != null ? new ArrayList<>(list) : new ArrayList<>(1);
+                    updated.add(method);
+                    return Collections.unmodifiableList(updated);
+                });
+            }
+        }
+
+        private synchronized void removeModule(String modulePath)
+        {
+            ModuleEntry old = modules.remove(key(modulePath));
+            if (old != null)
+            {
+                unlink(old);
+            }
+        }
+
+        private void unlink(ModuleEntry entry)
+        {
+            for (MethodSymbol method : entry.methods)
+            {
+                byName.computeIfPresent(key(method.getName()), (k, list) -> {
+                    List<MethodSymbol> updated = new ArrayList<>(list);
+                    updated.remove(method);
+                    return updated.isEmpty() ? null : Collections.unmodifiableList(updated);
+                });
+            }
+            String moduleKey = key(entry.modulePath);
+            for (CallSite call : entry.calls)
+            {
+                callsByCallee.computeIfPresent(key(call.getCalleeName()), (k, byModule) -> {
+                    byModule.remove(moduleKey);
+                    return byModule.isEmpty() ? null : byModule;
+                });
+            }
+        }
+
+        MethodSymbol findInModule(String modulePath, String methodName)
+        {
+            ModuleEntry entry = modules.get(key(modulePath));
+            if (entry == null)
+            {
+                return null;
+            }
+            for (MethodSymbol method : entry.methods)
+            {
+                if (method.getName().equalsIgnoreCase(methodName))
+                {
+                    return method;
+                }
+            }
+            return null;
+        }
+
+        private static String modulePath(IFile file)
+        {
+            return file.getProjectRelativePath().removeFirstSegments(1).toString();
+        }
+    }
+
+    /**
+     * Call graph view of a project index. Calls are resolved the way the platform
+     * binds them: unqualified names to the calling module and then to exported methods
+     * of common modules, "CommonModule.Method" to that common module, and
+     * "Documents.Order.Method" to the manager module of the object. Calls on other
+     * expressions (variables, object properties) do not resolve.
+     */
+    private static final class ProjectCallGraph implements CallGraph.Source
+    {
+        private final ProjectIndex index;
+
+        ProjectCallGraph(ProjectIndex index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public List<CallSite> getCallsFrom(MethodSymbol method)
+        {
+            ModuleEntry entry = index.modules.get(key(method.getModulePath()));
+            if (entry == null)
+            {
+                return Collections.emptyList();
+            }
+            List<CallSite> result = new ArrayList<>();
+            for (CallSite call : entry.calls)
+            {
+                if (method.getName().equalsIgnoreCase(call.getCallerName()))
+                {
+                    result.add(call);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<CallSite> getCallsTo(String methodName)
+        {
+            Map<String, List<CallSite>> byModule = index.callsByCallee.get(key(methodName));
+            if (byModule == null)
+            {
+                return Collections.emptyList();
+            }
+            List<CallSite> result = new ArrayList<>();
+            for (List<CallSite> calls : new TreeMap<>(byModule).values())
+            {
+                result.addAll(calls);
+            }
+            return result;
+        }
+
+        @Override
+        public List<MethodSymbol> resolve(CallSite call)
+        {
+            String qualifier = call.getQualifier();
+            String name = call.getCalleeName();
+            if (qualifier == null || SELF_QUALIFIERS.contains(key(qualifier)))
+            {
+                MethodSymbol local = index.findInModule(call.getModulePath(), name);
+                if (local != null)
+                {
+                    return Collections.singletonList(local);
+                }
+                if (qualifier != null)
+                {
+                    return Collections.emptyList();
+                }
+                // Not declared locally: a method of a global common module
+                List<MethodSymbol> result = new ArrayList<>(1);
+                for (MethodSymbol method : index.byName.getOrDefault(key(name), Collections.emptyList()))
+                {
+                    if (method.isExport() && key(method.getModulePath()).startsWith(COMMON_MODULES_PREFIX))
+                    {
+                        result.add(method);
+                    }
+                }
+                return result;
+            }
+            if (qualifier.isEmpty())
+            {
+                return Collections.emptyList();
+            }
+
+            String targetModule;
+            int dot = qualifier.indexOf('.');
+            if (dot < 0)
+            {
+                targetModule = "CommonModules/" + qualifier + "/Module.bsl"; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            else if (qualifier.indexOf('.', dot + 1) < 0)
+            {
+                String folder = MetadataTypeUtils.getDirectoryName(qualifier.substring(0, dot));
+                if (folder == null)
+                {
+                    return Collections.emptyList();
+                }
+                targetModule = folder + '/' + qualifier.substring(dot + 1) + "/ManagerModule.bsl"; //$NON-NLS-1$
+            }
+            else
+            {
+                return Collections.emptyList();
+            }
+            MethodSymbol target = index.findInModule(targetModule, name);
+            return target != null && target.isExport()
+                ? Collections.singletonList(target) : Collections.emptyList();
+        }
+
+        @Override
+        public MethodSymbol getCaller(CallSite call)
+        {
+            return call.getCallerName() != null
+                ? index.findInModule(call.getModulePath(), call.getCallerName()) : null;
+        }
+    }
+}
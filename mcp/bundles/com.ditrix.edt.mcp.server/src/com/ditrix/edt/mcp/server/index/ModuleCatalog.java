@@ -0,0 +1,415 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.ditrix.edt.mcp.server.Activator;
+
+/**
+ * Workspace-wide catalog of BSL modules.
+ *
+ * <p>For every open project with a src/ folder the catalog keeps a sorted map of
+ * all .bsl modules with their owner object, module type and size (see
+ * {@link ModuleDescriptor}). Queries are answered from memory and never walk
+ * the workspace tree or touch the file system.
+ *
+ * <p>The catalog is built by a background job and kept up to date from resource
+ * deltas; only the added or changed files are looked at again. Until the initial
+ * build of a project completes, queries return {@code null}; callers may wait for
+ * it with {@link #awaitReady(IProject, long)}.
+ *
+ * <p>Thread Safety: queries are lock-free and may run on any thread; updates of
+ * one project are serialized.
+ */
+public final class ModuleCatalog implements IResourceChangeListener
+{
+    private static final String SRC_FOLDER = "src"; //$NON-NLS-1$
+    private static final String BSL_EXTENSION = "bsl"; //$NON-NLS-1$
+
+    private static ModuleCatalog instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    private final Map<String, ProjectCatalog> projects = new ConcurrentHashMap<>();
+
+    private ModuleCatalog()
+    {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the catalog
+     */
+    public static ModuleCatalog getInstance()
+    {
+        ModuleCatalog localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new ModuleCatalog();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Disposes the catalog, cancelling background jobs and releasing memory.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+                for (ProjectCatalog catalog : instance.projects.values())
+                {
+                    catalog.buildJob.cancel();
+                }
+                instance.projects.clear();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Schedules background cataloging of all open projects that have a src/ folder.
+     */
+    public void scheduleBuildAll()
+    {
+        for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects())
+        {
+            if (isCataloged(project))
+            {
+                getProjectCatalog(project);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the initial build of the project catalog has completed.
+     *
+     * @param project the project
+     * @return true if queries for the project are answered from the catalog
+     */
+    public boolean isReady(IProject project)
+    {
+        ProjectCatalog catalog = getProjectCatalog(project);
+        return catalog != null && catalog.ready;
+    }
+
+    /**
+     * Waits for the initial build of the project catalog, scheduling it if needed.
+     *
+     * @param project the project
+     * @param timeoutMs maximum time to wait, in milliseconds
+     * @return true if the catalog is ready
+     */
+    public boolean awaitReady(IProject project, long timeoutMs)
+    {
+        ProjectCatalog catalog = getProjectCatalog(project);
+        if (catalog == null)
+        {
+            return false;
+        }
+        if (!catalog.ready)
+        {
+            try
+            {
+                catalog.buildJob.join(timeoutMs, null);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (OperationCanceledException e)
+            {
+                // Fall through and report the current state
+            }
+        }
+        return catalog.ready;
+    }
+
+    /**
+     * Finds modules matching the given filters, in path order.
+     *
+     * @param project the project
+     * @param collectionFolder owner collection folder in src/, e.g. "Documents", or null for all
+     * @param ownerName owner object name (case-insensitive), or null for all
+     * @param pathFilter substring of the module path (case-insensitive), or null for all
+     * @return matching modules (possibly empty), or null if the catalog is not ready
+     */
+    public List<ModuleDescriptor> findModules(IProject project, String collectionFolder, String ownerName,
+        String pathFilter)
+    {
+        ProjectCatalog catalog = getProjectCatalog(project);
+        if (catalog == null || !catalog.ready)
+        {
+            return null;
+        }
+
+        Collection<ModuleDescriptor> candidates;
+        if (isEmpty(collectionFolder))
+        {
+            candidates = catalog.modules.values();
+        }
+        else
+        {
+            String prefix = key(collectionFolder) + '/';
+            if (!isEmpty(ownerName))
+            {
+                prefix += key(ownerName) + '/';
+            }
+            candidates = catalog.modules.subMap(prefix, prefix + Character.MAX_VALUE).values();
+        }
+
+        String filter = isEmpty(pathFilter) ? null : key(pathFilter);
+        List<ModuleDescriptor> result = new ArrayList<>();
+        for (ModuleDescriptor module : candidates)
+        {
+            if (!isEmpty(ownerName) && !module.getOwnerName().equalsIgnoreCase(ownerName))
+            {
+                continue;
+            }
+            if (filter != null && !key(module.getModulePath()).contains(filter))
+            {
+                continue;
+            }
+            result.add(module);
+        }
+        return result;
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event)
+    {
+        IResourceDelta rootDelta = event.getDelta();
+        if (rootDelta == null || projects.isEmpty())
+        {
+            return;
+        }
+
+        try
+        {
+            rootDelta.accept(delta -> {
+                IResource resource = delta.getResource();
+                if (resource.getType() == IResource.PROJECT)
+                {
+                    if (delta.getKind() == IResourceDelta.REMOVED
+                        || (delta.getFlags() & IResourceDelta.OPEN) != 0)
+                    {
+                        ProjectCatalog removed = projects.remove(resource.getName());
+                        if (removed != null)
+                        {
+                            removed.buildJob.cancel();
+                        }
+                        return false;
+                    }
+                    return projects.containsKey(resource.getName());
+                }
+                if (resource.getType() == IResource.FILE)
+                {
+                    if (isBslFile(resource) && (delta.getKind() != IResourceDelta.CHANGED
+                        || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0))
+                    {
+                        ProjectCatalog catalog = projects.get(resource.getProject().getName());
+                        if (catalog != null)
+                        {
+                            catalog.pending.add((IFile) resource);
+                            catalog.applyPending();
+                        }
+                    }
+                    return false;
+                }
+                return true;
+            });
+        }
+        catch (CoreException e)
+        {
+            Activator.logError("Error processing resource change for module catalog", e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Returns the project catalog, creating it and scheduling its build on first access.
+     */
+    private ProjectCatalog getProjectCatalog(IProject project)
+    {
+        if (project == null || !isCataloged(project))
+        {
+            return null;
+        }
+        return projects.computeIfAbsent(project.getName(), name -> {
+            ProjectCatalog catalog = new ProjectCatalog(project);
+            catalog.buildJob.schedule();
+            return catalog;
+        });
+    }
+
+    private static boolean isCataloged(IProject project)
+    {
+        return project.isOpen() && project.getFolder(SRC_FOLDER).exists();
+    }
+
+    private static boolean isBslFile(IResource resource)
+    {
+        return BSL_EXTENSION.equalsIgnoreCase(resource.getFileExtension())
+            && resource.getProjectRelativePath().segmentCount() > 1
+            && SRC_FOLDER.equals(resource.getProjectRelativePath().segment(0));
+    }
+
+    private static boolean isEmpty(String value)
+    {
+        return value == null || value.isEmpty();
+    }
+
+    private static String key(String value)
+    {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Catalog of one project.
+     */
+    private static final class ProjectCatalog
+    {
+        final IProject project;
+
+        /** Modules by lower-case path from src/ */
+        final ConcurrentSkipListMap<String, ModuleDescriptor> modules = new ConcurrentSkipListMap<>();
+
+        /** Files changed while the initial build is running */
+        final Set<IFile> pending = ConcurrentHashMap.newKeySet();
+
+        final Job buildJob;
+
+        volatile boolean ready;
+
+        ProjectCatalog(IProject project)
+        {
+            this.project = project;
+            this.buildJob = new Job("Cataloging BSL modules: " + project.getName()) //$NON-NLS-1$
+            {
+                @Override
+                protected IStatus run(IProgressMonitor monitor)
+                {
+                    return build(monitor);
+                }
+            };
+            buildJob.setSystem(true);
+            buildJob.setPriority(Job.DECORATE);
+        }
+
+        IStatus build(IProgressMonitor monitor)
+        {
+            long start = System.currentTimeMillis();
+            try
+            {
+                project.getFolder(SRC_FOLDER).accept((IResourceProxy proxy) -> {
+                    if (monitor.isCanceled())
+                    {
+                        throw new OperationCanceledException();
+                    }
+                    if (proxy.getType() == IResource.FILE)
+                    {
+                        if (proxy.getName().toLowerCase(Locale.ROOT).endsWith("." + BSL_EXTENSION)) //$NON-NLS-1$
+                        {
+                            update((IFile) proxy.requestResource());
+                        }
+                        return false;
+                    }
+                    return true;
+                }, IResource.NONE);
+            }
+            catch (OperationCanceledException e)
+            {
+                return Status.CANCEL_STATUS;
+            }
+            catch (CoreException e)
+            {
+                Activator.logError("Failed to list BSL modules of " + project.getName(), e); //$NON-NLS-1$
+                return Status.CANCEL_STATUS;
+            }
+            ready = true;
+            applyPending();
+
+            Activator.logInfo("BSL module catalog built for " + project.getName() + ": " //$NON-NLS-1$ //$NON-NLS-2$
+                + modules.size() + " modules in " + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * Applies files queued by resource deltas once the initial build has completed.
+         * Earlier changes stay queued so the build cannot overwrite them with stale state.
+         */
+        void applyPending()
+        {
+            if (!ready || pending.isEmpty())
+            {
+                return;
+            }
+            for (IFile file : new ArrayList<>(pending))
+            {
+                if (pending.remove(file))
+                {
+                    update(file);
+                }
+            }
+        }
+
+        private synchronized void update(IFile file)
+        {
+            String modulePath = file.getProjectRelativePath().removeFirstSegments(1).toString();
+            if (!file.exists())
+            {
+                modules.remove(key(modulePath));
+                return;
+            }
+            ModuleDescriptor module = ModuleDescriptor.of(modulePath, size(file));
+            if (module != null)
+            {
+                modules.put(key(modulePath), module);
+            }
+        }
+
+        private static long size(IFile file)
+        {
+            IPath location = file.getLocation();
+            return location != null ? location.toFile().length() : 0;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.Locale;
+
+import com.ditrix.edt.mcp.server.utils.MetadataTypeUtils;
+
+/**
+ * Catalog entry of a BSL module: its path, owner metadata object, module type and size.
+ *
+ * <p>Owner and module type are derived from the module path alone, e.g.
+ * {@code Documents/Order/Forms/Main/Module.bsl} is the {@code FormModule} of
+ * {@code Document Order}.
+ *
+ * <p>Thread Safety: instances are immutable and can be shared between threads.
+ */
+public final class ModuleDescriptor
+{
+    private static final String CONFIGURATION = "Configuration"; //$NON-NLS-1$
+    private static final String COMMON_FORMS = "CommonForms"; //$NON-NLS-1$
+    private static final String BSL_SUFFIX = ".bsl"; //$NON-NLS-1$
+
+    private final String modulePath;
+    private final String ownerType;
+    private final String ownerName;
+    private final String moduleType;
+    private final long size;
+
+    private ModuleDescriptor(String modulePath, String ownerType, String ownerName, String moduleType, long size)
+    {
+        this.modulePath = modulePath;
+        this.ownerType = ownerType;
+        this.ownerName = ownerName;
+        this.moduleType = moduleType;
+        this.size = size;
+    }
+
+    /**
+     * Creates the descriptor of a module.
+     *
+     * @param modulePath module path from src/, e.g. "Documents/Order/ObjectModule.bsl"
+     * @param size file size in bytes
+     * @return the descriptor, or null if the path is not inside a metadata object folder
+     */
+    public static ModuleDescriptor of(String modulePath, long size)
+    {
+        String[] segments = modulePath.split("/"); //$NON-NLS-1$
+        if (segments.length < 2)
+        {
+            return null;
+        }
+
+        String collectionName = segments[0];
+        String ownerType;
+        String ownerName;
+        String basePath;
+        if (CONFIGURATION.equals(collectionName))
+        {
+            ownerType = CONFIGURATION;
+            ownerName = CONFIGURATION;
+            basePath = collectionName;
+        }
+        else
+        {
+            String type = MetadataTypeUtils.getTypeByDirectoryName(collectionName);
+            ownerType = type != null ? type : collectionName;
+            ownerName = segments[1];
+            basePath = collectionName + '/' + ownerName;
+        }
+
+        String moduleType = determineModuleType(modulePath.substring(basePath.length()));
+        if (COMMON_FORMS.equals(collectionName) && "Module".equals(moduleType)) //$NON-NLS-1$
+        {
+            moduleType = "FormModule"; //$NON-NLS-1$
+        }
+        return new ModuleDescriptor(modulePath, ownerType, ownerName, moduleType, size);
+    }
+
+    /**
+     * Determines the module type from its path relative to the owner object folder.
+     * Examples:
+     *   /ObjectModule.bsl → ObjectModule
+     *   /ManagerModule.bsl → ManagerModule
+     *   /Forms/FormName/Module.bsl → FormModule
+     *   /Commands/CmdName/CommandModule.bsl → CommandModule
+     */
+    private static String determineModuleType(String relativePath)
+    {
+        if (relativePath.startsWith("/")) //$NON-NLS-1$
+        {
+            relativePath = relativePath.substring(1);
+        }
+
+        String fileName = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        String baseName = fileName.toLowerCase(Locale.ROOT).endsWith(BSL_SUFFIX)
+            ? fileName.substring(0, fileName.length() - BSL_SUFFIX.length())
+            : fileName;
+
+        // "Module.bsl" in Forms subfolder → FormModule
+        if ("Module".equals(baseName) && relativePath.startsWith("Forms/")) //$NON-NLS-1$ //$NON-NLS-2$
+        {
+            return "FormModule"; //$NON-NLS-1$
+        }
+        return baseName;
+    }
+
+    /** @return module path from src/ */
+    public String getModulePath()
+    {
+        return modulePath;
+    }
+
+    /** @return English singular type of the owner object, e.g. "Document" */
+    public String getOwnerType()
+    {
+        return ownerType;
+    }
+
+    /** @return owner object name */
+    public String getOwnerName()
+    {
+        return ownerName;
+    }
+
+    /** @return module type, e.g. "ObjectModule" or "FormModule" */
+    public String getModuleType()
+    {
+        return moduleType;
+    }
+
+    /** @return file size in bytes */
+    public long getSize()
+    {
+        return size;
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outline of a BSL module as shown by get_module_structure: methods, regions and
+ * module-level variables. Immutable once built; serialized by {@link ModuleOutlineCache}
+ * in a compact binary form.
+ */
+public final class ModuleOutline
+{
+    /** Upper bound for a serialized string, guards against corrupt data */
+    private static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+
+    private static final int FLAG_FUNCTION = 1;
+    private static final int FLAG_EXPORT = 1 << 1;
+
+    /**
+     * Method of the outline.
+     */
+    public static final class MethodEntry
+    {
+        public final String name;
+        public final boolean isFunction;
+        public final boolean isExport;
+        public final int startLine;
+        public final int endLine;
+        /** Compilation directives, e.g. "&AtServer", or null */
+        public final String executionContext;
+        /** Innermost containing region, or null */
+        public final String region;
+        /** Parameters string, "-" if none */
+        public final String paramsString;
+        /** Documentation comment joined into one line, or null */
+        public final String docComment;
+
+        public MethodEntry(String name, boolean isFunction, boolean isExport, int startLine, int endLine,
+            String executionContext, String region, String paramsString, String docComment)
+        {
+            this.name = name;
+            this.isFunction = isFunction;
+            this.isExport = isExport;
+            this.startLine = startLine;
+            this.endLine = endLine;
+            this.executionContext = executionContext;
+            this.region = region;
+            this.paramsString = paramsString;
+            this.docComment = docComment;
+        }
+    }
+
+    /**
+     * Region of the outline.
+     */
+    public static final class RegionEntry
+    {
+        public final String name;
+        public final int startLine;
+        public final int endLine;
+
+        public RegionEntry(String name, int startLine, int endLine)
+        {
+            this.name = name;
+            this.startLine = startLine;
+            this.endLine = endLine;
+        }
+    }
+
+    /**
+     * Module-level variable of the outline.
+     */
+    public static final class VariableEntry
+    {
+        public final String name;
+        public final boolean isExport;
+        public final int line;
+        /** Innermost containing region, or null */
+        public final String region;
+
+        public VariableEntry(String name, boolean isExport, int line, String region)
+        {
+            this.name = name;
+            this.isExport = isExport;
+            this.line = line;
+            this.region = region;
+        }
+    }
+
+    private final int totalLines;
+    private final List<RegionEntry> regions;
+    private final List<MethodEntry> methods;
+    private final List<VariableEntry> variables;
+
+    public ModuleOutline(int totalLines, List<RegionEntry> regions, List<MethodEntry> methods,
+        List<VariableEntry> variables)
+    {
+        this.totalLines = totalLines;
+        this.regions = Collections.unmodifiableList(regions);
+        this.methods = Collections.unmodifiableList(methods);
+        this.variables = Collections.unmodifiableList(variables);
+    }
+
+    public int getTotalLines()
+    {
+        return totalLines;
+    }
+
+    public List<RegionEntry> getRegions()
+    {
+        return regions;
+    }
+
+    public List<MethodEntry> getMethods()
+    {
+        return methods;
+    }
+
+    public List<VariableEntry> getVariables()
+    {
+        return variables;
+    }
+
+    /**
+     * Writes the outline in binary form.
+     *
+     * @param out target
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException
+    {
+        out.writeInt(totalLines);
+
+        out.writeInt(regions.size());
+        for (RegionEntry r : regions)
+        {
+            writeString(out, r.name);
+            out.writeInt(r.startLine);
+            out.writeInt(r.endLine);
+        }
+
+        out.writeInt(methods.size());
+        for (MethodEntry m : methods)
+        {
+            writeString(out, m.name);
+            out.writeByte((m.isFunction ? FLAG_FUNCTION : 0) | (m.isExport ? FLAG_EXPORT : 0));
+            out.writeInt(m.startLine);
+            out.writeInt(m.endLine);
+            writeString(out, m.executionContext);
+            writeString(out, m.region);
+            writeString(out, m.paramsString);
+            writeString(out, m.docComment);
+        }
+
+        out.writeInt(variables.size());
+        for (VariableEntry v : variables)
+        {
+            writeString(out, v.name);
+            out.writeBoolean(v.isExport);
+            out.writeInt(v.line);
+            writeString(out, v.region);
+        }
+    }
+
+    /**
+     * Reads an outline written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in source
+     * @return the outline
+     * @throws IOException if reading fails or data is corrupt
+     */
+    public static ModuleOutline readFrom(DataInput in) throws IOException
+    {
+        int totalLines = in.readInt();
+
+        int regionCount = readCount(in);
+        List<RegionEntry> regions = new ArrayList<>(regionCount);
+        for (int i = 0; i < regionCount; i++)
+        {
+            regions.add(new RegionEntry(readString(in), in.readInt(), in.readInt()));
+        }
+
+        int methodCount = readCount(in);
+        List<MethodEntry> methods = new ArrayList<>(methodCount);
+        for (int i = 0; i < methodCount; i++)
+        {
+            String name = readString(in);
+            int flags = in.readByte();
+            int startLine = in.readInt();
+            int endLine = in.readInt();
+            methods.add(new MethodEntry(name, (flags & FLAG_FUNCTION) != 0, (flags & FLAG_EXPORT) != 0,
+                startLine, endLine, readString(in), readString(in), readString(in), readString(in)));
+        }
+
+        int variableCount = readCount(in);
+        List<VariableEntry> variables = new ArrayList<>(variableCount);
+        for (int i = 0; i < variableCount; i++)
+        {
+            variables.add(new VariableEntry(readString(in), in.readBoolean(), in.readInt(), readString(in)));
+        }
+
+        return new ModuleOutline(totalLines, regions, methods, variables);
+    }
+
+    /**
+     * Writes a nullable string as length-prefixed UTF-8 (-1 for null).
+     * Unlike {@link DataOutput#writeUTF(String)} there is no 64 KB limit.
+     */
+    static void writeString(DataOutput out, String value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException
+    {
+        int length = in.readInt();
+        if (length < 0)
+        {
+            return null;
+        }
+        if (length > MAX_STRING_BYTES)
+        {
+            throw new IOException("Corrupt outline data: string length " + length); //$NON-NLS-1$
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readCount(DataInput in) throws IOException
+    {
+        int count = in.readInt();
+        if (count < 0)
+        {
+            throw new IOException("Corrupt outline data: negative count " + count); //$NON-NLS-1$
+        }
+        return count;
+    }
+}
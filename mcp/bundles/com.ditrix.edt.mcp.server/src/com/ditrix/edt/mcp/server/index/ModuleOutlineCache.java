@@ -0,0 +1,273 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.ditrix.edt.mcp.server.Activator;
+
+/**
+ * Persistent cache of {@link ModuleOutline}s keyed by module path and the
+ * {@link IFile#getModificationStamp() modification stamp} of the module file.
+ *
+ * <p>An entry is valid only while the file keeps the stamp it was built for, so
+ * edits invalidate it without any listener. Outlines of each project are stored
+ * in one binary file in the plugin state location and survive EDT restarts:
+ * the store is loaded on first access to the project and written back by a
+ * debounced job after changes and when the plugin stops.
+ *
+ * <p>Thread Safety: this class is thread-safe.
+ */
+public final class ModuleOutlineCache
+{
+    /** Store file header: "MOC" + format version */
+    private static final int MAGIC = 0x4D4F4301;
+
+    /** Delay before persisting changes, to batch consecutive misses */
+    private static final long SAVE_DELAY_MS = 30_000;
+
+    private static final String STORE_FOLDER = "outlines"; //$NON-NLS-1$
+
+    private static ModuleOutlineCache instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    /** Project name -> (lower-case module path -> cached outline) */
+    private final Map<String, Map<String, CachedOutline>> projects = new ConcurrentHashMap<>();
+
+    /** Projects with entries not yet written to disk */
+    private final Map<String, IProject> dirty = new ConcurrentHashMap<>();
+
+    private final Job saveJob = new Job("Saving BSL module outlines") //$NON-NLS-1$
+    {
+        @Override
+        protected IStatus run(IProgressMonitor monitor)
+        {
+            saveDirty();
+            return Status.OK_STATUS;
+        }
+    };
+
+    private ModuleOutlineCache()
+    {
+        saveJob.setSystem(true);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the cache
+     */
+    public static ModuleOutlineCache getInstance()
+    {
+        ModuleOutlineCache localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new ModuleOutlineCache();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Writes pending changes to disk and releases the cache.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                instance.saveJob.cancel();
+                instance.saveDirty();
+                instance.projects.clear();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the cached outline if it was built for the current file state.
+     *
+     * @param project the project
+     * @param modulePath module path from src/
+     * @param file the module file
+     * @return the outline, or null on a miss
+     */
+    public ModuleOutline get(IProject project, String modulePath, IFile file)
+    {
+        CachedOutline cached = projectEntries(project).get(key(modulePath));
+        if (cached == null || cached.modificationStamp != file.getModificationStamp())
+        {
+            return null;
+        }
+        return cached.outline;
+    }
+
+    /**
+     * Stores an outline built for the given modification stamp.
+     *
+     * @param project the project
+     * @param modulePath module path from src/
+     * @param modificationStamp stamp of the module file the outline was built from
+     * @param outline the outline
+     */
+    public void put(IProject project, String modulePath, long modificationStamp, ModuleOutline outline)
+    {
+        projectEntries(project).put(key(modulePath), new CachedOutline(modulePath, modificationStamp, outline));
+        dirty.put(project.getName(), project);
+        saveJob.schedule(SAVE_DELAY_MS);
+    }
+
+    private Map<String, CachedOutline> projectEntries(IProject project)
+    {
+        return projects.computeIfAbsent(project.getName(), name -> load(storeFile(project)));
+    }
+
+    private void saveDirty()
+    {
+        for (IProject project : dirty.values())
+        {
+            dirty.remove(project.getName());
+            Map<String, CachedOutline> entries = projects.get(project.getName());
+            if (entries == null)
+            {
+                continue;
+            }
+            // Drop modules that no longer exist
+            entries.values().removeIf(e -> !project.getFile("src/" + e.modulePath).exists()); //$NON-NLS-1$
+            save(storeFile(project), entries);
+        }
+    }
+
+    private static Path storeFile(IProject project)
+    {
+        String name = project.getName();
+        String safeName = name.replaceAll("[^\\w.-]", "_") + "-" + Integer.toHexString(name.hashCode()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        return Activator.getDefault().getStateLocation().toFile().toPath()
+            .resolve(STORE_FOLDER).resolve(safeName + ".bin"); //$NON-NLS-1$
+    }
+
+    /**
+     * Loads a store file; a missing, outdated or corrupt file yields an empty cache.
+     */
+    static Map<String, CachedOutline> load(Path file)
+    {
+        Map<String, CachedOutline> entries = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(file))
+        {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            readStore(in, entries);
+        }
+        catch (IOException e)
+        {
+            Activator.logWarning("Discarding module outline cache " + file + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Writes a store file atomically (temporary file + move).
+     */
+    static void save(Path file, Map<String, CachedOutline> entries)
+    {
+        try
+        {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))
+            {
+                writeStore(out, entries);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            Activator.logWarning("Failed to save module outline cache " + file + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    static void writeStore(DataOutputStream out, Map<String, CachedOutline> entries) throws IOException
+    {
+        out.writeInt(MAGIC);
+        out.writeInt(entries.size());
+        for (CachedOutline entry : entries.values())
+        {
+            ModuleOutline.writeString(out, entry.modulePath);
+            out.writeLong(entry.modificationStamp);
+            entry.outline.writeTo(out);
+        }
+    }
+
+    static void readStore(DataInputStream in, Map<String, CachedOutline> entries) throws IOException
+    {
+        if (in.readInt() != MAGIC)
+        {
+            throw new IOException("Unsupported format"); //$NON-NLS-1$
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++)
+        {
+            String modulePath = ModuleOutline.readString(in);
+            if (modulePath == null)
+            {
+                throw new IOException("Corrupt entry " + i); //$NON-NLS-1$
+            }
+            long stamp = in.readLong();
+            ModuleOutline outline = ModuleOutline.readFrom(in);
+            entries.put(key(modulePath), new CachedOutline(modulePath, stamp, outline));
+        }
+    }
+
+    private static String key(String modulePath)
+    {
+        return modulePath.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Outline with the file state it was built for.
+     */
+    static final class CachedOutline
+    {
+        final String modulePath;
+        final long modificationStamp;
+        final ModuleOutline outline;
+
+        CachedOutline(String modulePath, long modificationStamp, ModuleOutline outline)
+        {
+            this.modulePath = modulePath;
+            this.modificationStamp = modificationStamp;
+            this.outline = outline;
+        }
+    }
+}
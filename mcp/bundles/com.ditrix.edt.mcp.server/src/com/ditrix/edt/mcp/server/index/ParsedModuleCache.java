@@ -0,0 +1,223 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import com._1c.g5.v8.dt.bsl.model.Module;
+import com.ditrix.edt.mcp.server.Activator;
+
+/**
+ * Plugin-wide cache of parsed BSL {@link Module}s shared by all tool calls.
+ *
+ * <p>Entries are bounded by an estimated memory weight (derived from the source
+ * file size) with LRU eviction, and modules are softly referenced so the garbage
+ * collector can reclaim them under memory pressure. The weight covers the module's
+ * own AST only: a cached module also keeps its EMF resource, and through it the
+ * resource set, reachable, which cannot be measured cheaply. Every entry therefore
+ * weighs at least {@code MAX_WEIGHT / MAX_ENTRIES}, which caps the number of pinned
+ * modules even when they are small.
+ *
+ * <p>An entry is invalidated by a resource delta on its file or project, and
+ * additionally re-validated on every hit against the file's modification stamp
+ * and the state of its EMF resource, so a module that the BM model has unloaded
+ * is never returned. BM model events are not observed: a change that is committed
+ * to the model but not yet written to the file, or a module replaced inside a
+ * resource that stays loaded, is only noticed once the file changes.
+ *
+ * <p>Thread Safety: this class is thread-safe. Returned modules are shared and
+ * must be treated as read-only.
+ */
+public final class ParsedModuleCache implements IResourceChangeListener
+{
+    /** Estimated memory budget for cached ASTs */
+    private static final long MAX_WEIGHT = 256L * 1024 * 1024;
+
+    /** Rough AST-to-source size ratio used to weigh entries */
+    private static final int AST_BYTES_PER_SOURCE_BYTE = 24;
+
+    /** Weight of a module whose file size is unknown */
+    private static final long DEFAULT_WEIGHT = 1024L * 1024;
+
+    /** Maximum number of cached modules, enforced through the minimum entry weight */
+    private static final int MAX_ENTRIES = 512;
+
+    private static final long MIN_WEIGHT = MAX_WEIGHT / MAX_ENTRIES;
+
+    private static final String SRC_FOLDER = "src"; //$NON-NLS-1$
+    private static final String BSL_EXTENSION = "bsl"; //$NON-NLS-1$
+
+    private static ParsedModuleCache instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    /** "project/modulePath" -> cached module */
+    private final WeightedLruCache<String, CachedModule> cache = new WeightedLruCache<>(MAX_WEIGHT);
+
+    private ParsedModuleCache()
+    {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the cache
+     */
+    public static ParsedModuleCache getInstance()
+    {
+        ParsedModuleCache localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new ParsedModuleCache();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Disposes the cache and releases all modules.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+                instance.cache.clear();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the cached module if it is still valid for the current file state.
+     *
+     * @param file the module file
+     * @return the module, or null on a miss
+     */
+    public Module get(IFile file)
+    {
+        String key = key(file);
+        CachedModule entry = cache.get(key);
+        if (entry == null)
+        {
+            return null;
+        }
+        Resource resource = entry.module.eResource();
+        if (entry.modificationStamp != file.getModificationStamp() || resource == null || !resource.isLoaded())
+        {
+            cache.remove(key);
+            return null;
+        }
+        return entry.module;
+    }
+
+    /**
+     * Stores a freshly loaded module.
+     *
+     * @param file the module file
+     * @param modificationStamp file stamp taken before the module was loaded
+     * @param module the module
+     */
+    public void put(IFile file, long modificationStamp, Module module)
+    {
+        if (modificationStamp == IResource.NULL_STAMP)
+        {
+            return;
+        }
+        cache.put(key(file), new CachedModule(module, modificationStamp), estimateWeight(file));
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event)
+    {
+        IResourceDelta rootDelta = event.getDelta();
+        if (rootDelta == null || cache.size() == 0)
+        {
+            return;
+        }
+        try
+        {
+            rootDelta.accept(delta -> {
+                IResource resource = delta.getResource();
+                if (resource.getType() == IResource.PROJECT)
+                {
+                    if (delta.getKind() == IResourceDelta.REMOVED
+                        || (delta.getFlags() & IResourceDelta.OPEN) != 0)
+                    {
+                        String prefix = resource.getName() + '/';
+                        cache.removeIf(k -> k.startsWith(prefix));
+                        return false;
+                    }
+                    return true;
+                }
+                if (resource.getType() == IResource.FILE)
+                {
+                    if (isBslFile(resource) && (delta.getKind() != IResourceDelta.CHANGED
+                        || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0))
+                    {
+                        cache.remove(key((IFile) resource));
+                    }
+                    return false;
+                }
+                return true;
+            });
+        }
+        catch (CoreException e)
+        {
+            Activator.logError("Error processing resource change for module cache", e); //$NON-NLS-1$
+        }
+    }
+
+    private static long estimateWeight(IFile file)
+    {
+        IPath location = file.getLocation();
+        long length = location != null ? location.toFile().length() : 0;
+        return length > 0 ? Math.max(length * AST_BYTES_PER_SOURCE_BYTE, MIN_WEIGHT) : DEFAULT_WEIGHT;
+    }
+
+    private static boolean isBslFile(IResource resource)
+    {
+        return BSL_EXTENSION.equalsIgnoreCase(resource.getFileExtension())
+            && resource.getProjectRelativePath().segmentCount() > 1
+            && SRC_FOLDER.equals(resource.getProjectRelativePath().segment(0));
+    }
+
+    private static String key(IFile file)
+    {
+        IProject project = file.getProject();
+        return project.getName() + '/' + file.getProjectRelativePath().removeFirstSegments(1).toString();
+    }
+
+    private static final class CachedModule
+    {
+        final Module module;
+        final long modificationStamp;
+
+        CachedModule(Module module, long modificationStamp)
+        {
+            this.module = module;
+            this.modificationStamp = modificationStamp;
+        }
+    }
+}
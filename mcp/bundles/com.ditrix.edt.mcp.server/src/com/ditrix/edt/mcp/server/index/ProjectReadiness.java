@@ -0,0 +1,389 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+
+import com._1c.g5.v8.dt.core.lifecycle.ProjectContext;
+import com._1c.g5.v8.dt.core.platform.IDtProject;
+import com._1c.g5.v8.dt.lifecycle.ILifecycleContext;
+import com._1c.g5.v8.dt.lifecycle.IServiceContextLifecycleListener;
+import com._1c.g5.v8.dt.lifecycle.IServicesOrchestrator;
+import com._1c.g5.v8.dt.lifecycle.ServiceState;
+import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.utils.ProjectStateChecker;
+import com.ditrix.edt.mcp.server.utils.ProjectStateChecker.ProjectState;
+import com.ditrix.edt.mcp.server.utils.ProjectStateChecker.ProjectStateResult;
+import com.ditrix.edt.mcp.server.utils.WorkspaceWriteBatcher;
+
+/**
+ * Plugin-wide readiness tracker: tells when a project has been built, its derived
+ * data computed and its validation results read into the {@link MarkerIndex}.
+ *
+ * <p>All waiters of a project share one pending future, and a single background
+ * job checks every pending project. The job runs when a build job finishes and
+ * otherwise rechecks with a short delay while derived data is being computed, so
+ * the number of concurrent waiters does not add load. A project is considered
+ * ready once no build job is pending, its derived data is idle and complete, and
+ * its files have not changed for {@link #QUIET_MS}; the marker index is then
+ * synchronized and its revision completes the future.
+ *
+ * <p>Project lifecycle events are dispatched from one orchestrator listener to
+ * per-project subscribers (see {@link #addLifecycleListener}).
+ *
+ * <p>Thread Safety: this class is thread-safe.
+ */
+public final class ProjectReadiness implements IResourceChangeListener
+{
+    /** Time without file changes before a project can be ready, covers the auto-build delay */
+    private static final long QUIET_MS = 500;
+
+    /** Delay between checks while derived data is being computed */
+    private static final long RECHECK_DELAY_MS = 500;
+
+    /** Fallback check while build jobs are pending, in case a build finishes unnoticed */
+    private static final long BUILD_RECHECK_DELAY_MS = 5000;
+
+    /** Age after which a pending wait nobody completed is given up */
+    private static final long MAX_PENDING_MS = 30 * 60 * 1000;
+
+    private static ProjectReadiness instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    /** Project name -> shared pending wait */
+    private final Map<String, PendingWait> pending = new ConcurrentHashMap<>();
+
+    /** Project name -> time of the last file change */
+    private final Map<String, Long> lastChanges = new ConcurrentHashMap<>();
+
+    /** Project name -> lifecycle subscribers */
+    private final Map<String, List<Consumer<ServiceState>>> lifecycleListeners = new ConcurrentHashMap<>();
+
+    private final Object lifecycleLock = new Object();
+
+    /** Orchestrator the lifecycle listener is registered with, guarded by lifecycleLock */
+    private IServicesOrchestrator orchestrator;
+
+    private final IServiceContextLifecycleListener lifecycleListener = new IServiceContextLifecycleListener()
+    {
+        @Override
+        public void contextStateChanged(ILifecycleContext context, ServiceState state)
+        {
+            if (context instanceof ProjectContext)
+            {
+                IDtProject contextProject = ((ProjectContext) context).getProject();
+                List<Consumer<ServiceState>> listeners =
+                    contextProject != null ? lifecycleListeners.get(contextProject.getName()) : null;
+                if (listeners != null)
+                {
+                    for (Consumer<ServiceState> listener : listeners)
+                    {
+                        listener.accept(state);
+                    }
+                }
+            }
+        }
+    };
+
+    private final Job checkJob = new Job("Waiting for project readiness") //$NON-NLS-1$
+    {
+        @Override
+        protected IStatus run(IProgressMonitor monitor)
+        {
+            check();
+            return Status.OK_STATUS;
+        }
+    };
+
+    private final IJobChangeListener buildListener = new JobChangeAdapter()
+    {
+        @Override
+        public void done(IJobChangeEvent event)
+        {
+            if (!pending.isEmpty() && isBuildJob(event.getJob()))
+            {
+                checkJob.schedule(RECHECK_DELAY_MS);
+            }
+        }
+    };
+
+    private ProjectReadiness()
+    {
+        checkJob.setSystem(true);
+        checkJob.setPriority(Job.DECORATE);
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+        Job.getJobManager().addJobChangeListener(buildListener);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the tracker
+     */
+    public static ProjectReadiness getInstance()
+    {
+        ProjectReadiness localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new ProjectReadiness();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Disposes the tracker, failing pending waits and removing all listeners.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+                Job.getJobManager().removeJobChangeListener(instance.buildListener);
+                instance.checkJob.cancel();
+                synchronized (instance.lifecycleLock)
+                {
+                    if (instance.orchestrator != null)
+                    {
+                        try
+                        {
+                            instance.orchestrator.removeListener(instance.lifecycleListener);
+                        }
+                        catch (Exception e)
+                        {
+                            Activator.logError("Error removing lifecycle listener", e); //$NON-NLS-1$
+                        }
+                        instance.orchestrator = null;
+                    }
+                }
+                instance.lifecycleListeners.clear();
+                for (PendingWait wait : instance.pending.values())
+                {
+                    wait.future.cancel(false);
+                }
+                instance.pending.clear();
+                instance.lastChanges.clear();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Returns a future completed when the project is ready. Concurrent callers share
+     * one check; each gets its own copy of the shared future, so cancelling or
+     * timing out one wait does not affect the others.
+     *
+     * @param project the project
+     * @return future of the marker revision after the project became ready, completed
+     *     with null if the marker manager is not available, or exceptionally if the
+     *     project is closed or does not become ready within a long safety timeout
+     */
+    public CompletableFuture<Long> whenReady(IProject project)
+    {
+        PendingWait wait = pending.computeIfAbsent(project.getName(), name -> new PendingWait());
+        checkJob.schedule();
+        return wait.future.copy();
+    }
+
+    /**
+     * Subscribes to lifecycle state changes of a project context. All subscribers
+     * share one orchestrator listener.
+     *
+     * @param projectName the project
+     * @param listener receives the new states
+     * @return false if the services orchestrator is not available
+     */
+    public boolean addLifecycleListener(String projectName, Consumer<ServiceState> listener)
+    {
+        synchronized (lifecycleLock)
+        {
+            if (orchestrator == null)
+            {
+                IServicesOrchestrator servicesOrchestrator = Activator.getDefault().getServicesOrchestrator();
+                if (servicesOrchestrator == null)
+                {
+                    return false;
+                }
+                servicesOrchestrator.addListener(lifecycleListener);
+                orchestrator = servicesOrchestrator;
+            }
+            lifecycleListeners.computeIfAbsent(projectName, k -> new CopyOnWriteArrayList<>()).add(listener);
+            return true;
+        }
+    }
+
+    /**
+     * Removes a subscriber added by {@link #addLifecycleListener}.
+     *
+     * @param projectName the project
+     * @param listener the subscriber
+     */
+    public void removeLifecycleListener(String projectName, Consumer<ServiceState> listener)
+    {
+        synchronized (lifecycleLock)
+        {
+            List<Consumer<ServiceState>> listeners = lifecycleListeners.get(projectName);
+            if (listeners != null)
+            {
+                listeners.remove(listener);
+                if (listeners.isEmpty())
+                {
+                    lifecycleListeners.remove(projectName);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event)
+    {
+        IResourceDelta rootDelta = event.getDelta();
+        if (rootDelta == null)
+        {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (IResourceDelta projectDelta : rootDelta.getAffectedChildren())
+        {
+            IResource resource = projectDelta.getResource();
+            if (resource.getType() == IResource.PROJECT)
+            {
+                lastChanges.put(resource.getName(), now);
+            }
+        }
+    }
+
+    /**
+     * Checks all pending projects once and reschedules itself while any is left.
+     */
+    private void check()
+    {
+        IJobManager jobManager = Job.getJobManager();
+        long delay = Long.MAX_VALUE;
+        for (Map.Entry<String, PendingWait> entry : pending.entrySet())
+        {
+            String projectName = entry.getKey();
+            PendingWait wait = entry.getValue();
+            long now = System.currentTimeMillis();
+
+            IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+            if (!project.isAccessible())
+            {
+                fail(projectName, wait, new IllegalStateException("Project is not open: " + projectName)); //$NON-NLS-1$
+                continue;
+            }
+            if (now - wait.created > MAX_PENDING_MS)
+            {
+                fail(projectName, wait, new TimeoutException("Project did not become ready: " + projectName)); //$NON-NLS-1$
+                continue;
+            }
+            if (isBuilding(jobManager))
+            {
+                // The build listener reschedules the check when a build job is done
+                delay = Math.min(delay, BUILD_RECHECK_DELAY_MS);
+                continue;
+            }
+            if (WorkspaceWriteBatcher.getInstance().isOpen(projectName))
+            {
+                // Batched writes produce their resource delta and build only when the batch closes
+                delay = Math.min(delay, RECHECK_DELAY_MS);
+                continue;
+            }
+            long lastChange = lastChanges.getOrDefault(projectName, 0L);
+            if (now - lastChange < QUIET_MS)
+            {
+                delay = Math.min(delay, QUIET_MS - (now - lastChange));
+                continue;
+            }
+            ProjectStateResult state = ProjectStateChecker.checkProjectState(project);
+            if (state.getState() == ProjectState.BUILDING)
+            {
+                delay = Math.min(delay, RECHECK_DELAY_MS);
+                continue;
+            }
+            if (state.getState() == ProjectState.NOT_AVAILABLE)
+            {
+                fail(projectName, wait, new IllegalStateException(state.getMessage()));
+                continue;
+            }
+
+            // Validation results are final now; read them before reporting the revision
+            MarkerStore store = MarkerIndex.getInstance().refresh(projectName);
+            if (isBuilding(jobManager) || lastChanges.getOrDefault(projectName, 0L) != lastChange)
+            {
+                // Changed while reading the markers; the revision may already be stale
+                delay = Math.min(delay, RECHECK_DELAY_MS);
+                continue;
+            }
+            if (pending.remove(projectName, wait))
+            {
+                wait.future.complete(store != null ? Long.valueOf(store.getRevision()) : null);
+            }
+        }
+        if (!pending.isEmpty())
+        {
+            checkJob.schedule(delay == Long.MAX_VALUE ? RECHECK_DELAY_MS : delay);
+        }
+    }
+
+    private void fail(String projectName, PendingWait wait, Exception reason)
+    {
+        if (pending.remove(projectName, wait))
+        {
+            wait.future.completeExceptionally(reason);
+        }
+    }
+
+    private static boolean isBuilding(IJobManager jobManager)
+    {
+        return jobManager.find(ResourcesPlugin.FAMILY_AUTO_BUILD).length > 0
+            || jobManager.find(ResourcesPlugin.FAMILY_MANUAL_BUILD).length > 0;
+    }
+
+    private static boolean isBuildJob(Job job)
+    {
+        return job.belongsTo(ResourcesPlugin.FAMILY_AUTO_BUILD) || job.belongsTo(ResourcesPlugin.FAMILY_MANUAL_BUILD);
+    }
+
+    /**
+     * Wait shared by all callers for one project.
+     */
+    private static final class PendingWait
+    {
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        final long created = System.currentTimeMillis();
+    }
+}
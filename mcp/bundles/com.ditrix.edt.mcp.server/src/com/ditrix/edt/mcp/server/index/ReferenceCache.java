@@ -0,0 +1,245 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+import com.ditrix.edt.mcp.server.Activator;
+
+/**
+ * Plugin-wide cache of the metadata references to top-level objects found by
+ * {@code find_references}.
+ *
+ * <p>Every project has a metadata revision that grows whenever a file of its
+ * model changes: EDT writes each committed change of the BM model to the
+ * project files, so the resource delta follows every metadata edit. BSL modules
+ * are not part of the revision since they cannot hold metadata references. The
+ * model is written to the files asynchronously, so the MCP tools that change
+ * metadata (rename, delete, add attribute) also {@link #invalidate(IProject)
+ * invalidate} the project as soon as their BM transaction is committed. An
+ * entry is only returned for the revision it was collected at; a new revision
+ * drops all entries of the project.
+ *
+ * <p>Entries are bounded by an estimated memory weight with LRU eviction (see
+ * {@link WeightedLruCache}).
+ *
+ * <p>Thread Safety: this class is thread-safe.
+ */
+public final class ReferenceCache implements IResourceChangeListener
+{
+    /** Estimated memory budget for cached references */
+    private static final long MAX_WEIGHT = 32L * 1024 * 1024;
+
+    private static final String SRC_FOLDER = "src"; //$NON-NLS-1$
+    private static final String BSL_EXTENSION = "bsl"; //$NON-NLS-1$
+
+    private static ReferenceCache instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    /** "project/objectKey" -> cached references */
+    private final WeightedLruCache<String, CachedReferences> cache = new WeightedLruCache<>(MAX_WEIGHT);
+
+    /** Project name -> metadata revision */
+    private final Map<String, AtomicLong> revisions = new ConcurrentHashMap<>();
+
+    private ReferenceCache()
+    {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the cache
+     */
+    public static ReferenceCache getInstance()
+    {
+        ReferenceCache localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new ReferenceCache();
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Disposes the cache and releases all entries.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+                instance.cache.clear();
+                instance.revisions.clear();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the current metadata revision of the project. Take it before
+     * collecting references and pass it to {@link #put}.
+     *
+     * @param project the project
+     * @return the revision
+     */
+    public long getRevision(IProject project)
+    {
+        return revisions.computeIfAbsent(project.getName(), name -> new AtomicLong()).get();
+    }
+
+    /**
+     * Returns the cached references of an object if they are valid for the current
+     * revision and hold at least the requested number of references.
+     *
+     * @param project the project
+     * @param objectKey key of the referenced object, e.g. "Catalog.Products"
+     * @param minCount number of references the caller needs if that many exist
+     * @return the references, or null on a miss
+     */
+    public List<MetadataReference> get(IProject project, String objectKey, int minCount)
+    {
+        CachedReferences entry = cache.get(key(project, objectKey));
+        if (entry == null || entry.revision != getRevision(project)
+            || (!entry.complete && entry.references.size() < minCount))
+        {
+            return null;
+        }
+        return entry.references;
+    }
+
+    /**
+     * Stores the references of an object. Results collected at an outdated
+     * revision are ignored.
+     *
+     * @param project the project
+     * @param objectKey key of the referenced object
+     * @param revision revision taken before the references were collected
+     * @param references the references
+     * @param complete false if the collection stopped at a limit
+     */
+    public void put(IProject project, String objectKey, long revision, List<MetadataReference> references,
+        boolean complete)
+    {
+        if (revision != getRevision(project))
+        {
+            return;
+        }
+        long weight = 64;
+        for (MetadataReference reference : references)
+        {
+            weight += reference.estimateWeight();
+        }
+        cache.put(key(project, objectKey),
+            new CachedReferences(revision, Collections.unmodifiableList(references), complete), weight);
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event)
+    {
+        IResourceDelta rootDelta = event.getDelta();
+        if (rootDelta == null || revisions.isEmpty())
+        {
+            return;
+        }
+        try
+        {
+            rootDelta.accept(delta -> {
+                IResource resource = delta.getResource();
+                if (resource.getType() == IResource.PROJECT)
+                {
+                    if (delta.getKind() == IResourceDelta.REMOVED
+                        || (delta.getFlags() & IResourceDelta.OPEN) != 0)
+                    {
+                        invalidate(resource.getProject());
+                        return false;
+                    }
+                    return revisions.containsKey(resource.getName());
+                }
+                if (resource.getType() == IResource.FILE)
+                {
+                    if (isModelFile(resource) && (delta.getKind() != IResourceDelta.CHANGED
+                        || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0))
+                    {
+                        invalidate(resource.getProject());
+                    }
+                    return false;
+                }
+                return true;
+            });
+        }
+        catch (CoreException e)
+        {
+            Activator.logError("Error processing resource change for reference cache", e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Advances the metadata revision of a project and drops its entries. Called by
+     * tools that change metadata, before the resource delta of the change arrives.
+     *
+     * @param project the project whose metadata changed
+     */
+    public void invalidate(IProject project)
+    {
+        AtomicLong revision = revisions.get(project.getName());
+        if (revision != null)
+        {
+            revision.incrementAndGet();
+        }
+        String prefix = project.getName() + '/';
+        cache.removeIf(k -> k.startsWith(prefix));
+    }
+
+    private static boolean isModelFile(IResource resource)
+    {
+        return !BSL_EXTENSION.equalsIgnoreCase(resource.getFileExtension())
+            && resource.getProjectRelativePath().segmentCount() > 1
+            && SRC_FOLDER.equals(resource.getProjectRelativePath().segment(0));
+    }
+
+    private static String key(IProject project, String objectKey)
+    {
+        return project.getName() + '/' + objectKey;
+    }
+
+    private static final class CachedReferences
+    {
+        final long revision;
+        final List<MetadataReference> references;
+        final boolean complete;
+
+        CachedReferences(long revision, List<MetadataReference> references, boolean complete)
+        {
+            this.revision = revision;
+            this.references = references;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache with weighted entries and softly referenced values.
+ *
+ * <p>The least recently used entries are evicted once the total weight exceeds
+ * the budget. Values are held through {@link SoftReference}s, so the garbage
+ * collector may also drop them under memory pressure before the budget is reached;
+ * such entries are purged and their weight released on the next access.
+ *
+ * <p>Thread Safety: all operations are synchronized; the cache may be shared
+ * between any number of reader and writer threads.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class WeightedLruCache<K, V>
+{
+    private final LinkedHashMap<K, Node<K, V>> map = new LinkedHashMap<>(64, 0.75f, true);
+    private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+    private long maxWeight;
+    private long weight;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxWeight total weight budget, must be positive
+     */
+    public WeightedLruCache(long maxWeight)
+    {
+        setMaxWeight(maxWeight);
+    }
+
+    /**
+     * Returns the cached value and marks it as most recently used.
+     *
+     * @param key the key
+     * @return the value, or null if absent or collected
+     */
+    public synchronized V get(K key)
+    {
+        purgeCollected();
+        Node<K, V> node = map.get(key);
+        V value = node != null ? node.get() : null;
+        if (value == null)
+        {
+            if (node != null)
+            {
+                removeNode(key, node);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return value;
+    }
+
+    /**
+     * Stores a value, evicting least recently used entries to stay within the budget.
+     * A value heavier than the whole budget is not stored.
+     *
+     * @param key the key
+     * @param value the value
+     * @param entryWeight estimated weight of the value, non-negative
+     */
+    public synchronized void put(K key, V value, long entryWeight)
+    {
+        purgeCollected();
+        Node<K, V> old = map.remove(key);
+        if (old != null)
+        {
+            weight -= old.weight;
+        }
+        if (entryWeight > maxWeight)
+        {
+            return;
+        }
+        map.put(key, new Node<>(key, value, entryWeight, collected));
+        weight += entryWeight;
+        evict();
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param key the key
+     */
+    public synchronized void remove(K key)
+    {
+        Node<K, V> node = map.remove(key);
+        if (node != null)
+        {
+            weight -= node.weight;
+        }
+    }
+
+    /**
+     * Removes all entries whose key matches the filter.
+     *
+     * @param filter key filter
+     */
+    public synchronized void removeIf(Predicate<? super K> filter)
+    {
+        for (Iterator<Map.Entry<K, Node<K, V>>> it = map.entrySet().iterator(); it.hasNext();)
+        {
+            Map.Entry<K, Node<K, V>> entry = it.next();
+            if (filter.test(entry.getKey()))
+            {
+                weight -= entry.getValue().weight;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear()
+    {
+        map.clear();
+        weight = 0;
+        while (collected.poll() != null)
+        {
+            // Drain stale references
+        }
+    }
+
+    /**
+     * Changes the weight budget, evicting entries if it shrinks.
+     *
+     * @param maxWeight new budget, must be positive
+     */
+    public synchronized void setMaxWeight(long maxWeight)
+    {
+        if (maxWeight <= 0)
+        {
+            throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight); //$NON-NLS-1$
+        }
+        this.maxWeight = maxWeight;
+        evict();
+    }
+
+    public synchronized int size()
+    {
+        purgeCollected();
+        return map.size();
+    }
+
+    public synchronized long weight()
+    {
+        purgeCollected();
+        return weight;
+    }
+
+    public synchronized long getMaxWeight()
+    {
+        return maxWeight;
+    }
+
+    public synchronized long hitCount()
+    {
+        return hits;
+    }
+
+    public synchronized long missCount()
+    {
+        return misses;
+    }
+
+    private void evict()
+    {
+        Iterator<Node<K, V>> it = map.values().iterator();
+        while (weight > maxWeight && it.hasNext())
+        {
+            weight -= it.next().weight;
+            it.remove();
+        }
+    }
+
+    private void purgeCollected()
+    {
+        Reference<? extends V> ref;
+        while ((ref = collected.poll()) != null)
+        {
+            @SuppressWarnings("unchecked")
+            Node<K, V> node = (Node<K, V>) ref;
+            removeNode(node.key, node);
+        }
+    }
+
+    private void removeNode(K key, Node<K, V> node)
+    {
+        // The key may have been re-put with a new node since this one was queued
+        if (map.get(key) == node)
+        {
+            map.remove(key);
+            weight -= node.weight;
+        }
+    }
+
+    private static final class Node<K, V> extends SoftReference<V>
+    {
+        final K key;
+        final long weight;
+
+        Node(K key, V value, long weight, ReferenceQueue<V> queue)
+        {
+            super(value, queue);
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+}
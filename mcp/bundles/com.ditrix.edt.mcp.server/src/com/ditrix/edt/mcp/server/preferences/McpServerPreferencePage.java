@@ -120,6 +120,18 @@ public class McpServerPreferencePage extends FieldEditorPreferencePage implement
             "Enable this if your AI client (e.g., Cursor) doesn't support MCP resources.");
         addField(plainTextModeEditor);
 
+        // File content cache budget
+        IntegerFieldEditor fileCacheEditor = new IntegerFieldEditor(
+            PreferenceConstants.PREF_FILE_CACHE_SIZE_MB,
+            "File content cache size (MB):",
+            parent);
+        fileCacheEditor.setValidRange(1, 4096);
+        fileCacheEditor.getLabelControl(parent).setToolTipText(
+            "Memory budget for decoded BSL module texts shared by all tools");
+        fileCacheEditor.getTextControl(parent).setToolTipText(
+            "Memory budget for decoded BSL module texts shared by all tools");
+        addField(fileCacheEditor);
+
         // === Tag decoration preferences ===
         
         // Show tags in navigator
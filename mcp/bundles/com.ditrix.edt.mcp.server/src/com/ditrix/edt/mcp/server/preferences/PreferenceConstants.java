@@ -29,6 +29,9 @@ public final class PreferenceConstants
     /** Plain text mode (Cursor compatibility) - returns text instead of embedded resources */
     public static final String PREF_PLAIN_TEXT_MODE = "mcpPlainTextMode"; //$NON-NLS-1$
 
+    /** Memory budget of the shared file content cache, in megabytes */
+    public static final String PREF_FILE_CACHE_SIZE_MB = "mcpFileCacheSizeMb"; //$NON-NLS-1$
+
     /** Update check interval */
     public static final String PREF_UPDATE_CHECK_INTERVAL = "mcpUpdateCheckInterval"; //$NON-NLS-1$
 
@@ -58,6 +61,9 @@ public final class PreferenceConstants
     
     /** Default plain text mode (disabled - use embedded resources by default) */
     public static final boolean DEFAULT_PLAIN_TEXT_MODE = false;
+
+    /** Default file content cache budget in megabytes */
+    public static final int DEFAULT_FILE_CACHE_SIZE_MB = 64;
     
     // === Tag decoration preferences ===
     
@@ -26,6 +26,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer
         store.setDefault(PreferenceConstants.PREF_DEFAULT_LIMIT, PreferenceConstants.DEFAULT_DEFAULT_LIMIT);
         store.setDefault(PreferenceConstants.PREF_MAX_LIMIT, PreferenceConstants.DEFAULT_MAX_LIMIT);
         store.setDefault(PreferenceConstants.PREF_PLAIN_TEXT_MODE, PreferenceConstants.DEFAULT_PLAIN_TEXT_MODE);
+        store.setDefault(PreferenceConstants.PREF_FILE_CACHE_SIZE_MB, PreferenceConstants.DEFAULT_FILE_CACHE_SIZE_MB);
         
         // Tag decoration preferences
         store.setDefault(PreferenceConstants.PREF_TAGS_SHOW_IN_NAVIGATOR, 
@@ -173,6 +173,31 @@ public class JsonSchemaBuilder
         return this;
     }
     
+    /**
+     * Adds an array property with object items to the schema.
+     * 
+     * @param name property name
+     * @param description property description
+     * @param items builder describing the properties of one item
+     * @param required whether property is required
+     * @return this builder
+     */
+    public JsonSchemaBuilder objectArrayProperty(String name, String description, JsonSchemaBuilder items,
+        boolean required)
+    {
+        Map<String, Object> prop = new LinkedHashMap<>();
+        prop.put("type", "array"); //$NON-NLS-1$ //$NON-NLS-2$
+        prop.put("items", items.buildMap()); //$NON-NLS-1$
+        prop.put("description", description); //$NON-NLS-1$
+        properties.put(name, prop);
+        
+        if (required)
+        {
+            this.required.add(name);
+        }
+        return this;
+    }
+    
     /**
      * Builds the schema as a JSON string.
      * 
@@ -259,4 +259,49 @@ public final class JsonUtils
             return defaultValue;
         }
     }
+    
+    /**
+     * Extracts a long argument from params map, e.g. a revision token.
+     * JSON numbers arrive in Double.toString() form ("1.7E12"), which is exact up to 2^53.
+     * 
+     * @param params the params map
+     * @param argumentName the argument name to extract
+     * @param defaultValue the default value if not found or invalid
+     * @return long value or default
+     */
+    public static long extractLongArgument(Map<String, String> params, String argumentName, long defaultValue)
+    {
+        if (params == null || argumentName == null)
+        {
+            return defaultValue;
+        }
+        
+        String value = params.get(argumentName);
+        if (value == null || value.isEmpty())
+        {
+            return defaultValue;
+        }
+        
+        try
+        {
+            return Long.parseLong(value.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            // Fall through to the Double form
+        }
+        try
+        {
+            double d = Double.parseDouble(value.trim());
+            if (d != Math.floor(d) || Math.abs(d) > (1L << 53))
+            {
+                return defaultValue;
+            }
+            return (long) d;
+        }
+        catch (NumberFormatException e)
+        {
+            return defaultValue;
+        }
+    }
 }
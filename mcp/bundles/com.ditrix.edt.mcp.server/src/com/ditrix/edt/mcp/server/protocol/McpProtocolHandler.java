@@ -219,7 +219,7 @@ public class McpProtocolHandler
             case IMAGE:
                 // Images always returned as embedded resource (ignore plain text mode)
                 // For images, user signals are ignored
-                if (isJsonErrorPayload(result))
+                if (ToolResult.isError(result))
                 {
                     return buildToolCallJsonResponse(result, requestId);
                 }
@@ -377,40 +377,6 @@ public class McpProtocolHandler
         return GsonProvider.toJson(JsonRpcResponse.success(requestId, toolResult));
     }
 
-    /**
-     * Checks whether tool result is a JSON error payload (ToolResult.error JSON).
-     */
-    private boolean isJsonErrorPayload(String result)
-    {
-        if (result == null)
-        {
-            return false;
-        }
-
-        try
-        {
-            JsonElement element = JsonParser.parseString(result);
-            if (!element.isJsonObject())
-            {
-                return false;
-            }
-
-            com.google.gson.JsonObject obj = element.getAsJsonObject();
-            if (obj.has("success") && obj.get("success").isJsonPrimitive()
-                && obj.get("success").getAsJsonPrimitive().isBoolean()
-                && !obj.get("success").getAsBoolean())
-            {
-                return true;
-            }
-
-            return obj.has("error");
-        }
-        catch (Exception e)
-        {
-            return false;
-        }
-    }
-    
     /**
      * Builds error response.
      */
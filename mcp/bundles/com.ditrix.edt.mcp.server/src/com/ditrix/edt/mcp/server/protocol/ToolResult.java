@@ -10,6 +10,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
 /**
  * Builder for MCP tool results.
  * Uses GsonProvider for JSON serialization to avoid manual string building.
@@ -107,6 +110,43 @@ public class ToolResult
         return GsonProvider.toJson(data);
     }
     
+    /**
+     * Checks whether a tool result is a JSON error payload ({@link #error(String)} JSON).
+     *
+     * @param result tool result, may be null or not JSON
+     * @return true if the result is a JSON object with "success": false or an "error" field
+     */
+    public static boolean isError(String result)
+    {
+        if (result == null)
+        {
+            return false;
+        }
+
+        try
+        {
+            JsonElement element = JsonParser.parseString(result);
+            if (!element.isJsonObject())
+            {
+                return false;
+            }
+
+            com.google.gson.JsonObject obj = element.getAsJsonObject();
+            if (obj.has("success") && obj.get("success").isJsonPrimitive()
+                && obj.get("success").getAsJsonPrimitive().isBoolean()
+                && !obj.get("success").getAsBoolean())
+            {
+                return true;
+            }
+
+            return obj.has("error");
+        }
+        catch (Exception e)
+        {
+            return false;
+        }
+    }
+    
     /**
      * Static helper to serialize any object to JSON.
      */
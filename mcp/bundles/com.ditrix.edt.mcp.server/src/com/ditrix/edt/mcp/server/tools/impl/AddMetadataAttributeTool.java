@@ -40,6 +40,8 @@ import com._1c.g5.v8.dt.metadata.mdclass.MdObject;
 import com._1c.g5.v8.dt.metadata.mdclass.Report;
 import com._1c.g5.v8.dt.metadata.mdclass.Task;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.DirtyObjectTracker;
+import com.ditrix.edt.mcp.server.index.ReferenceCache;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.protocol.ToolResult;
@@ -245,6 +247,8 @@ public class AddMetadataAttributeTool implements IMcpTool
             return ToolResult.error("Failed to add attribute: " + msg).toJson(); //$NON-NLS-1$
         }
 
+        ReferenceCache.getInstance().invalidate(project);
+        DirtyObjectTracker.getInstance().markObject(projectName, normalizedParentFqn);
         return ToolResult.success()
             .put("parentFqn", normalizedParentFqn) //$NON-NLS-1$
             .put("attributeName", attributeName) //$NON-NLS-1$
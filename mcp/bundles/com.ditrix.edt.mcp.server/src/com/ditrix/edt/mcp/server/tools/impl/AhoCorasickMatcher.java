@@ -0,0 +1,190 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton for finding many literal strings in a single pass.
+ * The automaton is immutable after construction and can be shared between threads.
+ * Transitions are stored as sorted char arrays per state, so memory stays
+ * proportional to the total pattern length.
+ */
+public final class AhoCorasickMatcher
+{
+    /**
+     * Receives matches in text order.
+     */
+    @FunctionalInterface
+    public interface MatchHandler
+    {
+        /**
+         * @param patternIndex index of the matched pattern in the constructor list
+         * @param start match start offset (inclusive)
+         * @param end match end offset (exclusive)
+         * @return false to stop scanning
+         */
+        boolean onMatch(int patternIndex, int start, int end);
+    }
+
+    private final boolean caseSensitive;
+    private final int[] patternLengths;
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[][] outputs;
+    private final int[] dictLink;
+
+    /**
+     * Builds the automaton.
+     *
+     * @param patterns non-empty literal patterns
+     * @param caseSensitive whether matching is case-sensitive
+     */
+    public AhoCorasickMatcher(List<String> patterns, boolean caseSensitive)
+    {
+        this.caseSensitive = caseSensitive;
+        this.patternLengths = new int[patterns.size()];
+
+        // Build the trie with sorted maps, then compact it into arrays
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> own = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        own.add(new ArrayList<>());
+
+        for (int p = 0; p < patterns.size(); p++)
+        {
+            String pattern = patterns.get(p);
+            patternLengths[p] = pattern.length();
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++)
+            {
+                char c = fold(pattern.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null)
+                {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    own.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            own.get(state).add(p);
+        }
+
+        int size = trie.size();
+        keys = new char[size][];
+        targets = new int[size][];
+        outputs = new int[size][];
+        for (int s = 0; s < size; s++)
+        {
+            TreeMap<Character, Integer> edges = trie.get(s);
+            keys[s] = new char[edges.size()];
+            targets[s] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet())
+            {
+                keys[s][i] = edge.getKey();
+                targets[s][i] = edge.getValue();
+                i++;
+            }
+            outputs[s] = own.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Breadth-first computation of failure and dictionary suffix links
+        fail = new int[size];
+        dictLink = new int[size];
+        Arrays.fill(dictLink, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0])
+        {
+            queue.add(child);
+        }
+        while (!queue.isEmpty())
+        {
+            int s = queue.poll();
+            for (int i = 0; i < keys[s].length; i++)
+            {
+                char c = keys[s][i];
+                int child = targets[s][i];
+                int f = fail[s];
+                int next;
+                while ((next = step(f, c)) < 0 && f != 0)
+                {
+                    f = fail[f];
+                }
+                fail[child] = next >= 0 ? next : 0;
+                int link = fail[child];
+                dictLink[child] = outputs[link].length > 0 ? link : dictLink[link];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of patterns.
+     *
+     * @return pattern count
+     */
+    public int patternCount()
+    {
+        return patternLengths.length;
+    }
+
+    /**
+     * Scans a text range and reports every occurrence of every pattern,
+     * including overlapping ones.
+     *
+     * @param text text to scan
+     * @param start start offset (inclusive)
+     * @param end end offset (exclusive)
+     * @param handler match receiver
+     */
+    public void scan(CharSequence text, int start, int end, MatchHandler handler)
+    {
+        int state = 0;
+        for (int i = start; i < end; i++)
+        {
+            char c = fold(text.charAt(i));
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0)
+            {
+                state = fail[state];
+            }
+            state = next >= 0 ? next : 0;
+
+            for (int s = outputs[state].length > 0 ? state : dictLink[state]; s >= 0; s = dictLink[s])
+            {
+                for (int p : outputs[s])
+                {
+                    if (!handler.onMatch(p, i + 1 - patternLengths[p], i + 1))
+                    {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private int step(int state, char c)
+    {
+        int idx = Arrays.binarySearch(keys[state], c);
+        return idx >= 0 ? targets[state][idx] : -1;
+    }
+
+    private char fold(char c)
+    {
+        return caseSensitive ? c : Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,844 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Low-allocation line matcher for BSL files.
+ * Used by search_in_code. In 'count' and 'files' modes only the number of
+ * matching lines is needed: files are read through NIO into a per-thread pooled
+ * direct buffer (or a heap buffer of their own when large), the UTF-8 BOM is skipped, and
+ * matching runs on the raw bytes (case-sensitive UTF-8 literals) or on a reused
+ * decoded char buffer. No per-line String objects are created.
+ *
+ * <p>Semantics match the line-based search: a line counts once no matter how many
+ * occurrences it contains, lines are split on LF, CR and CRLF. A query may be
+ * restricted to code, comments or string literals; spans are classified by
+ * {@link BslLexer}, and a match counts only when it lies entirely inside one span
+ * of the requested kind.
+ *
+ * <p>{@link MultiQuery} searches for several queries at once: each line is scanned
+ * once by an Aho-Corasick automaton for all literals, and the result tells which
+ * queries hit the line.
+ */
+public final class BslFileScanner
+{
+    /** Initial capacity of the per-thread buffers */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Largest capacity a per-thread buffer keeps between calls. Larger files get a
+     * buffer of their own that is dropped after the call, so one big module does not
+     * pin memory in every pool thread that has read it.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BYTE_BUFFER =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE));
+
+    private static final ThreadLocal<CharBuffer> CHAR_BUFFER =
+        ThreadLocal.withInitial(() -> CharBuffer.allocate(INITIAL_BUFFER_SIZE));
+
+    private static final ThreadLocal<CharsetDecoder> UTF8_DECODER =
+        ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+    private BslFileScanner()
+    {
+        // Utility class
+    }
+
+    /**
+     * Compiled search query. Either a literal (matched without regex machinery)
+     * or a regular expression evaluated per line on the decoded buffer.
+     */
+    public static final class Query
+    {
+        private final char[] lower;
+        private final char[] upper;
+        private final byte[] utf8;
+        private final boolean caseSensitive;
+        private final Pattern pattern;
+        private final BslLexer.SpanKind scope;
+
+        private Query(char[] lower, char[] upper, byte[] utf8, boolean caseSensitive, Pattern pattern,
+            BslLexer.SpanKind scope)
+        {
+            this.lower = lower;
+            this.upper = upper;
+            this.utf8 = utf8;
+            this.caseSensitive = caseSensitive;
+            this.pattern = pattern;
+            this.scope = scope;
+        }
+
+        /**
+         * Creates a literal query.
+         *
+         * @param text the text to find (non-empty)
+         * @param caseSensitive whether matching is case-sensitive
+         * @return compiled query
+         */
+        public static Query literal(String text, boolean caseSensitive)
+        {
+            int len = text.length();
+            char[] lower = new char[len];
+            char[] upper = new char[len];
+            for (int i = 0; i < len; i++)
+            {
+                char c = text.charAt(i);
+                lower[i] = caseSensitive ? c : Character.toLowerCase(c);
+                upper[i] = caseSensitive ? c : Character.toUpperCase(c);
+            }
+            byte[] utf8 = caseSensitive ? text.getBytes(StandardCharsets.UTF_8) : null;
+            return new Query(lower, upper, utf8, caseSensitive, null, null);
+        }
+
+        /**
+         * Creates a regex query. The pattern is applied to each line separately,
+         * so anchors and lookarounds behave as with per-line matching.
+         *
+         * @param pattern compiled pattern
+         * @return compiled query
+         */
+        public static Query regex(Pattern pattern)
+        {
+            return new Query(null, null, null, true, pattern, null);
+        }
+
+        /**
+         * Returns a copy of this query restricted to spans of the given kind.
+         *
+         * @param kind span kind, or null to match anywhere
+         * @return restricted query
+         */
+        public Query withScope(BslLexer.SpanKind kind)
+        {
+            return new Query(lower, upper, utf8, caseSensitive, pattern, kind);
+        }
+
+        /**
+         * Creates a matcher for consecutive lines of one file. The matcher is
+         * stateful (lexer state, regex matcher) and must not be shared between files.
+         *
+         * @return new line matcher
+         */
+        public LineMatcher newLineMatcher()
+        {
+            return new LineMatcher(this);
+        }
+
+        boolean isLiteral()
+        {
+            return pattern == null;
+        }
+
+        boolean canMatchBytes()
+        {
+            return utf8 != null && scope == null;
+        }
+    }
+
+    /**
+     * Matches consecutive lines of one file against a {@link Query}.
+     * Lines must be passed in file order so that multi-line string literals
+     * are classified correctly for scoped queries.
+     */
+    public static final class LineMatcher
+    {
+        private final Query query;
+        private final BslLexer.Spans spans;
+        private Matcher matcher;
+        private CharSequence target;
+        private int lexState = BslLexer.STATE_DEFAULT;
+
+        private LineMatcher(Query query)
+        {
+            this.query = query;
+            this.spans = query.scope != null ? new BslLexer.Spans() : null;
+        }
+
+        /**
+         * Tests whether the line contains a match.
+         *
+         * @param text text containing the line
+         * @param start line start offset
+         * @param end line end offset (exclusive, before the terminator)
+         * @return true if the line matches
+         */
+        public boolean matches(CharSequence text, int start, int end)
+        {
+            if (spans == null)
+            {
+                return query.isLiteral()
+                    ? indexOfLiteral(text, start, end) >= 0
+                    : regionMatcher(text, start, end).find();
+            }
+
+            spans.clear();
+            lexState = BslLexer.scanLine(text, start, end, lexState, spans);
+            if (query.isLiteral())
+            {
+                for (int i = 0; i < spans.size(); i++)
+                {
+                    if (spans.kind(i) == query.scope && indexOfLiteral(text, spans.start(i), spans.end(i)) >= 0)
+                    {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            Matcher m = regionMatcher(text, start, end);
+            while (m.find())
+            {
+                if (isInScope(m.start(), m.end()))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isInScope(int matchStart, int matchEnd)
+        {
+            for (int i = 0; i < spans.size(); i++)
+            {
+                if (spans.kind(i) == query.scope && spans.start(i) <= matchStart && matchEnd <= spans.end(i))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Matcher regionMatcher(CharSequence text, int start, int end)
+        {
+            if (matcher == null)
+            {
+                matcher = query.pattern.matcher(text);
+                target = text;
+            }
+            else if (target != text)
+            {
+                matcher.reset(text);
+                target = text;
+            }
+            // Region bounds are opaque and anchoring, so ^, $ and lookarounds see only this line
+            return matcher.region(start, end);
+        }
+
+        private int indexOfLiteral(CharSequence text, int start, int end)
+        {
+            char[] lower = query.lower;
+            char[] upper = query.upper;
+            int len = lower.length;
+            int last = end - len;
+            outer:
+            for (int i = start; i <= last; i++)
+            {
+                for (int j = 0; j < len; j++)
+                {
+                    char c = text.charAt(i + j);
+                    if (c != lower[j] && c != upper[j]
+                        && (query.caseSensitive || (Character.toLowerCase(c) != lower[j]
+                            && Character.toUpperCase(c) != upper[j])))
+                    {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Compiled set of queries matched in a single pass over each line. Literals
+     * (and regex queries without metacharacters) are compiled into one
+     * {@link AhoCorasickMatcher}; real regular expressions are evaluated per line
+     * alongside it.
+     */
+    public static final class MultiQuery
+    {
+        /** Characters that make a regex query more than a plain literal */
+        private static final String REGEX_META = "\\^$.|?*+()[]{}"; //$NON-NLS-1$
+
+        private final int size;
+        private final AhoCorasickMatcher literals;
+        private final int[] literalIndex;
+        private final Pattern[] patterns;
+        private final int[] patternIndex;
+        private final BslLexer.SpanKind scope;
+
+        private MultiQuery(int size, AhoCorasickMatcher literals, int[] literalIndex, Pattern[] patterns,
+            int[] patternIndex, BslLexer.SpanKind scope)
+        {
+            this.size = size;
+            this.literals = literals;
+            this.literalIndex = literalIndex;
+            this.patterns = patterns;
+            this.patternIndex = patternIndex;
+            this.scope = scope;
+        }
+
+        /**
+         * Compiles a set of queries.
+         *
+         * @param queries non-empty query strings
+         * @param isRegex whether queries are regular expressions
+         * @param caseSensitive whether matching is case-sensitive
+         * @param scope span kind matches must lie in, or null to match anywhere
+         * @return compiled multi-query
+         * @throws PatternSyntaxException if a regex query is invalid
+         */
+        public static MultiQuery compile(List<String> queries, boolean isRegex, boolean caseSensitive,
+            BslLexer.SpanKind scope)
+        {
+            int flags = Pattern.UNICODE_CHARACTER_CLASS;
+            if (!caseSensitive)
+            {
+                flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+            }
+
+            List<String> literalList = new ArrayList<>();
+            List<Integer> literalIdx = new ArrayList<>();
+            List<Pattern> patternList = new ArrayList<>();
+            List<Integer> patternIdx = new ArrayList<>();
+            for (int i = 0; i < queries.size(); i++)
+            {
+                String query = queries.get(i);
+                if (!isRegex || isPlainLiteral(query))
+                {
+                    literalList.add(query);
+                    literalIdx.add(i);
+                }
+                else
+                {
+                    patternList.add(Pattern.compile(query, flags));
+                    patternIdx.add(i);
+                }
+            }
+
+            AhoCorasickMatcher literals = literalList.isEmpty()
+                ? null
+                : new AhoCorasickMatcher(literalList, caseSensitive);
+            return new MultiQuery(queries.size(), literals,
+                literalIdx.stream().mapToInt(Integer::intValue).toArray(),
+                patternList.toArray(new Pattern[0]),
+                patternIdx.stream().mapToInt(Integer::intValue).toArray(),
+                scope);
+        }
+
+        /**
+         * Returns the number of queries.
+         *
+         * @return query count
+         */
+        public int size()
+        {
+            return size;
+        }
+
+        /**
+         * Creates a matcher for consecutive lines of one file.
+         *
+         * @return new line matcher
+         */
+        public MultiLineMatcher newLineMatcher()
+        {
+            return new MultiLineMatcher(this);
+        }
+
+        private static boolean isPlainLiteral(String query)
+        {
+            for (int i = 0; i < query.length(); i++)
+            {
+                if (REGEX_META.indexOf(query.charAt(i)) >= 0)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Matches consecutive lines of one file against a {@link MultiQuery} and reports
+     * which queries hit each line. Each query is reported at most once per line.
+     */
+    public static final class MultiLineMatcher
+    {
+        private final MultiQuery query;
+        private final BslLexer.Spans spans;
+        private final Matcher[] matchers;
+        private final int[] hits;
+        private final int[] lineStamp;
+        private final AhoCorasickMatcher.MatchHandler literalHandler;
+        private CharSequence target;
+        private int hitCount;
+        private int line;
+        private int lexState = BslLexer.STATE_DEFAULT;
+
+        private MultiLineMatcher(MultiQuery query)
+        {
+            this.query = query;
+            this.spans = query.scope != null ? new BslLexer.Spans() : null;
+            this.matchers = new Matcher[query.patterns.length];
+            this.hits = new int[query.size];
+            this.lineStamp = new int[query.size];
+            this.literalHandler = (p, matchStart, matchEnd) -> {
+                if (spans == null || isInScope(matchStart, matchEnd))
+                {
+                    addHit(query.literalIndex[p]);
+                }
+                return hitCount < query.size;
+            };
+        }
+
+        /**
+         * Matches one line.
+         *
+         * @param text text containing the line
+         * @param start line start offset
+         * @param end line end offset (exclusive, before the terminator)
+         * @return number of queries that match the line; see {@link #hit(int)}
+         */
+        public int match(CharSequence text, int start, int end)
+        {
+            hitCount = 0;
+            line++;
+            if (spans != null)
+            {
+                spans.clear();
+                lexState = BslLexer.scanLine(text, start, end, lexState, spans);
+            }
+
+            if (query.literals != null)
+            {
+                query.literals.scan(text, start, end, literalHandler);
+            }
+
+            if (text != target)
+            {
+                for (Matcher m : matchers)
+                {
+                    if (m != null)
+                    {
+                        m.reset(text);
+                    }
+                }
+                target = text;
+            }
+            for (int k = 0; k < matchers.length; k++)
+            {
+                if (matchers[k] == null)
+                {
+                    matchers[k] = query.patterns[k].matcher(text);
+                }
+                Matcher m = matchers[k].region(start, end);
+                while (m.find())
+                {
+                    if (spans == null || isInScope(m.start(), m.end()))
+                    {
+                        addHit(query.patternIndex[k]);
+                        break;
+                    }
+                }
+            }
+            return hitCount;
+        }
+
+        /**
+         * Returns the query index of a hit on the last matched line.
+         *
+         * @param i hit number, from 0 to the value returned by {@link #match} (exclusive)
+         * @return index of the query in the compiled list
+         */
+        public int hit(int i)
+        {
+            return hits[i];
+        }
+
+        private void addHit(int queryIndex)
+        {
+            if (lineStamp[queryIndex] != line)
+            {
+                lineStamp[queryIndex] = line;
+                hits[hitCount++] = queryIndex;
+            }
+        }
+
+        private boolean isInScope(int matchStart, int matchEnd)
+        {
+            for (int i = 0; i < spans.size(); i++)
+            {
+                if (spans.kind(i) == query.scope && spans.start(i) <= matchStart && matchEnd <= spans.end(i))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Receives lines of a file in order. The text is a reused buffer: it must not be
+     * retained after the call, and offsets are only valid during the call.
+     */
+    @FunctionalInterface
+    public interface LineVisitor
+    {
+        /**
+         * @param text text containing the line
+         * @param start line start offset
+         * @param end line end offset (exclusive, before the terminator)
+         * @param lineNumber 1-based line number
+         */
+        void visit(CharSequence text, int start, int end, int lineNumber);
+    }
+
+    /**
+     * Counts lines of a workspace file that contain at least one match.
+     * Falls back to the line-based reader when the file has no local location.
+     *
+     * @param file the BSL file
+     * @param query compiled query
+     * @return number of matching lines
+     * @throws Exception if reading fails
+     */
+    public static int countMatchingLines(IFile file, Query query) throws Exception
+    {
+        if (file.getLocation() == null)
+        {
+            return countMatchingLines(BslModuleUtils.readFileLines(file), query);
+        }
+        return countMatchingLines(file.getLocation().toFile().toPath(), fallbackCharset(file), query);
+    }
+
+    /**
+     * Counts lines of a file on disk that contain at least one match.
+     *
+     * @param path file path
+     * @param fallbackCharset charset used when the file has no UTF-8 BOM
+     * @param query compiled query
+     * @return number of matching lines
+     * @throws IOException if reading fails
+     */
+    public static int countMatchingLines(Path path, Charset fallbackCharset, Query query) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            return countMatchingLines(readBytes(channel), fallbackCharset, query);
+        }
+    }
+
+    /**
+     * Counts matching lines in raw file bytes.
+     *
+     * @param bytes file content; position..limit is scanned
+     * @param fallbackCharset charset used when the content has no UTF-8 BOM
+     * @param query compiled query
+     * @return number of matching lines
+     * @throws CharacterCodingException if decoding fails
+     */
+    static int countMatchingLines(ByteBuffer bytes, Charset fallbackCharset, Query query)
+        throws CharacterCodingException
+    {
+        Charset charset = skipBom(bytes, fallbackCharset);
+        boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+        if (utf8 && query.canMatchBytes())
+        {
+            return countInBytes(bytes, query.utf8);
+        }
+
+        LineMatcher matcher = query.newLineMatcher();
+        int[] count = { 0 };
+        forEachLine(decode(bytes, charset, utf8), (text, start, end, lineNumber) -> {
+            if (matcher.matches(text, start, end))
+            {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Counts matching lines in already split lines (fallback path).
+     */
+    private static int countMatchingLines(Iterable<String> lines, Query query)
+    {
+        LineMatcher matcher = query.newLineMatcher();
+        int count = 0;
+        for (String line : lines)
+        {
+            if (matcher.matches(line, 0, line.length()))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Visits every line of a workspace file without creating per-line strings.
+     * Falls back to the line-based reader when the file has no local location.
+     *
+     * @param file the BSL file
+     * @param visitor line receiver
+     * @throws Exception if reading fails
+     */
+    public static void forEachLine(IFile file, LineVisitor visitor) throws Exception
+    {
+        if (file.getLocation() == null)
+        {
+            int lineNumber = 0;
+            for (String line : BslModuleUtils.readFileLines(file))
+            {
+                visitor.visit(line, 0, line.length(), ++lineNumber);
+            }
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.getLocation().toFile().toPath(), StandardOpenOption.READ))
+        {
+            forEachLine(readBytes(channel), fallbackCharset(file), visitor);
+        }
+    }
+
+    /**
+     * Visits every line of raw file bytes.
+     *
+     * @param bytes file content; position..limit is scanned
+     * @param fallbackCharset charset used when the content has no UTF-8 BOM
+     * @param visitor line receiver
+     * @throws CharacterCodingException if decoding fails
+     */
+    static void forEachLine(ByteBuffer bytes, Charset fallbackCharset, LineVisitor visitor)
+        throws CharacterCodingException
+    {
+        Charset charset = skipBom(bytes, fallbackCharset);
+        forEachLine(decode(bytes, charset, StandardCharsets.UTF_8.equals(charset)), visitor);
+    }
+
+    private static Charset fallbackCharset(IFile file)
+    {
+        try
+        {
+            return Charset.forName(file.getCharset());
+        }
+        catch (Exception e)
+        {
+            // BSL files in EDT are always UTF-8
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * Reads the whole channel into the per-thread pooled buffer, or into a heap buffer
+     * when large. Files are never memory-mapped: on Windows a mapping that is still alive
+     * blocks writing or deleting the file until the buffer is garbage collected.
+     */
+    private static ByteBuffer readBytes(FileChannel channel) throws IOException
+    {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE)
+        {
+            throw new IOException("File is too large: " + size + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        ByteBuffer buffer = BYTE_BUFFER.get();
+        if (size > MAX_POOLED_BUFFER_SIZE)
+        {
+            buffer = ByteBuffer.allocate((int) size);
+        }
+        else if (buffer.capacity() < size)
+        {
+            buffer = ByteBuffer.allocateDirect(
+                Math.min(Math.max((int) size, buffer.capacity() * 2), MAX_POOLED_BUFFER_SIZE));
+            BYTE_BUFFER.set(buffer);
+        }
+        buffer.clear();
+        buffer.limit((int) size);
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, buffer.position()) < 0)
+            {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Skips a UTF-8 BOM if present.
+     *
+     * @return UTF-8 if a BOM was found, otherwise the fallback charset
+     */
+    private static Charset skipBom(ByteBuffer bytes, Charset fallbackCharset)
+    {
+        int start = bytes.position();
+        if (bytes.remaining() >= 3
+            && (bytes.get(start) & 0xFF) == 0xEF
+            && (bytes.get(start + 1) & 0xFF) == 0xBB
+            && (bytes.get(start + 2) & 0xFF) == 0xBF)
+        {
+            bytes.position(start + 3);
+            return StandardCharsets.UTF_8;
+        }
+        return fallbackCharset;
+    }
+
+    private static CharBuffer decode(ByteBuffer bytes, Charset charset, boolean utf8)
+        throws CharacterCodingException
+    {
+        CharsetDecoder decoder = utf8 ? UTF8_DECODER.get() : charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        decoder.reset();
+
+        int needed = (int) (bytes.remaining() * (double) decoder.maxCharsPerByte()) + 1;
+        CharBuffer chars = CHAR_BUFFER.get();
+        if (needed > MAX_POOLED_BUFFER_SIZE)
+        {
+            chars = CharBuffer.allocate(needed);
+        }
+        else if (chars.capacity() < needed)
+        {
+            chars = CharBuffer.allocate(Math.min(Math.max(needed, chars.capacity() * 2), MAX_POOLED_BUFFER_SIZE));
+            CHAR_BUFFER.set(chars);
+        }
+        chars.clear();
+
+        CoderResult result = decoder.decode(bytes, chars, true);
+        if (result.isError())
+        {
+            result.throwException();
+        }
+        decoder.flush(chars);
+        chars.flip();
+        return chars;
+    }
+
+    private static int countInBytes(ByteBuffer bytes, byte[] needle)
+    {
+        int count = 0;
+        int end = bytes.limit();
+        int lineStart = bytes.position();
+        int len = needle.length;
+        byte first = needle[0];
+
+        while (lineStart <= end)
+        {
+            int lineEnd = lineStart;
+            while (lineEnd < end)
+            {
+                byte b = bytes.get(lineEnd);
+                if (b == '\n' || b == '\r')
+                {
+                    break;
+                }
+                lineEnd++;
+            }
+
+            int last = lineEnd - len;
+            outer:
+            for (int i = lineStart; i <= last; i++)
+            {
+                if (bytes.get(i) != first)
+                {
+                    continue;
+                }
+                for (int j = 1; j < len; j++)
+                {
+                    if (bytes.get(i + j) != needle[j])
+                    {
+                        continue outer;
+                    }
+                }
+                count++;
+                break;
+            }
+
+            if (lineEnd >= end)
+            {
+                break;
+            }
+            lineStart = nextLineStart(bytes.get(lineEnd), lineEnd, end,
+                lineEnd + 1 < end ? bytes.get(lineEnd + 1) : 0);
+        }
+        return count;
+    }
+
+    private static void forEachLine(CharBuffer chars, LineVisitor visitor)
+    {
+        int end = chars.limit();
+        int lineStart = 0;
+        int lineNumber = 0;
+
+        while (lineStart <= end)
+        {
+            int lineEnd = lineStart;
+            while (lineEnd < end)
+            {
+                char c = chars.charAt(lineEnd);
+                if (c == '\n' || c == '\r')
+                {
+                    break;
+                }
+                lineEnd++;
+            }
+
+            // Skip the phantom empty line after a trailing terminator or in empty content
+            if (lineEnd > lineStart || lineEnd < end)
+            {
+                visitor.visit(chars, lineStart, lineEnd, ++lineNumber);
+            }
+
+            if (lineEnd >= end)
+            {
+                break;
+            }
+            lineStart = nextLineStart(chars.charAt(lineEnd), lineEnd, end,
+                lineEnd + 1 < end ? chars.charAt(lineEnd + 1) : 0);
+        }
+    }
+
+    /**
+     * Returns the start of the next line, treating CRLF as a single terminator.
+     * A terminator at the very end of the content does not open a new line.
+     */
+    private static int nextLineStart(int terminator, int terminatorIndex, int end, int following)
+    {
+        int next = terminatorIndex + 1;
+        if (terminator == '\r' && next < end && following == '\n')
+        {
+            next++;
+        }
+        return next < end ? next : end + 1;
+    }
+}
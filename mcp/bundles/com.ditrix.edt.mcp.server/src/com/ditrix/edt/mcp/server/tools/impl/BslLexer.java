@@ -0,0 +1,277 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import java.util.Arrays;
+
+/**
+ * Lightweight line-oriented BSL lexer that splits source text into code, comment,
+ * string literal and preprocessor spans. It does not build tokens or strings:
+ * spans are reported as offsets to a {@link SpanConsumer}, and the only state
+ * carried between lines is whether a multi-line string literal is open.
+ *
+ * <p>Recognized constructs:
+ * <ul>
+ * <li>{@code //} comments up to end of line</li>
+ * <li>string literals in double quotes with {@code ""} escapes, continued on the
+ * next line after a leading {@code |}; comment lines between continuations are allowed</li>
+ * <li>date literals in single quotes (reported as strings)</li>
+ * <li>preprocessor instructions ({@code #Region}, {@code #If ... Then}) and
+ * compilation directives ({@code &AtServer}) at line start</li>
+ * </ul>
+ */
+public final class BslLexer
+{
+    /** Lexer state: regular code at line start */
+    public static final int STATE_DEFAULT = 0;
+
+    /** Lexer state: a string literal is open and may continue on the next line */
+    public static final int STATE_IN_STRING = 1;
+
+    private BslLexer()
+    {
+        // Utility class
+    }
+
+    /**
+     * Kind of a source span.
+     */
+    public enum SpanKind
+    {
+        /** Code, including whitespace and punctuation */
+        CODE,
+        /** Line comment, including the leading slashes */
+        COMMENT,
+        /** String or date literal, including quotes and continuation bars */
+        STRING,
+        /** Preprocessor instruction or compilation directive */
+        PREPROCESSOR
+    }
+
+    /**
+     * Receives spans in source order. Empty spans are never reported.
+     */
+    @FunctionalInterface
+    public interface SpanConsumer
+    {
+        /**
+         * @param kind span kind
+         * @param start start offset (inclusive)
+         * @param end end offset (exclusive)
+         */
+        void accept(SpanKind kind, int start, int end);
+    }
+
+    /**
+     * Reusable span list for callers that need random access to the spans of a line.
+     */
+    public static final class Spans implements SpanConsumer
+    {
+        private SpanKind[] kinds = new SpanKind[8];
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int size;
+
+        @Override
+        public void accept(SpanKind kind, int start, int end)
+        {
+            if (size == kinds.length)
+            {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            kinds[size] = kind;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        /**
+         * Removes all spans, keeping allocated capacity.
+         */
+        public void clear()
+        {
+            size = 0;
+        }
+
+        public int size()
+        {
+            return size;
+        }
+
+        public SpanKind kind(int index)
+        {
+            return kinds[index];
+        }
+
+        public int start(int index)
+        {
+            return starts[index];
+        }
+
+        public int end(int index)
+        {
+            return ends[index];
+        }
+    }
+
+    /**
+     * Lexes one line (without line terminators).
+     *
+     * @param text source text
+     * @param start line start offset in text
+     * @param end line end offset in text (exclusive, before the terminator)
+     * @param state state returned for the previous line, or {@link #STATE_DEFAULT}
+     * @param consumer span receiver
+     * @return state for the next line
+     */
+    public static int scanLine(CharSequence text, int start, int end, int state, SpanConsumer consumer)
+    {
+        int i = start;
+
+        if (state == STATE_IN_STRING)
+        {
+            int j = skipWhitespace(text, i, end);
+            if (j < end && text.charAt(j) == '|')
+            {
+                // Continuation of a multi-line string literal
+                int close = findStringEnd(text, j + 1, end);
+                if (close < 0)
+                {
+                    emit(consumer, SpanKind.STRING, start, end);
+                    return STATE_IN_STRING;
+                }
+                emit(consumer, SpanKind.STRING, start, close);
+                i = close;
+            }
+            else if (j + 1 < end && text.charAt(j) == '/' && text.charAt(j + 1) == '/')
+            {
+                // Comments are allowed between continuation lines
+                emit(consumer, SpanKind.CODE, start, j);
+                emit(consumer, SpanKind.COMMENT, j, end);
+                return STATE_IN_STRING;
+            }
+            else if (j == end)
+            {
+                emit(consumer, SpanKind.CODE, start, end);
+                return STATE_IN_STRING;
+            }
+            // Otherwise the literal was never closed; lex the line as regular code
+        }
+        else
+        {
+            int j = skipWhitespace(text, i, end);
+            if (j < end && (text.charAt(j) == '#' || text.charAt(j) == '&'))
+            {
+                int comment = indexOfComment(text, j, end);
+                emit(consumer, SpanKind.CODE, start, j);
+                emit(consumer, SpanKind.PREPROCESSOR, j, comment);
+                emit(consumer, SpanKind.COMMENT, comment, end);
+                return STATE_DEFAULT;
+            }
+        }
+
+        int codeStart = i;
+        while (i < end)
+        {
+            char c = text.charAt(i);
+            if (c == '"')
+            {
+                emit(consumer, SpanKind.CODE, codeStart, i);
+                int close = findStringEnd(text, i + 1, end);
+                if (close < 0)
+                {
+                    emit(consumer, SpanKind.STRING, i, end);
+                    return STATE_IN_STRING;
+                }
+                emit(consumer, SpanKind.STRING, i, close);
+                i = close;
+                codeStart = i;
+            }
+            else if (c == '\'')
+            {
+                emit(consumer, SpanKind.CODE, codeStart, i);
+                int close = i + 1;
+                while (close < end && text.charAt(close) != '\'')
+                {
+                    close++;
+                }
+                close = Math.min(close + 1, end);
+                emit(consumer, SpanKind.STRING, i, close);
+                i = close;
+                codeStart = i;
+            }
+            else if (c == '/' && i + 1 < end && text.charAt(i + 1) == '/')
+            {
+                emit(consumer, SpanKind.CODE, codeStart, i);
+                emit(consumer, SpanKind.COMMENT, i, end);
+                return STATE_DEFAULT;
+            }
+            else
+            {
+                i++;
+            }
+        }
+        emit(consumer, SpanKind.CODE, codeStart, end);
+        return STATE_DEFAULT;
+    }
+
+    /**
+     * Finds the end of a double-quoted literal body.
+     *
+     * @return offset just after the closing quote, or -1 if the literal continues on the next line
+     */
+    private static int findStringEnd(CharSequence text, int from, int end)
+    {
+        int i = from;
+        while (i < end)
+        {
+            if (text.charAt(i) == '"')
+            {
+                if (i + 1 < end && text.charAt(i + 1) == '"')
+                {
+                    i += 2; // escaped quote
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static int indexOfComment(CharSequence text, int from, int end)
+    {
+        for (int i = from; i + 1 < end; i++)
+        {
+            if (text.charAt(i) == '/' && text.charAt(i + 1) == '/')
+            {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int skipWhitespace(CharSequence text, int from, int end)
+    {
+        int i = from;
+        while (i < end && Character.isWhitespace(text.charAt(i)))
+        {
+            i++;
+        }
+        return i;
+    }
+
+    private static void emit(SpanConsumer consumer, SpanKind kind, int start, int end)
+    {
+        if (end > start)
+        {
+            consumer.accept(kind, start, end);
+        }
+    }
+}
@@ -7,7 +7,6 @@
 package com.ditrix.edt.mcp.server.tools.impl;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -18,6 +17,7 @@ import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
@@ -34,6 +34,9 @@ import com._1c.g5.v8.dt.bsl.model.Function;
 import com._1c.g5.v8.dt.bsl.model.Method;
 import com._1c.g5.v8.dt.bsl.model.Module;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.LineIndex;
+import com.ditrix.edt.mcp.server.index.LineIndexCache;
+import com.ditrix.edt.mcp.server.index.ParsedModuleCache;
 
 /**
  * Utility class for loading BSL modules and working with BSL AST.
@@ -77,6 +80,7 @@ public final class BslModuleUtils
     /**
      * Loads BSL Module EMF model via BmAwareResourceSetProvider.
      * Tries ServiceTracker first, falls back to IResourceServiceProvider (Guice injector).
+     * Loaded modules are shared between calls through {@link ParsedModuleCache}.
      *
      * @param project the EDT project
      * @param modulePath path from src/, e.g. "CommonModules/MyModule/Module.bsl"
@@ -84,6 +88,15 @@ public final class BslModuleUtils
      */
     public static Module loadModule(IProject project, String modulePath)
     {
+        IFile file = project.getFile(new Path("src").append(modulePath)); //$NON-NLS-1$
+        Module cached = ParsedModuleCache.getInstance().get(file);
+        if (cached != null)
+        {
+            return cached;
+        }
+        // Stamp of the file state the model is loaded from
+        long modificationStamp = file.getModificationStamp();
+
         // Try to obtain BmAwareResourceSetProvider
         BmAwareResourceSetProvider resourceSetProvider = Activator.getDefault().getResourceSetProvider();
 
@@ -138,9 +151,10 @@ public final class BslModuleUtils
                 return null;
             }
             EObject root = resource.getContents().get(0);
-            if (root instanceof Module)
+            if (root instanceof Module module)
             {
-                return (Module) root;
+                ParsedModuleCache.getInstance().put(file, modificationStamp, module);
+                return module;
             }
             Activator.logWarning("Resource root is " + root.getClass().getName() + ", not Module for: " + uri); //$NON-NLS-1$ //$NON-NLS-2$
         }
@@ -180,6 +194,7 @@ public final class BslModuleUtils
     /**
      * Reads all lines from an IFile with UTF-8 BOM detection.
      * BSL files in EDT are typically saved as UTF-8 with BOM.
+     * The decoded content is shared through {@link LineIndexCache}.
      *
      * @param file the IFile to read
      * @return list of lines
@@ -187,64 +202,21 @@ public final class BslModuleUtils
      */
     public static List<String> readFileLines(IFile file) throws Exception
     {
-        // Try IFile.getContents() first (workspace API); fall back to filesystem
-        // if workspace is not synchronized (common in large projects)
-        InputStream rawIs;
-        try
-        {
-            rawIs = file.getContents();
-        }
-        catch (Exception e)
-        {
-            // Fallback: read directly from filesystem, bypassing workspace sync
-            java.io.File fsFile = file.getLocation() != null
-                ? file.getLocation().toFile() : null;
-            if (fsFile == null || !fsFile.exists())
-            {
-                throw e; // Re-throw original if filesystem path not available
-            }
-            rawIs = new FileInputStream(fsFile);
-        }
+        return getLines(LineIndexCache.getInstance().get(file));
+    }
 
-        List<String> lines = new ArrayList<>();
-        // Wrap in BufferedInputStream to support mark/reset for BOM detection;
-        // rawIs is closed by try-with-resources since BufferedInputStream wraps it
-        try (InputStream input = new BufferedInputStream(rawIs))
+    /**
+     * Returns the lines of an indexed text without their terminators.
+     *
+     * @param index the line index
+     * @return list of lines
+     */
+    public static List<String> getLines(LineIndex index)
+    {
+        List<String> lines = new ArrayList<>(index.getLineCount());
+        for (int line = 1; line <= index.getLineCount(); line++)
         {
-            // Detect UTF-8 BOM (EF BB BF)
-            input.mark(3);
-            byte[] bom = new byte[3];
-            int bomRead = input.read(bom);
-            boolean isUtf8Bom = bomRead == 3
-                && (bom[0] & 0xFF) == 0xEF
-                && (bom[1] & 0xFF) == 0xBB
-                && (bom[2] & 0xFF) == 0xBF;
-            if (!isUtf8Bom)
-            {
-                input.reset();
-            }
-            // BSL files in EDT are always UTF-8
-            String charset = "UTF-8"; //$NON-NLS-1$
-            if (!isUtf8Bom)
-            {
-                try
-                {
-                    charset = file.getCharset();
-                }
-                catch (Exception ce)
-                {
-                    charset = "UTF-8"; //$NON-NLS-1$
-                }
-            }
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(input, charset)))
-            {
-                String line;
-                while ((line = reader.readLine()) != null)
-                {
-                    lines.add(line);
-                }
-            }
+            lines.add(index.getLine(line));
         }
         return lines;
     }
@@ -253,12 +225,26 @@ public final class BslModuleUtils
      * Reads full text from an IFile preserving original line separators.
      * Needed when mapping TextEdit offsets to lines because EDT offsets are
      * based on raw file content rather than normalized LF-only text.
+     * The decoded content is shared through {@link LineIndexCache}.
      *
      * @param file the IFile to read
      * @return full file text
      * @throws Exception if reading fails
      */
     public static String readFileText(IFile file) throws Exception
+    {
+        return LineIndexCache.getInstance().get(file).getText();
+    }
+
+    /**
+     * Reads and decodes the current file content, bypassing the content cache.
+     * Detects a UTF-8 BOM and otherwise uses the file charset.
+     *
+     * @param file the IFile to read
+     * @return full file text without BOM
+     * @throws Exception if reading fails
+     */
+    public static String decodeFileText(IFile file) throws Exception
     {
         InputStream rawIs;
         try
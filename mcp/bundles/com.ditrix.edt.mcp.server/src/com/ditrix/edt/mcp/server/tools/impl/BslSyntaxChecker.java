@@ -6,16 +6,22 @@
 
 package com.ditrix.edt.mcp.server.tools.impl;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Lightweight BSL syntax checker that validates balanced block keywords.
  * Checks: Procedure/EndProcedure, Function/EndFunction, If/EndIf,
  * While/EndDo, For/EndDo, Try/EndTry (Russian and English, case-insensitive).
+ *
+ * <p>Each line is classified by its first word with one map lookup, and a stack of open
+ * blocks is kept across lines. {@link #checkChanged} re-checks only the methods that
+ * overlap the changed lines of a module, so an edit of one method in a large module
+ * does not rescan the whole file.
  */
 public final class BslSyntaxChecker
 {
@@ -24,63 +30,85 @@ public final class BslSyntaxChecker
         // utility class
     }
 
-    private static final String TAG_PROCEDURE = "PROCEDURE"; //$NON-NLS-1$
-    private static final String TAG_FUNCTION = "FUNCTION"; //$NON-NLS-1$
-    private static final String TAG_IF = "IF"; //$NON-NLS-1$
-    private static final String TAG_LOOP = "LOOP"; //$NON-NLS-1$
-    private static final String TAG_TRY = "TRY"; //$NON-NLS-1$
-
-    // Closing keywords — check FIRST (before opening)
-    private static final Pattern END_PROCEDURE = Pattern.compile(
-        "^\\s*(?:\u041A\u043E\u043D\u0435\u0446\u041F\u0440\u043E\u0446\u0435\u0434\u0443\u0440\u044B|EndProcedure)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
-
-    private static final Pattern END_FUNCTION = Pattern.compile(
-        "^\\s*(?:\u041A\u043E\u043D\u0435\u0446\u0424\u0443\u043D\u043A\u0446\u0438\u0438|EndFunction)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
-
-    private static final Pattern END_IF = Pattern.compile(
-        "^\\s*(?:\u041A\u043E\u043D\u0435\u0446\u0415\u0441\u043B\u0438|EndIf)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
-
-    private static final Pattern END_DO = Pattern.compile(
-        "^\\s*(?:\u041A\u043E\u043D\u0435\u0446\u0426\u0438\u043A\u043B\u0430|EndDo)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
-
-    private static final Pattern END_TRY = Pattern.compile(
-        "^\\s*(?:\u041A\u043E\u043D\u0435\u0446\u041F\u043E\u043F\u044B\u0442\u043A\u0438|EndTry)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
-
-    // Opening keywords
-    private static final Pattern PROCEDURE_START = Pattern.compile(
-        "^\\s*(?:\u041F\u0440\u043E\u0446\u0435\u0434\u0443\u0440\u0430|Procedure)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    /**
+     * Block kinds with the keywords used in error messages.
+     */
+    private enum Block
+    {
+        PROCEDURE("\u041F\u0440\u043E\u0446\u0435\u0434\u0443\u0440\u0430/Procedure", //$NON-NLS-1$
+            "\u041A\u043E\u043D\u0435\u0446\u041F\u0440\u043E\u0446\u0435\u0434\u0443\u0440\u044B/EndProcedure"), //$NON-NLS-1$
+        FUNCTION("\u0424\u0443\u043D\u043A\u0446\u0438\u044F/Function", //$NON-NLS-1$
+            "\u041A\u043E\u043D\u0435\u0446\u0424\u0443\u043D\u043A\u0446\u0438\u0438/EndFunction"), //$NON-NLS-1$
+        IF("\u0415\u0441\u043B\u0438/If", //$NON-NLS-1$
+            "\u041A\u043E\u043D\u0435\u0446\u0415\u0441\u043B\u0438/EndIf"), //$NON-NLS-1$
+        LOOP("\u041F\u043E\u043A\u0430|\u0414\u043B\u044F/While|For", //$NON-NLS-1$
+            "\u041A\u043E\u043D\u0435\u0446\u0426\u0438\u043A\u043B\u0430/EndDo"), //$NON-NLS-1$
+        TRY("\u041F\u043E\u043F\u044B\u0442\u043A\u0430/Try", //$NON-NLS-1$
+            "\u041A\u043E\u043D\u0435\u0446\u041F\u043E\u043F\u044B\u0442\u043A\u0438/EndTry"); //$NON-NLS-1$
+
+        final String opening;
+        final String closing;
+
+        Block(String opening, String closing)
+        {
+            this.opening = opening;
+            this.closing = closing;
+        }
 
-    private static final Pattern FUNCTION_START = Pattern.compile(
-        "^\\s*(?:\u0424\u0443\u043D\u043A\u0446\u0438\u044F|Function)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        boolean isMethod()
+        {
+            return this == PROCEDURE || this == FUNCTION;
+        }
+    }
 
-    // If but NOT ElsIf/ElseIf/ИначеЕсли
-    private static final Pattern IF_START = Pattern.compile(
-        "^\\s*(?:\u0415\u0441\u043B\u0438|If)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    /** Lowercase first word of a line -> block it opens */
+    private static final Map<String, Block> OPENING = new HashMap<>();
 
-    private static final Pattern ELSIF_PATTERN = Pattern.compile(
-        "^\\s*(?:\u0418\u043D\u0430\u0447\u0435\u0415\u0441\u043B\u0438|ElsIf|ElseIf)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    /** Lowercase first word of a line -> block it closes */
+    private static final Map<String, Block> CLOSING = new HashMap<>();
 
-    private static final Pattern WHILE_START = Pattern.compile(
-        "^\\s*(?:\u041F\u043E\u043A\u0430|While)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    /** Length range of all keywords, to skip the lookup for other words without allocating */
+    private static final int MIN_KEYWORD_LENGTH;
+    private static final int MAX_KEYWORD_LENGTH;
 
-    // For / Для (includes Для Каждого / For Each)
-    private static final Pattern FOR_START = Pattern.compile(
-        "^\\s*(?:\u0414\u043B\u044F|For)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    static
+    {
+        keyword(OPENING, Block.PROCEDURE, "\u041F\u0440\u043E\u0446\u0435\u0434\u0443\u0440\u0430", "Procedure"); //$NON-NLS-1$ //$NON-NLS-2$
+        keyword(OPENING, Block.FUNCTION, "\u0424\u0443\u043D\u043A\u0446\u0438\u044F", "Function"); //$NON-NLS-1$ //$NON-NLS-2$
+        // ElsIf/ElseIf/ИначеЕсли are different words, so they never match If
+        keyword(OPENING, Block.IF, "\u0415\u0441\u043B\u0438", "If"); //$NON-NLS-1$ //$NON-NLS-2$
+        // For / Для (includes Для Каждого / For Each)
+        keyword(OPENING, Block.LOOP, "\u041F\u043E\u043A\u0430", "While", "\u0414\u043B\u044F", "For"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        keyword(OPENING, Block.TRY, "\u041F\u043E\u043F\u044B\u0442\u043A\u0430", "Try"); //$NON-NLS-1$ //$NON-NLS-2$
+        keyword(CLOSING, Block.PROCEDURE, "\u041A\u043E\u043D\u0435\u0446\u041F\u0440\u043E\u0446\u0435\u0434\u0443\u0440\u044B", "EndProcedure"); //$NON-NLS-1$ //$NON-NLS-2$
+        keyword(CLOSING, Block.FUNCTION, "\u041A\u043E\u043D\u0435\u0446\u0424\u0443\u043D\u043A\u0446\u0438\u0438", "EndFunction"); //$NON-NLS-1$ //$NON-NLS-2$
+        keyword(CLOSING, Block.IF, "\u041A\u043E\u043D\u0435\u0446\u0415\u0441\u043B\u0438", "EndIf"); //$NON-NLS-1$ //$NON-NLS-2$
+        keyword(CLOSING, Block.LOOP, "\u041A\u043E\u043D\u0435\u0446\u0426\u0438\u043A\u043B\u0430", "EndDo"); //$NON-NLS-1$ //$NON-NLS-2$
+        keyword(CLOSING, Block.TRY, "\u041A\u043E\u043D\u0435\u0446\u041F\u043E\u043F\u044B\u0442\u043A\u0438", "EndTry"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (String word : OPENING.keySet())
+        {
+            min = Math.min(min, word.length());
+            max = Math.max(max, word.length());
+        }
+        for (String word : CLOSING.keySet())
+        {
+            min = Math.min(min, word.length());
+            max = Math.max(max, word.length());
+        }
+        MIN_KEYWORD_LENGTH = min;
+        MAX_KEYWORD_LENGTH = max;
+    }
 
-    private static final Pattern TRY_START = Pattern.compile(
-        "^\\s*(?:\u041F\u043E\u043F\u044B\u0442\u043A\u0430|Try)\\b", //$NON-NLS-1$
-        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    private static void keyword(Map<String, Block> map, Block block, String... words)
+    {
+        for (String word : words)
+        {
+            map.put(word.toLowerCase(Locale.ROOT), block);
+        }
+    }
 
     /**
      * Result of a BSL syntax check.
@@ -115,149 +143,180 @@ public final class BslSyntaxChecker
      */
     public static CheckResult check(List<String> lines)
     {
-        List<String> errors = new ArrayList<>();
-        // Stack of (tag, lineNumber as string)
-        Deque<String[]> stack = new ArrayDeque<>();
+        return scan(lines, 0, lines.size());
+    }
 
-        for (int i = 0; i < lines.size(); i++)
+    /**
+     * Checks an edited module, re-checking only the methods that overlap the lines
+     * changed between the two versions. Errors in untouched methods are not reported:
+     * they are not caused by the edit.
+     *
+     * @param original the module lines before the edit
+     * @param updated the module lines after the edit
+     * @return check result for the re-checked lines, with line numbers of the updated module
+     */
+    public static CheckResult checkChanged(List<String> original, List<String> updated)
+    {
+        int common = Math.min(original.size(), updated.size());
+        int prefix = 0;
+        while (prefix < common && original.get(prefix).equals(updated.get(prefix)))
         {
-            String line = lines.get(i);
-            int lineNum = i + 1;
+            prefix++;
+        }
+        if (prefix == original.size() && prefix == updated.size())
+        {
+            return new CheckResult(true, new ArrayList<>());
+        }
+        int suffix = 0;
+        while (suffix < common - prefix
+            && original.get(original.size() - 1 - suffix).equals(updated.get(updated.size() - 1 - suffix)))
+        {
+            suffix++;
+        }
+        return checkRange(updated, prefix, updated.size() - suffix);
+    }
 
-            // Skip empty lines
-            if (line.trim().isEmpty())
+    /**
+     * Checks the methods overlapping a range of lines. The range is widened to the
+     * enclosing method boundaries: up to the nearest Procedure/Function line above it
+     * and down to the nearest EndProcedure/EndFunction line below it, or, for code
+     * between methods, to the neighbouring methods.
+     *
+     * @param lines the module lines
+     * @param from first changed line (0-based, inclusive)
+     * @param to end of the changed lines (0-based, exclusive); equal to from for a deletion
+     * @return check result with line numbers of the whole module
+     */
+    public static CheckResult checkRange(List<String> lines, int from, int to)
+    {
+        int start = from;
+        while (start > 0)
+        {
+            Block opened = OPENING.get(firstKeyword(lines.get(start - 1)));
+            if (opened != null && opened.isMethod())
             {
-                continue;
+                start--;
+                break;
             }
-
-            // Skip lines that are entirely a comment
-            String trimmed = line.trim();
-            if (trimmed.startsWith("//")) //$NON-NLS-1$
+            Block closed = CLOSING.get(firstKeyword(lines.get(start - 1)));
+            if (closed != null && closed.isMethod())
             {
-                continue;
+                break;
             }
-
-            // Skip multiline string continuation lines (start with |)
-            if (trimmed.startsWith("|")) //$NON-NLS-1$
+            start--;
+        }
+        int end = to;
+        while (end < lines.size())
+        {
+            Block closed = CLOSING.get(firstKeyword(lines.get(end)));
+            if (closed != null && closed.isMethod())
             {
-                continue;
+                end++;
+                break;
             }
-
-            // Remove inline comment (everything after //)
-            // Known limitation: // inside string literals (e.g. URLs like "https://...")
-            // will be treated as a comment start. This is acceptable because keywords
-            // are matched at line start (^\s*keyword\b), so truncation does not affect results.
-            int commentIdx = trimmed.indexOf("//"); //$NON-NLS-1$
-            if (commentIdx > 0)
+            Block opened = OPENING.get(firstKeyword(lines.get(end)));
+            if (opened != null && opened.isMethod())
             {
-                trimmed = trimmed.substring(0, commentIdx);
+                break;
             }
+            end++;
+        }
+        return scan(lines, start, end);
+    }
 
-            // Check closing keywords FIRST
-            if (END_PROCEDURE.matcher(trimmed).find())
-            {
-                popAndCheck(stack, TAG_PROCEDURE, "\u041A\u043E\u043D\u0435\u0446\u041F\u0440\u043E\u0446\u0435\u0434\u0443\u0440\u044B/EndProcedure", lineNum, errors); //$NON-NLS-1$
-                continue;
-            }
-            if (END_FUNCTION.matcher(trimmed).find())
-            {
-                popAndCheck(stack, TAG_FUNCTION, "\u041A\u043E\u043D\u0435\u0446\u0424\u0443\u043D\u043A\u0446\u0438\u0438/EndFunction", lineNum, errors); //$NON-NLS-1$
-                continue;
-            }
-            if (END_IF.matcher(trimmed).find())
-            {
-                popAndCheck(stack, TAG_IF, "\u041A\u043E\u043D\u0435\u0446\u0415\u0441\u043B\u0438/EndIf", lineNum, errors); //$NON-NLS-1$
-                continue;
-            }
-            if (END_DO.matcher(trimmed).find())
-            {
-                popAndCheck(stack, TAG_LOOP, "\u041A\u043E\u043D\u0435\u0446\u0426\u0438\u043A\u043B\u0430/EndDo", lineNum, errors); //$NON-NLS-1$
-                continue;
-            }
-            if (END_TRY.matcher(trimmed).find())
-            {
-                popAndCheck(stack, TAG_TRY, "\u041A\u043E\u043D\u0435\u0446\u041F\u043E\u043F\u044B\u0442\u043A\u0438/EndTry", lineNum, errors); //$NON-NLS-1$
-                continue;
-            }
+    /**
+     * Runs the block state machine over lines [from, to).
+     */
+    private static CheckResult scan(List<String> lines, int from, int to)
+    {
+        List<String> errors = new ArrayList<>();
+        // Stack of open blocks and the lines they were opened at
+        Block[] blocks = new Block[16];
+        int[] openedAt = new int[16];
+        int depth = 0;
 
-            // Check opening keywords
-            if (PROCEDURE_START.matcher(trimmed).find())
-            {
-                stack.push(new String[] { TAG_PROCEDURE, String.valueOf(lineNum) });
-                continue;
-            }
-            if (FUNCTION_START.matcher(trimmed).find())
-            {
-                stack.push(new String[] { TAG_FUNCTION, String.valueOf(lineNum) });
-                continue;
-            }
-            // If but NOT ElsIf
-            if (IF_START.matcher(trimmed).find() && !ELSIF_PATTERN.matcher(trimmed).find())
-            {
-                stack.push(new String[] { TAG_IF, String.valueOf(lineNum) });
-                continue;
-            }
-            if (WHILE_START.matcher(trimmed).find())
+        for (int i = from; i < to; i++)
+        {
+            String word = firstKeyword(lines.get(i));
+            if (word == null)
             {
-                stack.push(new String[] { TAG_LOOP, String.valueOf(lineNum) });
                 continue;
             }
-            if (FOR_START.matcher(trimmed).find())
+            int lineNum = i + 1;
+
+            Block closed = CLOSING.get(word);
+            if (closed != null)
             {
-                stack.push(new String[] { TAG_LOOP, String.valueOf(lineNum) });
+                if (depth == 0)
+                {
+                    errors.add("Unexpected " + closed.closing + " at line " + lineNum //$NON-NLS-1$ //$NON-NLS-2$
+                        + " (no matching opening keyword)"); //$NON-NLS-1$
+                    continue;
+                }
+                depth--;
+                if (blocks[depth] != closed)
+                {
+                    errors.add("Mismatched " + closed.closing + " at line " + lineNum //$NON-NLS-1$ //$NON-NLS-2$
+                        + ", expected closing for " + blocks[depth].opening //$NON-NLS-1$
+                        + " from line " + openedAt[depth]); //$NON-NLS-1$
+                }
                 continue;
             }
-            if (TRY_START.matcher(trimmed).find())
+
+            Block opened = OPENING.get(word);
+            if (opened != null)
             {
-                stack.push(new String[] { TAG_TRY, String.valueOf(lineNum) });
-                continue;
+                if (depth == blocks.length)
+                {
+                    blocks = Arrays.copyOf(blocks, depth * 2);
+                    openedAt = Arrays.copyOf(openedAt, depth * 2);
+                }
+                blocks[depth] = opened;
+                openedAt[depth] = lineNum;
+                depth++;
             }
         }
 
-        // Report unclosed blocks
-        while (!stack.isEmpty())
+        // Report unclosed blocks, innermost first
+        while (depth > 0)
         {
-            String[] entry = stack.pop();
-            errors.add("Unclosed " + tagToKeyword(entry[0]) + " from line " + entry[1]); //$NON-NLS-1$ //$NON-NLS-2$
+            depth--;
+            errors.add("Unclosed " + blocks[depth].opening + " from line " + openedAt[depth]); //$NON-NLS-1$ //$NON-NLS-2$
         }
 
         return new CheckResult(errors.isEmpty(), errors);
     }
 
-    private static void popAndCheck(Deque<String[]> stack, String expectedTag,
-        String keyword, int lineNum, List<String> errors)
+    /**
+     * Returns the lowercase first word of a line if it may be a block keyword.
+     * Comment lines and multi-line string continuations (starting with |) have no keyword;
+     * a word ends at the first character that is not a letter, digit or underscore.
+     *
+     * @return lowercase word, or null if the line cannot start with a keyword
+     */
+    private static String firstKeyword(String line)
     {
-        if (stack.isEmpty())
+        int length = line.length();
+        int start = 0;
+        while (start < length && line.charAt(start) <= ' ')
+        {
+            start++;
+        }
+        int end = start;
+        while (end < length && isWordChar(line.charAt(end)))
         {
-            errors.add("Unexpected " + keyword + " at line " + lineNum //$NON-NLS-1$ //$NON-NLS-2$
-                + " (no matching opening keyword)"); //$NON-NLS-1$
-            return;
+            end++;
         }
-        String[] top = stack.pop();
-        if (!top[0].equals(expectedTag))
+        int wordLength = end - start;
+        if (wordLength < MIN_KEYWORD_LENGTH || wordLength > MAX_KEYWORD_LENGTH)
         {
-            errors.add("Mismatched " + keyword + " at line " + lineNum //$NON-NLS-1$ //$NON-NLS-2$
-                + ", expected closing for " + tagToKeyword(top[0]) //$NON-NLS-1$
-                + " from line " + top[1]); //$NON-NLS-1$
+            return null;
         }
+        return line.substring(start, end).toLowerCase(Locale.ROOT);
     }
 
-    private static String tagToKeyword(String tag)
+    private static boolean isWordChar(char c)
     {
-        switch (tag)
-        {
-            case TAG_PROCEDURE:
-                return "\u041F\u0440\u043E\u0446\u0435\u0434\u0443\u0440\u0430/Procedure"; //$NON-NLS-1$
-            case TAG_FUNCTION:
-                return "\u0424\u0443\u043D\u043A\u0446\u0438\u044F/Function"; //$NON-NLS-1$
-            case TAG_IF:
-                return "\u0415\u0441\u043B\u0438/If"; //$NON-NLS-1$
-            case TAG_LOOP:
-                return "\u041F\u043E\u043A\u0430|\u0414\u043B\u044F/While|For"; //$NON-NLS-1$
-            case TAG_TRY:
-                return "\u041F\u043E\u043F\u044B\u0442\u043A\u0430/Try"; //$NON-NLS-1$
-            default:
-                return tag;
-        }
+        return Character.isLetterOrDigit(c) || c == '_';
     }
 }
@@ -0,0 +1,298 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+
+import com.ditrix.edt.mcp.server.index.DirtyObjectTracker;
+import com.ditrix.edt.mcp.server.index.ModuleCatalog;
+import com.ditrix.edt.mcp.server.index.ModuleDescriptor;
+import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
+import com.ditrix.edt.mcp.server.protocol.JsonUtils;
+import com.ditrix.edt.mcp.server.tools.IMcpTool;
+import com.ditrix.edt.mcp.server.utils.FrontMatter;
+import com.ditrix.edt.mcp.server.utils.MarkdownUtils;
+import com.ditrix.edt.mcp.server.utils.MetadataTypeUtils;
+
+/**
+ * Tool to run the structural BSL syntax check ({@link BslSyntaxChecker}) over the modules
+ * of a project without waiting for EDT validation. Modules come from the
+ * {@link ModuleCatalog}, their content from the shared line index cache, and they are
+ * checked in parallel.
+ */
+public class CheckModulesSyntaxTool implements IMcpTool
+{
+    public static final String NAME = "check_modules_syntax"; //$NON-NLS-1$
+
+    /** Maximum time to wait for the initial catalog build of a project */
+    private static final long CATALOG_WAIT_MS = 30_000;
+
+    /** Default and maximum number of error rows in the report */
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "Check balanced BSL block keywords (Procedure/EndProcedure, If/EndIf, loops, Try/EndTry) " + //$NON-NLS-1$
+               "in all modules of a project, or in selected modules, in seconds. " + //$NON-NLS-1$
+               "Use after bulk edits for fast feedback before waiting for full EDT validation. " + //$NON-NLS-1$
+               "Filter by modules, metadataType/objectName, or changedOnly=true for objects " + //$NON-NLS-1$
+               "changed through MCP write tools since their last validation."; //$NON-NLS-1$
+    }
+
+    @Override
+    public String getInputSchema()
+    {
+        return JsonSchemaBuilder.object()
+            .stringProperty("projectName", "EDT project name (required)", true) //$NON-NLS-1$ //$NON-NLS-2$
+            .stringArrayProperty("modules", //$NON-NLS-1$
+                "Module paths from src/ to check, e.g. ['CommonModules/Utils/Module.bsl']. Default: all modules") //$NON-NLS-1$
+            .stringProperty("metadataType", //$NON-NLS-1$
+                "Check only modules of this type, e.g. 'documents', 'commonModules' (same values as list_modules)") //$NON-NLS-1$
+            .stringProperty("objectName", "Check only modules of this metadata object (e.g. 'Products')") //$NON-NLS-1$ //$NON-NLS-2$
+            .booleanProperty("changedOnly", //$NON-NLS-1$
+                "Check only modules of objects changed through MCP write tools since their last validation (default: false)") //$NON-NLS-1$
+            .integerProperty("limit", "Maximum number of errors to list (default: 100, max: 1000)") //$NON-NLS-1$ //$NON-NLS-2$
+            .build();
+    }
+
+    @Override
+    public String getResultFileName(Map<String, String> params)
+    {
+        String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
+        if (projectName != null && !projectName.isEmpty())
+        {
+            return "syntax-" + projectName.toLowerCase(Locale.ROOT) + ".md"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return "syntax-check.md"; //$NON-NLS-1$
+    }
+
+    @Override
+    public String execute(Map<String, String> params)
+    {
+        String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
+        List<String> modulePaths = JsonUtils.extractArrayArgument(params, "modules"); //$NON-NLS-1$
+        String metadataType = JsonUtils.extractStringArgument(params, "metadataType"); //$NON-NLS-1$
+        String objectName = JsonUtils.extractStringArgument(params, "objectName"); //$NON-NLS-1$
+        boolean changedOnly = JsonUtils.extractBooleanArgument(params, "changedOnly", false); //$NON-NLS-1$
+        int limit = Math.min(Math.max(1, JsonUtils.extractIntArgument(params, "limit", DEFAULT_LIMIT)), MAX_LIMIT); //$NON-NLS-1$
+
+        if (projectName == null || projectName.isEmpty())
+        {
+            return "Error: projectName is required"; //$NON-NLS-1$
+        }
+
+        String collectionFolder = null;
+        if (metadataType != null && !metadataType.isEmpty() && !"all".equalsIgnoreCase(metadataType)) //$NON-NLS-1$
+        {
+            collectionFolder = MetadataTypeUtils.getDirectoryName(metadataType);
+            if (collectionFolder == null)
+            {
+                return "Error: Unknown metadata type: " + metadataType; //$NON-NLS-1$
+            }
+        }
+
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return "Error: Project not found: " + projectName; //$NON-NLS-1$
+        }
+
+        Set<String> selected;
+        if (modulePaths != null && !modulePaths.isEmpty())
+        {
+            selected = new LinkedHashSet<>(modulePaths);
+        }
+        else
+        {
+            ModuleCatalog catalog = ModuleCatalog.getInstance();
+            if (!catalog.awaitReady(project, CATALOG_WAIT_MS))
+            {
+                return "Error: Module catalog of project " + projectName //$NON-NLS-1$
+                    + " is not available yet, try again later"; //$NON-NLS-1$
+            }
+            selected = changedOnly
+                ? changedModules(catalog, project)
+                : paths(catalog.findModules(project, collectionFolder, objectName, null));
+            if (selected == null)
+            {
+                return "Error: Module catalog is not available for project: " + projectName; //$NON-NLS-1$
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        Map<String, List<String>> errors = new ConcurrentHashMap<>();
+        Set<String> missing = ConcurrentHashMap.newKeySet();
+        selected.parallelStream().forEach(modulePath -> {
+            List<String> moduleErrors = checkModule(project, modulePath);
+            if (moduleErrors == null)
+            {
+                missing.add(modulePath);
+            }
+            else if (!moduleErrors.isEmpty())
+            {
+                errors.put(modulePath, moduleErrors);
+            }
+        });
+        long elapsed = System.currentTimeMillis() - start;
+
+        return formatReport(projectName, selected, errors, missing, elapsed, limit);
+    }
+
+    /**
+     * Checks one module.
+     *
+     * @return error messages (empty if balanced), or null if the module cannot be read
+     */
+    private static List<String> checkModule(IProject project, String modulePath)
+    {
+        if (modulePath.contains("..") || !modulePath.endsWith(".bsl")) //$NON-NLS-1$ //$NON-NLS-2$
+        {
+            return null;
+        }
+        IFile file = project.getFile(new Path("src").append(modulePath)); //$NON-NLS-1$
+        try
+        {
+            if (!file.exists())
+            {
+                return null;
+            }
+            return BslSyntaxChecker.check(BslModuleUtils.readFileLines(file)).getErrors();
+        }
+        catch (Exception e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the modules of the objects changed through MCP write tools.
+     */
+    private static Set<String> changedModules(ModuleCatalog catalog, IProject project)
+    {
+        Set<String> result = new LinkedHashSet<>();
+        for (String fqn : DirtyObjectTracker.getInstance().get(project.getName()))
+        {
+            List<ModuleDescriptor> modules;
+            int dot = fqn.indexOf('.');
+            if (dot < 0)
+            {
+                // "Configuration": application and session modules
+                modules = catalog.findModules(project, fqn, null, null);
+            }
+            else
+            {
+                String folder = MetadataTypeUtils.getDirectoryName(fqn.substring(0, dot));
+                modules = folder != null ? catalog.findModules(project, folder, fqn.substring(dot + 1), null) : null;
+            }
+            if (modules != null)
+            {
+                result.addAll(paths(modules));
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> paths(List<ModuleDescriptor> modules)
+    {
+        if (modules == null)
+        {
+            return null;
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (ModuleDescriptor module : modules)
+        {
+            result.add(module.getModulePath());
+        }
+        return result;
+    }
+
+    static String formatReport(String projectName, Set<String> checked, Map<String, List<String>> errors,
+        Set<String> missing, long elapsed, int limit)
+    {
+        int errorCount = 0;
+        for (List<String> moduleErrors : errors.values())
+        {
+            errorCount += moduleErrors.size();
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("## BSL Syntax Check: ").append(projectName).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append("**Modules:** ").append(checked.size() - missing.size()); //$NON-NLS-1$
+        sb.append(" | **With errors:** ").append(errors.size()); //$NON-NLS-1$
+        sb.append(" | **Errors:** ").append(errorCount); //$NON-NLS-1$
+        sb.append(" | **Time:** ").append(elapsed).append(" ms\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        if (!missing.isEmpty())
+        {
+            List<String> sortedMissing = new ArrayList<>(missing);
+            sortedMissing.sort(null);
+            sb.append("**Not found or unreadable:** ").append(String.join(", ", sortedMissing)).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+
+        if (errors.isEmpty())
+        {
+            sb.append("All block keywords are balanced.\n"); //$NON-NLS-1$
+        }
+        else
+        {
+            List<String> modules = new ArrayList<>(errors.keySet());
+            modules.sort(null);
+            sb.append("| Module | Error |\n"); //$NON-NLS-1$
+            sb.append("|--------|-------|\n"); //$NON-NLS-1$
+            int rows = 0;
+            for (String module : modules)
+            {
+                if (rows >= limit)
+                {
+                    break;
+                }
+                for (String error : errors.get(module))
+                {
+                    if (rows >= limit)
+                    {
+                        break;
+                    }
+                    rows++;
+                    sb.append("| ").append(MarkdownUtils.escapeForTable(module)); //$NON-NLS-1$
+                    sb.append(" | ").append(MarkdownUtils.escapeForTable(error)).append(" |\n"); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+            if (errorCount > limit)
+            {
+                sb.append("\n*Showing ").append(limit).append(" of ").append(errorCount) //$NON-NLS-1$ //$NON-NLS-2$
+                    .append(" errors; increase limit or narrow the module selection.*\n"); //$NON-NLS-1$
+            }
+        }
+
+        return FrontMatter.create()
+            .put("tool", NAME) //$NON-NLS-1$
+            .put("projectName", projectName) //$NON-NLS-1$
+            .put("modules", checked.size() - missing.size()) //$NON-NLS-1$
+            .put("modulesWithErrors", errors.size()) //$NON-NLS-1$
+            .put("errors", errorCount) //$NON-NLS-1$
+            .wrapContent(sb.toString());
+    }
+}
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import com._1c.g5.v8.dt.core.platform.IDtProject;
 import com._1c.g5.v8.dt.core.platform.IDtProjectManager;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.DirtyObjectTracker;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.protocol.ToolResult;
@@ -206,6 +207,9 @@ public class CleanProjectTool implements IMcpTool
     {
         Activator.logInfo("Cleaning project (CLEAN_BUILD): " + project.getName()); //$NON-NLS-1$
         
+        // A clean revalidates everything, including objects changed through MCP writes
+        DirtyObjectTracker.getInstance().clear(project.getName());
+        
         // Step 1: Refresh from disk to detect external changes
         project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
         
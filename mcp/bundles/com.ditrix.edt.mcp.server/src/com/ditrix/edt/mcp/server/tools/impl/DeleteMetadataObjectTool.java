@@ -31,6 +31,8 @@ import com._1c.g5.v8.dt.refactoring.core.IRefactoringItem;
 import com._1c.g5.v8.dt.refactoring.core.IRefactoringProblem;
 import com._1c.g5.v8.dt.refactoring.core.RefactoringStatus;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.DirtyObjectTracker;
+import com.ditrix.edt.mcp.server.index.ReferenceCache;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.protocol.ToolResult;
@@ -176,7 +178,9 @@ public class DeleteMetadataObjectTool implements IMcpTool
         }
         else
         {
-            return performDelete(objectFqn, refactoring);
+            String result = performDelete(projectName, objectFqn, refactoring);
+            ReferenceCache.getInstance().invalidate(project);
+            return result;
         }
     }
 
@@ -251,11 +255,16 @@ public class DeleteMetadataObjectTool implements IMcpTool
         return result.toJson();
     }
 
-    private String performDelete(String objectFqn, IRefactoring refactoring)
+    private String performDelete(String projectName, String objectFqn, IRefactoring refactoring)
     {
         try
         {
             refactoring.perform();
+            if (objectFqn.split("\\.").length > 2) //$NON-NLS-1$
+            {
+                // Deleting a nested object changes its owner; a deleted top-level object has nothing to validate
+                DirtyObjectTracker.getInstance().markObject(projectName, objectFqn);
+            }
             return ToolResult.success()
                 .put("action", "executed") //$NON-NLS-1$ //$NON-NLS-2$
                 .put("objectFqn", objectFqn) //$NON-NLS-1$
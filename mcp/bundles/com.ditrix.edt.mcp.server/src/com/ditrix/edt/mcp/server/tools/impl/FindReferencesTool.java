@@ -9,17 +9,25 @@ package com.ditrix.edt.mcp.server.tools.impl;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
@@ -32,6 +40,7 @@ import com._1c.g5.v8.bm.core.IBmEngine;
 import com._1c.g5.v8.bm.core.IBmObject;
 import com._1c.g5.v8.bm.integration.AbstractBmTask;
 import com._1c.g5.v8.bm.integration.IBmModel;
+import com._1c.g5.v8.dt.bsl.model.Module;
 import com._1c.g5.v8.dt.common.Functions;
 import com._1c.g5.v8.dt.core.platform.IBmModelManager;
 import com._1c.g5.v8.dt.core.platform.IConfigurationProvider;
@@ -47,6 +56,9 @@ import com._1c.g5.v8.dt.metadata.mdtype.MdType;
 import com._1c.g5.v8.dt.metadata.mdtype.MdTypeSet;
 import com._1c.g5.v8.dt.metadata.mdtype.MdTypes;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.MetadataReference;
+import com.ditrix.edt.mcp.server.index.ParsedModuleCache;
+import com.ditrix.edt.mcp.server.index.ReferenceCache;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.utils.MetadataTypeUtils;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
@@ -55,12 +67,19 @@ import com.ditrix.edt.mcp.server.tools.IMcpTool;
 /**
  * Tool to find all references to a metadata object.
  * Returns all places where the object is used: in other metadata objects and BSL code.
+ * In batch mode the references to many objects are collected in one read-only BM task
+ * with a single BSL reference search, and returned grouped by object.
+ * Metadata references are cached per object until the project metadata changes
+ * (see {@link ReferenceCache}); BSL references are always searched.
  */
 @SuppressWarnings("restriction")
 public class FindReferencesTool implements IMcpTool
 {
     public static final String NAME = "find_references"; //$NON-NLS-1$
     
+    /** Maximum number of objects in one batch request */
+    private static final int MAX_BATCH_SIZE = 50;
+    
     @Override
     public String getName()
     {
@@ -75,7 +94,8 @@ public class FindReferencesTool implements IMcpTool
                "in BSL code modules with line numbers, forms, roles, subsystems, etc. " + //$NON-NLS-1$
                "Supports both English and Russian metadata type names " + //$NON-NLS-1$
                "(e.g., '\u0421\u043F\u0440\u0430\u0432\u043E\u0447\u043D\u0438\u043A.\u041D\u043E\u043C\u0435\u043D\u043A\u043B\u0430\u0442\u0443\u0440\u0430', " + //$NON-NLS-1$ // Справочник.Номенклатура
-               "'\u0414\u043E\u043A\u0443\u043C\u0435\u043D\u0442.\u0417\u0430\u043A\u0430\u0437')."; //$NON-NLS-1$ // Документ.Заказ
+               "'\u0414\u043E\u043A\u0443\u043C\u0435\u043D\u0442.\u0417\u0430\u043A\u0430\u0437'). " + //$NON-NLS-1$ // Документ.Заказ
+               "Pass 'objectFqns' to find references to many objects in one call."; //$NON-NLS-1$
     }
     
     @Override
@@ -87,7 +107,11 @@ public class FindReferencesTool implements IMcpTool
             .stringProperty("objectFqn", //$NON-NLS-1$
                 "Fully qualified name of the object to find references for " + //$NON-NLS-1$
                 "(e.g. 'Catalog.Products', 'Document.SalesOrder', 'CommonModule.Common'). " + //$NON-NLS-1$
-                "Russian type names are also supported (e.g. '\u0421\u043F\u0440\u0430\u0432\u043E\u0447\u043D\u0438\u043A.\u041D\u043E\u043C\u0435\u043D\u043A\u043B\u0430\u0442\u0443\u0440\u0430')", true) //$NON-NLS-1$
+                "Russian type names are also supported (e.g. '\u0421\u043F\u0440\u0430\u0432\u043E\u0447\u043D\u0438\u043A.\u041D\u043E\u043C\u0435\u043D\u043A\u043B\u0430\u0442\u0443\u0440\u0430'). " + //$NON-NLS-1$
+                "Required unless 'objectFqns' is given") //$NON-NLS-1$
+            .stringArrayProperty("objectFqns", //$NON-NLS-1$
+                "Batch mode: fully qualified names of several objects. References are returned " + //$NON-NLS-1$
+                "grouped by object (max " + MAX_BATCH_SIZE + ")") //$NON-NLS-1$
             .integerProperty("limit", //$NON-NLS-1$
                 "Maximum number of results per category. Default: 100") //$NON-NLS-1$
             .build();
@@ -116,6 +140,7 @@ public class FindReferencesTool implements IMcpTool
     {
         String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
         String objectFqn = JsonUtils.extractStringArgument(params, "objectFqn"); //$NON-NLS-1$
+        List<String> objectFqns = JsonUtils.extractArrayArgument(params, "objectFqns"); //$NON-NLS-1$
         String limitStr = JsonUtils.extractStringArgument(params, "limit"); //$NON-NLS-1$
         
         // Validate required parameters
@@ -123,10 +148,16 @@ public class FindReferencesTool implements IMcpTool
         {
             return "Error: projectName is required"; //$NON-NLS-1$
         }
-        if (objectFqn == null || objectFqn.isEmpty())
+        boolean batch = objectFqns != null && !objectFqns.isEmpty();
+        if (!batch && (objectFqn == null || objectFqn.isEmpty()))
+        {
+            return "Error: objectFqn or objectFqns is required"; //$NON-NLS-1$
+        }
+        if (batch && objectFqns.size() > MAX_BATCH_SIZE)
         {
-            return "Error: objectFqn is required"; //$NON-NLS-1$
+            return "Error: Too many objects: " + objectFqns.size() + " (max " + MAX_BATCH_SIZE + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
         }
+        List<String> fqns = batch ? objectFqns : Collections.singletonList(objectFqn);
         
         int limit = 100;
         if (limitStr != null && !limitStr.isEmpty())
@@ -149,7 +180,7 @@ public class FindReferencesTool implements IMcpTool
         display.syncExec(() -> {
             try
             {
-                String result = findReferencesInternal(projectName, objectFqn, maxResults);
+                String result = findReferencesInternal(projectName, fqns, batch, maxResults);
                 resultRef.set(result);
             }
             catch (Exception e)
@@ -164,12 +195,10 @@ public class FindReferencesTool implements IMcpTool
     
     /**
      * Internal implementation that runs on UI thread.
+     * All objects are searched in one read-only BM task.
      */
-    private String findReferencesInternal(String projectName, String objectFqn, int limit)
+    private String findReferencesInternal(String projectName, List<String> objectFqns, boolean batch, int limit)
     {
-        // Normalize Russian metadata type names: "Справочник.Номенклатура" -> "Catalog.Номенклатура"
-        objectFqn = MetadataTypeUtils.normalizeFqn(objectFqn);
-
         // Get project
         IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
         if (project == null || !project.exists())
@@ -203,25 +232,41 @@ public class FindReferencesTool implements IMcpTool
             return "Error: BM model not available for project: " + projectName; //$NON-NLS-1$
         }
         
-        // Find target object by FQN
-        MdObject targetObject = findMdObjectByFqn(config, objectFqn);
-        if (targetObject == null)
+        // Find target objects by FQN; an object listed twice is searched once
+        Map<MdObject, TargetReferences> targets = new LinkedHashMap<>();
+        Map<String, String> notFound = new LinkedHashMap<>();
+        for (String fqn : objectFqns)
+        {
+            // Normalize Russian metadata type names: "Справочник.Номенклатура" -> "Catalog.Номенклатура"
+            String objectFqn = MetadataTypeUtils.normalizeFqn(fqn);
+            MdObject targetObject = findMdObjectByFqn(config, objectFqn);
+            if (targetObject == null)
+            {
+                if (!batch)
+                {
+                    return getNotFoundMessage(objectFqn);
+                }
+                notFound.put(objectFqn, getNotFoundMessage(objectFqn));
+                continue;
+            }
+            targets.putIfAbsent(targetObject, new TargetReferences(objectFqn, targetObject));
+        }
+        
+        // Reuse metadata references collected at the current metadata revision
+        ReferenceCache referenceCache = ReferenceCache.getInstance();
+        long revision = referenceCache.getRevision(project);
+        int maxReferences = limit * 10;
+        for (TargetReferences refs : targets.values())
         {
-            // Check if the user passed a sub-object FQN (more than one dot after the type prefix)
-            String[] dotParts = objectFqn.split("\\."); //$NON-NLS-1$
-            if (dotParts.length > 2)
+            List<MetadataReference> cached = referenceCache.get(project, refs.getCacheKey(), maxReferences);
+            if (cached != null)
             {
-                return "Error: Object not found: " + objectFqn + ".\n" //$NON-NLS-1$ //$NON-NLS-2$
-                    + "Note: find_references only supports top-level metadata objects " //$NON-NLS-1$
-                    + "(e.g. 'Catalog.DataAreas', 'Document.SalesOrder', 'CommonModule.Saas'). " //$NON-NLS-1$
-                    + "Sub-objects such as attributes, forms, commands and tabular sections " //$NON-NLS-1$
-                    + "are not supported (e.g. 'Catalog.DataAreas.Attribute.DataAreaStatus' is invalid)."; //$NON-NLS-1$
+                refs.addCached(cached, maxReferences);
             }
-            return "Error: Object not found: " + objectFqn; //$NON-NLS-1$
         }
         
         // Collect all references
-        ReferenceCollector collector = new ReferenceCollector(bmModel, targetObject, limit);
+        ReferenceCollector collector = new ReferenceCollector(bmModel, new ArrayList<>(targets.values()), limit);
         
         try
         {
@@ -234,8 +279,41 @@ public class FindReferencesTool implements IMcpTool
             return "Error executing search: " + e.getMessage(); //$NON-NLS-1$
         }
         
+        for (TargetReferences refs : targets.values())
+        {
+            if (!refs.fromCache)
+            {
+                List<MetadataReference> metadataRefs = refs.getMetadataReferences();
+                referenceCache.put(project, refs.getCacheKey(), revision, metadataRefs,
+                    metadataRefs.size() < maxReferences);
+            }
+        }
+        
         // Format output
-        return formatOutput(objectFqn, collector);
+        if (!batch)
+        {
+            TargetReferences refs = targets.values().iterator().next();
+            return formatOutput(refs.fqn, refs);
+        }
+        return formatBatchOutput(targets.values(), notFound);
+    }
+    
+    /**
+     * Builds the error message for an FQN that does not resolve to a top-level object.
+     */
+    private String getNotFoundMessage(String objectFqn)
+    {
+        // Check if the user passed a sub-object FQN (more than one dot after the type prefix)
+        String[] dotParts = objectFqn.split("\\."); //$NON-NLS-1$
+        if (dotParts.length > 2)
+        {
+            return "Error: Object not found: " + objectFqn + ".\n" //$NON-NLS-1$ //$NON-NLS-2$
+                + "Note: find_references only supports top-level metadata objects " //$NON-NLS-1$
+                + "(e.g. 'Catalog.DataAreas', 'Document.SalesOrder', 'CommonModule.Saas'). " //$NON-NLS-1$
+                + "Sub-objects such as attributes, forms, commands and tabular sections " //$NON-NLS-1$
+                + "are not supported (e.g. 'Catalog.DataAreas.Attribute.DataAreaStatus' is invalid)."; //$NON-NLS-1$
+        }
+        return "Error: Object not found: " + objectFqn; //$NON-NLS-1$
     }
     
     /**
@@ -262,23 +340,66 @@ public class FindReferencesTool implements IMcpTool
     /**
      * Formats output as markdown - sorted list similar to EDT.
      */
-    private String formatOutput(String objectFqn, ReferenceCollector collector)
+    private String formatOutput(String objectFqn, TargetReferences refs)
     {
         StringBuilder sb = new StringBuilder();
+        appendReferences(sb, "#", objectFqn, refs); //$NON-NLS-1$
+        return sb.toString();
+    }
+    
+    /**
+     * Formats batch output: one section per object, in request order.
+     */
+    private String formatBatchOutput(Collection<TargetReferences> targets, Map<String, String> notFound)
+    {
+        StringBuilder sb = new StringBuilder();
+        
+        int totalCount = 0;
+        for (TargetReferences refs : targets)
+        {
+            totalCount += refs.getTotalCount();
+        }
+        
+        sb.append("# References to ").append(targets.size()).append(" objects\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append("**Total references found:** ").append(totalCount); //$NON-NLS-1$
+        if (!notFound.isEmpty())
+        {
+            sb.append(" | **Not found:** ").append(notFound.size()); //$NON-NLS-1$
+        }
+        sb.append("\n\n"); //$NON-NLS-1$
+        
+        for (TargetReferences refs : targets)
+        {
+            appendReferences(sb, "##", refs.fqn, refs); //$NON-NLS-1$
+            sb.append("\n"); //$NON-NLS-1$
+        }
+        for (Map.Entry<String, String> entry : notFound.entrySet())
+        {
+            sb.append("## ").append(entry.getKey()).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+            sb.append(entry.getValue()).append("\n\n"); //$NON-NLS-1$
+        }
         
-        int totalCount = collector.getTotalCount();
+        return sb.toString();
+    }
+    
+    /**
+     * Appends the references of one object under a heading of the given level.
+     */
+    private void appendReferences(StringBuilder sb, String heading, String objectFqn, TargetReferences refs)
+    {
+        int totalCount = refs.getTotalCount();
         
-        sb.append("# References to ").append(objectFqn).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append(heading).append(" References to ").append(objectFqn).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
         sb.append("**Total references found:** ").append(totalCount).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
         
         if (totalCount == 0)
         {
             sb.append("No references found.\n"); //$NON-NLS-1$
-            return sb.toString();
+            return;
         }
         
         // Get all references and merge BSL by module
-        List<ReferenceInfo> allRefs = collector.getAllReferences();
+        List<ReferenceInfo> allRefs = refs.getAllReferences();
         
         // Separate BSL and metadata references
         Map<String, List<Integer>> bslModuleLines = new java.util.TreeMap<>();
@@ -325,7 +446,7 @@ public class FindReferencesTool implements IMcpTool
         // Output BSL references grouped by module
         if (!bslModuleLines.isEmpty())
         {
-            sb.append("\n### BSL Modules\n\n"); //$NON-NLS-1$
+            sb.append("\n").append(heading).append("## BSL Modules\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
             
             for (Map.Entry<String, List<Integer>> entry : bslModuleLines.entrySet())
             {
@@ -360,8 +481,6 @@ public class FindReferencesTool implements IMcpTool
                 sb.append("\n"); //$NON-NLS-1$
             }
         }
-        
-        return sb.toString();
     }
     
     /**
@@ -392,25 +511,102 @@ public class FindReferencesTool implements IMcpTool
             this.line = line;
             this.isBslReference = true;
         }
+        
+        /** Unique key (category:path:feature) used to skip duplicates */
+        String getKey()
+        {
+            return category + ":" + sourcePath + ":" + //$NON-NLS-1$ //$NON-NLS-2$
+                (isBslReference ? line : feature);
+        }
     }
     
     /**
-     * BM Task to collect all references.
+     * References collected for one target object.
+     */
+    private static class TargetReferences
+    {
+        final String fqn;
+        final MdObject target;
+        final List<ReferenceInfo> references = new ArrayList<>();
+        /** Set to track unique references (category:path:feature) to avoid duplicates */
+        final java.util.Set<String> seenReferences = new java.util.HashSet<>();
+        /** True if the metadata references were taken from {@link ReferenceCache} */
+        boolean fromCache;
+        
+        TargetReferences(String fqn, MdObject target)
+        {
+            this.fqn = fqn;
+            this.target = target;
+        }
+        
+        /** Key of the target in {@link ReferenceCache}, e.g. "Catalog.Products" */
+        String getCacheKey()
+        {
+            return target.eClass().getName() + "." + target.getName(); //$NON-NLS-1$
+        }
+        
+        /**
+         * Adds metadata references from the cache; they are already filtered and unique.
+         */
+        void addCached(List<MetadataReference> cached, int max)
+        {
+            for (MetadataReference cachedRef : cached)
+            {
+                if (references.size() >= max)
+                {
+                    break;
+                }
+                ReferenceInfo ref = new ReferenceInfo(cachedRef.getCategory(), cachedRef.getSourcePath(),
+                    cachedRef.getFeature());
+                seenReferences.add(ref.getKey());
+                references.add(ref);
+            }
+            fromCache = true;
+        }
+        
+        List<MetadataReference> getMetadataReferences()
+        {
+            List<MetadataReference> result = new ArrayList<>();
+            for (ReferenceInfo ref : references)
+            {
+                if (!ref.isBslReference)
+                {
+                    result.add(new MetadataReference(ref.category, ref.sourcePath, ref.feature));
+                }
+            }
+            return result;
+        }
+        
+        int getTotalCount()
+        {
+            return references.size();
+        }
+        
+        List<ReferenceInfo> getAllReferences()
+        {
+            return new ArrayList<>(references);
+        }
+    }
+    
+    /**
+     * BM Task to collect all references to one or more objects.
      */
     private class ReferenceCollector extends AbstractBmTask<Void>
     {
         private final IBmModel bmModel;
-        private final MdObject targetObject;
+        private final List<TargetReferences> targets;
         private final int limit;
-        private final List<ReferenceInfo> references = new ArrayList<>();
-        /** Set to track unique references (category:path:feature) to avoid duplicates */
-        private final java.util.Set<String> seenReferences = new java.util.HashSet<>();
+        /** Source modules resolved during this call; a module is loaded at most once */
+        private final Map<URI, Resource> sourceResources = new HashMap<>();
+        /** Resource set for source modules that are not in the shared module cache */
+        private ResourceSet bslResourceSet;
         
-        ReferenceCollector(IBmModel bmModel, MdObject targetObject, int limit)
+        ReferenceCollector(IBmModel bmModel, List<TargetReferences> targets, int limit)
         {
-            super("Find references to " + targetObject.getName()); //$NON-NLS-1$
+            super(targets.size() == 1 ? "Find references to " + targets.get(0).target.getName() //$NON-NLS-1$
+                : "Find references to " + targets.size() + " objects"); //$NON-NLS-1$ //$NON-NLS-2$
             this.bmModel = bmModel;
-            this.targetObject = targetObject;
+            this.targets = targets;
             this.limit = limit;
         }
         
@@ -419,38 +615,53 @@ public class FindReferencesTool implements IMcpTool
                            org.eclipse.core.runtime.IProgressMonitor progressMonitor)
         {
             IBmEngine engine = bmModel.getEngine();
-            IBmObject targetBmObject = (IBmObject) targetObject;
-            
-            // 1. Collect direct back references
-            collectBackReferences(engine, targetBmObject);
-            
-            // 2. Collect references to produced types
-            collectProducedTypesReferences(engine, targetObject);
-            
-            // 3. Collect references to predefined items
-            collectPredefinedItemsReferences(engine, targetObject);
             
-            // 4. Collect references to fields (attributes, tabular sections, etc.)
-            collectFieldReferences(engine, targetObject);
+            for (TargetReferences refs : targets)
+            {
+                if (refs.fromCache)
+                {
+                    continue;
+                }
+                MdObject targetObject = refs.target;
+                
+                // 1. Collect direct back references
+                collectBackReferences(engine, (IBmObject) targetObject, refs);
+                
+                // 2. Collect references to produced types
+                collectProducedTypesReferences(engine, targetObject, refs);
+                
+                // 3. Collect references to predefined items
+                collectPredefinedItemsReferences(engine, targetObject, refs);
+                
+                // 4. Collect references to fields (attributes, tabular sections, etc.)
+                collectFieldReferences(engine, targetObject, refs);
+            }
             
-            // 5. Collect BSL code references
-            collectBslReferences(targetBmObject);
+            // 5. Collect BSL code references of all targets in one pass over the index
+            collectBslReferences();
             
             return null;
         }
         
+        /**
+         * Checks whether enough references were collected for the target.
+         */
+        private boolean isFull(TargetReferences refs)
+        {
+            return refs.references.size() >= limit * 10; // Allow more before grouping limit
+        }
+        
         /**
          * Adds reference if not duplicate.
          * @return true if added, false if duplicate or internal path
          */
-        private boolean addReference(ReferenceInfo ref)
+        private boolean addReference(TargetReferences refs, ReferenceInfo ref)
         {
             // Create unique key
-            String key = ref.category + ":" + ref.sourcePath + ":" + //$NON-NLS-1$ //$NON-NLS-2$
-                (ref.isBslReference ? ref.line : ref.feature);
+            String key = ref.getKey();
             
             // Skip duplicates
-            if (seenReferences.contains(key))
+            if (refs.seenReferences.contains(key))
             {
                 return false;
             }
@@ -464,18 +675,18 @@ public class FindReferencesTool implements IMcpTool
                 return false;
             }
             
-            seenReferences.add(key);
-            references.add(ref);
+            refs.seenReferences.add(key);
+            refs.references.add(ref);
             return true;
         }
         
-        private void collectBackReferences(IBmEngine engine, IBmObject target)
+        private void collectBackReferences(IBmEngine engine, IBmObject target, TargetReferences refs)
         {
-            Collection<IBmCrossReference> refs = engine.getBackReferences(target);
+            Collection<IBmCrossReference> backRefs = engine.getBackReferences(target);
             
-            for (IBmCrossReference ref : refs)
+            for (IBmCrossReference ref : backRefs)
             {
-                if (references.size() >= limit * 10) // Allow more before grouping limit
+                if (isFull(refs))
                 {
                     break;
                 }
@@ -502,11 +713,11 @@ public class FindReferencesTool implements IMcpTool
                 }
                 String feature = ref.getFeature() != null ? ref.getFeature().getName() : null;
                 
-                addReference(new ReferenceInfo(category, sourcePath, feature));
+                addReference(refs, new ReferenceInfo(category, sourcePath, feature));
             }
         }
         
-        private void collectProducedTypesReferences(IBmEngine engine, MdObject target)
+        private void collectProducedTypesReferences(IBmEngine engine, MdObject target, TargetReferences refs)
         {
             MdTypes producedTypes = MdClassUtil.getProducedTypes(target);
             if (producedTypes == null)
@@ -519,10 +730,10 @@ public class FindReferencesTool implements IMcpTool
                 TypeItem typeItem = getTypeItem(type);
                 if (typeItem instanceof IBmObject)
                 {
-                    Collection<IBmCrossReference> refs = engine.getBackReferences((IBmObject) typeItem);
-                    for (IBmCrossReference ref : refs)
+                    Collection<IBmCrossReference> backRefs = engine.getBackReferences((IBmObject) typeItem);
+                    for (IBmCrossReference ref : backRefs)
                     {
-                        if (references.size() >= limit * 10)
+                        if (isFull(refs))
                         {
                             break;
                         }
@@ -541,7 +752,7 @@ public class FindReferencesTool implements IMcpTool
                         }
                         String feature = "Type: " + (ref.getFeature() != null ? ref.getFeature().getName() : ""); //$NON-NLS-1$ //$NON-NLS-2$
                         
-                        addReference(new ReferenceInfo(category, sourcePath, feature));
+                        addReference(refs, new ReferenceInfo(category, sourcePath, feature));
                     }
                 }
             }
@@ -560,14 +771,14 @@ public class FindReferencesTool implements IMcpTool
             return null;
         }
         
-        private void collectPredefinedItemsReferences(IBmEngine engine, MdObject target)
+        private void collectPredefinedItemsReferences(IBmEngine engine, MdObject target, TargetReferences refs)
         {
             for (PredefinedItem item : PredefinedItemUtil.getItems((EObject) target))
             {
-                Collection<IBmCrossReference> refs = engine.getBackReferences((IBmObject) item);
-                for (IBmCrossReference ref : refs)
+                Collection<IBmCrossReference> backRefs = engine.getBackReferences((IBmObject) item);
+                for (IBmCrossReference ref : backRefs)
                 {
-                    if (references.size() >= limit * 10)
+                    if (isFull(refs))
                     {
                         break;
                     }
@@ -586,12 +797,12 @@ public class FindReferencesTool implements IMcpTool
                     }
                     String feature = item.getName();
                     
-                    addReference(new ReferenceInfo(category, sourcePath, feature));
+                    addReference(refs, new ReferenceInfo(category, sourcePath, feature));
                 }
             }
         }
         
-        private void collectFieldReferences(IBmEngine engine, MdObject target)
+        private void collectFieldReferences(IBmEngine engine, MdObject target, TargetReferences refs)
         {
             if (!(target instanceof FieldSource))
             {
@@ -606,10 +817,10 @@ public class FindReferencesTool implements IMcpTool
                     continue;
                 }
                 
-                Collection<IBmCrossReference> refs = engine.getBackReferences((IBmObject) field);
-                for (IBmCrossReference ref : refs)
+                Collection<IBmCrossReference> backRefs = engine.getBackReferences((IBmObject) field);
+                for (IBmCrossReference ref : backRefs)
                 {
-                    if (references.size() >= limit * 10)
+                    if (isFull(refs))
                     {
                         break;
                     }
@@ -634,12 +845,12 @@ public class FindReferencesTool implements IMcpTool
                     }
                     String feature = field.getName();
                     
-                    addReference(new ReferenceInfo(category, sourcePath, feature));
+                    addReference(refs, new ReferenceInfo(category, sourcePath, feature));
                 }
             }
         }
         
-        private void collectBslReferences(IBmObject target)
+        private void collectBslReferences()
         {
             try
             {
@@ -657,14 +868,14 @@ public class FindReferencesTool implements IMcpTool
                     return;
                 }
                 
-                // Collect target URIs (including produced types)
-                List<URI> targetURIs = new ArrayList<>();
-                targetURIs.add(EcoreUtil.getURI((EObject) target));
-                
-                // Add produced types URIs
-                if (target instanceof MdObject)
+                // Collect target URIs of all objects (including produced types)
+                Map<URI, TargetReferences> targetsByUri = new HashMap<>();
+                for (TargetReferences refs : targets)
                 {
-                    MdTypes producedTypes = MdClassUtil.getProducedTypes((MdObject) target);
+                    targetsByUri.put(EcoreUtil.getURI((EObject) refs.target), refs);
+                    
+                    // Add produced types URIs
+                    MdTypes producedTypes = MdClassUtil.getProducedTypes(refs.target);
                     if (producedTypes != null)
                     {
                         for (EObject type : producedTypes.eContents())
@@ -672,14 +883,15 @@ public class FindReferencesTool implements IMcpTool
                             TypeItem typeItem = getTypeItem(type);
                             if (typeItem != null)
                             {
-                                targetURIs.add(EcoreUtil.getURI(type));
+                                targetsByUri.put(EcoreUtil.getURI(type), refs);
                             }
                         }
                     }
                 }
                 
-                // Find all references in BSL code
-                finder.findAllReferences(targetURIs, null, this::collectBslReferenceDescription, new NullProgressMonitor());
+                // Find all references in BSL code and dispatch them by target
+                finder.findAllReferences(new ArrayList<>(targetsByUri.keySet()), null,
+                    refDesc -> collectBslReferenceDescription(targetsByUri, refDesc), new NullProgressMonitor());
             }
             catch (Exception e)
             {
@@ -687,9 +899,15 @@ public class FindReferencesTool implements IMcpTool
             }
         }
         
-        private void collectBslReferenceDescription(IReferenceDescription refDesc)
+        private void collectBslReferenceDescription(Map<URI, TargetReferences> targetsByUri,
+            IReferenceDescription refDesc)
         {
-            if (references.size() >= limit * 10)
+            TargetReferences refs = targetsByUri.get(refDesc.getTargetEObjectUri());
+            if (refs == null && targets.size() == 1)
+            {
+                refs = targets.get(0);
+            }
+            if (refs == null || isFull(refs))
             {
                 return;
             }
@@ -715,7 +933,7 @@ public class FindReferencesTool implements IMcpTool
             int line = extractLineNumberFromSourceUri(sourceUri);
             
             // Use addReference for deduplication
-            addReference(new ReferenceInfo("BSL modules", modulePath, line)); //$NON-NLS-1$
+            addReference(refs, new ReferenceInfo("BSL modules", modulePath, line)); //$NON-NLS-1$
         }
         
         private String extractModulePath(String path)
@@ -744,7 +962,7 @@ public class FindReferencesTool implements IMcpTool
         }
         
         /**
-         * Extracts line number from sourceEObjectUri by loading the EObject
+         * Extracts line number from sourceEObjectUri by resolving the EObject
          * and using NodeModelUtils to get its position.
          */
         private int extractLineNumberFromSourceUri(URI sourceUri)
@@ -756,27 +974,7 @@ public class FindReferencesTool implements IMcpTool
             
             try
             {
-                // Try to load the resource and get the EObject
-                org.eclipse.emf.ecore.resource.ResourceSet resourceSet = 
-                    new org.eclipse.emf.ecore.resource.impl.ResourceSetImpl();
-                
-                // Configure the resource set with proper provider
-                IResourceServiceProvider rsp = 
-                    IResourceServiceProvider.Registry.INSTANCE.getResourceServiceProvider(sourceUri);
-                if (rsp != null)
-                {
-                    org.eclipse.xtext.resource.XtextResourceFactory factory = rsp.get(org.eclipse.xtext.resource.XtextResourceFactory.class);
-                    if (factory != null)
-                    {
-                        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
-                            .put("bsl", factory); //$NON-NLS-1$
-                    }
-                }
-                
-                // Get just the resource URI (without fragment)
-                URI resourceUri = sourceUri.trimFragment();
-                org.eclipse.emf.ecore.resource.Resource resource = resourceSet.getResource(resourceUri, true);
-                
+                Resource resource = getSourceResource(sourceUri.trimFragment());
                 if (resource != null)
                 {
                     // Get the EObject by fragment
@@ -802,6 +1000,66 @@ public class FindReferencesTool implements IMcpTool
             return extractLineNumberFromFragment(sourceUri.fragment());
         }
         
+        /**
+         * Returns the parsed source module, loading it at most once per call.
+         * Modules already parsed by other tools are taken from {@link ParsedModuleCache}.
+         */
+        private Resource getSourceResource(URI resourceUri)
+        {
+            if (sourceResources.containsKey(resourceUri))
+            {
+                return sourceResources.get(resourceUri);
+            }
+            
+            Resource resource = null;
+            if (resourceUri.isPlatformResource())
+            {
+                IFile file = ResourcesPlugin.getWorkspace().getRoot()
+                    .getFile(new Path(resourceUri.toPlatformString(true)));
+                Module module = ParsedModuleCache.getInstance().get(file);
+                if (module != null)
+                {
+                    resource = module.eResource();
+                }
+            }
+            if (resource == null)
+            {
+                try
+                {
+                    resource = getBslResourceSet().getResource(resourceUri, true);
+                }
+                catch (Exception e)
+                {
+                    Activator.logError("Error loading BSL module: " + resourceUri, e); //$NON-NLS-1$
+                }
+            }
+            // Failures are remembered too, so a broken module is not reloaded per reference
+            sourceResources.put(resourceUri, resource);
+            return resource;
+        }
+        
+        private ResourceSet getBslResourceSet()
+        {
+            if (bslResourceSet == null)
+            {
+                bslResourceSet = new ResourceSetImpl();
+                
+                // Configure the resource set with proper provider
+                IResourceServiceProvider rsp = 
+                    IResourceServiceProvider.Registry.INSTANCE.getResourceServiceProvider(BslModuleUtils.BSL_LOOKUP_URI);
+                if (rsp != null)
+                {
+                    org.eclipse.xtext.resource.XtextResourceFactory factory = rsp.get(org.eclipse.xtext.resource.XtextResourceFactory.class);
+                    if (factory != null)
+                    {
+                        bslResourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+                            .put("bsl", factory); //$NON-NLS-1$
+                    }
+                }
+            }
+            return bslResourceSet;
+        }
+        
         /**
          * Fallback method to extract approximate line number from URI fragment.
          */
@@ -1387,15 +1645,5 @@ public class FindReferencesTool implements IMcpTool
             
             return sb.toString();
         }
-        
-        public int getTotalCount()
-        {
-            return references.size();
-        }
-        
-        public List<ReferenceInfo> getAllReferences()
-        {
-            return new ArrayList<>(references);
-        }
     }
 }
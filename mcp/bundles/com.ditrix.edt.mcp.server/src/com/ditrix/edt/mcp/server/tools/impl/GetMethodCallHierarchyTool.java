@@ -32,6 +32,10 @@ import com._1c.g5.v8.dt.bsl.model.Method;
 import com._1c.g5.v8.dt.bsl.model.Module;
 import com._1c.g5.v8.dt.bsl.model.StaticFeatureAccess;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.CallGraph;
+import com.ditrix.edt.mcp.server.index.CallSite;
+import com.ditrix.edt.mcp.server.index.MethodSymbol;
+import com.ditrix.edt.mcp.server.index.MethodSymbolIndex;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
@@ -40,13 +44,16 @@ import com.ditrix.edt.mcp.server.utils.MarkdownUtils;
 /**
  * Tool to find method call hierarchy - who calls this method (callers)
  * or what this method calls (callees).
- * Uses IReferenceFinder and BSL AST for semantic analysis.
+ * Uses IReferenceFinder and BSL AST for semantic analysis of one level,
+ * and the call graph of {@link MethodSymbolIndex} for several levels.
  */
 @SuppressWarnings("restriction")
 public class GetMethodCallHierarchyTool implements IMcpTool
 {
     public static final String NAME = "get_method_call_hierarchy"; //$NON-NLS-1$
 
+    private static final int MAX_DEPTH = 10;
+
     @Override
     public String getName()
     {
@@ -58,7 +65,8 @@ public class GetMethodCallHierarchyTool implements IMcpTool
     {
         return "Find method call hierarchy: who calls this method (callers) " + //$NON-NLS-1$
                "or what this method calls (callees). " + //$NON-NLS-1$
-               "Uses semantic BSL analysis via BM-index, not text search."; //$NON-NLS-1$
+               "Uses semantic BSL analysis via BM-index, not text search. " + //$NON-NLS-1$
+               "With depth > 1 walks the project call graph transitively with cycle detection."; //$NON-NLS-1$
     }
 
     @Override
@@ -73,6 +81,9 @@ public class GetMethodCallHierarchyTool implements IMcpTool
                 "Name of the procedure/function (case-insensitive, required)", true) //$NON-NLS-1$
             .stringProperty("direction", //$NON-NLS-1$
                 "Direction: 'callers' (who calls this method, default) or 'callees' (what this method calls)") //$NON-NLS-1$
+            .integerProperty("depth", //$NON-NLS-1$
+                "Number of hierarchy levels. Default: 1, max: 10. " + //$NON-NLS-1$
+                "Levels above 1 are answered from the project call graph index") //$NON-NLS-1$
             .integerProperty("limit", //$NON-NLS-1$
                 "Maximum number of results. Default: 100, max: 500") //$NON-NLS-1$
             .build();
@@ -105,6 +116,7 @@ public class GetMethodCallHierarchyTool implements IMcpTool
         String methodName = JsonUtils.extractStringArgument(params, "methodName"); //$NON-NLS-1$
         String direction = JsonUtils.extractStringArgument(params, "direction"); //$NON-NLS-1$
         int limit = JsonUtils.extractIntArgument(params, "limit", 100); //$NON-NLS-1$
+        int depth = JsonUtils.extractIntArgument(params, "depth", 1); //$NON-NLS-1$
 
         if (projectName == null || projectName.isEmpty())
         {
@@ -131,6 +143,22 @@ public class GetMethodCallHierarchyTool implements IMcpTool
         }
 
         limit = Math.min(Math.max(1, limit), 500);
+        depth = Math.min(Math.max(1, depth), MAX_DEPTH);
+
+        if (depth > 1)
+        {
+            // The call graph index needs neither the UI thread nor the EMF model
+            try
+            {
+                return findTransitive(projectName, modulePath, methodName, "callers".equals(direction), //$NON-NLS-1$
+                    depth, limit);
+            }
+            catch (Exception e)
+            {
+                Activator.logError("Error finding call hierarchy", e); //$NON-NLS-1$
+                return "Error: " + e.getMessage(); //$NON-NLS-1$
+            }
+        }
 
         AtomicReference<String> resultRef = new AtomicReference<>();
         final String dir = direction;
@@ -349,6 +377,38 @@ public class GetMethodCallHierarchyTool implements IMcpTool
         return formatCalleesOutput(modulePath, methodName, callees, limit, totalInvocations);
     }
 
+    /**
+     * Finds callers or callees over several levels using the project call graph.
+     */
+    private String findTransitive(String projectName, String modulePath, String methodName, boolean callers,
+        int depth, int limit)
+    {
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return "Error: Project not found: " + projectName; //$NON-NLS-1$
+        }
+
+        MethodSymbolIndex index = MethodSymbolIndex.getInstance();
+        CallGraph.Source graph = index.getCallGraph(project);
+        if (graph == null)
+        {
+            return "Error: Call graph of project " + projectName + " is still being built. " + //$NON-NLS-1$ //$NON-NLS-2$
+                   "Retry shortly or use depth=1."; //$NON-NLS-1$
+        }
+
+        MethodSymbol root = index.findMethod(project, modulePath, methodName);
+        if (root == null)
+        {
+            return "Error: Method '" + methodName + "' not found in " + modulePath; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        CallGraph.Result result = callers
+            ? CallGraph.findCallers(graph, root, depth, limit)
+            : CallGraph.findCallees(graph, root, depth, limit);
+        return formatTransitiveOutput(root, callers, depth, result);
+    }
+
     // ========== Helper methods ==========
 
     private CallerInfo extractCallerInfo(IReferenceDescription refDesc,
@@ -557,6 +617,55 @@ public class GetMethodCallHierarchyTool implements IMcpTool
         return sb.toString();
     }
 
+    private String formatTransitiveOutput(MethodSymbol root, boolean callers, int depth, CallGraph.Result result)
+    {
+        List<CallGraph.Edge> edges = result.getEdges();
+        StringBuilder sb = new StringBuilder();
+        sb.append("## Call Hierarchy: ").append(root.getModulePath()).append(" :: ") //$NON-NLS-1$ //$NON-NLS-2$
+            .append(root.getName()).append("\n\n"); //$NON-NLS-1$
+        sb.append("**Direction:** ").append(callers //$NON-NLS-1$
+            ? "Callers (who calls this method)" : "Callees (what this method calls)"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append(", up to ").append(depth).append(" levels\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append("**Total calls found:** ").append(edges.size()); //$NON-NLS-1$
+        if (result.isTruncated())
+        {
+            sb.append(" (limit reached)"); //$NON-NLS-1$
+        }
+        sb.append("\n\n"); //$NON-NLS-1$
+
+        if (edges.isEmpty())
+        {
+            sb.append(callers ? "No callers found.\n" : "No calls found in this method.\n"); //$NON-NLS-1$ //$NON-NLS-2$
+            return sb.toString();
+        }
+
+        sb.append("| # | Level | Caller | Line | Callee | Note |\n"); //$NON-NLS-1$
+        sb.append("|---|-------|--------|------|--------|------|\n"); //$NON-NLS-1$
+
+        int idx = 1;
+        for (CallGraph.Edge edge : edges)
+        {
+            CallSite call = edge.getCall();
+            String caller = call.getModulePath() + " :: " //$NON-NLS-1$
+                + (call.getCallerName() != null ? call.getCallerName() : "(module body)"); //$NON-NLS-1$
+            String callee = edge.getCallee() != null
+                ? edge.getCallee().getModulePath() + " :: " + edge.getCallee().getName() //$NON-NLS-1$
+                : call.getCallText();
+            String note = edge.isCycle() ? "cycle" //$NON-NLS-1$
+                : edge.isRepeated() ? "already listed" //$NON-NLS-1$
+                : edge.getCallee() == null ? "not resolved" : ""; //$NON-NLS-1$ //$NON-NLS-2$
+
+            sb.append("| ").append(idx++); //$NON-NLS-1$
+            sb.append(" | ").append(edge.getDepth()); //$NON-NLS-1$
+            sb.append(" | ").append(MarkdownUtils.escapeForTable(caller)); //$NON-NLS-1$
+            sb.append(" | ").append(call.getLine()); //$NON-NLS-1$
+            sb.append(" | ").append(MarkdownUtils.escapeForTable(callee)); //$NON-NLS-1$
+            sb.append(" | ").append(note).append(" |\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        return sb.toString();
+    }
+
     // ========== Data structures ==========
 
     private static class CallerInfo
@@ -8,6 +8,7 @@ package com.ditrix.edt.mcp.server.tools.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -16,9 +17,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.common.util.EList;
-import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.xtext.nodemodel.ILeafNode;
@@ -33,6 +32,11 @@ import com._1c.g5.v8.dt.bsl.model.Module;
 import com._1c.g5.v8.dt.bsl.model.Pragma;
 import com._1c.g5.v8.dt.bsl.model.RegionPreprocessor;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.ModuleOutline;
+import com.ditrix.edt.mcp.server.index.ModuleOutline.MethodEntry;
+import com.ditrix.edt.mcp.server.index.ModuleOutline.RegionEntry;
+import com.ditrix.edt.mcp.server.index.ModuleOutline.VariableEntry;
+import com.ditrix.edt.mcp.server.index.ModuleOutlineCache;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
@@ -40,6 +44,8 @@ import com.ditrix.edt.mcp.server.utils.MarkdownUtils;
 
 /**
  * Tool to get the structure of a BSL module: methods, signatures, regions, export flags.
+ * Outlines are kept in {@link ModuleOutlineCache}, so unchanged modules are answered
+ * without loading the EMF model.
  */
 public class GetModuleStructureTool implements IMcpTool
 {
@@ -109,6 +115,20 @@ public class GetModuleStructureTool implements IMcpTool
             return "Error: modulePath is required. Example: 'CommonModules/MyModule/Module.bsl'"; //$NON-NLS-1$
         }
 
+        // Unchanged modules are served from the outline cache, without the UI thread
+        try
+        {
+            String cached = getStructureFromCache(projectName, modulePath, includeVariables, includeComments);
+            if (cached != null)
+            {
+                return cached;
+            }
+        }
+        catch (Exception e)
+        {
+            Activator.logError("Error reading module structure from cache", e); //$NON-NLS-1$
+        }
+
         // Try EMF approach first (on UI thread)
         AtomicReference<String> resultRef = new AtomicReference<>();
 
@@ -136,6 +156,28 @@ public class GetModuleStructureTool implements IMcpTool
                "Make sure project '" + projectName + "' is open and fully indexed in EDT."; //$NON-NLS-1$ //$NON-NLS-2$
     }
 
+    /**
+     * Returns the structure from the outline cache if the module file is unchanged.
+     *
+     * @return formatted structure, or null on a cache miss
+     */
+    private String getStructureFromCache(String projectName, String modulePath,
+        boolean includeVariables, boolean includeComments)
+    {
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return null;
+        }
+        IFile file = project.getFile(new Path("src").append(modulePath)); //$NON-NLS-1$
+        if (!file.exists())
+        {
+            return null;
+        }
+        ModuleOutline outline = ModuleOutlineCache.getInstance().get(project, modulePath, file);
+        return outline != null ? formatStructure(modulePath, outline, includeVariables, includeComments) : null;
+    }
+
     private String getStructureInternal(String projectName, String modulePath,
         boolean includeVariables, boolean includeComments)
     {
@@ -145,6 +187,10 @@ public class GetModuleStructureTool implements IMcpTool
             return "Error: Project not found: " + projectName; //$NON-NLS-1$
         }
 
+        // Take the stamp before loading, so the outline is never cached for a newer file state
+        IFile file = project.getFile(new Path("src").append(modulePath)); //$NON-NLS-1$
+        long modificationStamp = file.getModificationStamp();
+
         Module module = BslModuleUtils.loadModule(project, modulePath);
         if (module == null)
         {
@@ -152,18 +198,75 @@ public class GetModuleStructureTool implements IMcpTool
                    "Make sure project '" + projectName + "' is open and fully indexed in EDT."; //$NON-NLS-1$ //$NON-NLS-2$
         }
 
-        List<RegionInfo> regions = collectRegions(module);
+        // Source lines are needed for doc comments, which are always cached
+        List<String> sourceLines = null;
+        try
+        {
+            if (file.exists())
+            {
+                sourceLines = BslModuleUtils.readFileLines(file);
+            }
+        }
+        catch (Exception e)
+        {
+            Activator.logWarning("Failed to load source for comment extraction: " + e.getMessage()); //$NON-NLS-1$
+        }
+
+        List<RegionEntry> regions = collectRegions(module);
+        List<MethodEntry> methods = collectMethods(module, regions, sourceLines);
+        List<VariableEntry> variables = collectVariables(module, regions);
 
-        // Collect methods
-        List<MethodInfo> methods = collectMethods(module, regions, includeComments);
+        // Get total line count
+        int totalLines = 0;
+        INode moduleNode = NodeModelUtils.findActualNodeFor(module);
+        if (moduleNode != null)
+        {
+            totalLines = moduleNode.getEndLine();
+        }
 
-        // Collect variables if requested
-        List<VariableInfo> variables = includeVariables ? collectVariables(module, regions) : null;
+        ModuleOutline outline = new ModuleOutline(totalLines, regions, methods, variables);
+        if (isModelInSync(methods, sourceLines))
+        {
+            ModuleOutlineCache.getInstance().put(project, modulePath, modificationStamp, outline);
+        }
+        return formatStructure(modulePath, outline, includeVariables, includeComments);
+    }
+
+    /**
+     * Checks that the EMF model matches the file text: every method name is found on
+     * its start line. The BM model is updated asynchronously after a save, and an
+     * outline of an older model must not be cached for the new file stamp.
+     */
+    private boolean isModelInSync(List<MethodEntry> methods, List<String> sourceLines)
+    {
+        if (sourceLines == null)
+        {
+            return false;
+        }
+        for (MethodEntry m : methods)
+        {
+            if (m.startLine < 1 || m.startLine > sourceLines.size()
+                || !sourceLines.get(m.startLine - 1).toLowerCase(Locale.ROOT).contains(m.name.toLowerCase(Locale.ROOT)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Formats a module outline as markdown.
+     */
+    private String formatStructure(String modulePath, ModuleOutline outline,
+        boolean includeVariables, boolean includeComments)
+    {
+        List<RegionEntry> regions = outline.getRegions();
+        List<MethodEntry> methods = outline.getMethods();
 
         // Count procedures and functions
         int procCount = 0;
         int funcCount = 0;
-        for (MethodInfo m : methods)
+        for (MethodEntry m : methods)
         {
             if (m.isFunction)
             {
@@ -175,25 +278,17 @@ public class GetModuleStructureTool implements IMcpTool
             }
         }
 
-        // Get total line count
-        int totalLines = 0;
-        INode moduleNode = NodeModelUtils.findActualNodeFor(module);
-        if (moduleNode != null)
-        {
-            totalLines = moduleNode.getEndLine();
-        }
-
         // Format output
         StringBuilder sb = new StringBuilder();
         sb.append("## Module Structure: ").append(modulePath).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
         sb.append("**Total:** ").append(procCount).append(" procedures, ") //$NON-NLS-1$ //$NON-NLS-2$
-          .append(funcCount).append(" functions | **Lines:** ").append(totalLines).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+          .append(funcCount).append(" functions | **Lines:** ").append(outline.getTotalLines()).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
         // Regions section
         if (!regions.isEmpty())
         {
             sb.append("### Regions\n\n"); //$NON-NLS-1$
-            for (RegionInfo region : regions)
+            for (RegionEntry region : regions)
             {
                 sb.append("- ").append(region.name) //$NON-NLS-1$
                   .append(" (line ").append(region.startLine) //$NON-NLS-1$
@@ -203,9 +298,9 @@ public class GetModuleStructureTool implements IMcpTool
         }
 
         // Variables section
-        if (variables != null && !variables.isEmpty())
+        if (includeVariables && !outline.getVariables().isEmpty())
         {
-            appendVariablesTable(sb, variables);
+            appendVariablesTable(sb, outline.getVariables());
         }
 
         // Methods table
@@ -215,7 +310,7 @@ public class GetModuleStructureTool implements IMcpTool
             return sb.toString();
         }
 
-        appendMethodsTable(sb, methods);
+        appendMethodsTable(sb, methods, includeComments);
 
         return sb.toString();
     }
@@ -225,13 +320,13 @@ public class GetModuleStructureTool implements IMcpTool
      * Appends a markdown methods table to the StringBuilder.
      * Shared between EMF and text-based paths to avoid duplication.
      */
-    private void appendMethodsTable(StringBuilder sb, List<MethodInfo> methods)
+    private void appendMethodsTable(StringBuilder sb, List<MethodEntry> methods, boolean includeComments)
     {
         // Check if any method has doc-comments
         boolean hasComments = false;
-        for (MethodInfo m : methods)
+        for (MethodEntry m : methods)
         {
-            if (m.docComment != null)
+            if (includeComments && m.docComment != null)
             {
                 hasComments = true;
                 break;
@@ -251,7 +346,7 @@ public class GetModuleStructureTool implements IMcpTool
         }
 
         int idx = 1;
-        for (MethodInfo m : methods)
+        for (MethodEntry m : methods)
         {
             sb.append("| ").append(idx++); //$NON-NLS-1$
             sb.append(" | ").append(m.isFunction ? "Function" : "Procedure"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -272,11 +367,11 @@ public class GetModuleStructureTool implements IMcpTool
     /**
      * Finds the innermost region (narrowest line range) containing the given line.
      */
-    private String findContainingRegion(int line, List<RegionInfo> regions)
+    private String findContainingRegion(int line, List<RegionEntry> regions)
     {
         String bestRegion = null;
         int bestRange = Integer.MAX_VALUE;
-        for (RegionInfo region : regions)
+        for (RegionEntry region : regions)
         {
             if (line >= region.startLine && line <= region.endLine)
             {
@@ -296,9 +391,9 @@ public class GetModuleStructureTool implements IMcpTool
     /**
      * Collects regions from the BSL AST model.
      */
-    private List<RegionInfo> collectRegions(Module module)
+    private List<RegionEntry> collectRegions(Module module)
     {
-        List<RegionInfo> regions = new ArrayList<>();
+        List<RegionEntry> regions = new ArrayList<>();
 
         try
         {
@@ -307,13 +402,11 @@ public class GetModuleStructureTool implements IMcpTool
                 EObject obj = iter.next();
                 if (obj instanceof RegionPreprocessor region)
                 {
-                    RegionInfo info = new RegionInfo();
-                    info.name = region.getName();
-                    info.startLine = BslModuleUtils.getStartLine(region);
-                    info.endLine = computeRegionEndLine(region, info.startLine);
-                    if (info.name != null && !info.name.isEmpty() && info.startLine > 0)
+                    String name = region.getName();
+                    int startLine = BslModuleUtils.getStartLine(region);
+                    if (name != null && !name.isEmpty() && startLine > 0)
                     {
-                        regions.add(info);
+                        regions.add(new RegionEntry(name, startLine, computeRegionEndLine(region, startLine)));
                     }
                 }
             }
@@ -340,65 +433,28 @@ public class GetModuleStructureTool implements IMcpTool
         }
         return endLine > startLine ? endLine + 1 : startLine + 1; // +1 for #EndRegion line
     }
-    private List<MethodInfo> collectMethods(Module module, List<RegionInfo> regions,
-        boolean includeComments)
+    private List<MethodEntry> collectMethods(Module module, List<RegionEntry> regions,
+        List<String> sourceLines)
     {
-        List<MethodInfo> methods = new ArrayList<>();
-        
-        // Load source lines if includeComments is enabled
-        List<String> sourceLines = null;
-        if (includeComments)
-        {
-            try
-            {
-                Resource resource = module.eResource();
-                if (resource != null)
-                {
-                    URI uri = resource.getURI();
-                    if (uri.isPlatformResource())
-                    {
-                        String platformString = uri.toPlatformString(true);
-                        IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(platformString));
-                        if (file != null && file.exists())
-                        {
-                            sourceLines = BslModuleUtils.readFileLines(file);
-                        }
-                    }
-                }
-            }
-            catch (Exception e)
-            {
-                Activator.logWarning("Failed to load source for comment extraction: " + e.getMessage()); //$NON-NLS-1$
-            }
-        }
+        List<MethodEntry> methods = new ArrayList<>();
 
         for (Method method : module.allMethods())
         {
             try
             {
-                MethodInfo info = new MethodInfo();
-                info.name = method.getName();
-                info.isFunction = method instanceof Function;
-                info.isExport = method.isExport();
-                info.startLine = BslModuleUtils.getStartLine(method);
-                info.endLine = BslModuleUtils.getEndLine(method);
-
-                // Collect parameters via shared utility
-                info.paramsString = BslModuleUtils.buildParamsString(method);
-
-                // Collect execution context from pragmas
-                info.executionContext = collectPragmas(method);
-
-                // Find containing region (innermost)
-                info.region = findContainingRegion(info.startLine, regions);
-
-                // Collect doc-comment if requested
-                if (includeComments && sourceLines != null)
-                {
-                    info.docComment = extractDocCommentFromLines(sourceLines, info.startLine);
-                }
-
-                methods.add(info);
+                int startLine = BslModuleUtils.getStartLine(method);
+                methods.add(new MethodEntry(
+                    method.getName(),
+                    method instanceof Function,
+                    method.isExport(),
+                    startLine,
+                    BslModuleUtils.getEndLine(method),
+                    collectPragmas(method),
+                    // Find containing region (innermost)
+                    findContainingRegion(startLine, regions),
+                    // Collect parameters via shared utility
+                    BslModuleUtils.buildParamsString(method),
+                    sourceLines != null ? extractDocCommentFromLines(sourceLines, startLine) : null));
             }
             catch (Exception e)
             {
@@ -436,44 +492,14 @@ public class GetModuleStructureTool implements IMcpTool
         return null;
     }
 
-    // ========== Internal data structures ==========
-
-    private static class MethodInfo
-    {
-        String name;
-        boolean isFunction;
-        boolean isExport;
-        int startLine;
-        int endLine;
-        String executionContext;
-        String region;
-        String paramsString;
-        String docComment;
-    }
-
-    private static class RegionInfo
-    {
-        String name;
-        int startLine;
-        int endLine;
-    }
-
-    private static class VariableInfo
-    {
-        String name;
-        boolean isExport;
-        int line;
-        String region;
-    }
-
     // ========== Variables collection ==========
 
     /**
      * Collects module-level variable declarations from the EMF model.
      */
-    private List<VariableInfo> collectVariables(Module module, List<RegionInfo> regions)
+    private List<VariableEntry> collectVariables(Module module, List<RegionEntry> regions)
     {
-        List<VariableInfo> variables = new ArrayList<>();
+        List<VariableEntry> variables = new ArrayList<>();
         try
         {
             EList<DeclareStatement> declareStatements = module.allDeclareStatements();
@@ -488,12 +514,9 @@ public class GetModuleStructureTool implements IMcpTool
                     }
                     for (ExplicitVariable var : vars)
                     {
-                        VariableInfo info = new VariableInfo();
-                        info.name = var.getName();
-                        info.isExport = var.isExport();
-                        info.line = BslModuleUtils.getStartLine(var);
-                        info.region = findContainingRegion(info.line, regions);
-                        variables.add(info);
+                        int line = BslModuleUtils.getStartLine(var);
+                        variables.add(new VariableEntry(var.getName(), var.isExport(), line,
+                            findContainingRegion(line, regions)));
                     }
                 }
             }
@@ -508,14 +531,14 @@ public class GetModuleStructureTool implements IMcpTool
     /**
      * Appends a markdown variables table to the StringBuilder.
      */
-    private void appendVariablesTable(StringBuilder sb, List<VariableInfo> variables)
+    private void appendVariablesTable(StringBuilder sb, List<VariableEntry> variables)
     {
         sb.append("### Variables\n\n"); //$NON-NLS-1$
         sb.append("| # | Name | Export | Line | Region |\n"); //$NON-NLS-1$
         sb.append("|---|------|--------|------|--------|\n"); //$NON-NLS-1$
 
         int idx = 1;
-        for (VariableInfo v : variables)
+        for (VariableEntry v : variables)
         {
             sb.append("| ").append(idx++); //$NON-NLS-1$
             sb.append(" | ").append(MarkdownUtils.escapeForTable(v.name)); //$NON-NLS-1$
@@ -7,18 +7,18 @@
 package com.ditrix.edt.mcp.server.tools.impl;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 
-import com._1c.g5.v8.dt.validation.marker.IMarkerManager;
-import com._1c.g5.v8.dt.validation.marker.Marker;
 import com._1c.g5.v8.dt.validation.marker.MarkerSeverity;
 
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.MarkerIndex;
+import com.ditrix.edt.mcp.server.index.MarkerStore;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
@@ -26,12 +26,17 @@ import com.ditrix.edt.mcp.server.utils.MarkdownUtils;
 
 /**
  * Tool to get problem summary (counts by project and severity).
- * Uses EDT IMarkerManager for accessing configuration problems.
+ * Uses EDT IMarkerManager for accessing configuration problems through the
+ * running counters of {@link MarkerIndex}, so no marker is looked at per call.
  */
 public class GetProblemSummaryTool implements IMcpTool
 {
     public static final String NAME = "get_problem_summary"; //$NON-NLS-1$
     
+    /** Default and maximum number of top checks and objects */
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_TOP = 50;
+    
     @Override
     public String getName()
     {
@@ -42,7 +47,9 @@ public class GetProblemSummaryTool implements IMcpTool
     public String getDescription()
     {
         return "Get problem summary with counts grouped by project and EDT severity level " + //$NON-NLS-1$
-               "(ERRORS, BLOCKER, CRITICAL, MAJOR, MINOR, TRIVIAL)."; //$NON-NLS-1$
+               "(ERRORS, BLOCKER, CRITICAL, MAJOR, MINOR, TRIVIAL), the checks and objects with most problems, " + //$NON-NLS-1$
+               "and a validation revision that grows whenever the problems change. " + //$NON-NLS-1$
+               "Cheap enough to call after every edit."; //$NON-NLS-1$
     }
     
     @Override
@@ -50,6 +57,7 @@ public class GetProblemSummaryTool implements IMcpTool
     {
         return JsonSchemaBuilder.object()
             .stringProperty("projectName", "Name of the project (optional, all projects if not specified)") //$NON-NLS-1$ //$NON-NLS-2$
+            .integerProperty("top", "Number of top checks and objects to list (default: 10, max: 50, 0 to omit)") //$NON-NLS-1$ //$NON-NLS-2$
             .build();
     }
     
@@ -57,24 +65,27 @@ public class GetProblemSummaryTool implements IMcpTool
     public String execute(Map<String, String> params)
     {
         String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
-        return getProblemSummary(projectName);
+        int top = Math.max(0, Math.min(JsonUtils.extractIntArgument(params, "top", DEFAULT_TOP), MAX_TOP)); //$NON-NLS-1$
+        return getProblemSummary(projectName, top);
     }
     
     /**
      * Gets problem summary for project(s) using EDT IMarkerManager.
      * 
      * @param projectName specific project name or null for all projects
+     * @param top number of top checks and objects to list
      * @return Markdown string with problem summary
      */
-    public static String getProblemSummary(String projectName)
+    public static String getProblemSummary(String projectName, int top)
     {
         StringBuilder md = new StringBuilder();
         
         try
         {
-            IMarkerManager markerManager = Activator.getDefault().getMarkerManager();
+            MarkerIndex markerIndex = MarkerIndex.getInstance();
+            MarkerStore markerStore = markerIndex.getCurrentStore();
             
-            if (markerManager == null)
+            if (markerStore == null)
             {
                 return "**Error:** IMarkerManager service is not available"; //$NON-NLS-1$
             }
@@ -91,8 +102,12 @@ public class GetProblemSummaryTool implements IMcpTool
                 }
             }
             
+            // Counters are maintained by the index; nothing is recounted here
+            MarkerStore.Summary summary = markerStore.summarize(
+                projectName != null && !projectName.isEmpty() ? projectName : null, top);
+            
             // Summary structure: projectName -> severity -> count
-            Map<String, Map<MarkerSeverity, Integer>> projectSummaries = new HashMap<>();
+            Map<String, Map<MarkerSeverity, Integer>> projectSummaries = new LinkedHashMap<>();
             Map<MarkerSeverity, Integer> totals = new HashMap<>();
             
             // Initialize totals
@@ -101,54 +116,25 @@ public class GetProblemSummaryTool implements IMcpTool
                 totals.put(sev, 0);
             }
             
-            // Get all markers
-            Stream<Marker> markerStream = markerManager.markers();
-            final String filterProject = projectName;
-            
-            markerStream.forEach(marker -> {
-                IProject markerProject = marker.getProject();
-                if (markerProject == null)
-                {
-                    return;
-                }
-                
-                String markerProjectName = markerProject.getName();
-                
-                // Filter by project if specified
-                if (filterProject != null && !filterProject.isEmpty() && 
-                    !markerProjectName.equals(filterProject))
-                {
-                    return;
-                }
-                
-                MarkerSeverity severity = marker.getSeverity();
-                if (severity == null)
+            for (Map.Entry<String, Map<String, Integer>> entry : summary.getSeverityCounts().entrySet())
+            {
+                Map<MarkerSeverity, Integer> projectCounts = new HashMap<>();
+                for (MarkerSeverity sev : MarkerSeverity.values())
                 {
-                    severity = MarkerSeverity.NONE;
+                    int count = entry.getValue().getOrDefault(sev.name(), 0);
+                    projectCounts.put(sev, count);
+                    totals.put(sev, totals.get(sev) + count);
                 }
-                
-                // Update project summary
-                projectSummaries.computeIfAbsent(markerProjectName, k -> {
-                    Map<MarkerSeverity, Integer> map = new HashMap<>();
-                    for (MarkerSeverity sev : MarkerSeverity.values())
-                    {
-                        map.put(sev, 0);
-                    }
-                    return map;
-                });
-                
-                Map<MarkerSeverity, Integer> projectCounts = projectSummaries.get(markerProjectName);
-                projectCounts.put(severity, projectCounts.get(severity) + 1);
-                
-                // Update totals
-                totals.put(severity, totals.get(severity) + 1);
-            });
+                projectSummaries.put(entry.getKey(), projectCounts);
+            }
             
             // Calculate total
             int grandTotal = totals.values().stream().mapToInt(Integer::intValue).sum();
             
             // Build Markdown response
             md.append("## Problem Summary\n\n"); //$NON-NLS-1$
+            md.append("**Validation revision:** ").append(summary.getRevision()); //$NON-NLS-1$
+            md.append(" | **Settled:** ").append(markerIndex.isSettled() ? "yes" : "no").append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
             
             // Totals section
             md.append("### Overall Totals\n\n"); //$NON-NLS-1$
@@ -200,6 +186,36 @@ public class GetProblemSummaryTool implements IMcpTool
             {
                 md.append("*No problems found.*\n"); //$NON-NLS-1$
             }
+            
+            if (!summary.getTopChecks().isEmpty())
+            {
+                md.append("\n### Top Checks\n\n"); //$NON-NLS-1$
+                md.append("| Check | Severity | Count |\n"); //$NON-NLS-1$
+                md.append("|-------|----------|-------|\n"); //$NON-NLS-1$
+                IProject project = projectName != null && !projectName.isEmpty()
+                    ? workspace.getRoot().getProject(projectName) : null;
+                for (MarkerStore.Count count : summary.getTopChecks())
+                {
+                    // Key is "SEVERITY/checkCode"
+                    String[] parts = count.getKey().split("/", 2); //$NON-NLS-1$
+                    String checkCode = parts.length > 1 ? parts[1] : ""; //$NON-NLS-1$
+                    String checkId = markerIndex.getCheckId(project, checkCode);
+                    md.append("| `").append(checkId != null ? checkId : checkCode).append("` | ") //$NON-NLS-1$ //$NON-NLS-2$
+                        .append(parts[0]).append(" | ").append(count.getCount()).append(" |\n"); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+            
+            if (!summary.getTopObjects().isEmpty())
+            {
+                md.append("\n### Top Objects\n\n"); //$NON-NLS-1$
+                md.append("| Object | Count |\n"); //$NON-NLS-1$
+                md.append("|--------|-------|\n"); //$NON-NLS-1$
+                for (MarkerStore.Count count : summary.getTopObjects())
+                {
+                    md.append("| ").append(MarkdownUtils.escapeForTable(count.getKey())) //$NON-NLS-1$
+                        .append(" | ").append(count.getCount()).append(" |\n"); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
         }
         catch (Exception e)
         {
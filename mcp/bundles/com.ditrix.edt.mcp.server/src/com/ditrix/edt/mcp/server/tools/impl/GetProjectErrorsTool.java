@@ -9,20 +9,20 @@ package com.ditrix.edt.mcp.server.tools.impl;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 
-import com._1c.g5.v8.dt.validation.marker.IMarkerManager;
 import com._1c.g5.v8.dt.validation.marker.MarkerSeverity;
-import com.e1c.g5.v8.dt.check.settings.ICheckRepository;
-import com.e1c.g5.v8.dt.check.settings.CheckUid;
 
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.MarkerEntry;
+import com.ditrix.edt.mcp.server.index.MarkerIndex;
+import com.ditrix.edt.mcp.server.index.MarkerStore;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.protocol.ToolResult;
@@ -37,7 +37,8 @@ import com.google.gson.JsonParser;
 
 /**
  * Tool to get detailed project errors with optional filters.
- * Uses EDT IMarkerManager for accessing configuration problems.
+ * Uses EDT IMarkerManager for accessing configuration problems through the
+ * partitioned {@link MarkerIndex}, so filtered queries do not scan all markers.
  */
 public class GetProjectErrorsTool implements IMcpTool
 {
@@ -55,7 +56,8 @@ public class GetProjectErrorsTool implements IMcpTool
         return "Get detailed configuration problems from EDT. " + //$NON-NLS-1$
                "Returns check code, description, object location, severity level (ERRORS, BLOCKER, CRITICAL, MAJOR, MINOR, TRIVIAL). " + //$NON-NLS-1$
                "Can filter by specific objects using FQN (e.g. 'Document.SalesOrder', 'Catalog.Products'). " + //$NON-NLS-1$
-               "Russian type names are also supported (e.g. 'Документ.ПриходнаяНакладная', 'Справочник.Номенклатура')."; //$NON-NLS-1$
+               "Russian type names are also supported (e.g. 'Документ.ПриходнаяНакладная', 'Справочник.Номенклатура'). " + //$NON-NLS-1$
+               "Every response contains a revision; pass it as 'sinceRevision' to get only problems added or removed since then."; //$NON-NLS-1$
     }
     
     @Override
@@ -67,6 +69,7 @@ public class GetProjectErrorsTool implements IMcpTool
             .stringProperty("checkId", "Filter by check ID substring (e.g. 'ql-temp-table-index') (optional)") //$NON-NLS-1$ //$NON-NLS-2$
             .stringArrayProperty("objects", "Filter by object FQNs (e.g. ['Document.SalesOrder', 'Catalog.Products']). Russian type names supported (e.g. 'Документ.ПродажаТоваров'). Returns errors only from these objects.") //$NON-NLS-1$ //$NON-NLS-2$
             .integerProperty("limit", "Maximum number of results (default: 100, max: 1000)") //$NON-NLS-1$ //$NON-NLS-2$
+            .integerProperty("sinceRevision", "Revision from a previous response: return only problems added or removed since then, with the other filters applied (optional)") //$NON-NLS-1$ //$NON-NLS-2$
             .build();
     }
     
@@ -78,6 +81,7 @@ public class GetProjectErrorsTool implements IMcpTool
         String checkId = JsonUtils.extractStringArgument(params, "checkId"); //$NON-NLS-1$
         String objectsJson = JsonUtils.extractStringArgument(params, "objects"); //$NON-NLS-1$
         String limitStr = JsonUtils.extractStringArgument(params, "limit"); //$NON-NLS-1$
+        long sinceRevision = JsonUtils.extractLongArgument(params, "sinceRevision", -1); //$NON-NLS-1$
         
         // Check if project is ready for operations
         if (projectName != null && !projectName.isEmpty())
@@ -108,7 +112,8 @@ public class GetProjectErrorsTool implements IMcpTool
             }
         }
         
-        return getProjectErrors(projectName, severity, checkId, objects, limit);
+        return getProjectErrors(projectName, severity, checkId, objects, limit,
+            sinceRevision >= 0 ? Long.valueOf(sinceRevision) : null);
     }
     
     /**
@@ -158,18 +163,35 @@ public class GetProjectErrorsTool implements IMcpTool
      * @return Markdown formatted string with error details
      */
     public static String getProjectErrors(String projectName, String severity, String checkId, List<String> objects, int limit)
+    {
+        return getProjectErrors(projectName, severity, checkId, objects, limit, null);
+    }
+    
+    /**
+     * Gets project errors with filters, or only the changes since an earlier revision.
+     * 
+     * @param projectName filter by project name (null for all)
+     * @param severity filter by severity (ERRORS, BLOCKER, CRITICAL, MAJOR, MINOR, TRIVIAL)
+     * @param checkId filter by check ID substring
+     * @param objects filter by object FQNs (empty list for all objects)
+     * @param limit maximum number of results
+     * @param sinceRevision revision of a previous response to get added and removed problems only,
+     *     or null for the full list; falls back to the full list if the revision has left the change journal
+     * @return Markdown formatted string with error details
+     */
+    public static String getProjectErrors(String projectName, String severity, String checkId, List<String> objects,
+        int limit, Long sinceRevision)
     {
         try
         {
-            IMarkerManager markerManager = Activator.getDefault().getMarkerManager();
+            MarkerIndex markerIndex = MarkerIndex.getInstance();
+            MarkerStore markerStore = markerIndex.getStore();
             
-            if (markerManager == null)
+            if (markerStore == null)
             {
                 return "# Error\n\nIMarkerManager service is not available"; //$NON-NLS-1$
             }
             
-            ICheckRepository checkRepository = Activator.getDefault().getCheckRepository();
-            
             IWorkspace workspace = ResourcesPlugin.getWorkspace();
             
             // Parse severity filter
@@ -178,7 +200,7 @@ public class GetProjectErrorsTool implements IMcpTool
             {
                 try
                 {
-                    severityFilter = MarkerSeverity.valueOf(severity.toUpperCase());
+                    severityFilter = MarkerSeverity.valueOf(severity.toUpperCase(Locale.ROOT));
                 }
                 catch (IllegalArgumentException e)
                 {
@@ -196,129 +218,91 @@ public class GetProjectErrorsTool implements IMcpTool
                 }
             }
             
-            // Collect errors from EDT MarkerManager using proper stream operations
-            final MarkerSeverity finalSeverityFilter = severityFilter;
-            final String finalCheckId = checkId;
-            final String finalProjectName = projectName;
-            // Normalize object FQNs to support both English and Russian metadata type names.
-            // For each input FQN, generate all variants (original + English + Russian, lowercased)
-            // so we can match markers regardless of the configuration language.
-            // Using Set for deduplication of variants.
-            final Set<String> finalObjects = new HashSet<>();
-            if (objects != null)
+            // Every filter narrows the lookup to a partition of the marker index
+            MarkerStore.Query query = new MarkerStore.Query();
+            if (projectName != null && !projectName.isEmpty())
             {
-                for (String fqn : objects)
-                {
-                    finalObjects.addAll(MetadataTypeUtils.getAllFqnVariants(fqn));
-                }
+                query.project(projectName);
             }
-            
-            // Use filter + limit instead of forEach with early return (which doesn't work)
-            final ICheckRepository finalCheckRepo = checkRepository;
-            List<ErrorInfo> errors = markerManager.markers()
-                .filter(marker -> {
-                    // Get project
-                    IProject markerProject = marker.getProject();
-                    if (markerProject == null)
-                    {
-                        return false;
-                    }
-                    
-                    // Check project filter
-                    if (finalProjectName != null && !finalProjectName.isEmpty() && 
-                        !markerProject.getName().equals(finalProjectName))
-                    {
-                        return false;
-                    }
-                    
-                    // Check severity filter
-                    MarkerSeverity markerSeverity = marker.getSeverity();
-                    if (finalSeverityFilter != null && markerSeverity != finalSeverityFilter)
-                    {
-                        return false;
-                    }
-                    
-                    // Check checkId filter
-                    String markerCheckId = marker.getCheckId();
-                    if (finalCheckId != null && !finalCheckId.isEmpty())
+            if (severityFilter != null)
+            {
+                query.severity(severityFilter.name());
+            }
+            if (checkId != null && !checkId.isEmpty())
+            {
+                // Match the short UID or the symbolic check ID, tested once per distinct check
+                String checkIdLower = checkId.toLowerCase(Locale.ROOT);
+                query.check((markerProject, checkCode) -> {
+                    if (checkCode.toLowerCase(Locale.ROOT).contains(checkIdLower))
                     {
-                        if (markerCheckId == null || 
-                            !markerCheckId.toLowerCase().contains(finalCheckId.toLowerCase()))
-                        {
-                            return false;
-                        }
+                        return true;
                     }
-                    
-                    // Check objects filter (FQN matching)
-                    if (!finalObjects.isEmpty())
+                    String symbolicId = markerIndex.getCheckId(workspace.getRoot().getProject(markerProject), checkCode);
+                    return symbolicId != null && symbolicId.toLowerCase(Locale.ROOT).contains(checkIdLower);
+                });
+            }
+            if (objects != null && !objects.isEmpty())
+            {
+                // Normalize object FQNs to support both English and Russian metadata type names:
+                // markers are partitioned by their top-level object in English singular form.
+                // FQNs of nested objects additionally match the location by all their variants.
+                // Names without a "Type.Name" prefix fall back to matching all locations.
+                Set<String> objectKeys = new HashSet<>();
+                Set<String> topLevelKeys = new HashSet<>();
+                Set<String> nestedVariants = new HashSet<>();
+                boolean partitioned = true;
+                for (String fqn : objects)
+                {
+                    String objectKey = MarkerEntry.objectKey(fqn);
+                    if (objectKey == null)
                     {
-                        String objectPresentation = marker.getObjectPresentation();
-                        if (objectPresentation == null || objectPresentation.isEmpty())
-                        {
-                            return false;
-                        }
-
-                        // Lowercase once for all comparisons
-                        String presentationLower = objectPresentation.toLowerCase();
-
-                        // Check if any FQN variant matches the object presentation
-                        // All variants in finalObjects are already lowercased
-                        boolean matchesAnyObject = false;
-                        for (String fqnVariant : finalObjects)
-                        {
-                            if (presentationLower.contains(fqnVariant))
-                            {
-                                matchesAnyObject = true;
-                                break;
-                            }
-                        }
-                        if (!matchesAnyObject)
-                        {
-                            return false;
-                        }
+                        partitioned = false;
+                        nestedVariants.addAll(MetadataTypeUtils.getAllFqnVariants(fqn.trim()));
+                        continue;
                     }
-                    
-                    return true;
-                })
-                .limit(limit)
-                .map(marker -> {
-                    ErrorInfo error = new ErrorInfo();
-                    String shortUid = marker.getCheckId() != null ? marker.getCheckId() : ""; //$NON-NLS-1$
-                    error.checkCode = shortUid;
-                    
-                    // Try to convert short UID (e.g. "SU23") to symbolic check ID (e.g. "bsl-legacy-check-expression-type")
-                    if (finalCheckRepo != null && !shortUid.isEmpty() && marker.getProject() != null)
+                    objectKeys.add(objectKey);
+                    if (objectKey.equals(MetadataTypeUtils.normalizeFqn(fqn.trim()).toLowerCase(Locale.ROOT)))
                     {
-                        try
-                        {
-                            CheckUid checkUid = finalCheckRepo.getUidForShortUid(shortUid, marker.getProject());
-                            if (checkUid != null)
-                            {
-                                error.checkId = checkUid.getCheckId();
-                            }
-                        }
-                        catch (Exception e)
-                        {
-                            // Ignore - will use short UID instead
-                        }
+                        topLevelKeys.add(objectKey);
                     }
-                    
-                    // Check if documentation exists for this check
-                    error.hasDocumentation = false;
-                    if (error.checkId != null && !error.checkId.isEmpty())
+                    else
                     {
-                        error.hasDocumentation = GetCheckDescriptionTool.hasCheckDocumentation(error.checkId);
+                        nestedVariants.addAll(MetadataTypeUtils.getAllFqnVariants(fqn.trim()));
                     }
-                    
-                    error.message = marker.getMessage() != null ? marker.getMessage() : ""; //$NON-NLS-1$
-                    error.objectPresentation = marker.getObjectPresentation() != null ? 
-                        marker.getObjectPresentation() : ""; //$NON-NLS-1$
-                    return error;
-                })
-                .collect(Collectors.toList());
+                }
+                if (partitioned)
+                {
+                    query.objects(objectKeys);
+                }
+                if (!nestedVariants.isEmpty())
+                {
+                    query.filter(marker -> topLevelKeys.contains(marker.getObjectKey())
+                        || matchesAnyVariant(marker, nestedVariants));
+                }
+            }
+            
+            String expiredNote = null;
+            if (sinceRevision != null)
+            {
+                MarkerStore.Changes changes = markerStore.changesSince(sinceRevision.longValue(), query, limit);
+                if (changes != null)
+                {
+                    return formatChanges(changes, limit, markerIndex, workspace);
+                }
+                expiredNote = "> Revision " + sinceRevision //$NON-NLS-1$
+                    + " is no longer covered by the change journal; the full list follows.\n\n"; //$NON-NLS-1$
+            }
+            
+            // Taken before the lookup: changes made meanwhile are reported again rather than missed
+            long revision = markerStore.getRevision();
+            List<ErrorInfo> errors = toErrorInfos(markerStore.find(query, limit), markerIndex, workspace);
             
             // Build Markdown response for better readability and context efficiency
             StringBuilder md = new StringBuilder();
+            if (expiredNote != null)
+            {
+                md.append(expiredNote);
+            }
             
             if (errors.isEmpty())
             {
@@ -335,6 +319,7 @@ public class GetProjectErrorsTool implements IMcpTool
                 {
                     md.append("Objects filter: ").append(String.join(", ", objects)).append("\n"); //$NON-NLS-1$ //$NON-NLS-2$
                 }
+                md.append("Revision: ").append(revision).append("\n"); //$NON-NLS-1$ //$NON-NLS-2$
                 md.append("\nNo configuration problems match the specified criteria."); //$NON-NLS-1$
             }
             else
@@ -345,26 +330,9 @@ public class GetProjectErrorsTool implements IMcpTool
                 {
                     md.append("+ (limited to ").append(limit).append(")"); //$NON-NLS-1$ //$NON-NLS-2$
                 }
+                md.append(" | **Revision:** ").append(revision); //$NON-NLS-1$
                 md.append("\n\n"); //$NON-NLS-1$
-                
-                // Build table matching EDT's Configuration Problems view
-                md.append("| Description | Location | Check code | Has docs |\n"); //$NON-NLS-1$
-                md.append("|-------------|----------|------------|----------|\n"); //$NON-NLS-1$
-                
-                for (ErrorInfo error : errors)
-                {
-                    md.append("| ").append(MarkdownUtils.escapeForTable(error.message)); //$NON-NLS-1$
-                    md.append(" | ").append(MarkdownUtils.escapeForTable(error.objectPresentation)); //$NON-NLS-1$
-                    
-                    // Show symbolic check ID if available, otherwise show check code
-                    String displayCheckId = error.checkId != null && !error.checkId.isEmpty() 
-                        ? error.checkId 
-                        : error.checkCode;
-                    md.append(" | `").append(displayCheckId).append("`"); //$NON-NLS-1$ //$NON-NLS-2$
-                    
-                    // Add documentation availability flag
-                    md.append(" | ").append(error.hasDocumentation ? "true" : "false").append(" |\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-                }
+                appendTable(md, errors);
             }
             
             return md.toString();
@@ -376,6 +344,112 @@ public class GetProjectErrorsTool implements IMcpTool
         }
     }
     
+    /**
+     * Formats the problems added and removed since a revision.
+     */
+    private static String formatChanges(MarkerStore.Changes changes, int limit, MarkerIndex markerIndex,
+        IWorkspace workspace)
+    {
+        StringBuilder md = new StringBuilder();
+        md.append("# Configuration Problem Changes\n\n"); //$NON-NLS-1$
+        md.append("**Since revision:** ").append(changes.getFromRevision()); //$NON-NLS-1$
+        md.append(" | **Revision:** ").append(changes.getToRevision()); //$NON-NLS-1$
+        md.append(" | **Added:** ").append(changes.getAddedCount()); //$NON-NLS-1$
+        md.append(" | **Removed:** ").append(changes.getRemovedCount()); //$NON-NLS-1$
+        if (changes.getAddedCount() + changes.getRemovedCount() > limit)
+        {
+            md.append(" (limited to ").append(limit).append(")"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        md.append("\n"); //$NON-NLS-1$
+        
+        if (changes.getAddedCount() == 0 && changes.getRemovedCount() == 0)
+        {
+            md.append("\nNo configuration problems were added or removed."); //$NON-NLS-1$
+            return md.toString();
+        }
+        if (changes.getAddedCount() > 0)
+        {
+            md.append("\n## Added\n\n"); //$NON-NLS-1$
+            appendTable(md, toErrorInfos(changes.getAdded(), markerIndex, workspace));
+        }
+        if (changes.getRemovedCount() > 0)
+        {
+            md.append("\n## Removed\n\n"); //$NON-NLS-1$
+            appendTable(md, toErrorInfos(changes.getRemoved(), markerIndex, workspace));
+        }
+        return md.toString();
+    }
+    
+    /**
+     * Converts markers to error infos with symbolic check IDs.
+     */
+    private static List<ErrorInfo> toErrorInfos(List<MarkerEntry> markers, MarkerIndex markerIndex,
+        IWorkspace workspace)
+    {
+        List<ErrorInfo> errors = new ArrayList<>();
+        for (MarkerEntry marker : markers)
+        {
+            ErrorInfo error = new ErrorInfo();
+            error.checkCode = marker.getCheckCode();
+            
+            // Convert short UID (e.g. "SU23") to symbolic check ID (e.g. "bsl-legacy-check-expression-type")
+            error.checkId = markerIndex.getCheckId(workspace.getRoot().getProject(marker.getProjectName()),
+                error.checkCode);
+            
+            // Check if documentation exists for this check
+            error.hasDocumentation = false;
+            if (error.checkId != null && !error.checkId.isEmpty())
+            {
+                error.hasDocumentation = GetCheckDescriptionTool.hasCheckDocumentation(error.checkId);
+            }
+            
+            error.message = marker.getMessage();
+            error.objectPresentation = marker.getObjectPresentation();
+            errors.add(error);
+        }
+        return errors;
+    }
+    
+    /**
+     * Appends a table matching EDT's Configuration Problems view.
+     */
+    private static void appendTable(StringBuilder md, List<ErrorInfo> errors)
+    {
+        md.append("| Description | Location | Check code | Has docs |\n"); //$NON-NLS-1$
+        md.append("|-------------|----------|------------|----------|\n"); //$NON-NLS-1$
+        
+        for (ErrorInfo error : errors)
+        {
+            md.append("| ").append(MarkdownUtils.escapeForTable(error.message)); //$NON-NLS-1$
+            md.append(" | ").append(MarkdownUtils.escapeForTable(error.objectPresentation)); //$NON-NLS-1$
+            
+            // Show symbolic check ID if available, otherwise show check code
+            String displayCheckId = error.checkId != null && !error.checkId.isEmpty() 
+                ? error.checkId 
+                : error.checkCode;
+            md.append(" | `").append(displayCheckId).append("`"); //$NON-NLS-1$ //$NON-NLS-2$
+            
+            // Add documentation availability flag
+            md.append(" | ").append(error.hasDocumentation ? "true" : "false").append(" |\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        }
+    }
+    
+    /**
+     * Checks whether the marker location contains any of the lower-cased FQN variants.
+     */
+    private static boolean matchesAnyVariant(MarkerEntry marker, Set<String> fqnVariants)
+    {
+        String presentationLower = marker.getObjectPresentation().toLowerCase(Locale.ROOT);
+        for (String fqnVariant : fqnVariants)
+        {
+            if (presentationLower.contains(fqnVariant))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Helper class to store error info.
      */
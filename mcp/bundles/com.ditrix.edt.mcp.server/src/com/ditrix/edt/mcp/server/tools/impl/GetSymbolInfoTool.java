@@ -49,6 +49,8 @@ import com._1c.g5.v8.dt.bsl.model.Module;
 import com._1c.g5.v8.dt.bsl.model.StaticFeatureAccess;
 
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.LineIndex;
+import com.ditrix.edt.mcp.server.index.LineIndexCache;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
@@ -821,46 +823,23 @@ public class GetSymbolInfoTool implements IMcpTool
                 return null;
             }
 
-            // Read original file content to calculate correct offset
-            // (readFileLines strips line terminators, so we read raw content instead)
+            // Calculate offset using actual line terminators from the file content
+            // (the shared line index keeps the original text, without BOM)
             IPath relativePath = new Path("src").append(filePath); //$NON-NLS-1$
             IFile file = project.getFile(relativePath);
-            String content = null;
-            try (java.io.InputStream is = file.getContents())
+            LineIndex lines = LineIndexCache.getInstance().get(file);
+            int offset;
+            if (line <= 1)
             {
-                content = new String(is.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+                offset = 0;
             }
-            // Strip UTF-8 BOM if present
-            if (content != null && content.length() > 0 && content.charAt(0) == '\uFEFF')
+            else if (line <= lines.getLineCount())
             {
-                content = content.substring(1);
+                offset = lines.getLineStart(line);
             }
-
-            if (content == null)
-            {
-                return null;
-            }
-
-            // Calculate offset using actual line terminators from the file content
-            int offset = 0;
-            int currentLine = 1;
-            for (int i = 0; i < content.length() && currentLine < line; i++)
+            else
             {
-                char ch = content.charAt(i);
-                if (ch == '\r')
-                {
-                    currentLine++;
-                    // Skip \n after \r (CRLF)
-                    if (i + 1 < content.length() && content.charAt(i + 1) == '\n')
-                    {
-                        i++;
-                    }
-                }
-                else if (ch == '\n')
-                {
-                    currentLine++;
-                }
-                offset = i + 1;
+                offset = lines.getText().length();
             }
             offset += Math.max(0, column - 1);
 
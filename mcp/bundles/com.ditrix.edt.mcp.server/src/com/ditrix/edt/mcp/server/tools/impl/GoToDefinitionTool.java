@@ -26,6 +26,8 @@ import com._1c.g5.v8.dt.metadata.mdclass.CommonModule;
 import com._1c.g5.v8.dt.metadata.mdclass.Configuration;
 import com._1c.g5.v8.dt.metadata.mdclass.MdObject;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.MethodSymbol;
+import com.ditrix.edt.mcp.server.index.MethodSymbolIndex;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
@@ -39,6 +41,10 @@ import com.ditrix.edt.mcp.server.utils.MetadataTypeUtils;
  *
  * This is the semantic "Go to Definition" — the inverse of find_references.
  * Instead of finding all usages, it finds where a symbol is defined.
+ *
+ * Method lookups are answered from {@link MethodSymbolIndex} when the project index
+ * is ready; the EMF-based resolution on the UI thread is used for metadata objects
+ * and as a fallback.
  */
 public class GoToDefinitionTool implements IMcpTool
 {
@@ -66,10 +72,11 @@ public class GoToDefinitionTool implements IMcpTool
             .stringProperty("projectName", //$NON-NLS-1$
                 "EDT project name", true) //$NON-NLS-1$
             .stringProperty("symbol", //$NON-NLS-1$
-                "Formats: 'ModuleName.MethodName', 'MethodName' (needs modulePath), " + //$NON-NLS-1$
+                "Formats: 'ModuleName.MethodName', 'MethodName' (searched in modulePath, " + //$NON-NLS-1$
+                "or project-wide when modulePath is omitted), " + //$NON-NLS-1$
                 "'Catalog.Products' (metadata FQN). Russian type names supported.", true) //$NON-NLS-1$
             .stringProperty("modulePath", //$NON-NLS-1$
-                "Module path from src/. Required for unqualified method names.") //$NON-NLS-1$
+                "Module path from src/ to resolve an unqualified method name in.") //$NON-NLS-1$
             .booleanProperty("includeSource", //$NON-NLS-1$
                 "Include source code (default: true)") //$NON-NLS-1$
             .build();
@@ -112,6 +119,20 @@ public class GoToDefinitionTool implements IMcpTool
 
         boolean includeSource = !"false".equalsIgnoreCase(includeSourceStr); //$NON-NLS-1$
 
+        // Fast path: method lookups from the symbol index, no module loading and no UI thread
+        try
+        {
+            String indexed = resolveFromIndex(projectName, symbol, modulePath, includeSource);
+            if (indexed != null)
+            {
+                return indexed;
+            }
+        }
+        catch (Exception e)
+        {
+            Activator.logError("Error resolving definition from index", e); //$NON-NLS-1$
+        }
+
         // Execute on UI thread (required for EDT API access)
         AtomicReference<String> resultRef = new AtomicReference<>();
 
@@ -164,6 +185,111 @@ public class GoToDefinitionTool implements IMcpTool
         }
     }
 
+    /**
+     * Resolves method symbols from {@link MethodSymbolIndex}.
+     *
+     * @return formatted result, or null if the index cannot answer (not ready,
+     *         unknown module, metadata FQN) and regular resolution must be used
+     */
+    private String resolveFromIndex(String projectName, String symbol, String modulePath, boolean includeSource)
+    {
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return null;
+        }
+
+        MethodSymbolIndex index = MethodSymbolIndex.getInstance();
+        String[] parts = MetadataTypeUtils.normalizeFqn(symbol).split("\\.", 2); //$NON-NLS-1$
+        if (parts.length == 2)
+        {
+            String cmModulePath = "CommonModules/" + parts[0] + "/Module.bsl"; //$NON-NLS-1$ //$NON-NLS-2$
+            List<MethodSymbol> methods = index.getModuleMethods(project, cmModulePath);
+            if (methods == null)
+            {
+                return null;
+            }
+            return formatIndexedMethod(project, projectName, methods, cmModulePath, parts[1], includeSource);
+        }
+
+        if (modulePath != null && !modulePath.isEmpty())
+        {
+            List<MethodSymbol> methods = index.getModuleMethods(project, modulePath);
+            if (methods == null)
+            {
+                return null;
+            }
+            return formatIndexedMethod(project, projectName, methods, modulePath, symbol, includeSource);
+        }
+
+        List<MethodSymbol> candidates = index.findMethods(project, symbol);
+        if (candidates == null)
+        {
+            return null;
+        }
+        if (candidates.isEmpty())
+        {
+            return "Error: Method '" + symbol + "' is not defined in any module of " + projectName + ". " + //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                   "For metadata objects use the 'Type.Name' form (e.g. 'Catalog.Products')."; //$NON-NLS-1$
+        }
+        if (candidates.size() == 1)
+        {
+            MethodSymbol method = candidates.get(0);
+            return formatDefinition(project, projectName, method.getModulePath(), method.getName(),
+                method.isFunction(), method.isExport(), method.getStartLine(), method.getEndLine(),
+                includeSource, commonModuleName(method.getModulePath()), null);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Method '").append(symbol).append("' is defined in ").append(candidates.size()) //$NON-NLS-1$ //$NON-NLS-2$
+          .append(" modules. Specify modulePath or use 'ModuleName.MethodName':\n\n"); //$NON-NLS-1$
+        for (MethodSymbol method : candidates)
+        {
+            sb.append("- ").append(method.getModulePath()).append(':').append(method.getStartLine()) //$NON-NLS-1$
+              .append(" `").append(method.getSignature()).append("`\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats an indexed method of a module, or the not-found response listing the module methods.
+     */
+    private String formatIndexedMethod(IProject project, String projectName, List<MethodSymbol> methods,
+                                        String requestedPath, String methodName, boolean includeSource)
+    {
+        for (MethodSymbol method : methods)
+        {
+            if (method.getName().equalsIgnoreCase(methodName))
+            {
+                return formatDefinition(project, projectName, method.getModulePath(), method.getName(),
+                    method.isFunction(), method.isExport(), method.getStartLine(), method.getEndLine(),
+                    includeSource, commonModuleName(method.getModulePath()), null);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Error: Method '").append(methodName).append("' not found in ").append(requestedPath).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        sb.append("**Available methods** (").append(methods.size()).append("):\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (MethodSymbol method : methods)
+        {
+            sb.append("- ").append(method.getName()).append("\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the common module name for a "CommonModules/Name/Module.bsl" path, otherwise null.
+     */
+    private static String commonModuleName(String modulePath)
+    {
+        String[] segments = modulePath.split("/"); //$NON-NLS-1$
+        if (segments.length == 3 && "CommonModules".equals(segments[0])) //$NON-NLS-1$
+        {
+            return segments[1];
+        }
+        return null;
+    }
+
     /**
      * Resolves a two-part symbol like "CommonModuleName.MethodName" or "Catalog.Products".
      *
@@ -256,9 +382,21 @@ public class GoToDefinitionTool implements IMcpTool
     private String formatMethodDefinition(IProject project, String projectName, String modulePath,
                                            Method method, boolean includeSource, String qualifiedPrefix)
     {
-        int startLine = BslModuleUtils.getStartLine(method);
-        int endLine = BslModuleUtils.getEndLine(method);
-        String typeStr = method instanceof Function ? "Function" : "Procedure"; //$NON-NLS-1$ //$NON-NLS-2$
+        return formatDefinition(project, projectName, modulePath, method.getName(), method instanceof Function,
+            method.isExport(), BslModuleUtils.getStartLine(method), BslModuleUtils.getEndLine(method),
+            includeSource, qualifiedPrefix, method);
+    }
+
+    /**
+     * Formats a method definition from its location.
+     *
+     * @param method EMF method used as source fallback when the file cannot be read, may be null
+     */
+    private String formatDefinition(IProject project, String projectName, String modulePath, String methodName,
+                                     boolean isFunction, boolean isExport, int startLine, int endLine,
+                                     boolean includeSource, String qualifiedPrefix, Method method)
+    {
+        String typeStr = isFunction ? "Function" : "Procedure"; //$NON-NLS-1$ //$NON-NLS-2$
 
         // Read source from file
         IFile file = project.getFile(new Path("src").append(modulePath)); //$NON-NLS-1$
@@ -289,9 +427,9 @@ public class GoToDefinitionTool implements IMcpTool
         FrontMatter fm = FrontMatter.create()
             .put("projectName", projectName) //$NON-NLS-1$
             .put("module", modulePath) //$NON-NLS-1$
-            .put("method", method.getName()) //$NON-NLS-1$
+            .put("method", methodName) //$NON-NLS-1$
             .put("type", typeStr) //$NON-NLS-1$
-            .put("export", method.isExport()) //$NON-NLS-1$
+            .put("export", isExport) //$NON-NLS-1$
             .put("startLine", from) //$NON-NLS-1$
             .put("endLine", to); //$NON-NLS-1$
 
@@ -307,7 +445,7 @@ public class GoToDefinitionTool implements IMcpTool
 
         if (qualifiedPrefix != null)
         {
-            fm.put("qualifiedName", qualifiedPrefix + "." + method.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+            fm.put("qualifiedName", qualifiedPrefix + "." + methodName); //$NON-NLS-1$ //$NON-NLS-2$
         }
 
         StringBuilder sb = new StringBuilder();
@@ -322,7 +460,7 @@ public class GoToDefinitionTool implements IMcpTool
                 }
                 sb.append("```\n"); //$NON-NLS-1$
             }
-            else
+            else if (method != null)
             {
                 // Fallback: use EMF getText()
                 String sourceText = BslModuleUtils.getSourceText(method);
@@ -537,6 +675,12 @@ public class GoToDefinitionTool implements IMcpTool
      */
     private List<String> collectAvailableBslModules(IProject project, String basePath)
     {
+        List<String> indexed = MethodSymbolIndex.getInstance().getModulePaths(project, basePath + "/"); //$NON-NLS-1$
+        if (indexed != null)
+        {
+            return indexed;
+        }
+
         List<String> modules = new ArrayList<>();
         org.eclipse.core.resources.IContainer folder = project.getFolder(new Path("src").append(basePath)); //$NON-NLS-1$
         if (!folder.exists())
@@ -7,8 +7,11 @@
 package com.ditrix.edt.mcp.server.tools.impl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 
@@ -23,6 +26,8 @@ import com._1c.g5.v8.dt.bsl.model.Function;
 import com._1c.g5.v8.dt.bsl.model.Method;
 import com._1c.g5.v8.dt.bsl.model.Module;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.BslMethodParser;
+import com.ditrix.edt.mcp.server.index.MethodSymbol;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
@@ -31,11 +36,18 @@ import com.ditrix.edt.mcp.server.utils.FrontMatter;
 /**
  * Tool to read a specific procedure/function from a BSL module.
  * Instead of reading 60,000 lines, reads only the needed 50.
+ * In batch mode reads many methods at once: each module is read and parsed
+ * once, and modules are processed in parallel.
  */
 public class ReadMethodSourceTool implements IMcpTool
 {
     public static final String NAME = "read_method_source"; //$NON-NLS-1$
 
+    /** Separator between module path and method name in batch entries */
+    private static final String METHOD_SEPARATOR = "::"; //$NON-NLS-1$
+
+    private static final int MAX_BATCH_SIZE = 100;
+
     @Override
     public String getName()
     {
@@ -46,7 +58,8 @@ public class ReadMethodSourceTool implements IMcpTool
     public String getDescription()
     {
         return "Read a specific procedure/function from a BSL module by name. " + //$NON-NLS-1$
-               "Returns source code with metadata. Lists available methods if not found."; //$NON-NLS-1$
+               "Returns source code with metadata. Lists available methods if not found. " + //$NON-NLS-1$
+               "Pass 'methods' to read many methods from one or more modules in one call."; //$NON-NLS-1$
     }
 
     @Override
@@ -56,9 +69,13 @@ public class ReadMethodSourceTool implements IMcpTool
             .stringProperty("projectName", //$NON-NLS-1$
                 "EDT project name", true) //$NON-NLS-1$
             .stringProperty("modulePath", //$NON-NLS-1$
-                "Path from src/, e.g. 'CommonModules/MyModule/Module.bsl'", true) //$NON-NLS-1$
+                "Path from src/, e.g. 'CommonModules/MyModule/Module.bsl'. " + //$NON-NLS-1$
+                "Required unless every 'methods' entry names its module") //$NON-NLS-1$
             .stringProperty("methodName", //$NON-NLS-1$
-                "Procedure/function name (case-insensitive)", true) //$NON-NLS-1$
+                "Procedure/function name (case-insensitive). Required unless 'methods' is given") //$NON-NLS-1$
+            .stringArrayProperty("methods", //$NON-NLS-1$
+                "Batch mode: methods to read, each 'ModulePath::MethodName' or just 'MethodName' " + //$NON-NLS-1$
+                "for a method of modulePath (max 100)") //$NON-NLS-1$
             .build();
     }
 
@@ -85,11 +102,16 @@ public class ReadMethodSourceTool implements IMcpTool
         String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
         String modulePath = JsonUtils.extractStringArgument(params, "modulePath"); //$NON-NLS-1$
         String methodName = JsonUtils.extractStringArgument(params, "methodName"); //$NON-NLS-1$
+        List<String> methods = JsonUtils.extractArrayArgument(params, "methods"); //$NON-NLS-1$
 
         if (projectName == null || projectName.isEmpty())
         {
             return "Error: projectName is required"; //$NON-NLS-1$
         }
+        if (methods != null && !methods.isEmpty())
+        {
+            return readMethodsBatch(projectName, modulePath, methods);
+        }
         if (modulePath == null || modulePath.isEmpty())
         {
             return "Error: modulePath is required"; //$NON-NLS-1$
@@ -345,6 +367,147 @@ public class ReadMethodSourceTool implements IMcpTool
         }
     }
 
+    /**
+     * Batch mode: reads many methods grouped by module. Each module is read once through
+     * the shared file cache and parsed once with {@link BslMethodParser}; modules are
+     * processed in parallel. The EMF model is not used, so no UI thread access is needed.
+     */
+    private String readMethodsBatch(String projectName, String defaultModulePath, List<String> methods)
+    {
+        if (methods.size() > MAX_BATCH_SIZE)
+        {
+            return "Error: Too many methods: " + methods.size() + " (max " + MAX_BATCH_SIZE + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return "Error: Project not found: " + projectName; //$NON-NLS-1$
+        }
+
+        // Module path -> requested method names, in request order
+        Map<String, List<String>> byModule = new LinkedHashMap<>();
+        for (String entry : methods)
+        {
+            int separator = entry.lastIndexOf(METHOD_SEPARATOR);
+            String path = separator >= 0 ? entry.substring(0, separator).trim() : defaultModulePath;
+            String name = separator >= 0 ? entry.substring(separator + METHOD_SEPARATOR.length()).trim() : entry.trim();
+            if (path == null || path.isEmpty())
+            {
+                return "Error: modulePath is required for method '" + name //$NON-NLS-1$
+                    + "' (use 'ModulePath::MethodName' or pass modulePath)"; //$NON-NLS-1$
+            }
+            if (name.isEmpty())
+            {
+                return "Error: Method name is missing in '" + entry + "'"; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            byModule.computeIfAbsent(path, k -> new ArrayList<>()).add(name);
+        }
+
+        Map<String, String> sections = new ConcurrentHashMap<>();
+        AtomicInteger found = new AtomicInteger();
+        byModule.entrySet().parallelStream().forEach(group -> sections.put(group.getKey(),
+            readModuleMethods(project, group.getKey(), group.getValue(), found)));
+
+        FrontMatter fm = FrontMatter.create()
+            .put("projectName", projectName) //$NON-NLS-1$
+            .put("requested", methods.size()) //$NON-NLS-1$
+            .put("found", found.get()) //$NON-NLS-1$
+            .put("modules", byModule.size()); //$NON-NLS-1$
+
+        StringBuilder sb = new StringBuilder();
+        for (String path : byModule.keySet())
+        {
+            sb.append(sections.get(path));
+        }
+        return fm.wrapContent(sb.toString());
+    }
+
+    /**
+     * Reads the requested methods of one module.
+     *
+     * @return markdown sections, one per requested method
+     */
+    private String readModuleMethods(IProject project, String modulePath, List<String> methodNames,
+        AtomicInteger found)
+    {
+        StringBuilder sb = new StringBuilder();
+        IFile file = project.getFile(new Path("src").append(modulePath)); //$NON-NLS-1$
+        List<String> allLines;
+        try
+        {
+            allLines = file.exists() ? BslModuleUtils.readFileLines(file) : null;
+        }
+        catch (Exception e)
+        {
+            Activator.logWarning("read_method_source: failed to read " + modulePath + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            allLines = null;
+        }
+        if (allLines == null)
+        {
+            for (String methodName : methodNames)
+            {
+                sb.append("## ").append(modulePath).append(" :: ").append(methodName).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                sb.append("Error: File not found or not readable: src/").append(modulePath).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            return sb.toString();
+        }
+
+        BslMethodParser parser = new BslMethodParser(modulePath);
+        for (int i = 0; i < allLines.size(); i++)
+        {
+            String line = allLines.get(i);
+            parser.visit(line, 0, line.length(), i + 1);
+        }
+        List<MethodSymbol> symbols = parser.finish();
+
+        for (String methodName : methodNames)
+        {
+            MethodSymbol method = null;
+            for (MethodSymbol symbol : symbols)
+            {
+                if (symbol.getName().equalsIgnoreCase(methodName))
+                {
+                    method = symbol;
+                    break;
+                }
+            }
+
+            sb.append("## ").append(modulePath).append(" :: ") //$NON-NLS-1$ //$NON-NLS-2$
+                .append(method != null ? method.getName() : methodName).append("\n\n"); //$NON-NLS-1$
+            if (method == null)
+            {
+                sb.append("Error: Method '").append(methodName).append("' not found. Available methods: "); //$NON-NLS-1$ //$NON-NLS-2$
+                for (int i = 0; i < symbols.size(); i++)
+                {
+                    sb.append(i > 0 ? ", " : "").append(symbols.get(i).getName()); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+                sb.append("\n\n"); //$NON-NLS-1$
+                continue;
+            }
+            found.incrementAndGet();
+
+            int from = Math.max(1, findDocCommentStart(allLines, method.getStartLine()));
+            int to = Math.min(allLines.size(), method.getEndLine());
+            String region = BslModuleUtils.findRegionForLine(allLines, method.getStartLine());
+
+            sb.append("**Type:** ").append(method.isFunction() ? "Function" : "Procedure"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sb.append(" | **Export:** ").append(method.isExport()); //$NON-NLS-1$
+            sb.append(" | **Lines:** ").append(from).append('-').append(to); //$NON-NLS-1$
+            if (region != null)
+            {
+                sb.append(" | **Region:** ").append(region); //$NON-NLS-1$
+            }
+            sb.append("\n\n```bsl\n"); //$NON-NLS-1$
+            for (int i = from - 1; i < to; i++)
+            {
+                sb.append(allLines.get(i)).append('\n');
+            }
+            sb.append("```\n\n"); //$NON-NLS-1$
+        }
+        return sb.toString();
+    }
+
     // ========== Helper methods ==========
 
     /**
@@ -6,7 +6,9 @@
 
 package com.ditrix.edt.mcp.server.tools.impl;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.Map;
 
 import org.eclipse.core.resources.IFile;
@@ -14,6 +16,9 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Path;
 
+import com.ditrix.edt.mcp.server.index.ByteLineTable;
+import com.ditrix.edt.mcp.server.index.LineIndex;
+import com.ditrix.edt.mcp.server.index.LineIndexCache;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
@@ -21,6 +26,8 @@ import com.ditrix.edt.mcp.server.tools.IMcpTool;
 /**
  * Tool to read BSL module source code (whole file or line range).
  * Supports reading with line numbers, range extraction, and large file protection.
+ * Ranges are read through a cached byte line table, so only the requested part of
+ * the file is read and decoded; longer modules are read page by page.
  */
 public class ReadModuleSourceTool implements IMcpTool
 {
@@ -29,6 +36,9 @@ public class ReadModuleSourceTool implements IMcpTool
     /** Maximum lines to return in a single call */
     private static final int MAX_LINES = 5000;
 
+    /** Length of the range hash in hex characters */
+    private static final int HASH_LENGTH = 16;
+
     @Override
     public String getName()
     {
@@ -40,7 +50,9 @@ public class ReadModuleSourceTool implements IMcpTool
     {
         return "Read BSL module source code from EDT project. " + //$NON-NLS-1$
                "Returns source with line numbers. Supports reading full file or a specific line range. " + //$NON-NLS-1$
-               "Max 5000 lines per call."; //$NON-NLS-1$
+               "Max 5000 lines per call; longer modules are paged with startLine. " + //$NON-NLS-1$
+               "Each response includes a hash of the returned range; pass it back as knownHash " + //$NON-NLS-1$
+               "to skip re-reading an unchanged range."; //$NON-NLS-1$
     }
 
     @Override
@@ -56,6 +68,9 @@ public class ReadModuleSourceTool implements IMcpTool
                 "Start line number (1-based, inclusive). If omitted, reads from beginning.") //$NON-NLS-1$
             .integerProperty("endLine", //$NON-NLS-1$
                 "End line number (1-based, inclusive). If omitted, reads to end.") //$NON-NLS-1$
+            .stringProperty("knownHash", //$NON-NLS-1$
+                "Hash from a previous read of the same range. If the range is unchanged, " + //$NON-NLS-1$
+                "only a short confirmation is returned instead of the source.") //$NON-NLS-1$
             .build();
     }
 
@@ -84,6 +99,7 @@ public class ReadModuleSourceTool implements IMcpTool
         String modulePath = JsonUtils.extractStringArgument(params, "modulePath"); //$NON-NLS-1$
         int startLine = JsonUtils.extractIntArgument(params, "startLine", -1); //$NON-NLS-1$
         int endLine = JsonUtils.extractIntArgument(params, "endLine", -1); //$NON-NLS-1$
+        String knownHash = JsonUtils.extractStringArgument(params, "knownHash"); //$NON-NLS-1$
 
         // Validate required parameters
         if (projectName == null || projectName.isEmpty())
@@ -113,10 +129,11 @@ public class ReadModuleSourceTool implements IMcpTool
 
         try
         {
-            // Read file content with UTF-8 BOM detection
-            List<String> allLines = BslModuleUtils.readFileLines(file);
+            // Line table of the file; falls back to the decoded text for unsupported charsets
+            ByteLineTable table = LineIndexCache.getInstance().getByteLineTable(file);
+            LineIndex lines = table == null ? LineIndexCache.getInstance().get(file) : null;
 
-            int totalLines = allLines.size();
+            int totalLines = table != null ? table.getLineCount() : lines.getLineCount();
 
             // Handle empty file
             if (totalLines == 0)
@@ -145,6 +162,12 @@ public class ReadModuleSourceTool implements IMcpTool
                 truncated = true;
             }
 
+            // Read only the requested range
+            String rangeText = table != null
+                ? table.readLines(file.getLocation().toFile().toPath(), from, to)
+                : lines.getLines(from, to);
+            String hash = hash(rangeText);
+
             // Build output
             StringBuilder sb = new StringBuilder();
             sb.append("## ").append(modulePath).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
@@ -154,15 +177,33 @@ public class ReadModuleSourceTool implements IMcpTool
             {
                 sb.append(" (truncated to ").append(MAX_LINES).append(" lines)"); //$NON-NLS-1$ //$NON-NLS-2$
             }
-            sb.append("\n\n"); //$NON-NLS-1$
+            sb.append(" | **Hash:** ").append(hash).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+            if (hash.equalsIgnoreCase(knownHash))
+            {
+                sb.append("Range is unchanged since the read with this hash.\n"); //$NON-NLS-1$
+                return sb.toString();
+            }
 
             sb.append("```bsl\n"); //$NON-NLS-1$
-            for (int i = from - 1; i < to; i++)
+            LineIndex range = LineIndex.of(rangeText);
+            for (int i = 1; i <= to - from + 1; i++)
             {
-                sb.append(String.format("%d: %s\n", i + 1, allLines.get(i))); //$NON-NLS-1$
+                // An empty last line of the range has no entry in the range index
+                sb.append(from + i - 1).append(": "); //$NON-NLS-1$
+                if (i <= range.getLineCount())
+                {
+                    sb.append(rangeText, range.getLineStart(i), range.getLineEnd(i));
+                }
+                sb.append('\n');
             }
             sb.append("```\n"); //$NON-NLS-1$
 
+            if (truncated)
+            {
+                sb.append("\n**Next page:** startLine=").append(to + 1).append("\n"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
             return sb.toString();
         }
         catch (Exception e)
@@ -170,4 +211,14 @@ public class ReadModuleSourceTool implements IMcpTool
             return "Error reading file: " + e.getMessage(); //$NON-NLS-1$
         }
     }
+
+    /**
+     * Returns a short hex hash of the range text. Write tools report hashes computed
+     * the same way, so they can be passed back as knownHash.
+     */
+    static String hash(String text) throws Exception
+    {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+        return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+    }
 }
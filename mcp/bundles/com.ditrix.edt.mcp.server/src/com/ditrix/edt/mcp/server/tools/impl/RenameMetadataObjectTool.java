@@ -50,6 +50,10 @@ import com._1c.g5.v8.dt.refactoring.core.IRefactoringItem;
 import com._1c.g5.v8.dt.refactoring.core.IRefactoringProblem;
 import com._1c.g5.v8.dt.refactoring.core.RefactoringStatus;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.DirtyObjectTracker;
+import com.ditrix.edt.mcp.server.index.ReferenceCache;
+import com.ditrix.edt.mcp.server.index.LineIndex;
+import com.ditrix.edt.mcp.server.index.LineIndexCache;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
@@ -240,7 +244,9 @@ public class RenameMetadataObjectTool implements IMcpTool
         else
         {
             // Execute mode - perform the rename, applying any disabled indices
-            return performRename(objectFqn, newName, refactorings, disableIndices);
+            String result = performRename(projectName, objectFqn, newName, refactorings, disableIndices);
+            ReferenceCache.getInstance().invalidate(project);
+            return result;
         }
     }
 
@@ -572,11 +578,12 @@ public class RenameMetadataObjectTool implements IMcpTool
                         List<TextEdit> leafEdits = getLeafEdits(edit);
                         if (!leafEdits.isEmpty())
                         {
+                            LineIndex lines = LineIndex.of(content);
                             for (TextEdit leafEdit : leafEdits)
                             {
-                                int matchedLineNumber = computeLineNumber(content, leafEdit.getOffset());
-                                int matchedColumnNumber = computeColumnNumber(content, leafEdit.getOffset());
-                                String matchedCodeContext = extractContext(content, matchedLineNumber);
+                                int matchedLineNumber = lines.getLineOfOffset(leafEdit.getOffset());
+                                int matchedColumnNumber = lines.getColumnOfOffset(leafEdit.getOffset());
+                                String matchedCodeContext = extractContext(lines, matchedLineNumber);
                                 String matchedMethodName = null;
                                 if (bmObj instanceof Module module)
                                 {
@@ -584,7 +591,7 @@ public class RenameMetadataObjectTool implements IMcpTool
                                 }
                                 if (matchedMethodName == null)
                                 {
-                                    matchedMethodName = findContainingMethodText(content, matchedLineNumber);
+                                    matchedMethodName = findContainingMethodText(lines, matchedLineNumber);
                                 }
                                 result.add(new ChangePoint(
                                     indexCounter[0]++, "bslRef", fqn, project, //$NON-NLS-1$
@@ -613,9 +620,9 @@ public class RenameMetadataObjectTool implements IMcpTool
                         {
                             fqn = resolvedFqn;
                         }
-                        String content = BslModuleUtils.readFileText(file);
+                        LineIndex lines = LineIndexCache.getInstance().get(file);
                         TextEdit edit = getChangeEdit(change);
-                        if (content != null && !content.isEmpty() && edit != null)
+                        if (lines.getLineCount() > 0 && edit != null)
                         {
                             List<TextEdit> leafEdits = getLeafEdits(edit);
                             if (!leafEdits.isEmpty())
@@ -623,9 +630,9 @@ public class RenameMetadataObjectTool implements IMcpTool
                                 Module module = BslModuleUtils.loadModule(file.getProject(), BslModuleUtils.extractModulePath(file.getFullPath().toString()));
                                 for (TextEdit leafEdit : leafEdits)
                                 {
-                                    int matchedLineNumber = computeLineNumber(content, leafEdit.getOffset());
-                                    int matchedColumnNumber = computeColumnNumber(content, leafEdit.getOffset());
-                                    String matchedCodeContext = extractContext(content, matchedLineNumber);
+                                    int matchedLineNumber = lines.getLineOfOffset(leafEdit.getOffset());
+                                    int matchedColumnNumber = lines.getColumnOfOffset(leafEdit.getOffset());
+                                    String matchedCodeContext = extractContext(lines, matchedLineNumber);
                                     String matchedMethodName = null;
                                     if (module != null)
                                     {
@@ -633,7 +640,7 @@ public class RenameMetadataObjectTool implements IMcpTool
                                     }
                                     if (matchedMethodName == null)
                                     {
-                                        matchedMethodName = findContainingMethodText(content, matchedLineNumber);
+                                        matchedMethodName = findContainingMethodText(lines, matchedLineNumber);
                                     }
                                     result.add(new ChangePoint(
                                         indexCounter[0]++, "bslRef", fqn, project, //$NON-NLS-1$
@@ -910,10 +917,10 @@ public class RenameMetadataObjectTool implements IMcpTool
             int lineNumber = ((Number) invokeNoArg(match, "getLineNumber")).intValue(); //$NON-NLS-1$
             String fqn = getBslFqn(file);
             String project = file.getProject().getName();
-            String content = BslModuleUtils.readFileText(file);
+            LineIndex lines = LineIndexCache.getInstance().get(file);
             int fileOffset = ((Number) invokeNoArg(match, "getFileOffset")).intValue(); //$NON-NLS-1$
-            int columnNumber = computeColumnNumber(content, fileOffset);
-            String codeContext = extractContext(content, lineNumber);
+            int columnNumber = lines.getColumnOfOffset(fileOffset);
+            String codeContext = extractContext(lines, lineNumber);
             String methodName = null;
             Module module = BslModuleUtils.loadModule(file.getProject(), BslModuleUtils.extractModulePath(file.getFullPath().toString()));
             if (module != null)
@@ -922,7 +929,7 @@ public class RenameMetadataObjectTool implements IMcpTool
             }
             if (methodName == null)
             {
-                methodName = findContainingMethodText(content, lineNumber);
+                methodName = findContainingMethodText(lines, lineNumber);
             }
             return new ExactMatchInfo(file.getFullPath().toString(), fileOffset, lineNumber, columnNumber,
                 codeContext, methodName, fqn, project);
@@ -955,11 +962,12 @@ public class RenameMetadataObjectTool implements IMcpTool
                 return null;
             }
             int textOffset = ((Number) invokeNoArg(match, "getTextOffset")).intValue(); //$NON-NLS-1$
-            int lineNumber = computeLineNumber(content, textOffset);
-            int columnNumber = computeColumnNumber(content, textOffset);
+            LineIndex lines = LineIndex.of(content);
+            int lineNumber = lines.getLineOfOffset(textOffset);
+            int columnNumber = lines.getColumnOfOffset(textOffset);
             String project = object instanceof IBmObject bmObject ? bmObject.bmGetEngine().getId() : null;
             String fqn = object instanceof IBmObject bmObject ? bmObject.bmGetTopObject().bmGetFqn() : null;
-            return new ExactMatchInfo(null, textOffset, lineNumber, columnNumber, extractContext(content, lineNumber),
+            return new ExactMatchInfo(null, textOffset, lineNumber, columnNumber, extractContext(lines, lineNumber),
                 null, fqn, project);
         }
         catch (Exception e)
@@ -1436,39 +1444,17 @@ public class RenameMetadataObjectTool implements IMcpTool
         return topLevelType != null ? topLevelType + "." + objectName : null; //$NON-NLS-1$
     }
 
-    private static int computeLineNumber(String content, int offset)
+    private static String extractContext(LineIndex lines, int lineNumber)
     {
-        int line = 1;
-        for (int i = 0; i < offset && i < content.length(); i++)
-        {
-            if (content.charAt(i) == '\n')
-                line++;
-        }
-        return line;
-    }
-
-    private static int computeColumnNumber(String content, int offset)
-    {
-        int normalizedOffset = Math.max(0, Math.min(offset, content.length()));
-        int lastLineBreak = Math.max(content.lastIndexOf('\n', normalizedOffset - 1),
-            content.lastIndexOf('\r', normalizedOffset - 1));
-        return normalizedOffset - lastLineBreak;
-    }
-
-    private static String extractContext(String content, int lineNumber)
-    {
-        String[] lines = content.split("\n", -1); //$NON-NLS-1$
-        if (lineNumber < 1 || lineNumber > lines.length)
+        if (lineNumber < 1 || lineNumber > lines.getLineCount())
             return null;
-        int lineIdx = lineNumber - 1;
-        int startIdx = Math.max(0, lineIdx - 3);
-        int endIdx = Math.min(lines.length - 1, lineIdx + 3);
+        int startLine = Math.max(1, lineNumber - 3);
+        int endLine = Math.min(lines.getLineCount(), lineNumber + 3);
         StringBuilder sb = new StringBuilder();
-        for (int i = startIdx; i <= endIdx; i++)
+        for (int i = startLine; i <= endLine; i++)
         {
-            String prefix = (i == lineIdx) ? ">>>" : "   "; //$NON-NLS-1$ //$NON-NLS-2$
-            sb.append(String.format("%4d: %s %s\n", i + 1, prefix, //$NON-NLS-1$
-                lines[i].replace("\r", ""))); //$NON-NLS-1$ //$NON-NLS-2$
+            String prefix = (i == lineNumber) ? ">>>" : "   "; //$NON-NLS-1$ //$NON-NLS-2$
+            sb.append(String.format("%4d: %s %s\n", i, prefix, lines.getLine(i))); //$NON-NLS-1$
         }
         return sb.toString();
     }
@@ -1489,22 +1475,20 @@ public class RenameMetadataObjectTool implements IMcpTool
     }
 
     /** Fallback: regex-based method search using BslModuleUtils patterns. */
-    private static String findContainingMethodText(String content, int lineNumber)
+    private static String findContainingMethodText(LineIndex lines, int lineNumber)
     {
-        String[] lines = content.split("\n", -1); //$NON-NLS-1$
-        if (lineNumber < 1 || lineNumber > lines.length)
+        if (lineNumber < 1 || lineNumber > lines.getLineCount())
             return null;
-        int lineIdx = lineNumber - 1;
-        for (int i = lineIdx - 1; i >= 0; i--)
+        for (int i = lineNumber - 1; i >= 1; i--)
         {
-            String trimmed = lines[i].trim().replace("\r", ""); //$NON-NLS-1$ //$NON-NLS-2$
+            String trimmed = lines.getLine(i).trim();
             if (BslModuleUtils.METHOD_START_PATTERN.matcher(trimmed).find())
             {
                 StringBuilder method = new StringBuilder();
                 int k = i - 1;
-                while (k >= 0 && lines[k].trim().startsWith("&")) //$NON-NLS-1$
+                while (k >= 1 && lines.getLine(k).trim().startsWith("&")) //$NON-NLS-1$
                 {
-                    method.insert(0, lines[k].trim() + " "); //$NON-NLS-1$
+                    method.insert(0, lines.getLine(k).trim() + " "); //$NON-NLS-1$
                     k--;
                 }
                 method.append(trimmed);
@@ -1518,7 +1502,7 @@ public class RenameMetadataObjectTool implements IMcpTool
 
 
 
-    private String performRename(String objectFqn, String newName,
+    private String performRename(String projectName, String objectFqn, String newName,
         Collection<IRefactoring> refactorings, java.util.Set<Integer> disableIndices)
     {
         // Apply disableIndices by traversing items and their native changes
@@ -1571,6 +1555,14 @@ public class RenameMetadataObjectTool implements IMcpTool
             }
         }
 
+        if (!performed.isEmpty())
+        {
+            // A renamed top-level object is validated under its new name
+            String[] segments = objectFqn.split("\\."); //$NON-NLS-1$
+            DirtyObjectTracker.getInstance().markObject(projectName,
+                segments.length == 2 ? segments[0] + '.' + newName : objectFqn);
+        }
+
         StringBuilder sb = new StringBuilder();
         sb.append("---\n"); //$NON-NLS-1$
         sb.append("action: executed\n"); //$NON-NLS-1$
@@ -11,6 +11,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -29,6 +32,7 @@ import com._1c.g5.v8.dt.core.platform.IBmModelManager;
 import com._1c.g5.v8.dt.core.platform.IDtProject;
 import com._1c.g5.v8.dt.core.platform.IDtProjectManager;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.DirtyObjectTracker;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.protocol.ToolResult;
@@ -49,11 +53,19 @@ import com.google.gson.JsonParser;
  * 2. Find objects by FQN
  * 3. Schedule validation for those objects
  * 4. Wait for validation to complete
+ *
+ * <p>In dirty mode the objects are taken from {@link DirtyObjectTracker}: the
+ * top-level objects changed through MCP write tools since their last validation.
+ * Concurrent dirty requests for a project join the running validation instead
+ * of scheduling their own.
  */
 public class RevalidateObjectsTool implements IMcpTool
 {
     public static final String NAME = "revalidate_objects"; //$NON-NLS-1$
     
+    /** Project name -> dirty revalidation in progress, joined by concurrent dirty requests */
+    private static final Map<String, CompletableFuture<String>> DIRTY_RUNS = new ConcurrentHashMap<>();
+    
     @Override
     public String getName()
     {
@@ -65,6 +77,7 @@ public class RevalidateObjectsTool implements IMcpTool
     {
         return "Revalidate EDT project or specific objects. " + //$NON-NLS-1$
                "If objects array is empty or missing, revalidates entire project. " + //$NON-NLS-1$
+               "With dirty=true, revalidates only the objects changed through MCP write tools since their last validation. " + //$NON-NLS-1$
                "FQN examples: 'Document.SalesOrder', 'Catalog.Products', 'CommonModule.Common'. " + //$NON-NLS-1$
                "Russian type names are also supported (e.g. 'Документ.ПриходнаяНакладная', 'Справочник.Номенклатура')."; //$NON-NLS-1$
     }
@@ -75,6 +88,7 @@ public class RevalidateObjectsTool implements IMcpTool
         return JsonSchemaBuilder.object()
             .stringProperty("projectName", "EDT project name (required)", true) //$NON-NLS-1$ //$NON-NLS-2$
             .stringArrayProperty("objects", "FQNs to revalidate (e.g. ['Document.SalesOrder']). Russian type names supported (e.g. 'Документ.ПродажаТоваров'). Empty array = full project revalidation") //$NON-NLS-1$ //$NON-NLS-2$
+            .booleanProperty("dirty", "Revalidate the objects changed through MCP write tools since their last validation; objects is ignored (default: false)") //$NON-NLS-1$ //$NON-NLS-2$
             .build();
     }
     
@@ -89,6 +103,7 @@ public class RevalidateObjectsTool implements IMcpTool
     {
         String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
         String objectsJson = JsonUtils.extractStringArgument(params, "objects"); //$NON-NLS-1$
+        boolean dirty = JsonUtils.extractBooleanArgument(params, "dirty", false); //$NON-NLS-1$
         
         // Check if project is ready for operations
         if (projectName != null && !projectName.isEmpty())
@@ -100,6 +115,11 @@ public class RevalidateObjectsTool implements IMcpTool
             }
         }
         
+        if (dirty)
+        {
+            return revalidateDirtyObjects(projectName);
+        }
+        
         List<String> objects = parseObjectsList(objectsJson);
         
         return revalidateObjects(projectName, objects);
@@ -183,6 +203,7 @@ public class RevalidateObjectsTool implements IMcpTool
             {
                 // Full project revalidation - use INCREMENTAL_BUILD
                 Activator.logInfo("Revalidating entire project: " + project.getName()); //$NON-NLS-1$
+                DirtyObjectTracker.getInstance().clear(projectName);
                 project.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, monitor);
                 
                 // Wait for build jobs and derived data to complete
@@ -197,7 +218,7 @@ public class RevalidateObjectsTool implements IMcpTool
             else
             {
                 // Partial revalidation - find objects and schedule validation
-                return revalidateSpecificObjects(project, objectFqns, monitor);
+                return revalidateSpecificObjects(project, objectFqns, "objects", monitor); //$NON-NLS-1$
             }
         }
         catch (Exception e)
@@ -207,16 +228,127 @@ public class RevalidateObjectsTool implements IMcpTool
         }
     }
     
+    /**
+     * Revalidates the objects changed through MCP write tools since their last validation.
+     * A request arriving while another one validates the project waits for it, and
+     * runs the next batch only if objects were changed after that validation started.
+     * 
+     * @param projectName name of the project
+     * @return JSON string with result
+     */
+    public static String revalidateDirtyObjects(String projectName)
+    {
+        if (projectName == null || projectName.isEmpty())
+        {
+            return ToolResult.error("projectName is required").toJson(); //$NON-NLS-1$
+        }
+        
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return ToolResult.error("Project not found: " + projectName).toJson(); //$NON-NLS-1$
+        }
+        if (!project.isOpen())
+        {
+            return ToolResult.error("Project is closed: " + projectName).toJson(); //$NON-NLS-1$
+        }
+        
+        DirtyObjectTracker tracker = DirtyObjectTracker.getInstance();
+        while (true)
+        {
+            CompletableFuture<String> run = new CompletableFuture<>();
+            CompletableFuture<String> running = DIRTY_RUNS.putIfAbsent(projectName, run);
+            if (running == null)
+            {
+                String result = null;
+                try
+                {
+                    result = runDirtyValidation(project, tracker);
+                    return result;
+                }
+                finally
+                {
+                    DIRTY_RUNS.remove(projectName, run);
+                    run.complete(result != null ? result
+                        : ToolResult.error("Revalidation of changed objects failed").toJson()); //$NON-NLS-1$
+                }
+            }
+            
+            // Join the running validation; objects it drained are covered by its result
+            String result;
+            try
+            {
+                result = running.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return ToolResult.error("Revalidation interrupted").toJson(); //$NON-NLS-1$
+            }
+            catch (ExecutionException e)
+            {
+                return ToolResult.error(e.getCause().getMessage()).toJson();
+            }
+            if (tracker.get(projectName).isEmpty())
+            {
+                return result;
+            }
+        }
+    }
+    
+    /**
+     * Drains the dirty objects of a project and validates them in one scheduled batch.
+     */
+    private static String runDirtyValidation(IProject project, DirtyObjectTracker tracker)
+    {
+        String projectName = project.getName();
+        if (Activator.getDefault().getBmModelManager() == null || Activator.getDefault().getCheckScheduler() == null)
+        {
+            // Keep the objects dirty until validation services are available
+            return ToolResult.error("Validation services are not available").toJson(); //$NON-NLS-1$
+        }
+        
+        List<String> dirtyFqns = tracker.drain(projectName);
+        if (dirtyFqns.isEmpty())
+        {
+            return ToolResult.success()
+                .put("project", projectName) //$NON-NLS-1$
+                .put("mode", "dirty") //$NON-NLS-1$ //$NON-NLS-2$
+                .put("objectsRequested", 0) //$NON-NLS-1$
+                .put("message", "No objects were changed through MCP write tools since their last validation") //$NON-NLS-1$ //$NON-NLS-2$
+                .toJson();
+        }
+        
+        Activator.logInfo("Revalidating " + dirtyFqns.size() + " changed objects in: " + projectName); //$NON-NLS-1$ //$NON-NLS-2$
+        try
+        {
+            String result = revalidateSpecificObjects(project, dirtyFqns, "dirty", new NullProgressMonitor()); //$NON-NLS-1$
+            if (ToolResult.isError(result))
+            {
+                // Nothing was scheduled; keep the objects dirty for the next run
+                tracker.restore(projectName, dirtyFqns);
+            }
+            return result;
+        }
+        catch (Exception e)
+        {
+            tracker.restore(projectName, dirtyFqns);
+            Activator.logError("Error during revalidation of changed objects", e); //$NON-NLS-1$
+            return ToolResult.error(e.getMessage()).toJson();
+        }
+    }
+    
     /**
      * Revalidates specific objects using ICheckScheduler.
      * 
      * @param project the IProject to work with
      * @param objectFqns list of object FQNs to revalidate
+     * @param mode mode reported in the result: "objects" or "dirty"
      * @param monitor progress monitor
      * @return JSON string with result
      * @throws CoreException on error
      */
-    private static String revalidateSpecificObjects(IProject project, List<String> objectFqns, 
+    private static String revalidateSpecificObjects(IProject project, List<String> objectFqns, String mode,
             IProgressMonitor monitor) throws CoreException
     {
         String projectName = project.getName();
@@ -332,7 +464,7 @@ public class RevalidateObjectsTool implements IMcpTool
         // Build result using ToolResult
         ToolResult result = ToolResult.success()
             .put("project", projectName) //$NON-NLS-1$
-            .put("mode", "objects") //$NON-NLS-1$ //$NON-NLS-2$
+            .put("mode", mode) //$NON-NLS-1$
             .put("objectsRequested", objectFqns.size()) //$NON-NLS-1$
             .put("objectsFound", found.size()) //$NON-NLS-1$
             .put("objectsValidated", found) //$NON-NLS-1$
@@ -7,10 +7,11 @@
 package com.ditrix.edt.mcp.server.tools.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -26,6 +27,7 @@ import com.ditrix.edt.mcp.server.Activator;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
+import com.ditrix.edt.mcp.server.utils.MarkdownUtils;
 
 /**
  * Tool for full-text search across all BSL modules in a project.
@@ -46,6 +48,12 @@ public class SearchInCodeTool implements IMcpTool
     private static final String MODE_COUNT = "count"; //$NON-NLS-1$
     private static final String MODE_FILES = "files"; //$NON-NLS-1$
 
+    /** Search scopes */
+    private static final String SCOPE_ALL = "all"; //$NON-NLS-1$
+    private static final String SCOPE_CODE = "code"; //$NON-NLS-1$
+    private static final String SCOPE_COMMENTS = "comments"; //$NON-NLS-1$
+    private static final String SCOPE_STRINGS = "strings"; //$NON-NLS-1$
+
     @Override
     public String getName()
     {
@@ -58,6 +66,8 @@ public class SearchInCodeTool implements IMcpTool
         return "Full-text search across all BSL modules in a project. " + //$NON-NLS-1$
                "Supports plain text and regex patterns, case sensitivity, " + //$NON-NLS-1$
                "context lines around matches, and file path filtering. " + //$NON-NLS-1$
+               "Use scope 'code' to skip hits in comments and string literals. " + //$NON-NLS-1$
+               "Pass 'queries' to search for several patterns in one pass with results grouped by pattern. " + //$NON-NLS-1$
                "Use outputMode 'count' or 'files' for lightweight queries before full search."; //$NON-NLS-1$
     }
 
@@ -68,7 +78,10 @@ public class SearchInCodeTool implements IMcpTool
             .stringProperty("projectName", //$NON-NLS-1$
                 "EDT project name (required)", true) //$NON-NLS-1$
             .stringProperty("query", //$NON-NLS-1$
-                "Search string or regex pattern (required)", true) //$NON-NLS-1$
+                "Search string or regex pattern (required unless queries is given)") //$NON-NLS-1$
+            .stringArrayProperty("queries", //$NON-NLS-1$
+                "Several search strings or regex patterns matched in a single pass over each file. " + //$NON-NLS-1$
+                "Results are grouped by pattern; maxResults applies per pattern. Overrides query") //$NON-NLS-1$
             .booleanProperty("caseSensitive", //$NON-NLS-1$
                 "Case-sensitive search. Default: false") //$NON-NLS-1$
             .booleanProperty("isRegex", //$NON-NLS-1$
@@ -89,6 +102,9 @@ public class SearchInCodeTool implements IMcpTool
                 "Output mode: 'full' (matches with context, default), " + //$NON-NLS-1$
                 "'count' (only total count, fast), " + //$NON-NLS-1$
                 "'files' (file list with match counts, no context)") //$NON-NLS-1$
+            .stringProperty("scope", //$NON-NLS-1$
+                "Where matches count: 'all' (default), 'code' (outside comments and string literals), " + //$NON-NLS-1$
+                "'comments' (only // comments), 'strings' (only string and date literals)") //$NON-NLS-1$
             .build();
     }
 
@@ -102,6 +118,11 @@ public class SearchInCodeTool implements IMcpTool
     public String getResultFileName(Map<String, String> params)
     {
         String query = JsonUtils.extractStringArgument(params, "query"); //$NON-NLS-1$
+        List<String> queries = JsonUtils.extractArrayArgument(params, "queries"); //$NON-NLS-1$
+        if (queries != null && !queries.isEmpty())
+        {
+            return "search-multi.md"; //$NON-NLS-1$
+        }
         if (query != null && !query.isEmpty())
         {
             String safeName = query.replaceAll("[^a-zA-Z0-9\\u0400-\\u04FF]", "-") //$NON-NLS-1$ //$NON-NLS-2$
@@ -120,6 +141,7 @@ public class SearchInCodeTool implements IMcpTool
     {
         String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
         String query = JsonUtils.extractStringArgument(params, "query"); //$NON-NLS-1$
+        List<String> queries = JsonUtils.extractArrayArgument(params, "queries"); //$NON-NLS-1$
         boolean caseSensitive = JsonUtils.extractBooleanArgument(params, "caseSensitive", false); //$NON-NLS-1$
         boolean isRegex = JsonUtils.extractBooleanArgument(params, "isRegex", false); //$NON-NLS-1$
         int maxResults = JsonUtils.extractIntArgument(params, "maxResults", DEFAULT_MAX_RESULTS); //$NON-NLS-1$
@@ -127,13 +149,25 @@ public class SearchInCodeTool implements IMcpTool
         String fileMask = JsonUtils.extractStringArgument(params, "fileMask"); //$NON-NLS-1$
         String metadataType = JsonUtils.extractStringArgument(params, "metadataType"); //$NON-NLS-1$
         String outputMode = JsonUtils.extractStringArgument(params, "outputMode"); //$NON-NLS-1$
+        String scope = JsonUtils.extractStringArgument(params, "scope"); //$NON-NLS-1$
 
         // Validate required parameters
         if (projectName == null || projectName.isEmpty())
         {
             return "Error: projectName is required"; //$NON-NLS-1$
         }
-        if (query == null || query.isEmpty())
+        boolean multi = queries != null && !queries.isEmpty();
+        if (multi)
+        {
+            for (String q : queries)
+            {
+                if (q == null || q.isEmpty())
+                {
+                    return "Error: queries must not contain empty strings"; //$NON-NLS-1$
+                }
+            }
+        }
+        else if (query == null || query.isEmpty())
         {
             return "Error: query is required"; //$NON-NLS-1$
         }
@@ -149,6 +183,18 @@ public class SearchInCodeTool implements IMcpTool
             return "Error: outputMode must be 'full', 'count', or 'files'"; //$NON-NLS-1$
         }
 
+        // Normalize scope
+        if (scope == null || scope.isEmpty())
+        {
+            scope = SCOPE_ALL;
+        }
+        scope = scope.toLowerCase(Locale.ROOT);
+        if (!SCOPE_ALL.equals(scope) && !SCOPE_CODE.equals(scope)
+            && !SCOPE_COMMENTS.equals(scope) && !SCOPE_STRINGS.equals(scope))
+        {
+            return "Error: scope must be 'all', 'code', 'comments', or 'strings'"; //$NON-NLS-1$
+        }
+
         // Clamp limits
         maxResults = Math.min(Math.max(1, maxResults), ABSOLUTE_MAX_RESULTS);
         contextLines = Math.min(Math.max(0, contextLines), MAX_CONTEXT_LINES);
@@ -160,6 +206,23 @@ public class SearchInCodeTool implements IMcpTool
             return "Error: Project not found: " + projectName; //$NON-NLS-1$
         }
 
+        // Resolve metadataType to folder prefix
+        String metadataFolderPrefix = resolveMetadataFolder(metadataType);
+        if (metadataType != null && !metadataType.isEmpty() && metadataFolderPrefix == null)
+        {
+            return "Error: Unknown metadataType '" + metadataType + "'. " + //$NON-NLS-1$ //$NON-NLS-2$
+                "Supported: documents, catalogs, commonModules, informationRegisters, " + //$NON-NLS-1$
+                "accumulationRegisters, reports, dataProcessors, exchangePlans, " + //$NON-NLS-1$
+                "businessProcesses, tasks, constants, commonCommands, commonForms, " + //$NON-NLS-1$
+                "webServices, httpServices"; //$NON-NLS-1$
+        }
+
+        if (multi)
+        {
+            return executeMulti(project, queries, isRegex, caseSensitive, resolveScope(scope), fileMask,
+                metadataFolderPrefix, maxResults, contextLines, outputMode);
+        }
+
         // Compile pattern
         Pattern pattern;
         try
@@ -183,20 +246,14 @@ public class SearchInCodeTool implements IMcpTool
             return "Error: Invalid regex pattern '" + query + "': " + e.getMessage(); //$NON-NLS-1$ //$NON-NLS-2$
         }
 
-        // Resolve metadataType to folder prefix
-        String metadataFolderPrefix = resolveMetadataFolder(metadataType);
-        if (metadataType != null && !metadataType.isEmpty() && metadataFolderPrefix == null)
-        {
-            return "Error: Unknown metadataType '" + metadataType + "'. " + //$NON-NLS-1$ //$NON-NLS-2$
-                "Supported: documents, catalogs, commonModules, informationRegisters, " + //$NON-NLS-1$
-                "accumulationRegisters, reports, dataProcessors, exchangePlans, " + //$NON-NLS-1$
-                "businessProcesses, tasks, constants, commonCommands, commonForms, " + //$NON-NLS-1$
-                "webServices, httpServices"; //$NON-NLS-1$
-        }
-
         // Search
         boolean collectDetails = MODE_FULL.equals(outputMode);
-        SearchCollector collector = new SearchCollector(pattern, fileMask, metadataFolderPrefix,
+        // Literal queries bypass the regex engine; count/files modes also skip line materialization
+        BslFileScanner.Query scanQuery = isRegex
+            ? BslFileScanner.Query.regex(pattern)
+            : BslFileScanner.Query.literal(query, caseSensitive);
+        scanQuery = scanQuery.withScope(resolveScope(scope));
+        SearchCollector collector = new SearchCollector(scanQuery, fileMask, metadataFolderPrefix,
             maxResults, contextLines, collectDetails);
 
         try
@@ -346,6 +403,130 @@ public class SearchInCodeTool implements IMcpTool
         return sb.toString();
     }
 
+    /**
+     * Searches for several queries in one pass over each file.
+     */
+    private String executeMulti(IProject project, List<String> queries, boolean isRegex, boolean caseSensitive,
+        BslLexer.SpanKind scope, String fileMask, String metadataFolderPrefix, int maxResults, int contextLines,
+        String outputMode)
+    {
+        BslFileScanner.MultiQuery multiQuery;
+        try
+        {
+            multiQuery = BslFileScanner.MultiQuery.compile(queries, isRegex, caseSensitive, scope);
+        }
+        catch (PatternSyntaxException e)
+        {
+            return "Error: Invalid regex pattern '" + e.getPattern() + "': " + e.getMessage(); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        MultiSearchCollector collector = new MultiSearchCollector(multiQuery, fileMask, metadataFolderPrefix,
+            maxResults, contextLines, MODE_FULL.equals(outputMode));
+        try
+        {
+            IResource srcFolder = project.findMember("src"); //$NON-NLS-1$
+            if (srcFolder == null)
+            {
+                return "Error: src/ folder not found in project " + project.getName(); //$NON-NLS-1$
+            }
+            srcFolder.accept(collector);
+        }
+        catch (CoreException e)
+        {
+            return "Error searching project: " + e.getMessage(); //$NON-NLS-1$
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("## Search Results for ").append(queries.size()).append(" queries\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        if (collector.skippedFiles > 0)
+        {
+            sb.append("**Warning:** ").append(collector.skippedFiles) //$NON-NLS-1$
+              .append(" file(s) could not be read (check EDT Error Log)\n"); //$NON-NLS-1$
+        }
+        if (collector.wasInterrupted())
+        {
+            sb.append("**Warning:** Search was interrupted, results may be incomplete\n"); //$NON-NLS-1$
+        }
+
+        sb.append("| Query | Matches | Files |\n"); //$NON-NLS-1$
+        sb.append("|-------|---------|-------|\n"); //$NON-NLS-1$
+        for (int q = 0; q < queries.size(); q++)
+        {
+            sb.append("| `").append(MarkdownUtils.escapeForTable(queries.get(q))).append("` | ") //$NON-NLS-1$ //$NON-NLS-2$
+              .append(collector.totalMatches[q]).append(" | ") //$NON-NLS-1$
+              .append(collector.matchCountByFile.get(q).size()).append(" |\n"); //$NON-NLS-1$
+        }
+
+        if (MODE_COUNT.equals(outputMode))
+        {
+            return sb.toString();
+        }
+
+        for (int q = 0; q < queries.size(); q++)
+        {
+            sb.append("\n## `").append(MarkdownUtils.escapeForTable(queries.get(q))).append("`\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+            if (collector.totalMatches[q] == 0)
+            {
+                sb.append("No matches found.\n"); //$NON-NLS-1$
+                continue;
+            }
+
+            if (MODE_FILES.equals(outputMode))
+            {
+                sb.append("| File | Matches |\n"); //$NON-NLS-1$
+                sb.append("|------|---------|\n"); //$NON-NLS-1$
+                for (Map.Entry<String, Integer> entry : collector.matchCountByFile.get(q).entrySet())
+                {
+                    sb.append("| ").append(entry.getKey()); //$NON-NLS-1$
+                    sb.append(" | ").append(entry.getValue()); //$NON-NLS-1$
+                    sb.append(" |\n"); //$NON-NLS-1$
+                }
+                continue;
+            }
+
+            if (collector.collectedMatches[q] < collector.totalMatches[q])
+            {
+                sb.append("Showing first ").append(collector.collectedMatches[q]) //$NON-NLS-1$
+                  .append(" of ").append(collector.totalMatches[q]).append(" matches\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            for (Map.Entry<String, List<MatchInfo>> entry : collector.matchesByFile.get(q).entrySet())
+            {
+                sb.append("### ").append(entry.getKey()).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+                for (MatchInfo match : entry.getValue())
+                {
+                    sb.append("**Line ").append(match.lineNumber).append(":**\n"); //$NON-NLS-1$ //$NON-NLS-2$
+                    sb.append("```bsl\n"); //$NON-NLS-1$
+                    for (String contextLine : match.contextLines)
+                    {
+                        sb.append(contextLine).append("\n"); //$NON-NLS-1$
+                    }
+                    sb.append("```\n\n"); //$NON-NLS-1$
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Resolves a scope string to the lexer span kind matches must lie in.
+     *
+     * @return span kind, or null for 'all'
+     */
+    private BslLexer.SpanKind resolveScope(String scope)
+    {
+        switch (scope)
+        {
+            case SCOPE_CODE:
+                return BslLexer.SpanKind.CODE;
+            case SCOPE_COMMENTS:
+                return BslLexer.SpanKind.COMMENT;
+            case SCOPE_STRINGS:
+                return BslLexer.SpanKind.STRING;
+            default:
+                return null;
+        }
+    }
+
     /**
      * Resolves a metadataType string to the corresponding folder prefix.
      *
@@ -412,36 +593,21 @@ public class SearchInCodeTool implements IMcpTool
     }
 
     /**
-     * Resource visitor that searches BSL files for matches.
-     * Always scans all files to get accurate total counts,
-     * but only collects detailed match info up to the limit.
+     * Resource visitor that applies the file mask and metadata type filters
+     * and passes every matching BSL file to {@link #searchInFile}.
      */
-    private static class SearchCollector implements IResourceVisitor
+    private abstract static class BslFileCollector implements IResourceVisitor
     {
-        private final Pattern pattern;
         private final String fileMask;
         private final String metadataFolderPrefix;
-        private final int maxResults;
-        private final int contextLines;
-        private final boolean collectDetails;
 
-        final Map<String, List<MatchInfo>> matchesByFile = new LinkedHashMap<>();
-        final Map<String, Integer> matchCountByFile = new LinkedHashMap<>();
-        int totalMatches = 0;
-        int totalMatchedFiles = 0;
         int skippedFiles = 0;
-        private int collectedMatches = 0;
         private boolean wasInterrupted = false;
 
-        SearchCollector(Pattern pattern, String fileMask, String metadataFolderPrefix,
-            int maxResults, int contextLines, boolean collectDetails)
+        BslFileCollector(String fileMask, String metadataFolderPrefix)
         {
-            this.pattern = pattern;
             this.fileMask = fileMask;
             this.metadataFolderPrefix = metadataFolderPrefix;
-            this.maxResults = maxResults;
-            this.contextLines = contextLines;
-            this.collectDetails = collectDetails;
         }
 
         @Override
@@ -506,15 +672,65 @@ public class SearchInCodeTool implements IMcpTool
             return false;
         }
 
-        private void searchInFile(IFile file, String displayPath) throws Exception
+        abstract void searchInFile(IFile file, String displayPath) throws Exception;
+
+        boolean wasInterrupted()
         {
+            return wasInterrupted;
+        }
+    }
+
+    /**
+     * Resource visitor that searches BSL files for matches.
+     * Always scans all files to get accurate total counts,
+     * but only collects detailed match info up to the limit.
+     */
+    private static class SearchCollector extends BslFileCollector
+    {
+        private final BslFileScanner.Query scanQuery;
+        private final int maxResults;
+        private final int contextLines;
+        private final boolean collectDetails;
+
+        final Map<String, List<MatchInfo>> matchesByFile = new LinkedHashMap<>();
+        final Map<String, Integer> matchCountByFile = new LinkedHashMap<>();
+        int totalMatches = 0;
+        int totalMatchedFiles = 0;
+        private int collectedMatches = 0;
+
+        SearchCollector(BslFileScanner.Query scanQuery, String fileMask,
+            String metadataFolderPrefix, int maxResults, int contextLines, boolean collectDetails)
+        {
+            super(fileMask, metadataFolderPrefix);
+            this.scanQuery = scanQuery;
+            this.maxResults = maxResults;
+            this.contextLines = contextLines;
+            this.collectDetails = collectDetails;
+        }
+
+        @Override
+        void searchInFile(IFile file, String displayPath) throws Exception
+        {
+            if (!collectDetails)
+            {
+                int fileMatches = BslFileScanner.countMatchingLines(file, scanQuery);
+                if (fileMatches > 0)
+                {
+                    totalMatches += fileMatches;
+                    totalMatchedFiles++;
+                    matchCountByFile.put(displayPath, fileMatches);
+                }
+                return;
+            }
+
             List<String> lines = BslModuleUtils.readFileLines(file);
+            BslFileScanner.LineMatcher matcher = scanQuery.newLineMatcher();
             int fileMatches = 0;
 
             for (int i = 0; i < lines.size(); i++)
             {
-                Matcher matcher = pattern.matcher(lines.get(i));
-                if (matcher.find())
+                String line = lines.get(i);
+                if (matcher.matches(line, 0, line.length()))
                 {
                     totalMatches++;
                     fileMatches++;
@@ -552,10 +768,96 @@ public class SearchInCodeTool implements IMcpTool
         {
             return collectedMatches;
         }
+    }
 
-        boolean wasInterrupted()
+    /**
+     * Resource visitor that searches BSL files for several queries at once.
+     * Each file is read and scanned once; results are kept per query.
+     */
+    private static class MultiSearchCollector extends BslFileCollector
+    {
+        private final BslFileScanner.MultiQuery multiQuery;
+        private final int maxResults;
+        private final int contextLines;
+        private final boolean collectDetails;
+
+        final List<Map<String, List<MatchInfo>>> matchesByFile = new ArrayList<>();
+        final List<Map<String, Integer>> matchCountByFile = new ArrayList<>();
+        final int[] totalMatches;
+        final int[] collectedMatches;
+        private final int[] fileMatches;
+
+        MultiSearchCollector(BslFileScanner.MultiQuery multiQuery, String fileMask,
+            String metadataFolderPrefix, int maxResults, int contextLines, boolean collectDetails)
         {
-            return wasInterrupted;
+            super(fileMask, metadataFolderPrefix);
+            this.multiQuery = multiQuery;
+            this.maxResults = maxResults;
+            this.contextLines = contextLines;
+            this.collectDetails = collectDetails;
+            int size = multiQuery.size();
+            this.totalMatches = new int[size];
+            this.collectedMatches = new int[size];
+            this.fileMatches = new int[size];
+            for (int q = 0; q < size; q++)
+            {
+                matchesByFile.add(new LinkedHashMap<>());
+                matchCountByFile.add(new LinkedHashMap<>());
+            }
+        }
+
+        @Override
+        void searchInFile(IFile file, String displayPath) throws Exception
+        {
+            Arrays.fill(fileMatches, 0);
+            BslFileScanner.MultiLineMatcher matcher = multiQuery.newLineMatcher();
+
+            if (!collectDetails)
+            {
+                BslFileScanner.forEachLine(file, (text, start, end, lineNumber) -> {
+                    int hits = matcher.match(text, start, end);
+                    for (int h = 0; h < hits; h++)
+                    {
+                        fileMatches[matcher.hit(h)]++;
+                    }
+                });
+            }
+            else
+            {
+                List<String> lines = BslModuleUtils.readFileLines(file);
+                for (int i = 0; i < lines.size(); i++)
+                {
+                    String line = lines.get(i);
+                    int hits = matcher.match(line, 0, line.length());
+                    for (int h = 0; h < hits; h++)
+                    {
+                        int q = matcher.hit(h);
+                        fileMatches[q]++;
+                        if (collectedMatches[q] < maxResults)
+                        {
+                            MatchInfo match = new MatchInfo();
+                            match.lineNumber = i + 1;
+                            int from = Math.max(0, i - contextLines);
+                            int to = Math.min(lines.size() - 1, i + contextLines);
+                            for (int j = from; j <= to; j++)
+                            {
+                                match.contextLines.add((j + 1) + ": " + lines.get(j)); //$NON-NLS-1$
+                            }
+                            matchesByFile.get(q).computeIfAbsent(displayPath, k -> new ArrayList<>()).add(match);
+                            collectedMatches[q]++;
+                        }
+                    }
+                }
+            }
+
+            for (int q = 0; q < fileMatches.length; q++)
+            {
+                if (fileMatches[q] > 0)
+                {
+                    totalMatches[q] += fileMatches[q];
+                    matchCountByFile.get(q).put(displayPath, fileMatches[q]);
+                }
+            }
         }
     }
 }
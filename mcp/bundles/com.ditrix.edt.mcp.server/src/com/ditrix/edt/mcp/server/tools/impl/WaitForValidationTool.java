@@ -0,0 +1,150 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.MarkerIndex;
+import com.ditrix.edt.mcp.server.index.MarkerStore;
+import com.ditrix.edt.mcp.server.index.ProjectReadiness;
+import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
+import com.ditrix.edt.mcp.server.protocol.JsonUtils;
+import com.ditrix.edt.mcp.server.tools.IMcpTool;
+
+/**
+ * Tool to wait until a project has been built, its derived data computed and its
+ * validation results indexed. A long-poll replacement for calling
+ * {@code get_problem_summary} in a loop: concurrent waits share one check in
+ * {@link ProjectReadiness}.
+ */
+public class WaitForValidationTool implements IMcpTool
+{
+    public static final String NAME = "wait_for_validation"; //$NON-NLS-1$
+
+    /** Default and maximum wait in seconds; a waiting call holds a request thread */
+    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
+    private static final int MAX_TIMEOUT_SECONDS = 120;
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "Wait until an EDT project is built and validated, then return the validation revision. " + //$NON-NLS-1$
+               "With 'sinceRevision' (from get_project_errors or a previous call) also reports how many problems " + //$NON-NLS-1$
+               "were added and removed since then. Use instead of polling get_problem_summary after edits."; //$NON-NLS-1$
+    }
+
+    @Override
+    public String getInputSchema()
+    {
+        return JsonSchemaBuilder.object()
+            .stringProperty("projectName", "EDT project name (required)", true) //$NON-NLS-1$ //$NON-NLS-2$
+            .integerProperty("sinceRevision", "Revision from a previous response to count added and removed problems (optional)") //$NON-NLS-1$ //$NON-NLS-2$
+            .integerProperty("timeout", "Maximum wait in seconds (default: 30, max: 120)") //$NON-NLS-1$ //$NON-NLS-2$
+            .build();
+    }
+
+    @Override
+    public String execute(Map<String, String> params)
+    {
+        String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
+        long sinceRevision = JsonUtils.extractLongArgument(params, "sinceRevision", -1); //$NON-NLS-1$
+        int timeout = Math.max(1, Math.min(
+            JsonUtils.extractIntArgument(params, "timeout", DEFAULT_TIMEOUT_SECONDS), MAX_TIMEOUT_SECONDS)); //$NON-NLS-1$
+
+        if (projectName == null || projectName.isEmpty())
+        {
+            return "**Error:** projectName is required"; //$NON-NLS-1$
+        }
+        return waitForValidation(projectName, sinceRevision, timeout);
+    }
+
+    /**
+     * Waits for the project to become ready.
+     *
+     * @param projectName the project
+     * @param sinceRevision revision to count changes from, or -1
+     * @param timeoutSeconds maximum wait
+     * @return Markdown string with the result
+     */
+    public static String waitForValidation(String projectName, long sinceRevision, int timeoutSeconds)
+    {
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return "**Error:** Project not found: " + projectName; //$NON-NLS-1$
+        }
+
+        long start = System.currentTimeMillis();
+        CompletableFuture<Long> ready = ProjectReadiness.getInstance().whenReady(project);
+        Long revision;
+        try
+        {
+            revision = ready.get(timeoutSeconds, TimeUnit.SECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            return "## Still Validating\n\n" //$NON-NLS-1$
+                + "**Project:** " + projectName + " | **Waited:** " + timeoutSeconds + " s\n\n" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + "Build, derived data computation or validation is still running. Call again to keep waiting."; //$NON-NLS-1$
+        }
+        catch (ExecutionException e)
+        {
+            return "**Error:** " + e.getCause().getMessage(); //$NON-NLS-1$
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return "**Error:** Wait interrupted"; //$NON-NLS-1$
+        }
+        finally
+        {
+            ready.cancel(false);
+        }
+
+        StringBuilder md = new StringBuilder();
+        md.append("## Project Validated\n\n"); //$NON-NLS-1$
+        md.append("**Project:** ").append(projectName); //$NON-NLS-1$
+        md.append(" | **Revision:** ").append(revision != null ? revision.toString() : "unknown"); //$NON-NLS-1$ //$NON-NLS-2$
+        md.append(" | **Waited:** ").append((System.currentTimeMillis() - start) / 1000).append(" s\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        MarkerStore markerStore = MarkerIndex.getInstance().getStore();
+        if (sinceRevision >= 0 && markerStore != null)
+        {
+            // Counts only; get_project_errors with the same sinceRevision lists the problems
+            MarkerStore.Changes changes =
+                markerStore.changesSince(sinceRevision, new MarkerStore.Query().project(projectName), 0);
+            if (changes != null)
+            {
+                md.append("\n**Since revision ").append(sinceRevision).append(":** "); //$NON-NLS-1$ //$NON-NLS-2$
+                md.append(changes.getAddedCount()).append(" added, "); //$NON-NLS-1$
+                md.append(changes.getRemovedCount()).append(" removed\n"); //$NON-NLS-1$
+            }
+            else
+            {
+                md.append("\nRevision ").append(sinceRevision) //$NON-NLS-1$
+                    .append(" is no longer covered by the change journal; use get_project_errors for the full list.\n"); //$NON-NLS-1$
+            }
+        }
+
+        Activator.logInfo("Project validated: " + projectName + ", revision " + revision); //$NON-NLS-1$ //$NON-NLS-2$
+        return md.toString();
+    }
+}
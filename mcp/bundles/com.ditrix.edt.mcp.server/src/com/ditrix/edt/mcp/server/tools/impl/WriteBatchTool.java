@@ -0,0 +1,123 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
+import com.ditrix.edt.mcp.server.protocol.JsonUtils;
+import com.ditrix.edt.mcp.server.tools.IMcpTool;
+import com.ditrix.edt.mcp.server.utils.WorkspaceWriteBatcher;
+import com.ditrix.edt.mcp.server.utils.WorkspaceWriteBatcher.BatchResult;
+
+/**
+ * Tool to open and close an explicit write batch. Module writes between begin and end
+ * are queued and applied at the end in one workspace operation, which triggers a single build.
+ * Writes outside an explicit batch are still grouped when they follow each other closely.
+ */
+public class WriteBatchTool implements IMcpTool
+{
+    public static final String NAME = "write_batch"; //$NON-NLS-1$
+
+    private static final String ACTION_BEGIN = "begin"; //$NON-NLS-1$
+    private static final String ACTION_END = "end"; //$NON-NLS-1$
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "Group several write_module_source calls into one build. " + //$NON-NLS-1$
+               "Call with action='begin' before a series of edits and action='end' after it: " + //$NON-NLS-1$
+               "edits are checked immediately but queued, and written together at 'end', " + //$NON-NLS-1$
+               "so EDT builds and validates once. 'end' reports edits that no longer applied. " + //$NON-NLS-1$
+               "A batch left open closes after 2 minutes without writes."; //$NON-NLS-1$
+    }
+
+    @Override
+    public String getInputSchema()
+    {
+        return JsonSchemaBuilder.object()
+            .stringProperty("projectName", "EDT project name (required)", true) //$NON-NLS-1$ //$NON-NLS-2$
+            .stringProperty("action", "'begin' to open the batch, 'end' to apply it and start the build (required)", true) //$NON-NLS-1$ //$NON-NLS-2$
+            .build();
+    }
+
+    @Override
+    public String execute(Map<String, String> params)
+    {
+        String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
+        String action = JsonUtils.extractStringArgument(params, "action"); //$NON-NLS-1$
+
+        if (projectName == null || projectName.isEmpty())
+        {
+            return "**Error:** projectName is required"; //$NON-NLS-1$
+        }
+        if (!ACTION_BEGIN.equals(action) && !ACTION_END.equals(action))
+        {
+            return "**Error:** action must be 'begin' or 'end'"; //$NON-NLS-1$
+        }
+
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.isAccessible())
+        {
+            return "**Error:** Project not found or closed: " + projectName; //$NON-NLS-1$
+        }
+
+        WorkspaceWriteBatcher batcher = WorkspaceWriteBatcher.getInstance();
+        if (ACTION_BEGIN.equals(action))
+        {
+            boolean opened = batcher.begin(project);
+            return "## Write Batch Open\n\n" //$NON-NLS-1$
+                + "**Project:** " + projectName + "\n\n" //$NON-NLS-1$ //$NON-NLS-2$
+                + (opened ? "" : "A batch was already open; it stays open.\n\n") //$NON-NLS-1$ //$NON-NLS-2$
+                + "Module writes are queued and written, followed by the build, at write_batch action='end'."; //$NON-NLS-1$
+        }
+
+        BatchResult result;
+        try
+        {
+            result = batcher.end(project);
+        }
+        catch (CoreException e)
+        {
+            return "**Error:** " + e.getMessage(); //$NON-NLS-1$
+        }
+        if (result == null)
+        {
+            return "**Error:** No write batch is open for project: " + projectName; //$NON-NLS-1$
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("## Write Batch Applied\n\n"); //$NON-NLS-1$
+        sb.append("**Project:** ").append(projectName); //$NON-NLS-1$
+        sb.append(" | **Writes:** ").append(result.applied()); //$NON-NLS-1$
+        sb.append(" | **Failed:** ").append(result.failures().size()).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        if (!result.failures().isEmpty())
+        {
+            sb.append("### Not Written\n\n"); //$NON-NLS-1$
+            for (String failure : result.failures())
+            {
+                sb.append("- ").append(failure.replace("\n", "\n  ")).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+            sb.append('\n');
+        }
+        if (result.applied() > 0)
+        {
+            sb.append("The build has started. Use wait_for_validation to wait for its results."); //$NON-NLS-1$
+        }
+        return sb.toString();
+    }
+}
@@ -9,29 +9,58 @@ package com.ditrix.edt.mcp.server.tools.impl;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
-
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.DirtyObjectTracker;
+import com.ditrix.edt.mcp.server.index.LineIndex;
+import com.ditrix.edt.mcp.server.index.LineIndexCache;
 import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
 import com.ditrix.edt.mcp.server.protocol.JsonUtils;
 import com.ditrix.edt.mcp.server.tools.IMcpTool;
 import com.ditrix.edt.mcp.server.utils.FrontMatter;
 import com.ditrix.edt.mcp.server.utils.MetadataTypeUtils;
+import com.ditrix.edt.mcp.server.utils.WorkspaceWriteBatcher;
 
 /**
  * Tool to write BSL source code to 1C metadata object modules.
  * Supports modes: searchReplace (content-based, default), replace (full file), append.
  * Optionally validates BSL syntax (balanced block keywords) before writing.
  * Can resolve module path from objectName + moduleType.
+ * An existing module is changed by one {@link ReplaceEdit} covering only the changed lines,
+ * applied to the module's shared file buffer, so the rest of the file keeps its exact text
+ * and line separators and an open editor stays in sync. The edit is computed from the
+ * content read before the write and is not applied if the module changed in between.
+ * Each call is written at once; inside a {@link WriteBatchTool write_batch} the write is
+ * queued in the {@link WorkspaceWriteBatcher} batch, so the series triggers one build.
  */
 public class WriteModuleSourceTool implements IMcpTool
 {
@@ -44,6 +73,9 @@ public class WriteModuleSourceTool implements IMcpTool
     /** Maximum source length to prevent accidental huge writes */
     private static final int MAX_SOURCE_LENGTH = 500_000;
 
+    /** Maximum wait for an open editor to apply a change to its document */
+    private static final long BUFFER_TIMEOUT_MS = 10_000;
+
     /** UTF-8 BOM bytes */
     private static final byte[] UTF8_BOM = { (byte)0xEF, (byte)0xBB, (byte)0xBF };
 
@@ -62,7 +94,9 @@ public class WriteModuleSourceTool implements IMcpTool
             "Specify modulePath or objectName + moduleType. " + //$NON-NLS-1$
             "Automatically checks BSL syntax (balanced Procedure/EndProcedure, " + //$NON-NLS-1$
             "Function/EndFunction, If/EndIf, etc.) before writing — " + //$NON-NLS-1$
-            "blocks write on errors. Pass skipSyntaxCheck=true to force."; //$NON-NLS-1$
+            "blocks write on errors. Pass skipSyntaxCheck=true to force. " + //$NON-NLS-1$
+            "Each call is written and built on its own; wrap a series of edits in write_batch " + //$NON-NLS-1$
+            "begin/end to write them in one operation with one build."; //$NON-NLS-1$
     }
 
     @Override
@@ -148,6 +182,396 @@ public class WriteModuleSourceTool implements IMcpTool
         {
             return "Error: projectName is required"; //$NON-NLS-1$
         }
+
+        // Default mode
+        if (mode == null || mode.isEmpty())
+        {
+            mode = MODE_SEARCH_REPLACE;
+        }
+
+        String editError = validateEdit(source, oldSource, mode);
+        if (editError != null)
+        {
+            return editError;
+        }
+
+        // 3. Resolve and validate modulePath
+        String resolved = resolveTargetPath(modulePath, objectName, moduleType, formName, commandName);
+        if (resolved.startsWith("Error:")) //$NON-NLS-1$
+        {
+            return resolved;
+        }
+        modulePath = resolved;
+
+        // 4. Validate project
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return "Error: Project not found: " + projectName; //$NON-NLS-1$
+        }
+
+        WorkspaceWriteBatcher batcher = WorkspaceWriteBatcher.getInstance();
+        List<ModuleEdit> edits = List.of(new ModuleEdit(mode, source, oldSource));
+        boolean queued = batcher.isOpen(projectName);
+        try
+        {
+            if (queued && batcher.hasPending(projectName, modulePath))
+            {
+                // The module changes when the batch is applied; the edit is checked then
+                return queueWrite(batcher, project, modulePath, mode, edits, skipSyntaxCheck, null);
+            }
+
+            // 5-8. Read current content, apply the edit and check syntax
+            PreparedWrite prepared = prepare(project, modulePath, edits, skipSyntaxCheck);
+            if (prepared.isRejected())
+            {
+                return prepared.error;
+            }
+            if (queued && !prepared.isUnchanged())
+            {
+                return queueWrite(batcher, project, modulePath, mode, edits, skipSyntaxCheck, prepared);
+            }
+
+            // 9. Write file in its own workspace operation
+            if (!prepared.isUnchanged())
+            {
+                batcher.run(project, monitor -> prepared.write());
+                DirtyObjectTracker.getInstance().markModule(projectName, modulePath);
+            }
+
+            // 10. Build frontmatter: only the changed range and hashes, not the content
+            FrontMatter fm = FrontMatter.create()
+                .put("tool", NAME) //$NON-NLS-1$
+                .put("projectName", projectName) //$NON-NLS-1$
+                .put("modulePath", modulePath) //$NON-NLS-1$
+                .put("mode", mode) //$NON-NLS-1$
+                .put("status", prepared.isUnchanged() ? "unchanged" : "success") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                .put("linesAfter", prepared.newLines.size()) //$NON-NLS-1$
+                .put("syntaxCheck", skipSyntaxCheck ? "skipped" : "passed"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+            if (prepared.fileExists)
+            {
+                fm.put("linesBefore", prepared.originalLines.size()); //$NON-NLS-1$
+            }
+            else
+            {
+                fm.put("newFile", true); //$NON-NLS-1$
+            }
+            if (prepared.change != null)
+            {
+                fm.put("changedFromLine", prepared.change.fromLine()) //$NON-NLS-1$
+                    .put("linesRemoved", prepared.change.linesRemoved()) //$NON-NLS-1$
+                    .put("linesInserted", prepared.change.linesInserted()); //$NON-NLS-1$
+            }
+            if (prepared.rangeHash != null)
+            {
+                fm.put("rangeHash", prepared.rangeHash); //$NON-NLS-1$
+            }
+            fm.put("contentHash", prepared.contentHash); //$NON-NLS-1$
+
+            // 11. Return success
+            return fm.wrapContent(prepared.describeChange());
+        }
+        catch (Exception e)
+        {
+            return "Error writing file: " + e.getMessage(); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Queues a write in the open explicit write batch of the project. The edits are applied
+     * again when the batch is applied, to the content left by the writes queued before them,
+     * and the write fails if an edit no longer applies.
+     *
+     * @param preview the edit checked against the current content, or null if the module
+     *            already has a queued write and the current content is not what it will edit
+     */
+    private static String queueWrite(WorkspaceWriteBatcher batcher, IProject project, String modulePath,
+        String mode, List<ModuleEdit> edits, boolean skipSyntaxCheck, PreparedWrite preview)
+    {
+        String projectName = project.getName();
+        batcher.submit(project, modulePath, monitor -> {
+            if (writeQueued(project, modulePath, edits, skipSyntaxCheck))
+            {
+                DirtyObjectTracker.getInstance().markModule(projectName, modulePath);
+            }
+        });
+
+        FrontMatter fm = FrontMatter.create()
+            .put("tool", NAME) //$NON-NLS-1$
+            .put("projectName", projectName) //$NON-NLS-1$
+            .put("modulePath", modulePath) //$NON-NLS-1$
+            .put("mode", mode) //$NON-NLS-1$
+            .put("status", "queued"); //$NON-NLS-1$ //$NON-NLS-2$
+        StringBuilder sb = new StringBuilder();
+        if (preview != null)
+        {
+            fm.put("linesAfter", preview.newLines.size()); //$NON-NLS-1$
+            sb.append(preview.describeChange().replace(" written", "")).append("\n\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        sb.append("Queued in the open write batch; the module is written at write_batch action='end', ") //$NON-NLS-1$
+            .append("which reports the writes that no longer apply."); //$NON-NLS-1$
+        return fm.wrapContent(sb.toString());
+    }
+
+    /**
+     * Prepares and writes a module when an explicit write batch is applied.
+     *
+     * @return true if the module content changed
+     * @throws CoreException if the module cannot be read or an edit is rejected
+     */
+    static boolean writeQueued(IProject project, String modulePath, List<ModuleEdit> edits, boolean skipSyntaxCheck)
+        throws CoreException
+    {
+        PreparedWrite prepared;
+        try
+        {
+            prepared = prepare(project, modulePath, edits, skipSyntaxCheck);
+        }
+        catch (CoreException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw error("Error reading module: " + e.getMessage()); //$NON-NLS-1$
+        }
+        if (prepared.isRejected())
+        {
+            throw error(prepared.error.startsWith("Error: ") //$NON-NLS-1$
+                ? prepared.error.substring("Error: ".length()) : prepared.error); //$NON-NLS-1$
+        }
+        if (prepared.isUnchanged())
+        {
+            return false;
+        }
+        prepared.write();
+        return true;
+    }
+
+    static CoreException error(String message)
+    {
+        return new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, message));
+    }
+
+    /**
+     * One edit of a module: write mode, new source and, for searchReplace, the code it replaces.
+     */
+    record ModuleEdit(String mode, String source, String oldSource) {}
+
+    /**
+     * Smallest line range replacement between two versions of a module.
+     *
+     * @param fromLine first differing line, 1-based, in both versions
+     * @param linesRemoved number of original lines replaced
+     * @param linesInserted number of new lines in their place
+     * @param edit the replacement as a text edit of the original text, or null for a new file
+     */
+    record LineChange(int fromLine, int linesRemoved, int linesInserted, ReplaceEdit edit)
+    {
+        /**
+         * Returns the text after the change, for the original text it was computed from.
+         */
+        String applyTo(String originalText)
+        {
+            int offset = edit.getOffset();
+            return originalText.substring(0, offset) + edit.getText()
+                + originalText.substring(offset + edit.getLength());
+        }
+
+        /**
+         * Returns the edit that turns the changed text back into the original text.
+         */
+        ReplaceEdit undo(String originalText)
+        {
+            int offset = edit.getOffset();
+            return new ReplaceEdit(offset, edit.getText().length(),
+                originalText.substring(offset, offset + edit.getLength()));
+        }
+    }
+
+    /**
+     * New content of one module computed in memory, or the reason it was rejected.
+     * Keeps the original content so a failed multi-module write can be rolled back.
+     */
+    static final class PreparedWrite implements WriteModulesTool.ReversibleWrite
+    {
+        final IFile file;
+        final String modulePath;
+        final List<String> originalLines;
+        final List<String> newLines;
+        final String originalText;
+        final String newText;
+        /** Null if the content is unchanged */
+        final LineChange change;
+        final boolean hasBom;
+        final boolean fileExists;
+        /** Modification stamp of the file when it was read */
+        final long modificationStamp;
+        final String error;
+        /** Hashes as computed by read_module_source; null for a rejected write */
+        final String rangeHash;
+        final String contentHash;
+        /** Topmost folder created for a new module, removed again on rollback */
+        private IFolder createdFolder;
+
+        PreparedWrite(IFile file, String modulePath, List<String> originalLines, List<String> newLines,
+            String originalText, String newText, LineChange change, boolean hasBom, boolean fileExists,
+            long modificationStamp) throws Exception
+        {
+            this.file = file;
+            this.modulePath = modulePath;
+            this.originalLines = originalLines;
+            this.newLines = newLines;
+            this.originalText = originalText;
+            this.newText = newText;
+            this.change = change;
+            this.hasBom = hasBom;
+            this.fileExists = fileExists;
+            this.modificationStamp = modificationStamp;
+            this.error = null;
+
+            LineIndex newIndex = LineIndex.of(newText);
+            int lineCount = newIndex.getLineCount();
+            this.contentHash = ReadModuleSourceTool.hash(newIndex.getLines(1, lineCount));
+            this.rangeHash = change != null && change.linesInserted() > 0 && change.fromLine() <= lineCount
+                ? ReadModuleSourceTool.hash(newIndex.getLines(change.fromLine(),
+                    Math.min(change.fromLine() + change.linesInserted() - 1, lineCount)))
+                : null;
+        }
+
+        private PreparedWrite(String modulePath, String error)
+        {
+            this.file = null;
+            this.modulePath = modulePath;
+            this.originalLines = null;
+            this.newLines = null;
+            this.originalText = null;
+            this.newText = null;
+            this.change = null;
+            this.hasBom = false;
+            this.fileExists = false;
+            this.modificationStamp = IResource.NULL_STAMP;
+            this.error = error;
+            this.rangeHash = null;
+            this.contentHash = null;
+        }
+
+        static PreparedWrite rejected(String modulePath, String error)
+        {
+            return new PreparedWrite(modulePath, error);
+        }
+
+        boolean isRejected()
+        {
+            return error != null;
+        }
+
+        /**
+         * Whether the edits leave an existing module as it is, so nothing needs writing.
+         */
+        boolean isUnchanged()
+        {
+            return error == null && change == null;
+        }
+
+        /**
+         * Describes the change in one line, e.g. "Lines 12-14 replaced with 5 lines".
+         */
+        String describeChange()
+        {
+            if (isUnchanged())
+            {
+                return "Module content is unchanged, nothing was written"; //$NON-NLS-1$
+            }
+            if (!fileExists)
+            {
+                return "New file written: " + change.linesInserted() + " lines"; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            int from = change.fromLine();
+            if (change.linesRemoved() == 0)
+            {
+                return change.linesInserted() + " lines inserted at line " + from; //$NON-NLS-1$
+            }
+            String removed = change.linesRemoved() == 1
+                ? "Line " + from //$NON-NLS-1$
+                : "Lines " + from + "-" + (from + change.linesRemoved() - 1); //$NON-NLS-1$ //$NON-NLS-2$
+            return change.linesInserted() == 0
+                ? removed + " removed" //$NON-NLS-1$
+                : removed + " replaced with " + change.linesInserted() + " lines"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        /**
+         * Writes the new content. An existing module gets only the changed line range,
+         * applied to its file buffer, and is not written if it changed since it was read.
+         * An unchanged module is not touched.
+         *
+         * @throws CoreException if the module changed since it was read or cannot be written
+         */
+        @Override
+        public void write() throws CoreException
+        {
+            if (change == null)
+            {
+                return;
+            }
+            if (!fileExists)
+            {
+                if (file.exists())
+                {
+                    throw error("File src/" + modulePath + " was created after it was read. Nothing was written."); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+                createdFolder = createFile(file, newText, hasBom);
+                return;
+            }
+            if (file.getModificationStamp() != modificationStamp)
+            {
+                throw error("Module src/" + modulePath + " was changed after it was read. " //$NON-NLS-1$ //$NON-NLS-2$
+                    + "Nothing was written; read the module again and retry."); //$NON-NLS-1$
+            }
+            applyToBuffer(file, modulePath, change.edit(), originalText);
+        }
+
+        /**
+         * Restores the original content, deleting the file and the folders created for it.
+         */
+        @Override
+        public void rollback() throws CoreException
+        {
+            if (fileExists)
+            {
+                if (change != null)
+                {
+                    applyToBuffer(file, modulePath, change.undo(originalText), newText);
+                }
+            }
+            else
+            {
+                if (file.exists())
+                {
+                    file.delete(true, null);
+                }
+                if (createdFolder != null && createdFolder.exists())
+                {
+                    createdFolder.delete(true, null);
+                }
+            }
+        }
+
+        @Override
+        public String modulePath()
+        {
+            return modulePath;
+        }
+    }
+
+    /**
+     * Validates the source, mode and oldSource of one edit.
+     *
+     * @return error message starting with "Error:", or null if valid
+     */
+    static String validateEdit(String source, String oldSource, String mode)
+    {
         if (source == null)
         {
             return "Error: source is required"; //$NON-NLS-1$
@@ -157,12 +581,6 @@ public class WriteModuleSourceTool implements IMcpTool
             return "Error: source exceeds maximum allowed length (" + MAX_SOURCE_LENGTH + " characters)"; //$NON-NLS-1$ //$NON-NLS-2$
         }
 
-        // Default mode
-        if (mode == null || mode.isEmpty())
-        {
-            mode = MODE_SEARCH_REPLACE;
-        }
-
         // Validate mode
         if (!MODE_REPLACE.equals(mode) && !MODE_APPEND.equals(mode)
             && !MODE_SEARCH_REPLACE.equals(mode))
@@ -172,15 +590,22 @@ public class WriteModuleSourceTool implements IMcpTool
         }
 
         // Validate oldSource for searchReplace mode
-        if (MODE_SEARCH_REPLACE.equals(mode))
+        if (MODE_SEARCH_REPLACE.equals(mode) && (oldSource == null || oldSource.isEmpty()))
         {
-            if (oldSource == null || oldSource.isEmpty())
-            {
-                return "Error: oldSource is required for searchReplace mode"; //$NON-NLS-1$
-            }
+            return "Error: oldSource is required for searchReplace mode"; //$NON-NLS-1$
         }
+        return null;
+    }
 
-        // 3. Resolve modulePath
+    /**
+     * Resolves the module path from modulePath or objectName + moduleType and checks
+     * that it is a .bsl file inside src/.
+     *
+     * @return module path relative to src/, or an error message starting with "Error:"
+     */
+    static String resolveTargetPath(String modulePath, String objectName, String moduleType,
+        String formName, String commandName)
+    {
         if (modulePath == null || modulePath.isEmpty())
         {
             if (objectName == null || objectName.isEmpty())
@@ -206,152 +631,253 @@ public class WriteModuleSourceTool implements IMcpTool
         {
             return "Error: only .bsl module files can be written"; //$NON-NLS-1$
         }
+        return modulePath;
+    }
 
-        // 4. Validate project
-        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
-        if (project == null || !project.exists())
-        {
-            return "Error: Project not found: " + projectName; //$NON-NLS-1$
-        }
-
-        // 5. Get file
+    /**
+     * Reads a module, applies its edits in order and checks the syntax of the result.
+     * Does not modify the workspace.
+     *
+     * @param project the project
+     * @param modulePath validated module path relative to src/
+     * @param edits edits of this module, applied in order
+     * @param skipSyntaxCheck whether to skip the BSL syntax check
+     * @return the prepared write, possibly rejected
+     * @throws Exception if the module cannot be read
+     */
+    static PreparedWrite prepare(IProject project, String modulePath, List<ModuleEdit> edits,
+        boolean skipSyntaxCheck) throws Exception
+    {
         IFile file = project.getFile(new Path("src").append(modulePath)); //$NON-NLS-1$
+        // Taken before reading, so a concurrent change makes the write fail rather than be lost
+        long stamp = file.getModificationStamp();
         boolean fileExists = file.exists();
 
         // For non-replace modes, file must exist
-        if (!fileExists && !MODE_REPLACE.equals(mode))
+        if (!fileExists && !MODE_REPLACE.equals(edits.get(0).mode()))
         {
-            return "Error: File not found: src/" + modulePath + //$NON-NLS-1$
-                ". Only 'replace' mode can create new files."; //$NON-NLS-1$
+            return PreparedWrite.rejected(modulePath, "Error: File not found: src/" + modulePath + //$NON-NLS-1$
+                ". Only 'replace' mode can create new files."); //$NON-NLS-1$
         }
 
-        try
+        // Read current content (if file exists)
+        LineIndex originalIndex;
+        List<String> originalLines;
+        boolean hasBom;
+        if (fileExists)
         {
-            // Normalize source: \r\n -> \n
-            source = source.replace("\r\n", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
-
-            // 6. Read current content (if file exists)
-            List<String> originalLines;
-            boolean hasBom;
-            if (fileExists)
-            {
-                originalLines = BslModuleUtils.readFileLines(file);
-                hasBom = detectBom(file);
-            }
-            else
-            {
-                originalLines = new ArrayList<>();
-                hasBom = true; // New BSL files should have BOM
-            }
+            originalIndex = LineIndexCache.getInstance().get(file);
+            originalLines = BslModuleUtils.getLines(originalIndex);
+            hasBom = detectBom(file);
+        }
+        else
+        {
+            originalIndex = null;
+            originalLines = new ArrayList<>();
+            hasBom = true; // New BSL files should have BOM
+        }
 
-            // 7. Compute new content based on mode
-            List<String> newLines;
-            int totalOriginal = originalLines.size();
+        // Compute new content based on mode
+        List<String> newLines = new ArrayList<>(originalLines);
+        String editError = applyEdits(newLines, edits);
+        if (editError != null)
+        {
+            return PreparedWrite.rejected(modulePath, editError);
+        }
 
-            switch (mode)
+        // BSL syntax check
+        if (!skipSyntaxCheck)
+        {
+            // For an existing module only the methods touched by the edits are re-checked
+            BslSyntaxChecker.CheckResult checkResult = fileExists
+                ? BslSyntaxChecker.checkChanged(originalLines, newLines)
+                : BslSyntaxChecker.check(newLines);
+            if (!checkResult.isValid())
             {
-                case MODE_REPLACE:
-                    newLines = splitSourceLines(source);
-                    break;
+                StringBuilder sb = new StringBuilder();
+                sb.append("Error: BSL syntax check failed. Write blocked.\n\n"); //$NON-NLS-1$
+                sb.append("**Errors:**\n"); //$NON-NLS-1$
+                for (String error : checkResult.getErrors())
+                {
+                    sb.append("- ").append(error).append("\n"); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+                sb.append("\nPass skipSyntaxCheck=true to force write."); //$NON-NLS-1$
+                return PreparedWrite.rejected(modulePath, sb.toString());
+            }
+        }
 
-                case MODE_APPEND:
-                    newLines = new ArrayList<>(originalLines);
-                    newLines.addAll(splitSourceLines(source));
-                    break;
+        if (!fileExists)
+        {
+            String newText = String.join("\n", newLines) + "\n"; //$NON-NLS-1$ //$NON-NLS-2$
+            return new PreparedWrite(file, modulePath, originalLines, newLines, null, newText,
+                new LineChange(1, 0, newLines.size(), null), hasBom, false, stamp);
+        }
 
-                case MODE_SEARCH_REPLACE:
-                {
-                    // Normalize oldSource
-                    oldSource = oldSource.replace("\r\n", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        // Only the changed line range is replaced in the original text
+        String originalText = originalIndex.getText();
+        LineChange change = computeChange(originalIndex, newLines);
+        String newText = change != null ? change.applyTo(originalText) : originalText;
+        return new PreparedWrite(file, modulePath, originalLines, newLines, originalText, newText, change,
+            hasBom, true, stamp);
+    }
 
-                    // Join original lines into single string for content-based search
-                    String currentContent = String.join("\n", originalLines); //$NON-NLS-1$
+    /**
+     * Computes the smallest line range replacement turning the original text into the new
+     * lines. Lines outside the range keep their text and terminators; new lines take the
+     * terminator used around the change.
+     *
+     * @param original the original text
+     * @param newLines the new content lines
+     * @return the change, or null if the lines are the same
+     */
+    static LineChange computeChange(LineIndex original, List<String> newLines)
+    {
+        int oldCount = original.getLineCount();
+        int newCount = newLines.size();
 
-                    // Find oldSource in current content
-                    int idx = currentContent.indexOf(oldSource);
-                    if (idx < 0)
-                    {
-                        return "Error: oldSource not found in current file content. " + //$NON-NLS-1$
-                            "The file may have changed since last read, or the oldSource text " + //$NON-NLS-1$
-                            "does not match exactly. Please read the file again with read_module_source."; //$NON-NLS-1$
-                    }
+        int prefix = 0;
+        while (prefix < oldCount && prefix < newCount
+            && original.getLine(prefix + 1).equals(newLines.get(prefix)))
+        {
+            prefix++;
+        }
+        if (prefix == oldCount && prefix == newCount)
+        {
+            return null;
+        }
+        int suffix = 0;
+        while (suffix < oldCount - prefix && suffix < newCount - prefix
+            && original.getLine(oldCount - suffix).equals(newLines.get(newCount - suffix - 1)))
+        {
+            suffix++;
+        }
 
-                    // Check for multiple occurrences
-                    int secondIdx = currentContent.indexOf(oldSource, idx + 1);
-                    if (secondIdx >= 0)
-                    {
-                        return "Error: oldSource found multiple times in the file (" + //$NON-NLS-1$
-                            countOccurrences(currentContent, oldSource) +
-                            " occurrences). Provide a larger, more specific oldSource fragment " + //$NON-NLS-1$
-                            "that matches exactly one location."; //$NON-NLS-1$
-                    }
+        String text = original.getText();
+        int start = prefix < oldCount ? original.getLineStart(prefix + 1) : text.length();
+        int end = suffix > 0 ? original.getLineStart(oldCount - suffix + 1) : text.length();
+        String separator = lineSeparator(original, Math.max(prefix, 1));
 
-                    // Perform replacement
-                    String newContent = currentContent.substring(0, idx)
-                        + source
-                        + currentContent.substring(idx + oldSource.length());
+        StringBuilder replacement = new StringBuilder();
+        if (start == text.length() && !text.isEmpty() && original.getLineEnd(oldCount) == text.length())
+        {
+            // Appending after a last line without terminator
+            replacement.append(separator);
+        }
+        for (int i = prefix; i < newCount - suffix; i++)
+        {
+            replacement.append(newLines.get(i)).append(separator);
+        }
+        return new LineChange(prefix + 1, oldCount - suffix - prefix, newCount - suffix - prefix,
+            new ReplaceEdit(start, end - start, replacement.toString()));
+    }
 
-                    newLines = splitSourceLines(newContent);
-                    break;
+    /**
+     * Returns the terminator of a line, falling back to the first line and then to LF.
+     */
+    private static String lineSeparator(LineIndex index, int line)
+    {
+        int count = index.getLineCount();
+        for (int candidate : new int[] { line, 1 })
+        {
+            if (candidate <= count)
+            {
+                int next = candidate < count ? index.getLineStart(candidate + 1) : index.getText().length();
+                String terminator = index.getText().substring(index.getLineEnd(candidate), next);
+                if (!terminator.isEmpty())
+                {
+                    return terminator;
                 }
+            }
+        }
+        return "\n"; //$NON-NLS-1$
+    }
 
-                default:
-                    return "Error: unsupported mode: " + mode; //$NON-NLS-1$
+    /**
+     * Applies the edits of one module to its lines in place, in order, so each edit
+     * sees the result of the edits before it.
+     *
+     * @return error message of the first edit that fails, starting with "Error:", or null if all applied
+     */
+    static String applyEdits(List<String> lines, List<ModuleEdit> edits)
+    {
+        for (ModuleEdit edit : edits)
+        {
+            String error = applyEdit(lines, edit);
+            if (error != null)
+            {
+                return error;
             }
+        }
+        return null;
+    }
+
+    /**
+     * Applies one edit to the module lines in place.
+     *
+     * @return error message starting with "Error:", or null if applied
+     */
+    private static String applyEdit(List<String> lines, ModuleEdit edit)
+    {
+        // Normalize source: \r\n -> \n
+        String source = edit.source().replace("\r\n", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        switch (edit.mode())
+        {
+            case MODE_REPLACE:
+                lines.clear();
+                lines.addAll(splitSourceLines(source));
+                return null;
+
+            case MODE_APPEND:
+                lines.addAll(splitSourceLines(source));
+                return null;
 
-            // 8. BSL syntax check
-            if (!skipSyntaxCheck)
+            case MODE_SEARCH_REPLACE:
             {
-                BslSyntaxChecker.CheckResult checkResult = BslSyntaxChecker.check(newLines);
-                if (!checkResult.isValid())
+                // Normalize oldSource
+                String oldSource = edit.oldSource().replace("\r\n", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+                // Join original lines into single string for content-based search
+                String currentContent = String.join("\n", lines); //$NON-NLS-1$
+
+                // Find oldSource in current content
+                int idx = currentContent.indexOf(oldSource);
+                if (idx < 0)
                 {
-                    StringBuilder sb = new StringBuilder();
-                    sb.append("Error: BSL syntax check failed. Write blocked.\n\n"); //$NON-NLS-1$
-                    sb.append("**Errors:**\n"); //$NON-NLS-1$
-                    for (String error : checkResult.getErrors())
-                    {
-                        sb.append("- ").append(error).append("\n"); //$NON-NLS-1$ //$NON-NLS-2$
-                    }
-                    sb.append("\nPass skipSyntaxCheck=true to force write."); //$NON-NLS-1$
-                    return sb.toString();
+                    return "Error: oldSource not found in current file content. " + //$NON-NLS-1$
+                        "The file may have changed since last read, or the oldSource text " + //$NON-NLS-1$
+                        "does not match exactly. Please read the file again with read_module_source."; //$NON-NLS-1$
                 }
-            }
 
-            // 9. Write file
-            writeFile(file, newLines, hasBom, fileExists);
+                // Check for multiple occurrences
+                int secondIdx = currentContent.indexOf(oldSource, idx + 1);
+                if (secondIdx >= 0)
+                {
+                    return "Error: oldSource found multiple times in the file (" + //$NON-NLS-1$
+                        countOccurrences(currentContent, oldSource) +
+                        " occurrences). Provide a larger, more specific oldSource fragment " + //$NON-NLS-1$
+                        "that matches exactly one location."; //$NON-NLS-1$
+                }
 
-            // 10. Build frontmatter
-            FrontMatter fm = FrontMatter.create()
-                .put("tool", NAME) //$NON-NLS-1$
-                .put("projectName", projectName) //$NON-NLS-1$
-                .put("modulePath", modulePath) //$NON-NLS-1$
-                .put("mode", mode) //$NON-NLS-1$
-                .put("status", "success") //$NON-NLS-1$ //$NON-NLS-2$
-                .put("linesAfter", newLines.size()) //$NON-NLS-1$
-                .put("syntaxCheck", skipSyntaxCheck ? "skipped" : "passed"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                // Perform replacement
+                String newContent = currentContent.substring(0, idx)
+                    + source
+                    + currentContent.substring(idx + oldSource.length());
 
-            if (fileExists)
-            {
-                fm.put("linesBefore", totalOriginal); //$NON-NLS-1$
-            }
-            else
-            {
-                fm.put("newFile", true); //$NON-NLS-1$
+                lines.clear();
+                lines.addAll(splitSourceLines(newContent));
+                return null;
             }
 
-            // 11. Return success
-            return fm.wrapContent("File written successfully"); //$NON-NLS-1$
-        }
-        catch (Exception e)
-        {
-            return "Error writing file: " + e.getMessage(); //$NON-NLS-1$
+            default:
+                return "Error: unsupported mode: " + edit.mode(); //$NON-NLS-1$
         }
     }
 
     /**
      * Counts the number of occurrences of a substring in a string.
      */
-    private int countOccurrences(String text, String search)
+    private static int countOccurrences(String text, String search)
     {
         int count = 0;
         int idx = 0;
@@ -366,7 +892,7 @@ public class WriteModuleSourceTool implements IMcpTool
     /**
      * Resolves objectName + moduleType to a module file path relative to src/.
      */
-    private String resolveModulePath(String objectName, String moduleType,
+    private static String resolveModulePath(String objectName, String moduleType,
         String formName, String commandName)
     {
         // Parse objectName: "Document.MyDoc" -> typePart="Document", namePart="MyDoc"
@@ -463,7 +989,7 @@ public class WriteModuleSourceTool implements IMcpTool
     /**
      * Splits source code into lines, handling trailing newline artifact.
      */
-    private List<String> splitSourceLines(String source)
+    private static List<String> splitSourceLines(String source)
     {
         if (source.isEmpty())
         {
@@ -487,7 +1013,7 @@ public class WriteModuleSourceTool implements IMcpTool
     /**
      * Detects if the file starts with UTF-8 BOM.
      */
-    private boolean detectBom(IFile file)
+    private static boolean detectBom(IFile file)
     {
         try (InputStream is = file.getContents();
              BufferedInputStream bis = new BufferedInputStream(is))
@@ -507,20 +1033,134 @@ public class WriteModuleSourceTool implements IMcpTool
     }
 
     /**
-     * Writes lines to the file, preserving BOM if needed.
+     * Applies a text edit to a module through its shared file buffer and commits the
+     * buffer, so an editor open on the module shows the change and keeps its undo history.
+     *
+     * @param expectedText the text the edit was computed for
+     * @throws CoreException if the buffer has unsaved changes, differs from the expected
+     *             text, or cannot be committed
      */
-    private void writeFile(IFile file, List<String> lines, boolean withBom,
-        boolean fileExists) throws Exception
+    private static void applyToBuffer(IFile file, String modulePath, ReplaceEdit edit, String expectedText)
+        throws CoreException
     {
-        String content = String.join("\n", lines); //$NON-NLS-1$
+        ITextFileBufferManager manager = FileBuffers.getTextFileBufferManager();
+        IPath path = file.getFullPath();
+        manager.connect(path, LocationKind.IFILE, null);
+        try
+        {
+            ITextFileBuffer buffer = manager.getTextFileBuffer(path, LocationKind.IFILE);
+            if (buffer.isDirty())
+            {
+                throw error("Module src/" + modulePath + " has unsaved changes in an editor. " //$NON-NLS-1$ //$NON-NLS-2$
+                    + "Nothing was written; save or revert the editor and retry."); //$NON-NLS-1$
+            }
+            IDocument document = buffer.getDocument();
+            if (!expectedText.equals(document.get()))
+            {
+                throw error("Module src/" + modulePath + " was changed after it was read. " //$NON-NLS-1$ //$NON-NLS-2$
+                    + "Nothing was written; read the module again and retry."); //$NON-NLS-1$
+            }
+
+            if (manager.isSynchronizationContextRequested(path, LocationKind.IFILE))
+            {
+                // The document belongs to an open editor and must be changed in its context.
+                // Whoever completes the future first decides: the runnable by applying the
+                // edit, the waiter by giving up, in which case a late edit is skipped or undone.
+                CompletableFuture<Void> applied = new CompletableFuture<>();
+                AtomicBoolean cancelled = new AtomicBoolean();
+                manager.execute(() -> applyInContext(buffer, edit, expectedText, applied, cancelled));
+                Throwable failure = null;
+                try
+                {
+                    applied.get(BUFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+                catch (TimeoutException | InterruptedException e)
+                {
+                    if (e instanceof InterruptedException)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    cancelled.set(true);
+                    if (applied.completeExceptionally(e))
+                    {
+                        throw error(e instanceof TimeoutException
+                            ? "Editor of module src/" + modulePath + " did not accept the change in time. " //$NON-NLS-1$ //$NON-NLS-2$
+                                + "Nothing was written." //$NON-NLS-1$
+                            : "Interrupted while writing module src/" + modulePath + ". Nothing was written."); //$NON-NLS-1$ //$NON-NLS-2$
+                    }
+                    // The runnable finished just as the wait ended; its outcome stands
+                    failure = applied.handle((result, t) -> t).join();
+                }
+                catch (ExecutionException e)
+                {
+                    failure = e.getCause();
+                }
+                if (failure != null)
+                {
+                    throw error("Error applying change to src/" + modulePath + ": " + failure.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+            else
+            {
+                try
+                {
+                    edit.apply(document);
+                }
+                catch (BadLocationException e)
+                {
+                    throw error("Error applying change to src/" + modulePath + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+            buffer.commit(null, true);
+        }
+        finally
+        {
+            manager.disconnect(path, LocationKind.IFILE, null);
+        }
+    }
 
-        // Ensure file ends with newline
-        if (!content.endsWith("\n")) //$NON-NLS-1$
+    /**
+     * Applies an edit inside the synchronization context of an editor's buffer. The
+     * buffer is checked again there, since the editor may have changed it after the
+     * edit was queued.
+     */
+    static void applyInContext(ITextFileBuffer buffer, ReplaceEdit edit, String expectedText,
+        CompletableFuture<Void> applied, AtomicBoolean cancelled)
+    {
+        if (cancelled.get())
+        {
+            return;
+        }
+        try
         {
-            content += "\n"; //$NON-NLS-1$
+            IDocument document = buffer.getDocument();
+            if (buffer.isDirty() || !expectedText.equals(document.get()))
+            {
+                applied.completeExceptionally(new IllegalStateException(
+                    "the module was changed in an editor. Nothing was written; read the module again and retry")); //$NON-NLS-1$
+                return;
+            }
+            UndoEdit undo = edit.apply(document);
+            if (!applied.complete(null))
+            {
+                // The waiter gave up while the edit was applied and reported the write as failed
+                undo.apply(document);
+            }
         }
+        catch (Exception e)
+        {
+            applied.completeExceptionally(e);
+        }
+    }
 
-        byte[] contentBytes = content.getBytes("UTF-8"); //$NON-NLS-1$
+    /**
+     * Creates a new module file and its missing parent folders.
+     *
+     * @return the topmost folder created, or null if the parent folder existed
+     */
+    private static IFolder createFile(IFile file, String content, boolean withBom) throws CoreException
+    {
+        byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
 
         byte[] output;
         if (withBom)
@@ -536,47 +1176,44 @@ public class WriteModuleSourceTool implements IMcpTool
 
         InputStream stream = new ByteArrayInputStream(output);
 
-        if (fileExists)
-        {
-            file.setContents(stream, IResource.FORCE | IResource.KEEP_HISTORY, null);
-        }
-        else
-        {
-            // Create parent directories if needed
-            createParentFolders(file);
-            file.create(stream, true, null);
-        }
+        // Create parent directories if needed
+        IFolder created = createParentFolders(file);
+        file.create(stream, true, null);
+        return created;
     }
 
     /**
      * Recursively creates parent folders for the given file.
+     *
+     * @return the topmost folder created, or null if the parent existed
      */
-    private void createParentFolders(IFile file) throws Exception
+    private static IFolder createParentFolders(IFile file) throws CoreException
     {
         IFolder parent = (IFolder)file.getParent();
         if (parent != null && !parent.exists())
         {
-            createFolder(parent);
+            return createFolder(parent);
         }
+        return null;
     }
 
     /**
      * Recursively creates a folder and its parents.
+     *
+     * @return the topmost folder created
      */
-    private void createFolder(IFolder folder) throws Exception
+    private static IFolder createFolder(IFolder folder) throws CoreException
     {
-        if (folder.exists())
-        {
-            return;
-        }
+        IFolder topmost = folder;
         if (folder.getParent() instanceof IFolder)
         {
             IFolder parentFolder = (IFolder)folder.getParent();
             if (!parentFolder.exists())
             {
-                createFolder(parentFolder);
+                topmost = createFolder(parentFolder);
             }
         }
         folder.create(true, true, null);
+        return topmost;
     }
 }
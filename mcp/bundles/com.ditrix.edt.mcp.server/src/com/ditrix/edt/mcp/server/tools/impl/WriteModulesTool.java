@@ -0,0 +1,414 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.DirtyObjectTracker;
+import com.ditrix.edt.mcp.server.protocol.JsonSchemaBuilder;
+import com.ditrix.edt.mcp.server.protocol.JsonUtils;
+import com.ditrix.edt.mcp.server.tools.IMcpTool;
+import com.ditrix.edt.mcp.server.tools.impl.WriteModuleSourceTool.ModuleEdit;
+import com.ditrix.edt.mcp.server.tools.impl.WriteModuleSourceTool.PreparedWrite;
+import com.ditrix.edt.mcp.server.utils.FrontMatter;
+import com.ditrix.edt.mcp.server.utils.MarkdownUtils;
+import com.ditrix.edt.mcp.server.utils.WorkspaceWriteBatcher;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tool to edit many BSL modules at once. Edits use the same modes as
+ * {@code write_module_source}; edits of one module are applied in order.
+ * All modules are read and syntax-checked in parallel, and are written only if every
+ * edit succeeds. The writes run in one workspace operation, so the whole change
+ * produces one resource delta and one build; if a write fails, the modules already
+ * written are restored, and the response names any module that could not be.
+ */
+public class WriteModulesTool implements IMcpTool
+{
+    public static final String NAME = "write_modules"; //$NON-NLS-1$
+
+    /** Maximum number of edits in one call */
+    private static final int MAX_EDITS = 500;
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "Edit many BSL modules in one call, all or nothing. " + //$NON-NLS-1$
+            "Each edit has the parameters of write_module_source (modulePath or objectName + moduleType, " + //$NON-NLS-1$
+            "source, oldSource, mode); several edits of one module are applied in order. " + //$NON-NLS-1$
+            "Nothing is written if any edit fails or breaks BSL syntax. " + //$NON-NLS-1$
+            "All modules are written in one workspace operation, so EDT builds and validates once. " + //$NON-NLS-1$
+            "Use for refactorings that touch several modules."; //$NON-NLS-1$
+    }
+
+    @Override
+    public String getInputSchema()
+    {
+        JsonSchemaBuilder edit = JsonSchemaBuilder.object()
+            .stringProperty("modulePath", //$NON-NLS-1$
+                "Path to module from src/ folder, e.g. 'CommonModules/MyModule/Module.bsl'. " + //$NON-NLS-1$
+                "Alternative: objectName + moduleType.") //$NON-NLS-1$
+            .stringProperty("objectName", "Full object name, e.g. 'Document.MyDoc'. Alternative to modulePath.") //$NON-NLS-1$ //$NON-NLS-2$
+            .stringProperty("moduleType", //$NON-NLS-1$
+                "ObjectModule (default), ManagerModule, FormModule, CommandModule, RecordSetModule.") //$NON-NLS-1$
+            .stringProperty("formName", "Form name, required when moduleType=FormModule.") //$NON-NLS-1$ //$NON-NLS-2$
+            .stringProperty("commandName", "Command name, required when moduleType=CommandModule.") //$NON-NLS-1$ //$NON-NLS-2$
+            .stringProperty("source", "BSL source code to write (required).", true) //$NON-NLS-1$ //$NON-NLS-2$
+            .stringProperty("oldSource", //$NON-NLS-1$
+                "Existing code to replace (required for searchReplace). Must match exactly one location.") //$NON-NLS-1$
+            .stringProperty("mode", "'searchReplace' (default), 'replace' or 'append'."); //$NON-NLS-1$ //$NON-NLS-2$
+
+        return JsonSchemaBuilder.object()
+            .stringProperty("projectName", "EDT project name (required)", true) //$NON-NLS-1$ //$NON-NLS-2$
+            .objectArrayProperty("edits", "Module edits to apply together (required)", edit, true) //$NON-NLS-1$ //$NON-NLS-2$
+            .booleanProperty("skipSyntaxCheck", //$NON-NLS-1$
+                "Skip BSL syntax validation of the resulting modules (default: false).") //$NON-NLS-1$
+            .build();
+    }
+
+    @Override
+    public String execute(Map<String, String> params)
+    {
+        String projectName = JsonUtils.extractStringArgument(params, "projectName"); //$NON-NLS-1$
+        String editsJson = JsonUtils.extractStringArgument(params, "edits"); //$NON-NLS-1$
+        boolean skipSyntaxCheck = JsonUtils.extractBooleanArgument(params, "skipSyntaxCheck", false); //$NON-NLS-1$
+
+        if (projectName == null || projectName.isEmpty())
+        {
+            return "Error: projectName is required"; //$NON-NLS-1$
+        }
+
+        JsonArray edits;
+        try
+        {
+            JsonElement parsed = editsJson != null ? JsonParser.parseString(editsJson) : null;
+            if (parsed == null || !parsed.isJsonArray() || parsed.getAsJsonArray().isEmpty())
+            {
+                return "Error: edits must be a non-empty array of edit objects"; //$NON-NLS-1$
+            }
+            edits = parsed.getAsJsonArray();
+        }
+        catch (RuntimeException e)
+        {
+            return "Error: edits is not valid JSON: " + e.getMessage(); //$NON-NLS-1$
+        }
+        if (edits.size() > MAX_EDITS)
+        {
+            return "Error: too many edits (" + edits.size() + "), maximum is " + MAX_EDITS; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        // Validate every edit and group them by module, keeping the order of the request
+        Map<String, List<ModuleEdit>> byModule = new LinkedHashMap<>();
+        for (int i = 0; i < edits.size(); i++)
+        {
+            if (!edits.get(i).isJsonObject())
+            {
+                return "Error: edit #" + (i + 1) + " is not an object"; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            JsonObject edit = edits.get(i).getAsJsonObject();
+            String mode = field(edit, "mode"); //$NON-NLS-1$
+            if (mode == null || mode.isEmpty())
+            {
+                mode = "searchReplace"; //$NON-NLS-1$
+            }
+            String source = field(edit, "source"); //$NON-NLS-1$
+            String oldSource = field(edit, "oldSource"); //$NON-NLS-1$
+
+            String error = WriteModuleSourceTool.validateEdit(source, oldSource, mode);
+            String modulePath = WriteModuleSourceTool.resolveTargetPath(field(edit, "modulePath"), //$NON-NLS-1$
+                field(edit, "objectName"), field(edit, "moduleType"), //$NON-NLS-1$ //$NON-NLS-2$
+                field(edit, "formName"), field(edit, "commandName")); //$NON-NLS-1$ //$NON-NLS-2$
+            if (error == null && modulePath.startsWith("Error:")) //$NON-NLS-1$
+            {
+                error = modulePath;
+            }
+            if (error != null)
+            {
+                return "Error: edit #" + (i + 1) + ": " + error.substring("Error: ".length()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            byModule.computeIfAbsent(modulePath, k -> new ArrayList<>()).add(new ModuleEdit(mode, source, oldSource));
+        }
+
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+        if (project == null || !project.exists())
+        {
+            return "Error: Project not found: " + projectName; //$NON-NLS-1$
+        }
+
+        WorkspaceWriteBatcher batcher = WorkspaceWriteBatcher.getInstance();
+        List<PreparedWrite> prepared = new ArrayList<>();
+        List<PreparedWrite> rejected = new ArrayList<>();
+        boolean queued = batcher.isOpen(projectName);
+        Preparer preparer = (modulePath, moduleEdits) -> WriteModuleSourceTool.prepare(project, modulePath,
+            moduleEdits, skipSyntaxCheck);
+        try
+        {
+            if (queued)
+            {
+                // Inside an explicit write batch, check now unless an earlier queued write changes
+                // one of the modules, and check and write again when the batch is applied
+                if (byModule.keySet().stream().noneMatch(modulePath -> batcher.hasPending(projectName, modulePath)))
+                {
+                    prepareAll(byModule, preparer, prepared, rejected);
+                }
+                if (rejected.isEmpty())
+                {
+                    batcher.submit(project, new ArrayList<>(byModule.keySet()), monitor -> {
+                        List<PreparedWrite> toWrite = new ArrayList<>();
+                        List<PreparedWrite> failed = new ArrayList<>();
+                        prepareAll(byModule, preparer, toWrite, failed);
+                        if (!failed.isEmpty())
+                        {
+                            throw WriteModuleSourceTool.error(formatRejected(failed, byModule.size()));
+                        }
+                        writeAll(toWrite);
+                        markChanged(projectName, toWrite);
+                    });
+                }
+            }
+            else
+            {
+                // Read and check all modules while holding the project rule,
+                // so no other write can slip in between the check and the write
+                batcher.run(project, monitor -> {
+                    prepareAll(byModule, preparer, prepared, rejected);
+                    if (rejected.isEmpty())
+                    {
+                        writeAll(prepared);
+                    }
+                });
+            }
+        }
+        catch (CoreException e)
+        {
+            Activator.logError("Multi-module write failed", e); //$NON-NLS-1$
+            return "Error: " + e.getMessage(); //$NON-NLS-1$
+        }
+
+        if (!rejected.isEmpty())
+        {
+            return formatRejected(rejected, byModule.size());
+        }
+
+        if (queued)
+        {
+            return formatQueued(projectName, byModule.keySet(), prepared, edits.size());
+        }
+        markChanged(projectName, prepared);
+        return formatWritten(projectName, prepared, edits.size(), skipSyntaxCheck);
+    }
+
+    private static void markChanged(String projectName, List<PreparedWrite> writes)
+    {
+        DirtyObjectTracker tracker = DirtyObjectTracker.getInstance();
+        for (PreparedWrite write : writes)
+        {
+            if (!write.isUnchanged())
+            {
+                tracker.markModule(projectName, write.modulePath);
+            }
+        }
+    }
+
+    /**
+     * Reads a module and applies its edits in memory.
+     */
+    @FunctionalInterface
+    interface Preparer
+    {
+        PreparedWrite prepare(String modulePath, List<ModuleEdit> edits) throws Exception;
+    }
+
+    /**
+     * A module write that can be undone.
+     */
+    interface ReversibleWrite
+    {
+        String modulePath();
+
+        void write() throws CoreException;
+
+        void rollback() throws CoreException;
+    }
+
+    /**
+     * Reads and checks all modules in parallel, keeping the order of the request.
+     */
+    static void prepareAll(Map<String, List<ModuleEdit>> byModule, Preparer preparer,
+        List<PreparedWrite> prepared, List<PreparedWrite> rejected)
+    {
+        Map<String, PreparedWrite> results = new LinkedHashMap<>();
+        byModule.keySet().forEach(modulePath -> results.put(modulePath, null));
+        byModule.entrySet().parallelStream().forEach(entry -> {
+            PreparedWrite write;
+            try
+            {
+                write = preparer.prepare(entry.getKey(), entry.getValue());
+            }
+            catch (Exception e)
+            {
+                write = PreparedWrite.rejected(entry.getKey(), "Error reading module: " + e.getMessage()); //$NON-NLS-1$
+            }
+            synchronized (results)
+            {
+                results.put(entry.getKey(), write);
+            }
+        });
+        for (PreparedWrite write : results.values())
+        {
+            (write.isRejected() ? rejected : prepared).add(write);
+        }
+    }
+
+    /**
+     * Writes all modules in order. If a write fails, the modules already written are
+     * restored in reverse order.
+     *
+     * @throws CoreException if a write fails; the message names the failed module and
+     *             every module that could not be restored
+     */
+    static void writeAll(List<? extends ReversibleWrite> writes) throws CoreException
+    {
+        List<ReversibleWrite> written = new ArrayList<>();
+        for (ReversibleWrite write : writes)
+        {
+            try
+            {
+                write.write();
+                written.add(write);
+            }
+            catch (CoreException | RuntimeException e)
+            {
+                List<String> notRestored = new ArrayList<>();
+                for (int i = written.size() - 1; i >= 0; i--)
+                {
+                    ReversibleWrite done = written.get(i);
+                    try
+                    {
+                        done.rollback();
+                    }
+                    catch (CoreException | RuntimeException rollbackError)
+                    {
+                        Activator.logError("Failed to restore module " + done.modulePath(), rollbackError); //$NON-NLS-1$
+                        notRestored.add(done.modulePath());
+                    }
+                }
+                throw WriteModuleSourceTool.error(writeFailure(write.modulePath(), e.getMessage(),
+                    written.size(), notRestored));
+            }
+        }
+    }
+
+    static String writeFailure(String modulePath, String error, int written, List<String> notRestored)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("writing ").append(modulePath).append(" failed: ").append(error); //$NON-NLS-1$ //$NON-NLS-2$
+        if (written == 0)
+        {
+            sb.append(". Nothing was changed."); //$NON-NLS-1$
+        }
+        else if (notRestored.isEmpty())
+        {
+            sb.append(". The ").append(written).append(" modules written before it were restored; nothing was changed."); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        else
+        {
+            sb.append(". ").append(written - notRestored.size()).append(" of ").append(written) //$NON-NLS-1$ //$NON-NLS-2$
+                .append(" modules written before it were restored. Could not restore: ") //$NON-NLS-1$
+                .append(String.join(", ", notRestored)) //$NON-NLS-1$
+                .append(". These modules keep the new content; check them before retrying."); //$NON-NLS-1$
+        }
+        return sb.toString();
+    }
+
+    private static String field(JsonObject object, String name)
+    {
+        JsonElement element = object.get(name);
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+
+    static String formatRejected(List<PreparedWrite> rejected, int moduleCount)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Error: ").append(rejected.size()).append(" of ").append(moduleCount) //$NON-NLS-1$ //$NON-NLS-2$
+            .append(" modules failed. Nothing was written.\n"); //$NON-NLS-1$
+        for (PreparedWrite write : rejected)
+        {
+            String error = write.error.startsWith("Error: ") ? write.error.substring("Error: ".length()) : write.error; //$NON-NLS-1$ //$NON-NLS-2$
+            sb.append("\n### ").append(write.modulePath).append("\n\n").append(error).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return sb.toString();
+    }
+
+    private static String formatWritten(String projectName, List<PreparedWrite> written, int editCount,
+        boolean skipSyntaxCheck)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("| Module | Change | Lines After | Hash |\n"); //$NON-NLS-1$
+        sb.append("|--------|--------|-------------|------|\n"); //$NON-NLS-1$
+        for (PreparedWrite write : written)
+        {
+            sb.append("| ").append(MarkdownUtils.escapeForTable(write.modulePath)); //$NON-NLS-1$
+            sb.append(" | ").append(write.describeChange()); //$NON-NLS-1$
+            sb.append(" | ").append(write.newLines.size()); //$NON-NLS-1$
+            sb.append(" | ").append(write.contentHash).append(" |\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        return FrontMatter.create()
+            .put("tool", NAME) //$NON-NLS-1$
+            .put("projectName", projectName) //$NON-NLS-1$
+            .put("status", "success") //$NON-NLS-1$ //$NON-NLS-2$
+            .put("modules", written.size()) //$NON-NLS-1$
+            .put("edits", editCount) //$NON-NLS-1$
+            .put("syntaxCheck", skipSyntaxCheck ? "skipped" : "passed") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            .wrapContent(sb.toString());
+    }
+
+    private static String formatQueued(String projectName, Collection<String> modules,
+        List<PreparedWrite> checked, int editCount)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Queued in the open write batch; the modules are checked again and written together ") //$NON-NLS-1$
+            .append("at write_batch action='end', or not at all if an edit no longer applies.\n\n"); //$NON-NLS-1$
+        sb.append("| Module | Change |\n"); //$NON-NLS-1$
+        sb.append("|--------|--------|\n"); //$NON-NLS-1$
+        Map<String, PreparedWrite> previews = new LinkedHashMap<>();
+        checked.forEach(write -> previews.put(write.modulePath, write));
+        for (String modulePath : modules)
+        {
+            PreparedWrite preview = previews.get(modulePath);
+            sb.append("| ").append(MarkdownUtils.escapeForTable(modulePath)); //$NON-NLS-1$
+            sb.append(" | ").append(preview != null ? preview.describeChange() : "checked when applied").append(" |\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+
+        return FrontMatter.create()
+            .put("tool", NAME) //$NON-NLS-1$
+            .put("projectName", projectName) //$NON-NLS-1$
+            .put("status", "queued") //$NON-NLS-1$ //$NON-NLS-2$
+            .put("modules", modules.size()) //$NON-NLS-1$
+            .put("edits", editCount) //$NON-NLS-1$
+            .wrapContent(sb.toString());
+    }
+}
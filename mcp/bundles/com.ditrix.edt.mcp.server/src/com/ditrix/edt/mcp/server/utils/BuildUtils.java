@@ -6,6 +6,11 @@
 
 package com.ditrix.edt.mcp.server.utils;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -17,6 +22,8 @@ import com._1c.g5.v8.dt.core.platform.IDerivedDataManagerProvider;
 import com._1c.g5.v8.dt.core.platform.IDtProject;
 import com._1c.g5.v8.dt.core.platform.IDtProjectManager;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.MarkerIndex;
+import com.ditrix.edt.mcp.server.index.ProjectReadiness;
 
 /**
  * Utility class for build-related operations.
@@ -26,6 +33,9 @@ public final class BuildUtils
     /** Default timeout for waiting derived data computations (5 minutes) */
     private static final long DEFAULT_DD_TIMEOUT_MS = 5 * 60 * 1000;
     
+    /** Interval for checking the progress monitor while waiting for readiness */
+    private static final long CANCEL_CHECK_INTERVAL_MS = 500;
+    
     private BuildUtils()
     {
         // Utility class
@@ -69,24 +79,62 @@ public final class BuildUtils
     
     /**
      * Waits for build jobs and derived data computations to complete.
+     * The wait is shared with all concurrent waiters of the project through
+     * {@link ProjectReadiness}; it also refreshes the configuration problems index.
      * 
      * <p>Note: This method does NOT wait for lifecycle events. If you need to wait for
      * project restart during clean build, use {@link LifecycleWaiter#prepareForRestart(IDtProject)}
      * BEFORE triggering the build, then call {@link LifecycleWaiter.ProjectRestartWaiter#await(long)}.
      * 
-     * @param project the IProject to wait for
-     * @param timeoutMs timeout in milliseconds for derived data wait
-     * @param monitor progress monitor
+     * @param project the IProject to wait for, or null to wait for build jobs only
+     * @param timeoutMs timeout in milliseconds for the whole wait
+     * @param monitor progress monitor, checked for cancellation
      */
     public static void waitForBuildAndDerivedData(IProject project, long timeoutMs, IProgressMonitor monitor)
     {
-        // Step 1: Wait for standard build jobs to complete scheduling
-        waitForBuildJobs(monitor);
+        if (project == null)
+        {
+            waitForBuildJobs(monitor);
+            return;
+        }
         
-        // Step 2: Wait for derived data computations (validation, form dd, etc.)
-        if (project != null)
+        CompletableFuture<Long> ready = ProjectReadiness.getInstance().whenReady(project);
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try
+        {
+            while (true)
+            {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                {
+                    Activator.logInfo("Build and derived data wait timed out for: " + project.getName()); //$NON-NLS-1$
+                    return;
+                }
+                if (monitor != null && monitor.isCanceled())
+                {
+                    return;
+                }
+                try
+                {
+                    ready.get(Math.min(remaining, CANCEL_CHECK_INTERVAL_MS), TimeUnit.MILLISECONDS);
+                    Activator.logInfo("Build and derived data completed for: " + project.getName()); //$NON-NLS-1$
+                    return;
+                }
+                catch (TimeoutException e)
+                {
+                    // Keep waiting
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            Activator.logError("Wait for build and derived data interrupted", e); //$NON-NLS-1$
+        }
+        catch (ExecutionException e)
         {
-            waitForDerivedData(project, timeoutMs);
+            Activator.logInfo("Build and derived data wait ended for " + project.getName() //$NON-NLS-1$
+                + ": " + e.getCause().getMessage()); //$NON-NLS-1$
         }
     }
     
@@ -149,6 +197,8 @@ public final class BuildUtils
             if (completed)
             {
                 Activator.logInfo("Derived data computations completed for: " + project.getName()); //$NON-NLS-1$
+                // Validation results are final now; make the next problem query re-read them
+                MarkerIndex.getInstance().markOutdated(project.getName());
             }
             else
             {
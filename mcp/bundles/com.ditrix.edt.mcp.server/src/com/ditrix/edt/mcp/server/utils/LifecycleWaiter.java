@@ -8,18 +8,17 @@ package com.ditrix.edt.mcp.server.utils;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
-import com._1c.g5.v8.dt.core.lifecycle.ProjectContext;
 import com._1c.g5.v8.dt.core.platform.IDtProject;
-import com._1c.g5.v8.dt.lifecycle.ILifecycleContext;
-import com._1c.g5.v8.dt.lifecycle.IServiceContextLifecycleListener;
-import com._1c.g5.v8.dt.lifecycle.IServicesOrchestrator;
 import com._1c.g5.v8.dt.lifecycle.ServiceState;
 import com.ditrix.edt.mcp.server.Activator;
+import com.ditrix.edt.mcp.server.index.ProjectReadiness;
 
 /**
  * Utility class for waiting on project lifecycle events.
- * Uses IServicesOrchestrator listener to properly wait for project context state changes.
+ * Subscribes to project context state changes through {@link ProjectReadiness},
+ * which shares one IServicesOrchestrator listener between all waiters.
  * 
  * <p>Usage for clean build (to avoid race condition):
  * <pre>
@@ -52,17 +51,17 @@ public final class LifecycleWaiter
             return null;
         }
         
-        IServicesOrchestrator orchestrator = Activator.getDefault().getServicesOrchestrator();
-        if (orchestrator == null)
+        String projectName = dtProject.getName();
+        Activator.logInfo("Preparing lifecycle listener for project restart: " + projectName); //$NON-NLS-1$
+        
+        ProjectRestartWaiter waiter = new ProjectRestartWaiter(projectName);
+        if (!ProjectReadiness.getInstance().addLifecycleListener(projectName, waiter.listener))
         {
             Activator.logInfo("IServicesOrchestrator not available, skipping lifecycle wait"); //$NON-NLS-1$
             return null;
         }
-        
-        String projectName = dtProject.getName();
-        Activator.logInfo("Preparing lifecycle listener for project restart: " + projectName); //$NON-NLS-1$
-        
-        return new ProjectRestartWaiter(orchestrator, projectName);
+        Activator.logInfo("Lifecycle listener registered for: " + projectName); //$NON-NLS-1$
+        return waiter;
     }
     
     /**
@@ -81,45 +80,28 @@ public final class LifecycleWaiter
             return false;
         }
         
-        IServicesOrchestrator orchestrator = Activator.getDefault().getServicesOrchestrator();
-        if (orchestrator == null)
-        {
-            Activator.logInfo("IServicesOrchestrator not available, skipping lifecycle wait"); //$NON-NLS-1$
-            return false;
-        }
-        
         String projectName = dtProject.getName();
-        Activator.logInfo("Waiting for project STARTED state: " + projectName); //$NON-NLS-1$
-        
         CountDownLatch startedLatch = new CountDownLatch(1);
         
-        IServiceContextLifecycleListener listener = new IServiceContextLifecycleListener()
-        {
-            @Override
-            public void contextStateChanged(ILifecycleContext context, ServiceState state)
+        Consumer<ServiceState> listener = state -> {
+            Activator.logInfo("Lifecycle event for " + projectName + ": " + state); //$NON-NLS-1$ //$NON-NLS-2$
+            
+            if (state == ServiceState.STARTED)
             {
-                if (context instanceof ProjectContext)
-                {
-                    ProjectContext projectContext = (ProjectContext) context;
-                    IDtProject contextProject = projectContext.getProject();
-                    
-                    if (contextProject != null && projectName.equals(contextProject.getName()))
-                    {
-                        Activator.logInfo("Lifecycle event for " + projectName + ": " + state); //$NON-NLS-1$ //$NON-NLS-2$
-                        
-                        if (state == ServiceState.STARTED)
-                        {
-                            startedLatch.countDown();
-                        }
-                    }
-                }
+                startedLatch.countDown();
             }
         };
         
+        ProjectReadiness readiness = ProjectReadiness.getInstance();
+        if (!readiness.addLifecycleListener(projectName, listener))
+        {
+            Activator.logInfo("IServicesOrchestrator not available, skipping lifecycle wait"); //$NON-NLS-1$
+            return false;
+        }
+        Activator.logInfo("Waiting for project STARTED state: " + projectName); //$NON-NLS-1$
+        
         try
         {
-            orchestrator.addListener(listener);
-            
             boolean started = startedLatch.await(timeoutMs, TimeUnit.MILLISECONDS);
             if (!started)
             {
@@ -138,14 +120,7 @@ public final class LifecycleWaiter
         }
         finally
         {
-            try
-            {
-                orchestrator.removeListener(listener);
-            }
-            catch (Exception e)
-            {
-                Activator.logError("Error removing lifecycle listener", e); //$NON-NLS-1$
-            }
+            readiness.removeLifecycleListener(projectName, listener);
         }
     }
     
@@ -156,52 +131,31 @@ public final class LifecycleWaiter
      */
     public static class ProjectRestartWaiter
     {
-        private final IServicesOrchestrator orchestrator;
         private final String projectName;
         private final CountDownLatch stoppedLatch = new CountDownLatch(1);
         private final CountDownLatch startedLatch = new CountDownLatch(1);
-        private final IServiceContextLifecycleListener listener;
+        private final Consumer<ServiceState> listener;
         private final long registrationTime;
+        private volatile boolean seenStopped = false;
         
-        ProjectRestartWaiter(IServicesOrchestrator orchestrator, String projectName)
+        ProjectRestartWaiter(String projectName)
         {
-            this.orchestrator = orchestrator;
             this.projectName = projectName;
             this.registrationTime = System.currentTimeMillis();
             
-            this.listener = new IServiceContextLifecycleListener()
-            {
-                private volatile boolean seenStopped = false;
+            this.listener = state -> {
+                Activator.logInfo("Lifecycle event for " + projectName + ": " + state); //$NON-NLS-1$ //$NON-NLS-2$
                 
-                @Override
-                public void contextStateChanged(ILifecycleContext context, ServiceState state)
+                if (state == ServiceState.STOPPED)
+                {
+                    seenStopped = true;
+                    stoppedLatch.countDown();
+                }
+                else if (state == ServiceState.STARTED && seenStopped)
                 {
-                    if (context instanceof ProjectContext)
-                    {
-                        ProjectContext projectContext = (ProjectContext) context;
-                        IDtProject contextProject = projectContext.getProject();
-                        
-                        if (contextProject != null && projectName.equals(contextProject.getName()))
-                        {
-                            Activator.logInfo("Lifecycle event for " + projectName + ": " + state); //$NON-NLS-1$ //$NON-NLS-2$
-                            
-                            if (state == ServiceState.STOPPED)
-                            {
-                                seenStopped = true;
-                                stoppedLatch.countDown();
-                            }
-                            else if (state == ServiceState.STARTED && seenStopped)
-                            {
-                                startedLatch.countDown();
-                            }
-                        }
-                    }
+                    startedLatch.countDown();
                 }
             };
-            
-            // Register listener immediately in constructor
-            orchestrator.addListener(listener);
-            Activator.logInfo("Lifecycle listener registered for: " + projectName); //$NON-NLS-1$
         }
         
         /**
@@ -260,15 +214,8 @@ public final class LifecycleWaiter
          */
         public void cleanup()
         {
-            try
-            {
-                orchestrator.removeListener(listener);
-                Activator.logInfo("Lifecycle listener removed for: " + projectName); //$NON-NLS-1$
-            }
-            catch (Exception e)
-            {
-                Activator.logError("Error removing lifecycle listener", e); //$NON-NLS-1$
-            }
+            ProjectReadiness.getInstance().removeLifecycleListener(projectName, listener);
+            Activator.logInfo("Lifecycle listener removed for: " + projectName); //$NON-NLS-1$
         }
     }
 }
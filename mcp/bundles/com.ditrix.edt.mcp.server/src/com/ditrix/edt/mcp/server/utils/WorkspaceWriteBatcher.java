@@ -0,0 +1,507 @@
+/**
+ * MCP Server for EDT
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import com.ditrix.edt.mcp.server.Activator;
+
+/**
+ * Runs workspace modifications made by MCP write tools, and groups the writes of a
+ * batch into one workspace operation per project, so a series of writes produces one
+ * resource delta and one auto-build instead of a build and validation cycle per write.
+ *
+ * <p>Outside a batch, {@link #run} applies a write at once in its own
+ * {@link IWorkspace#run(IWorkspaceRunnable, org.eclipse.core.runtime.jobs.ISchedulingRule, int, org.eclipse.core.runtime.IProgressMonitor)}
+ * holding the project rule. A tool call waits for its own write, so writes of
+ * sequential calls cannot share an operation unless the caller opens a batch with
+ * {@link #begin}: writes are then queued with {@link #submit} without holding any
+ * workspace lock, and applied in one short operation at {@link #end}, or once
+ * {@link #IDLE_MS} pass without writes.
+ *
+ * <p>Batches are applied one at a time by a single background thread. The wait in
+ * {@link #end} is bounded by {@link #WRITE_TIMEOUT_MS}.
+ *
+ * <p>Thread Safety: this class is thread-safe.
+ */
+public final class WorkspaceWriteBatcher
+{
+    /** Idle time after which a batch is applied even without end() */
+    private static final long IDLE_MS = 2 * 60 * 1000;
+
+    /** Maximum wait in end() for a batch to be applied */
+    private static final long WRITE_TIMEOUT_MS = 60 * 1000;
+
+    /** Maximum wait in dispose() for closing batches to be applied */
+    private static final long DISPOSE_TIMEOUT_MS = 10 * 1000;
+
+    private static WorkspaceWriteBatcher instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    /**
+     * Applies the writes of one batch; the default runs them in one workspace operation.
+     */
+    @FunctionalInterface
+    interface OperationRunner
+    {
+        void run(IProject project, IWorkspaceRunnable operation) throws CoreException;
+    }
+
+    /**
+     * Outcome of a batch.
+     *
+     * @param applied number of writes applied
+     * @param failures "key: message" of each write that failed
+     */
+    public record BatchResult(int applied, List<String> failures) {}
+
+    private final OperationRunner runner;
+    private final long idleMs;
+    private final long writeTimeoutMs;
+
+    /** Applies closed batches in order; its thread never holds the batcher lock while waiting */
+    private final ScheduledExecutorService executor;
+
+    /** Project name -> open batch collecting writes; guarded by this */
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    /** Guarded by this */
+    private boolean closed;
+
+    WorkspaceWriteBatcher(OperationRunner runner, long idleMs, long writeTimeoutMs)
+    {
+        this.runner = runner;
+        this.idleMs = idleMs;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "MCP write batcher"); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the batcher
+     */
+    public static WorkspaceWriteBatcher getInstance()
+    {
+        WorkspaceWriteBatcher localInstance = instance;
+        if (localInstance == null)
+        {
+            synchronized (INSTANCE_LOCK)
+            {
+                localInstance = instance;
+                if (localInstance == null)
+                {
+                    instance = localInstance = new WorkspaceWriteBatcher(WorkspaceWriteBatcher::runInWorkspace,
+                        IDLE_MS, WRITE_TIMEOUT_MS);
+                }
+            }
+        }
+        return localInstance;
+    }
+
+    /**
+     * Applies open batches and stops the background thread.
+     */
+    public static void dispose()
+    {
+        synchronized (INSTANCE_LOCK)
+        {
+            if (instance != null)
+            {
+                instance.shutdown(DISPOSE_TIMEOUT_MS);
+                instance = null;
+            }
+        }
+    }
+
+    private static void runInWorkspace(IProject project, IWorkspaceRunnable operation) throws CoreException
+    {
+        ResourcesPlugin.getWorkspace().run(operation, project, IWorkspace.AVOID_UPDATE, null);
+    }
+
+    /**
+     * Applies a workspace modification now, in its own workspace operation.
+     * Writes made while a batch of the project is open should use {@link #submit}
+     * so they are applied with the batch.
+     *
+     * @param project the project being modified
+     * @param operation the modification; runs in the calling thread under the project rule
+     * @throws CoreException if the operation fails
+     */
+    public void run(IProject project, IWorkspaceRunnable operation) throws CoreException
+    {
+        synchronized (this)
+        {
+            if (closed)
+            {
+                throw error("MCP server is shutting down", null); //$NON-NLS-1$
+            }
+        }
+        runner.run(project, operation);
+    }
+
+    /**
+     * Queues a workspace modification in the project's open batch without waiting for it.
+     * If no batch is open, e.g. because it has just been ended, the modification is
+     * applied at once as by {@link #run}.
+     *
+     * @param project the project being modified
+     * @param key what the write modifies, e.g. a module path; used in failure reports
+     * @param operation the modification; runs under the project rule
+     * @return future completed when the operation has run or failed
+     */
+    public CompletableFuture<Void> submit(IProject project, String key, IWorkspaceRunnable operation)
+    {
+        return submit(project, List.of(key), operation);
+    }
+
+    /**
+     * Queues a workspace modification of several targets without waiting for it.
+     *
+     * @param project the project being modified
+     * @param keys what the write modifies, e.g. module paths
+     * @param operation the modification; runs under the project rule
+     * @return future completed when the operation has run or failed
+     */
+    public CompletableFuture<Void> submit(IProject project, List<String> keys, IWorkspaceRunnable operation)
+    {
+        PendingWrite write = new PendingWrite(keys, operation);
+        synchronized (this)
+        {
+            if (closed)
+            {
+                write.fail(error("MCP server is shutting down", null)); //$NON-NLS-1$
+                return write.done;
+            }
+            Batch batch = batches.get(project.getName());
+            if (batch != null)
+            {
+                batch.writes.add(write);
+                scheduleClose(batch);
+                return write.done;
+            }
+        }
+        try
+        {
+            runner.run(project, operation);
+            write.succeed();
+        }
+        catch (CoreException | RuntimeException e)
+        {
+            write.fail(e);
+        }
+        return write.done;
+    }
+
+    /**
+     * Opens a batch: writes to the project submitted with {@link #submit} are collected
+     * until {@link #end} or {@link #IDLE_MS} without writes.
+     *
+     * @param project the project
+     * @return false if a batch was already open
+     */
+    public synchronized boolean begin(IProject project)
+    {
+        if (closed)
+        {
+            return false;
+        }
+        Batch batch = batches.get(project.getName());
+        if (batch != null)
+        {
+            scheduleClose(batch);
+            return false;
+        }
+        batch = new Batch(project);
+        batches.put(project.getName(), batch);
+        scheduleClose(batch);
+        return true;
+    }
+
+    /**
+     * Ends a batch and waits until its writes are applied, which starts a single
+     * auto-build for them.
+     *
+     * @param project the project
+     * @return outcome of the batch, or null if no batch was open
+     * @throws CoreException if the batch is not applied in time
+     */
+    public BatchResult end(IProject project) throws CoreException
+    {
+        Batch batch;
+        synchronized (this)
+        {
+            batch = batches.get(project.getName());
+            if (batch == null)
+            {
+                return null;
+            }
+            detach(batch);
+        }
+        executor.execute(() -> apply(batch));
+        try
+        {
+            return batch.result.get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            throw error("Write batch for " + project.getName() + " is waiting for the project to become free; " //$NON-NLS-1$ //$NON-NLS-2$
+                + "its writes are applied as soon as EDT releases it", null); //$NON-NLS-1$
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw error("Interrupted while waiting for write batch of " + project.getName(), e); //$NON-NLS-1$
+        }
+        catch (ExecutionException e)
+        {
+            throw error(String.valueOf(e.getCause().getMessage()), e.getCause());
+        }
+    }
+
+    /**
+     * Checks whether writes to the project are being collected in a batch, in which
+     * case they are applied at {@link #end}. Resource deltas and builds for them have
+     * not happened yet.
+     *
+     * @param projectName the project
+     * @return true if a batch is open
+     */
+    public synchronized boolean isOpen(String projectName)
+    {
+        return batches.containsKey(projectName);
+    }
+
+    /**
+     * Checks whether the open batch of a project holds a write with the given key.
+     *
+     * @param projectName the project
+     * @param key the write key, e.g. a module path
+     * @return true if such a write is waiting to be applied
+     */
+    public synchronized boolean hasPending(String projectName, String key)
+    {
+        Batch batch = batches.get(projectName);
+        if (batch == null)
+        {
+            return false;
+        }
+        for (PendingWrite write : batch.writes)
+        {
+            if (write.keys.contains(key))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * (Re)schedules the close of a batch after its idle time. Caller holds the lock.
+     */
+    private void scheduleClose(Batch batch)
+    {
+        if (batch.timer != null)
+        {
+            batch.timer.cancel(false);
+        }
+        batch.timer = executor.schedule(() -> {
+            synchronized (this)
+            {
+                if (batches.get(batch.project.getName()) != batch)
+                {
+                    return;
+                }
+                detach(batch);
+            }
+            apply(batch);
+        }, idleMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Removes a batch from the open batches so no more writes join it. Caller holds the lock.
+     */
+    private Batch detach(Batch batch)
+    {
+        batches.remove(batch.project.getName(), batch);
+        if (batch.timer != null)
+        {
+            batch.timer.cancel(false);
+        }
+        return batch;
+    }
+
+    /**
+     * Applies the writes of a detached batch in one workspace operation. Every write is
+     * completed when this returns, whatever the operation throws.
+     */
+    private void apply(Batch batch)
+    {
+        List<PendingWrite> writes = batch.writes;
+        try
+        {
+            if (!writes.isEmpty())
+            {
+                runner.run(batch.project, monitor -> {
+                    for (PendingWrite write : writes)
+                    {
+                        try
+                        {
+                            write.operation.run(monitor);
+                            write.succeed();
+                        }
+                        catch (CoreException | RuntimeException e)
+                        {
+                            write.fail(e);
+                        }
+                    }
+                });
+            }
+        }
+        catch (CoreException | RuntimeException e)
+        {
+            Activator.logError("Write batch failed for " + batch.project.getName(), e); //$NON-NLS-1$
+        }
+        finally
+        {
+            // Writes the operation did not complete, e.g. after an Error, fail instead of hanging
+            int applied = 0;
+            List<String> failures = new ArrayList<>();
+            for (PendingWrite write : writes)
+            {
+                write.fail(error("Write batch for " + batch.project.getName() + " was aborted", null)); //$NON-NLS-1$ //$NON-NLS-2$
+                if (write.failure == null)
+                {
+                    applied++;
+                }
+                else
+                {
+                    failures.add(String.join(", ", write.keys) + ": " + write.failure); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+            if (applied > 0)
+            {
+                Activator.logInfo("Applied " + applied + " MCP writes to " + batch.project.getName() //$NON-NLS-1$ //$NON-NLS-2$
+                    + " in one workspace operation"); //$NON-NLS-1$
+            }
+            batch.result.complete(new BatchResult(applied, failures));
+        }
+    }
+
+    /**
+     * Applies all open batches, waiting up to the timeout, and stops the thread.
+     */
+    void shutdown(long timeoutMs)
+    {
+        List<Batch> remaining;
+        synchronized (this)
+        {
+            closed = true;
+            remaining = new ArrayList<>(batches.values());
+            remaining.forEach(this::detach);
+        }
+        for (Batch batch : remaining)
+        {
+            executor.execute(() -> apply(batch));
+        }
+        executor.shutdown();
+        try
+        {
+            executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        for (Batch batch : remaining)
+        {
+            for (PendingWrite write : batch.writes)
+            {
+                write.fail(error("MCP server stopped before the write was applied", null)); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private static CoreException error(String message, Throwable cause)
+    {
+        return new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID, message, cause));
+    }
+
+    /**
+     * A write waiting to be applied.
+     */
+    private static final class PendingWrite
+    {
+        final List<String> keys;
+        final IWorkspaceRunnable operation;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        /** Failure message; written before done completes */
+        volatile String failure;
+
+        PendingWrite(List<String> keys, IWorkspaceRunnable operation)
+        {
+            this.keys = keys;
+            this.operation = operation;
+        }
+
+        synchronized void succeed()
+        {
+            done.complete(null);
+        }
+
+        synchronized void fail(Throwable e)
+        {
+            if (!done.isDone())
+            {
+                failure = String.valueOf(e.getMessage());
+                done.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Writes collected for one project until the batch closes.
+     */
+    private static final class Batch
+    {
+        final IProject project;
+        final CompletableFuture<BatchResult> result = new CompletableFuture<>();
+
+        /** Guarded by the batcher lock until the batch is detached */
+        final List<PendingWrite> writes = new ArrayList<>();
+        ScheduledFuture<?> timer;
+
+        Batch(IProject project)
+        {
+            this.project = project;
+        }
+    }
+}
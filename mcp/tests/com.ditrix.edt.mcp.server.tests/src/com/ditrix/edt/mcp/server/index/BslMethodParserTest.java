@@ -0,0 +1,167 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link BslMethodParser}.
+ */
+public class BslMethodParserTest
+{
+    private static List<MethodSymbol> parse(String... lines)
+    {
+        BslMethodParser parser = new BslMethodParser("CommonModules/Test/Module.bsl"); //$NON-NLS-1$
+        for (int i = 0; i < lines.length; i++)
+        {
+            parser.visit(lines[i], 0, lines[i].length(), i + 1);
+        }
+        return parser.finish();
+    }
+
+    @Test
+    public void testProcedureAndExportFunction()
+    {
+        List<MethodSymbol> methods = parse(
+            "Procedure DoWork(Param1, Val Param2 = 0)", //$NON-NLS-1$
+            "    Message(Param1);", //$NON-NLS-1$
+            "EndProcedure", //$NON-NLS-1$
+            "", //$NON-NLS-1$
+            "Function Calc() Export", //$NON-NLS-1$
+            "    Return 1;", //$NON-NLS-1$
+            "EndFunction"); //$NON-NLS-1$
+
+        assertEquals(2, methods.size());
+        MethodSymbol doWork = methods.get(0);
+        assertEquals("DoWork", doWork.getName()); //$NON-NLS-1$
+        assertFalse(doWork.isFunction());
+        assertFalse(doWork.isExport());
+        assertEquals(1, doWork.getStartLine());
+        assertEquals(3, doWork.getEndLine());
+        assertEquals("Param1, Val Param2 = 0", doWork.getParams()); //$NON-NLS-1$
+
+        MethodSymbol calc = methods.get(1);
+        assertTrue(calc.isFunction());
+        assertTrue(calc.isExport());
+        assertEquals(5, calc.getStartLine());
+        assertEquals(7, calc.getEndLine());
+        assertEquals("Function Calc() Export", calc.getSignature()); //$NON-NLS-1$
+        assertEquals("CommonModules/Test/Module.bsl", calc.getModulePath()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testRussianKeywordsAndPragmas()
+    {
+        List<MethodSymbol> methods = parse(
+            "&НаСервере", //$NON-NLS-1$
+            "// Описание", //$NON-NLS-1$
+            "Функция Получить(Знач Имя) Экспорт", //$NON-NLS-1$
+            "КонецФункции"); //$NON-NLS-1$
+
+        assertEquals(1, methods.size());
+        MethodSymbol method = methods.get(0);
+        assertEquals("Получить", method.getName()); //$NON-NLS-1$
+        assertTrue(method.isFunction());
+        assertTrue(method.isExport());
+        assertEquals(Arrays.asList("&НаСервере"), method.getPragmas()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testPragmaIsDiscardedByInterveningCode()
+    {
+        List<MethodSymbol> methods = parse(
+            "&AtClient", //$NON-NLS-1$
+            "Var X;", //$NON-NLS-1$
+            "Procedure A()", //$NON-NLS-1$
+            "EndProcedure"); //$NON-NLS-1$
+        assertTrue(methods.get(0).getPragmas().isEmpty());
+    }
+
+    @Test
+    public void testMultilineParametersAndExport()
+    {
+        List<MethodSymbol> methods = parse(
+            "Function Build(First, // first", //$NON-NLS-1$
+            "    Second = \")\",", //$NON-NLS-1$
+            "    Third = Undefined)", //$NON-NLS-1$
+            "    Export", //$NON-NLS-1$
+            "EndFunction"); //$NON-NLS-1$
+
+        MethodSymbol method = methods.get(0);
+        assertEquals("First, Second = \")\", Third = Undefined", method.getParams()); //$NON-NLS-1$
+        assertTrue(method.isExport());
+        assertEquals(5, method.getEndLine());
+    }
+
+    @Test
+    public void testKeywordsInStringsAndCommentsAreIgnored()
+    {
+        List<MethodSymbol> methods = parse(
+            "Procedure A()", //$NON-NLS-1$
+            "    Text = \"", //$NON-NLS-1$
+            "    |EndProcedure", //$NON-NLS-1$
+            "    |\";", //$NON-NLS-1$
+            "    // Export", //$NON-NLS-1$
+            "EndProcedure", //$NON-NLS-1$
+            "// Procedure B()"); //$NON-NLS-1$
+
+        assertEquals(1, methods.size());
+        assertEquals(6, methods.get(0).getEndLine());
+        assertFalse(methods.get(0).isExport());
+    }
+
+    @Test
+    public void testCallSites()
+    {
+        BslMethodParser parser = new BslMethodParser("CommonModules/Test/Module.bsl"); //$NON-NLS-1$
+        String[] lines = {
+            "Procedure A(Param = Undefined) Export", //$NON-NLS-1$
+            "    If Check(Param) Then", //$NON-NLS-1$
+            "        Utils.Run(New Structure(\"Key\", 1)); // Skip(", //$NON-NLS-1$
+            "        Документы.Заказ.Провести(Object.GetRef().Ref.Write());", //$NON-NLS-1$
+            "    EndIf;", //$NON-NLS-1$
+            "EndProcedure", //$NON-NLS-1$
+            "Init();" //$NON-NLS-1$
+        };
+        for (int i = 0; i < lines.length; i++)
+        {
+            parser.visit(lines[i], 0, lines[i].length(), i + 1);
+        }
+        parser.finish();
+        List<CallSite> calls = parser.getCallSites();
+
+        assertEquals(6, calls.size());
+        assertCall(calls.get(0), "A", null, "Check", 2); //$NON-NLS-1$ //$NON-NLS-2$
+        assertCall(calls.get(1), "A", "Utils", "Run", 3); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertCall(calls.get(2), "A", "Документы.Заказ", "Провести", 4); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertCall(calls.get(3), "A", "Object", "GetRef", 4); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertCall(calls.get(4), "A", "", "Write", 4); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertCall(calls.get(5), null, null, "Init", 7); //$NON-NLS-1$
+    }
+
+    private static void assertCall(CallSite call, String caller, String qualifier, String callee, int line)
+    {
+        assertEquals(caller, call.getCallerName());
+        assertEquals(qualifier, call.getQualifier());
+        assertEquals(callee, call.getCalleeName());
+        assertEquals(line, call.getLine());
+    }
+
+    @Test
+    public void testUnterminatedMethodEndsAtLastLine()
+    {
+        List<MethodSymbol> methods = parse(
+            "Procedure A()", //$NON-NLS-1$
+            "    X = 1;"); //$NON-NLS-1$
+        assertEquals(2, methods.get(0).getEndLine());
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ByteLineTable}.
+ */
+public class ByteLineTableTest
+{
+    private static ByteLineTable build(String text)
+    {
+        return ByteLineTable.build(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testLineCountMatchesLineIndex()
+    {
+        assertEquals(0, build("").getLineCount()); //$NON-NLS-1$
+        assertEquals(1, build("a\n").getLineCount()); //$NON-NLS-1$
+        assertEquals(2, build("a\n\n").getLineCount()); //$NON-NLS-1$
+        assertEquals(3, build("a\r\nb\rc").getLineCount()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testOffsetsExcludeTerminatorsAndBom()
+    {
+        byte[] body = "Процедура\r\nКонец".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+        byte[] content = new byte[body.length + 3];
+        content[0] = (byte) 0xEF;
+        content[1] = (byte) 0xBB;
+        content[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, content, 3, body.length);
+
+        ByteLineTable table = ByteLineTable.build(ByteBuffer.wrap(content), StandardCharsets.ISO_8859_1);
+        assertEquals(StandardCharsets.UTF_8, table.getCharset());
+        assertEquals(2, table.getLineCount());
+        assertEquals(3, table.getLineStart(1));
+        assertEquals(3 + 18, table.getLineEnd(1));
+        assertEquals(3 + 20, table.getLineStart(2));
+        assertEquals(content.length, table.getLineEnd(2));
+    }
+
+    @Test
+    public void testUnsupportedCharset()
+    {
+        Charset utf16 = StandardCharsets.UTF_16LE;
+        assertNull(ByteLineTable.build(ByteBuffer.wrap("a\nb".getBytes(utf16)), utf16)); //$NON-NLS-1$
+        assertNotNull(ByteLineTable.build(ByteBuffer.wrap(new byte[] { 'a' }), Charset.forName("windows-1251"))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testReadLinesDecodesOnlyRange() throws IOException
+    {
+        Path file = Files.createTempFile("range", ".bsl"); //$NON-NLS-1$ //$NON-NLS-2$
+        try
+        {
+            Files.write(file, "Строка1\r\nСтрока2\nСтрока3\rСтрока4\n".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+            ByteLineTable table = ByteLineTable.read(file, StandardCharsets.UTF_8);
+            assertEquals(4, table.getLineCount());
+            assertEquals("Строка2\nСтрока3", table.readLines(file, 2, 3)); //$NON-NLS-1$
+            assertEquals("Строка4", table.readLines(file, 4, 4)); //$NON-NLS-1$
+            assertEquals("", table.readLines(file, 3, 2)); //$NON-NLS-1$
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadLinesDetectsChangedFile() throws IOException
+    {
+        Path file = Files.createTempFile("range", ".bsl"); //$NON-NLS-1$ //$NON-NLS-2$
+        try
+        {
+            Files.write(file, "a\nb".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+            ByteLineTable table = ByteLineTable.read(file, StandardCharsets.UTF_8);
+            Files.write(file, "a\nbc".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+            table.readLines(file, 1, 2);
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadLinesDetectsSameSizeChange() throws IOException
+    {
+        Path file = Files.createTempFile("range", ".bsl"); //$NON-NLS-1$ //$NON-NLS-2$
+        try
+        {
+            Files.write(file, "a\nb".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+            ByteLineTable table = ByteLineTable.read(file, StandardCharsets.UTF_8);
+            Files.write(file, "ab\n".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+            Files.setLastModifiedTime(file,
+                FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+            table.readLines(file, 1, 2);
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link CallGraph}.
+ */
+public class CallGraphTest
+{
+    private static final String MODULE = "CommonModules/Test/Module.bsl"; //$NON-NLS-1$
+
+    /**
+     * Single-module call graph where every call resolves by name.
+     */
+    private static final class Graph implements CallGraph.Source
+    {
+        final Map<String, MethodSymbol> methods = new LinkedHashMap<>();
+        final List<CallSite> calls = new ArrayList<>();
+
+        Graph method(String name)
+        {
+            methods.put(name, new MethodSymbol(MODULE, name, false, true, 1, 1, "", //$NON-NLS-1$
+                Collections.emptyList()));
+            return this;
+        }
+
+        Graph call(String caller, String callee)
+        {
+            calls.add(new CallSite(MODULE, caller, null, callee, calls.size() + 1));
+            return this;
+        }
+
+        @Override
+        public List<CallSite> getCallsFrom(MethodSymbol method)
+        {
+            List<CallSite> result = new ArrayList<>();
+            for (CallSite call : calls)
+            {
+                if (method.getName().equals(call.getCallerName()))
+                {
+                    result.add(call);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<CallSite> getCallsTo(String methodName)
+        {
+            List<CallSite> result = new ArrayList<>();
+            for (CallSite call : calls)
+            {
+                if (methodName.equals(call.getCalleeName()))
+                {
+                    result.add(call);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<MethodSymbol> resolve(CallSite call)
+        {
+            MethodSymbol target = methods.get(call.getCalleeName());
+            return target != null ? Collections.singletonList(target) : Collections.emptyList();
+        }
+
+        @Override
+        public MethodSymbol getCaller(CallSite call)
+        {
+            return methods.get(call.getCallerName());
+        }
+    }
+
+    @Test
+    public void testTransitiveCallees()
+    {
+        Graph graph = new Graph().method("A").method("B").method("C") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            .call("A", "B").call("B", "C").call("C", "Message"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+        CallGraph.Result result = CallGraph.findCallees(graph, graph.methods.get("A"), 5, 100); //$NON-NLS-1$
+        List<CallGraph.Edge> edges = result.getEdges();
+        assertEquals(3, edges.size());
+        assertEquals("B", edges.get(0).getCallee().getName()); //$NON-NLS-1$
+        assertEquals(1, edges.get(0).getDepth());
+        assertEquals("C", edges.get(1).getCallee().getName()); //$NON-NLS-1$
+        assertEquals(2, edges.get(1).getDepth());
+        assertNull(edges.get(2).getCallee());
+        assertEquals("Message", edges.get(2).getCall().getCalleeName()); //$NON-NLS-1$
+        assertFalse(result.isTruncated());
+    }
+
+    @Test
+    public void testDepthLimit()
+    {
+        Graph graph = new Graph().method("A").method("B").method("C") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            .call("A", "B").call("B", "C"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+        List<CallGraph.Edge> edges = CallGraph.findCallees(graph, graph.methods.get("A"), 1, 100).getEdges(); //$NON-NLS-1$
+        assertEquals(1, edges.size());
+        assertEquals("B", edges.get(0).getCallee().getName()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testTransitiveCallersWithCycle()
+    {
+        Graph graph = new Graph().method("A").method("B").method("C") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            .call("B", "A").call("C", "B").call("A", "C"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+        List<CallGraph.Edge> edges = CallGraph.findCallers(graph, graph.methods.get("A"), 10, 100).getEdges(); //$NON-NLS-1$
+        assertEquals(3, edges.size());
+        assertEquals("B", edges.get(0).getCaller().getName()); //$NON-NLS-1$
+        assertEquals("C", edges.get(1).getCaller().getName()); //$NON-NLS-1$
+        assertEquals(2, edges.get(1).getDepth());
+        assertEquals("A", edges.get(2).getCaller().getName()); //$NON-NLS-1$
+        assertTrue(edges.get(2).isCycle());
+        assertFalse(edges.get(2).isRepeated());
+    }
+
+    @Test
+    public void testSharedCalleeIsExpandedOnce()
+    {
+        Graph graph = new Graph().method("A").method("B").method("C").method("D") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            .call("A", "B").call("A", "C").call("B", "D").call("C", "D").call("D", "Message"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+
+        List<CallGraph.Edge> edges = CallGraph.findCallees(graph, graph.methods.get("A"), 10, 100).getEdges(); //$NON-NLS-1$
+        assertEquals(5, edges.size());
+        CallGraph.Edge second = edges.get(3);
+        assertEquals("C", second.getCaller().getName()); //$NON-NLS-1$
+        assertEquals("D", second.getCallee().getName()); //$NON-NLS-1$
+        assertTrue(second.isRepeated());
+        assertFalse(second.isCycle());
+    }
+
+    @Test
+    public void testEdgeLimit()
+    {
+        Graph graph = new Graph().method("A") //$NON-NLS-1$
+            .call("A", "X").call("A", "Y").call("A", "Z"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+        CallGraph.Result result = CallGraph.findCallees(graph, graph.methods.get("A"), 3, 2); //$NON-NLS-1$
+        assertEquals(2, result.getEdges().size());
+        assertTrue(result.isTruncated());
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link DirtyObjectTracker}.
+ */
+public class DirtyObjectTrackerTest
+{
+    private static final String PROJECT = "Project"; //$NON-NLS-1$
+
+    @Test
+    public void testTopLevelFqn()
+    {
+        assertEquals("Document.Order", DirtyObjectTracker.topLevelFqn("Document.Order")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("Document.Order", DirtyObjectTracker.topLevelFqn("Document.Order.Attribute.Amount")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("Document.Заказ", DirtyObjectTracker.topLevelFqn("Документ.Заказ.Реквизит.Сумма")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("Configuration", DirtyObjectTracker.topLevelFqn("Configuration")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertNull(DirtyObjectTracker.topLevelFqn("Document")); //$NON-NLS-1$
+        assertNull(DirtyObjectTracker.topLevelFqn("Document.")); //$NON-NLS-1$
+        assertNull(DirtyObjectTracker.topLevelFqn(null));
+    }
+
+    @Test
+    public void testMarkModule()
+    {
+        DirtyObjectTracker tracker = new DirtyObjectTracker();
+        tracker.markModule(PROJECT, "Documents/Order/Forms/Main/Module.bsl"); //$NON-NLS-1$
+        tracker.markModule(PROJECT, "Documents/Order/ObjectModule.bsl"); //$NON-NLS-1$
+        tracker.markModule(PROJECT, "CommonModules/Utils/Module.bsl"); //$NON-NLS-1$
+        tracker.markObject(PROJECT, "Document.Order.Attribute.Amount"); //$NON-NLS-1$
+
+        assertEquals(Arrays.asList("Document.Order", "CommonModule.Utils"), tracker.get(PROJECT)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(tracker.get("Other").isEmpty()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testDrainAndRestore()
+    {
+        DirtyObjectTracker tracker = new DirtyObjectTracker();
+        tracker.markObject(PROJECT, "Catalog.Products"); //$NON-NLS-1$
+        tracker.markObject(PROJECT, "Document.Order"); //$NON-NLS-1$
+
+        List<String> drained = tracker.drain(PROJECT);
+        assertEquals(Arrays.asList("Catalog.Products", "Document.Order"), drained); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(tracker.get(PROJECT).isEmpty());
+
+        tracker.markObject(PROJECT, "Document.Invoice"); //$NON-NLS-1$
+        tracker.markObject(PROJECT, "Document.Order"); //$NON-NLS-1$
+        tracker.restore(PROJECT, drained);
+        assertEquals(Arrays.asList("Catalog.Products", "Document.Order", "Document.Invoice"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            tracker.get(PROJECT));
+
+        tracker.restore(PROJECT, Collections.emptyList());
+        tracker.clear(PROJECT);
+        assertTrue(tracker.drain(PROJECT).isEmpty());
+    }
+}
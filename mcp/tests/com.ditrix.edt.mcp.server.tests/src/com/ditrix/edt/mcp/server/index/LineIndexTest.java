@@ -0,0 +1,69 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link LineIndex}.
+ */
+public class LineIndexTest
+{
+    @Test
+    public void testEmptyText()
+    {
+        LineIndex index = LineIndex.of(""); //$NON-NLS-1$
+        assertEquals(0, index.getLineCount());
+        assertEquals(1, index.getLineOfOffset(0));
+        assertEquals(1, index.getColumnOfOffset(0));
+    }
+
+    @Test
+    public void testLineCountMatchesReadLine()
+    {
+        assertEquals(1, LineIndex.of("a").getLineCount()); //$NON-NLS-1$
+        assertEquals(1, LineIndex.of("a\n").getLineCount()); //$NON-NLS-1$
+        assertEquals(2, LineIndex.of("a\n\n").getLineCount()); //$NON-NLS-1$
+        assertEquals(3, LineIndex.of("a\r\nb\rc").getLineCount()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testOffsetToLineAndColumn()
+    {
+        // Lines: "ab" [0..2) CRLF, "" [4..4) LF, "cde" [5..8)
+        LineIndex index = LineIndex.of("ab\r\n\ncde"); //$NON-NLS-1$
+        assertEquals(1, index.getLineOfOffset(0));
+        assertEquals(1, index.getLineOfOffset(2));
+        assertEquals(1, index.getLineOfOffset(3));
+        assertEquals(2, index.getLineOfOffset(4));
+        assertEquals(3, index.getLineOfOffset(5));
+        assertEquals(3, index.getLineOfOffset(100));
+        assertEquals(1, index.getColumnOfOffset(5));
+        assertEquals(3, index.getColumnOfOffset(7));
+        assertEquals(2, index.getColumnOfOffset(1));
+    }
+
+    @Test
+    public void testLineSlicing()
+    {
+        LineIndex index = LineIndex.of("first\r\nsecond\rthird\n"); //$NON-NLS-1$
+        assertEquals("first", index.getLine(1)); //$NON-NLS-1$
+        assertEquals("second", index.getLine(2)); //$NON-NLS-1$
+        assertEquals("third", index.getLine(3)); //$NON-NLS-1$
+        assertEquals("second\rthird", index.getLines(2, 3)); //$NON-NLS-1$
+        assertEquals(0, index.getLineStart(1));
+        assertEquals(7, index.getLineStart(2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testLineOutOfRange()
+    {
+        LineIndex.of("a\nb").getLine(3); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link MarkerStore} and {@link MarkerEntry}.
+ */
+public class MarkerStoreTest
+{
+    private static final String PROJECT = "Project"; //$NON-NLS-1$
+
+    private static MarkerEntry marker(String severity, String check, String location)
+    {
+        return new MarkerEntry(PROJECT, severity, check, "Message " + check, location); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testObjectKey()
+    {
+        assertEquals("document.order", MarkerEntry.objectKey("Document.Order")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("document.order", MarkerEntry.objectKey("Documents.Order.Form.ItemForm.Form")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("document.заказ", //$NON-NLS-1$
+            MarkerEntry.objectKey("Документ.Заказ.Модуль")); //$NON-NLS-1$
+        assertNull(MarkerEntry.objectKey("Configuration")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testFindByPartitions()
+    {
+        MarkerStore store = new MarkerStore();
+        store.replaceProject(PROJECT, Arrays.asList(
+            marker("ERRORS", "SU1", "Document.Order.ObjectModule"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            marker("MAJOR", "SU2", "Document.Order.Form.ItemForm.Form"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            marker("ERRORS", "SU2", "Catalog.Products.ManagerModule"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        assertEquals(2, store.find(new MarkerStore.Query().severity("ERRORS"), 100).size()); //$NON-NLS-1$
+        assertEquals(2, store.find(new MarkerStore.Query().objects(Collections.singleton("document.order")), 100).size()); //$NON-NLS-1$
+
+        List<MarkerEntry> found = store.find(new MarkerStore.Query()
+            .severity("ERRORS") //$NON-NLS-1$
+            .check((project, code) -> code.equals("SU2")), 100); //$NON-NLS-1$
+        assertEquals(1, found.size());
+        assertEquals("Catalog.Products.ManagerModule", found.get(0).getObjectPresentation()); //$NON-NLS-1$
+
+        assertTrue(store.find(new MarkerStore.Query().project("Other"), 100).isEmpty()); //$NON-NLS-1$
+        assertEquals(1, store.find(new MarkerStore.Query(), 1).size());
+    }
+
+    @Test
+    public void testReplaceAppliesDifference()
+    {
+        MarkerStore store = new MarkerStore();
+        MarkerEntry kept = marker("ERRORS", "SU1", "Document.Order.ObjectModule"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        MarkerEntry removed = marker("MINOR", "SU3", "Catalog.Products"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertTrue(store.replaceProject(PROJECT, Arrays.asList(kept, removed)));
+        assertFalse(store.replaceProject(PROJECT, Arrays.asList(kept, removed)));
+
+        MarkerEntry added = marker("MINOR", "SU3", "Catalog.Orders"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertTrue(store.replaceProject(PROJECT, Arrays.asList(kept, added)));
+        assertEquals(2, store.size());
+        assertTrue(store.find(new MarkerStore.Query().objects(Collections.singleton("catalog.products")), 100).isEmpty()); //$NON-NLS-1$
+        assertEquals(1, store.find(new MarkerStore.Query().objects(Collections.singleton("catalog.orders")), 100).size()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testDuplicatesAndVanishedProjects()
+    {
+        MarkerStore store = new MarkerStore();
+        MarkerEntry duplicate = marker("MAJOR", "SU2", "CommonModule.Utils.Module"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        store.replaceProject(PROJECT, Arrays.asList(duplicate, duplicate));
+        assertEquals(2, store.find(new MarkerStore.Query().severity("MAJOR"), 100).size()); //$NON-NLS-1$
+
+        store.replaceProject(PROJECT, Collections.singletonList(duplicate));
+        assertEquals(1, store.size());
+
+        Map<String, List<MarkerEntry>> snapshot = new HashMap<>();
+        assertTrue(store.replaceAll(snapshot));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testSummaryCounters()
+    {
+        MarkerStore store = new MarkerStore();
+        MarkerEntry error = marker("ERRORS", "SU1", "Document.Order.ObjectModule"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        MarkerEntry major = marker("MAJOR", "SU2", "Document.Order.Form.ItemForm.Form"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        MarkerEntry other = marker("MAJOR", "SU2", "Catalog.Products"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        store.replaceProject(PROJECT, Arrays.asList(error, major, major, other));
+        long revision = store.getRevision();
+
+        MarkerStore.Summary summary = store.summarize(null, 1);
+        assertEquals(revision, summary.getRevision());
+        assertEquals(Integer.valueOf(1), summary.getSeverityCounts().get(PROJECT).get("ERRORS")); //$NON-NLS-1$
+        assertEquals(Integer.valueOf(3), summary.getSeverityCounts().get(PROJECT).get("MAJOR")); //$NON-NLS-1$
+        assertEquals(1, summary.getTopChecks().size());
+        assertEquals("MAJOR/SU2", summary.getTopChecks().get(0).getKey()); //$NON-NLS-1$
+        assertEquals(3, summary.getTopChecks().get(0).getCount());
+        assertEquals("document.order", summary.getTopObjects().get(0).getKey()); //$NON-NLS-1$
+
+        store.replaceProject(PROJECT, Arrays.asList(error, major, major, other));
+        assertEquals(revision, store.getRevision());
+
+        store.replaceProject(PROJECT, Collections.singletonList(error));
+        assertTrue(store.getRevision() > revision);
+        summary = store.summarize(PROJECT, 10);
+        assertNull(summary.getSeverityCounts().get(PROJECT).get("MAJOR")); //$NON-NLS-1$
+        assertEquals(1, summary.getTopObjects().size());
+    }
+
+    @Test
+    public void testChangesSince()
+    {
+        MarkerStore store = new MarkerStore();
+        MarkerEntry kept = marker("ERRORS", "SU1", "Document.Order.ObjectModule"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        MarkerEntry fixed = marker("MAJOR", "SU2", "Catalog.Products"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        MarkerEntry flaky = marker("MINOR", "SU3", "Catalog.Products"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        MarkerEntry introduced = marker("ERRORS", "SU4", "Document.Order.ObjectModule"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        store.replaceProject(PROJECT, Arrays.asList(kept, fixed));
+        long token = store.getRevision();
+
+        store.replaceProject(PROJECT, Arrays.asList(kept, flaky));
+        store.replaceProject(PROJECT, Arrays.asList(kept, introduced, introduced));
+
+        MarkerStore.Changes changes = store.changesSince(token, new MarkerStore.Query(), 100);
+        assertEquals(token, changes.getFromRevision());
+        assertEquals(store.getRevision(), changes.getToRevision());
+        assertEquals(Arrays.asList(introduced, introduced), changes.getAdded());
+        assertEquals(Collections.singletonList(fixed), changes.getRemoved());
+
+        changes = store.changesSince(token, new MarkerStore.Query().severity("ERRORS"), 1); //$NON-NLS-1$
+        assertEquals(2, changes.getAddedCount());
+        assertEquals(0, changes.getRemovedCount());
+        assertEquals(1, changes.getAdded().size());
+
+        changes = store.changesSince(store.getRevision(), new MarkerStore.Query(), 100);
+        assertTrue(changes.getAdded().isEmpty() && changes.getRemoved().isEmpty());
+        assertNull(store.changesSince(store.getRevision() + 1, new MarkerStore.Query(), 100));
+    }
+
+    @Test
+    public void testJournalCapacity()
+    {
+        MarkerStore store = new MarkerStore(100, 2);
+        MarkerEntry first = marker("ERRORS", "SU1", "Document.Order"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        MarkerEntry second = marker("ERRORS", "SU2", "Document.Order"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertNull(store.changesSince(99, new MarkerStore.Query(), 100));
+        store.replaceProject(PROJECT, Collections.singletonList(first));
+        assertEquals(101, store.getRevision());
+        store.replaceProject(PROJECT, Collections.singletonList(second));
+
+        assertNull(store.changesSince(100, new MarkerStore.Query(), 100));
+        MarkerStore.Changes changes = store.changesSince(101, new MarkerStore.Query(), 100);
+        assertEquals(Collections.singletonList(second), changes.getAdded());
+        assertEquals(Collections.singletonList(first), changes.getRemoved());
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ModuleDescriptor}.
+ */
+public class ModuleDescriptorTest
+{
+    @Test
+    public void testObjectModule()
+    {
+        ModuleDescriptor module = ModuleDescriptor.of("Documents/Order/ObjectModule.bsl", 120); //$NON-NLS-1$
+        assertEquals("Documents/Order/ObjectModule.bsl", module.getModulePath()); //$NON-NLS-1$
+        assertEquals("Document", module.getOwnerType()); //$NON-NLS-1$
+        assertEquals("Order", module.getOwnerName()); //$NON-NLS-1$
+        assertEquals("ObjectModule", module.getModuleType()); //$NON-NLS-1$
+        assertEquals(120, module.getSize());
+    }
+
+    @Test
+    public void testFormAndCommandModules()
+    {
+        assertEquals("FormModule", //$NON-NLS-1$
+            ModuleDescriptor.of("Catalogs/Products/Forms/ItemForm/Module.bsl", 0).getModuleType()); //$NON-NLS-1$
+        assertEquals("CommandModule", //$NON-NLS-1$
+            ModuleDescriptor.of("Catalogs/Products/Commands/Print/CommandModule.bsl", 0).getModuleType()); //$NON-NLS-1$
+        assertEquals("FormModule", //$NON-NLS-1$
+            ModuleDescriptor.of("CommonForms/Settings/Module.bsl", 0).getModuleType()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testCommonModule()
+    {
+        ModuleDescriptor module = ModuleDescriptor.of("CommonModules/Utils/Module.bsl", 0); //$NON-NLS-1$
+        assertEquals("CommonModule", module.getOwnerType()); //$NON-NLS-1$
+        assertEquals("Utils", module.getOwnerName()); //$NON-NLS-1$
+        assertEquals("Module", module.getModuleType()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testConfigurationModule()
+    {
+        ModuleDescriptor module = ModuleDescriptor.of("Configuration/ManagedApplicationModule.bsl", 0); //$NON-NLS-1$
+        assertEquals("Configuration", module.getOwnerType()); //$NON-NLS-1$
+        assertEquals("Configuration", module.getOwnerName()); //$NON-NLS-1$
+        assertEquals("ManagedApplicationModule", module.getModuleType()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testUnknownCollectionAndTopLevelFile()
+    {
+        ModuleDescriptor module = ModuleDescriptor.of("Unknown/Thing/Module.bsl", 0); //$NON-NLS-1$
+        assertEquals("Unknown", module.getOwnerType()); //$NON-NLS-1$
+        assertNull(ModuleDescriptor.of("Module.bsl", 0)); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.ditrix.edt.mcp.server.index.ModuleOutline.MethodEntry;
+import com.ditrix.edt.mcp.server.index.ModuleOutline.RegionEntry;
+import com.ditrix.edt.mcp.server.index.ModuleOutline.VariableEntry;
+import com.ditrix.edt.mcp.server.index.ModuleOutlineCache.CachedOutline;
+
+/**
+ * Tests for {@link ModuleOutline} and the {@link ModuleOutlineCache} store format.
+ */
+public class ModuleOutlineTest
+{
+    private static ModuleOutline sample()
+    {
+        return new ModuleOutline(42,
+            Arrays.asList(new RegionEntry("ПрограммныйИнтерфейс", 1, 20)), //$NON-NLS-1$
+            Arrays.asList(
+                new MethodEntry("Тест", true, true, 3, 10, "&НаСервере", "ПрограммныйИнтерфейс", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    "Параметр1, Знач Параметр2 = 0", "// Описание\n// Параметры:"), //$NON-NLS-1$ //$NON-NLS-2$
+                new MethodEntry("Helper", false, false, 22, 30, null, null, "", null)), //$NON-NLS-1$ //$NON-NLS-2$
+            Arrays.asList(new VariableEntry("Кэш", true, 2, "ПрограммныйИнтерфейс"))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static ModuleOutline roundTrip(ModuleOutline outline) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        outline.writeTo(new DataOutputStream(bytes));
+        return ModuleOutline.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testRoundTripKeepsAllFields() throws IOException
+    {
+        ModuleOutline copy = roundTrip(sample());
+
+        assertEquals(42, copy.getTotalLines());
+        assertEquals(1, copy.getRegions().size());
+        assertEquals("ПрограммныйИнтерфейс", copy.getRegions().get(0).name); //$NON-NLS-1$
+        assertEquals(20, copy.getRegions().get(0).endLine);
+
+        assertEquals(2, copy.getMethods().size());
+        MethodEntry first = copy.getMethods().get(0);
+        assertEquals("Тест", first.name); //$NON-NLS-1$
+        assertTrue(first.isFunction);
+        assertTrue(first.isExport);
+        assertEquals(3, first.startLine);
+        assertEquals(10, first.endLine);
+        assertEquals("&НаСервере", first.executionContext); //$NON-NLS-1$
+        assertEquals("Параметр1, Знач Параметр2 = 0", first.paramsString); //$NON-NLS-1$
+        assertEquals("// Описание\n// Параметры:", first.docComment); //$NON-NLS-1$
+
+        MethodEntry second = copy.getMethods().get(1);
+        assertFalse(second.isFunction);
+        assertFalse(second.isExport);
+        assertNull(second.executionContext);
+        assertNull(second.region);
+        assertNull(second.docComment);
+
+        assertEquals(1, copy.getVariables().size());
+        assertEquals("Кэш", copy.getVariables().get(0).name); //$NON-NLS-1$
+        assertTrue(copy.getVariables().get(0).isExport);
+    }
+
+    @Test
+    public void testEmptyOutline() throws IOException
+    {
+        ModuleOutline copy = roundTrip(new ModuleOutline(0, Collections.emptyList(),
+            Collections.emptyList(), Collections.emptyList()));
+        assertEquals(0, copy.getTotalLines());
+        assertTrue(copy.getMethods().isEmpty());
+    }
+
+    @Test
+    public void testStoreRoundTrip() throws IOException
+    {
+        Map<String, CachedOutline> entries = new HashMap<>();
+        entries.put("commonmodules/a/module.bsl", //$NON-NLS-1$
+            new CachedOutline("CommonModules/A/Module.bsl", 7L, sample())); //$NON-NLS-1$
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ModuleOutlineCache.writeStore(new DataOutputStream(bytes), entries);
+
+        Map<String, CachedOutline> loaded = new HashMap<>();
+        ModuleOutlineCache.readStore(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), loaded);
+
+        CachedOutline entry = loaded.get("commonmodules/a/module.bsl"); //$NON-NLS-1$
+        assertNotNull(entry);
+        assertEquals("CommonModules/A/Module.bsl", entry.modulePath); //$NON-NLS-1$
+        assertEquals(7L, entry.modificationStamp);
+        assertEquals(2, entry.outline.getMethods().size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnknownFormatIsRejected() throws IOException
+    {
+        byte[] garbage = { 1, 2, 3, 4, 0, 0, 0, 0 };
+        ModuleOutlineCache.readStore(new DataInputStream(new ByteArrayInputStream(garbage)), new HashMap<>());
+    }
+
+    @Test
+    public void testCorruptFileLoadsEmpty() throws IOException
+    {
+        Path file = Files.createTempFile("outline", ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+        try
+        {
+            Map<String, CachedOutline> entries = new HashMap<>();
+            entries.put("a", new CachedOutline("A", 1L, sample())); //$NON-NLS-1$ //$NON-NLS-2$
+            ModuleOutlineCache.save(file, entries);
+            assertEquals(1, ModuleOutlineCache.load(file).size());
+
+            // Truncated file
+            byte[] content = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(content, content.length / 2));
+            assertTrue(ModuleOutlineCache.load(file).isEmpty());
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.index;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link WeightedLruCache}.
+ */
+public class WeightedLruCacheTest
+{
+    @Test
+    public void testGetAndPut()
+    {
+        WeightedLruCache<String, String> cache = new WeightedLruCache<>(100);
+        assertNull(cache.get("a")); //$NON-NLS-1$
+        cache.put("a", "A", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("A", cache.get("a")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(10, cache.weight());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed()
+    {
+        WeightedLruCache<String, String> cache = new WeightedLruCache<>(30);
+        cache.put("a", "A", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.put("b", "B", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.put("c", "C", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.get("a"); //$NON-NLS-1$
+        cache.put("d", "D", 10); //$NON-NLS-1$ //$NON-NLS-2$
+
+        assertNull(cache.get("b")); //$NON-NLS-1$
+        assertNotNull(cache.get("a")); //$NON-NLS-1$
+        assertNotNull(cache.get("c")); //$NON-NLS-1$
+        assertNotNull(cache.get("d")); //$NON-NLS-1$
+        assertEquals(30, cache.weight());
+    }
+
+    @Test
+    public void testReplaceUpdatesWeight()
+    {
+        WeightedLruCache<String, String> cache = new WeightedLruCache<>(100);
+        cache.put("a", "A", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.put("a", "AA", 25); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(1, cache.size());
+        assertEquals(25, cache.weight());
+        assertEquals("AA", cache.get("a")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testOversizedValueIsNotStored()
+    {
+        WeightedLruCache<String, String> cache = new WeightedLruCache<>(10);
+        cache.put("a", "A", 5); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.put("big", "B", 11); //$NON-NLS-1$ //$NON-NLS-2$
+        assertNull(cache.get("big")); //$NON-NLS-1$
+        assertNotNull(cache.get("a")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testRemoveIfAndShrink()
+    {
+        WeightedLruCache<String, String> cache = new WeightedLruCache<>(100);
+        cache.put("p1/a", "A", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.put("p1/b", "B", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.put("p2/a", "C", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.removeIf(k -> k.startsWith("p1/")); //$NON-NLS-1$
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.weight());
+
+        cache.put("p2/b", "D", 10); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.setMaxWeight(10);
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("p2/b")); //$NON-NLS-1$
+    }
+}
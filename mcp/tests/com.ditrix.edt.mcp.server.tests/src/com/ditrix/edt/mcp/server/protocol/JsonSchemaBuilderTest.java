@@ -85,6 +85,20 @@ public class JsonSchemaBuilderTest
         assertTrue(schema.contains("\"required\":[\"objects\"]"));
     }
 
+    @Test
+    public void testObjectArrayProperty()
+    {
+        String schema = JsonSchemaBuilder.object()
+            .objectArrayProperty("edits", "Edits", JsonSchemaBuilder.object()
+                .stringProperty("modulePath", "Module path", true), true)
+            .build();
+
+        assertTrue(schema.contains("\"edits\":{\"type\":\"array\",\"items\":{\"type\":\"object\""));
+        assertTrue(schema.contains("\"modulePath\""));
+        assertTrue(schema.contains("\"required\":[\"modulePath\"]"));
+        assertTrue(schema.endsWith("\"required\":[\"edits\"]}"));
+    }
+
     @Test
     public void testMultipleProperties()
     {
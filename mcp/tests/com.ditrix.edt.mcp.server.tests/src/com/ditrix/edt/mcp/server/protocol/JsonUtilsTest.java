@@ -143,6 +143,36 @@ public class JsonUtilsTest
         assertEquals(50, JsonUtils.extractIntArgument(params, "limit", 50));
     }
 
+    // --- extractLongArgument ---
+
+    @Test
+    public void testExtractLongArgumentValid()
+    {
+        Map<String, String> params = new HashMap<>();
+        params.put("revision", "1760000000123");
+        assertEquals(1760000000123L, JsonUtils.extractLongArgument(params, "revision", -1));
+    }
+
+    @Test
+    public void testExtractLongArgumentDoubleForm()
+    {
+        // Gson serializes large JSON numbers as "1.760000000123E12"
+        Map<String, String> params = new HashMap<>();
+        params.put("revision", Double.toString(1760000000123.0));
+        assertEquals(1760000000123L, JsonUtils.extractLongArgument(params, "revision", -1));
+    }
+
+    @Test
+    public void testExtractLongArgumentInvalid()
+    {
+        Map<String, String> params = new HashMap<>();
+        params.put("revision", "1.5");
+        assertEquals(-1, JsonUtils.extractLongArgument(params, "revision", -1));
+        params.put("revision", "abc");
+        assertEquals(-1, JsonUtils.extractLongArgument(params, "revision", -1));
+        assertEquals(-1, JsonUtils.extractLongArgument(new HashMap<>(), "revision", -1));
+    }
+
     // --- extractArrayArgument ---
 
     @Test
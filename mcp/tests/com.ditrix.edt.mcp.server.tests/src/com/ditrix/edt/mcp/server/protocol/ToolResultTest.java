@@ -111,4 +111,14 @@ public class ToolResultTest
         assertNotNull(json);
         assertTrue(json.startsWith("["));
     }
+
+    @Test
+    public void testIsError()
+    {
+        assertTrue(ToolResult.isError(ToolResult.error("failed").toJson()));
+        assertTrue(ToolResult.isError("{\"error\":\"failed\"}"));
+        assertFalse(ToolResult.isError(ToolResult.success().toJson()));
+        assertFalse(ToolResult.isError("## Markdown"));
+        assertFalse(ToolResult.isError(null));
+    }
 }
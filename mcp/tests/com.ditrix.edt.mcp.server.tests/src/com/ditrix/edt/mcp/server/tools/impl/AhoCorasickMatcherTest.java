@@ -0,0 +1,77 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link AhoCorasickMatcher}.
+ */
+public class AhoCorasickMatcherTest
+{
+    private static List<String> scan(AhoCorasickMatcher matcher, String text)
+    {
+        List<String> result = new ArrayList<>();
+        matcher.scan(text, 0, text.length(), (p, start, end) -> {
+            result.add(p + "@" + start + "-" + end); //$NON-NLS-1$ //$NON-NLS-2$
+            return true;
+        });
+        return result;
+    }
+
+    @Test
+    public void testClassicOverlappingPatterns()
+    {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+            Arrays.asList("he", "she", "his", "hers"), true); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        assertEquals(4, matcher.patternCount());
+        assertEquals(Arrays.asList("1@1-4", "0@2-4", "3@2-6"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            scan(matcher, "ushers")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testSuffixPatternsAreReported()
+    {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+            Arrays.asList("a", "aa", "aaa"), true); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertEquals(6, scan(matcher, "aaa").size()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testCaseInsensitiveCyrillic()
+    {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+            Arrays.asList("Процедура", "КонецПроцедуры"), false); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(Arrays.asList("0@0-9", "1@10-24"), //$NON-NLS-1$ //$NON-NLS-2$
+            scan(matcher, "ПРОЦЕДУРА конецпроцедуры")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testCaseSensitive()
+    {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(Arrays.asList("Export"), true); //$NON-NLS-1$
+        assertTrue(scan(matcher, "export EXPORT").isEmpty()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testScanRangeAndStop()
+    {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(Arrays.asList("ab"), true); //$NON-NLS-1$
+        List<Integer> starts = new ArrayList<>();
+        matcher.scan("ab ab ab", 1, 8, (p, start, end) -> { //$NON-NLS-1$
+            starts.add(start);
+            return false;
+        });
+        assertEquals(Arrays.asList(3), starts);
+    }
+}
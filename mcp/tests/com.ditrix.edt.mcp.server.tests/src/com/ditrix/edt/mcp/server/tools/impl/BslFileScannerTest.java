@@ -0,0 +1,222 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import com.ditrix.edt.mcp.server.tools.impl.BslFileScanner.MultiLineMatcher;
+import com.ditrix.edt.mcp.server.tools.impl.BslFileScanner.MultiQuery;
+import com.ditrix.edt.mcp.server.tools.impl.BslFileScanner.Query;
+import com.ditrix.edt.mcp.server.tools.impl.BslLexer.SpanKind;
+
+/**
+ * Tests for {@link BslFileScanner}.
+ */
+public class BslFileScannerTest
+{
+    private static int count(String content, Query query)
+    {
+        return count(content.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, query);
+    }
+
+    private static int count(byte[] content, Charset charset, Query query)
+    {
+        try
+        {
+            return BslFileScanner.countMatchingLines(ByteBuffer.wrap(content), charset, query);
+        }
+        catch (Exception e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void testEmptyContent()
+    {
+        assertEquals(0, count("", Query.literal("x", true))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testCountsLinesNotOccurrences()
+    {
+        String content = "a = a + a;\nb = 1;\nc = a;"; //$NON-NLS-1$
+        assertEquals(2, count(content, Query.literal("a", true))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testMixedLineTerminators()
+    {
+        String content = "Foo\r\nBar\rFoo\nFoo"; //$NON-NLS-1$
+        assertEquals(3, count(content, Query.literal("Foo", true))); //$NON-NLS-1$
+        assertEquals(1, count(content, Query.literal("Bar", true))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testMatchDoesNotSpanLines()
+    {
+        assertEquals(0, count("ab\ncd", Query.literal("bc", true))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testCaseInsensitiveCyrillic()
+    {
+        String content = "Процедура Тест()"; //$NON-NLS-1$
+        assertEquals(1, count(content, Query.literal("пРОЦедура", false))); //$NON-NLS-1$
+        assertEquals(0, count(content, Query.literal("пРОЦедура", true))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testContentLargerThanPooledBuffer()
+    {
+        StringBuilder content = new StringBuilder();
+        while (content.length() < 2 * 1024 * 1024)
+        {
+            content.append("Процедура Тест()\nКонецПроцедуры\n"); //$NON-NLS-1$
+        }
+        int procedures = content.length() / "Процедура Тест()\nКонецПроцедуры\n".length(); //$NON-NLS-1$
+        assertEquals(procedures, count(content.toString(), Query.literal("процедура тест", false))); //$NON-NLS-1$
+        // The per-thread buffer still serves small content afterwards
+        assertEquals(1, count("Процедура Тест()", Query.literal("процедура", false))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testCaseSensitiveCyrillicBytes()
+    {
+        String content = "Значение = 1;\nзначение = 2;"; //$NON-NLS-1$
+        assertEquals(1, count(content, Query.literal("Знач", true))); //$NON-NLS-1$
+        assertEquals(2, count(content, Query.literal("Знач", false))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testUtf8BomIsSkipped()
+    {
+        byte[] body = "Export\nExport".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+        byte[] content = new byte[body.length + 3];
+        content[0] = (byte) 0xEF;
+        content[1] = (byte) 0xBB;
+        content[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, content, 3, body.length);
+        assertEquals(2, count(content, StandardCharsets.ISO_8859_1, Query.literal("Export", true))); //$NON-NLS-1$
+        assertEquals(2, count(content, StandardCharsets.ISO_8859_1,
+            Query.regex(Pattern.compile("^Export$")))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testRegexIsAppliedPerLine()
+    {
+        String content = "Procedure A()\n  Procedure B()\n\nEndProcedure"; //$NON-NLS-1$
+        assertEquals(1, count(content, Query.regex(Pattern.compile("^Procedure")))); //$NON-NLS-1$
+        assertEquals(1, count(content, Query.regex(Pattern.compile("^$")))); //$NON-NLS-1$
+        assertEquals(2, count(content, Query.regex(Pattern.compile("\\)$")))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testCodeScopeSkipsCommentsAndStrings()
+    {
+        String content = "Message(\"Error\"); // Error\nRaise Error;\n// Error"; //$NON-NLS-1$
+        assertEquals(3, count(content, Query.literal("error", false))); //$NON-NLS-1$
+        assertEquals(1, count(content, Query.literal("error", false).withScope(SpanKind.CODE))); //$NON-NLS-1$
+        assertEquals(2, count(content, Query.literal("error", false).withScope(SpanKind.COMMENT))); //$NON-NLS-1$
+        assertEquals(1, count(content, Query.literal("Error", true).withScope(SpanKind.STRING))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testScopedRegexRequiresWholeMatchInsideSpan()
+    {
+        String content = "x = \"a\" + b;"; //$NON-NLS-1$
+        Query query = Query.regex(Pattern.compile("a\" \\+")); //$NON-NLS-1$
+        assertEquals(1, count(content, query));
+        assertEquals(0, count(content, query.withScope(SpanKind.CODE)));
+        assertEquals(1, count(content, Query.regex(Pattern.compile("\\+ b")).withScope(SpanKind.CODE))); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testScopeTracksMultilineStrings()
+    {
+        String content = "q = \"SELECT\n|  Ref\n|FROM Catalog\";\nRef = 1;"; //$NON-NLS-1$
+        assertEquals(1, count(content, Query.literal("Ref", true).withScope(SpanKind.STRING))); //$NON-NLS-1$
+        assertEquals(1, count(content, Query.literal("Ref", true).withScope(SpanKind.CODE))); //$NON-NLS-1$
+    }
+
+    /**
+     * Returns matching line counts per query.
+     */
+    private static int[] countMulti(String content, MultiQuery query)
+    {
+        int[] counts = new int[query.size()];
+        MultiLineMatcher matcher = query.newLineMatcher();
+        try
+        {
+            BslFileScanner.forEachLine(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, (text, start, end, lineNumber) -> {
+                    int hits = matcher.match(text, start, end);
+                    for (int i = 0; i < hits; i++)
+                    {
+                        counts[matcher.hit(i)]++;
+                    }
+                });
+        }
+        catch (Exception e)
+        {
+            throw new AssertionError(e);
+        }
+        return counts;
+    }
+
+    @Test
+    public void testForEachLineNumbersLines()
+    {
+        StringBuilder sb = new StringBuilder();
+        try
+        {
+            BslFileScanner.forEachLine(ByteBuffer.wrap("a\r\n\nb\n".getBytes(StandardCharsets.UTF_8)), //$NON-NLS-1$
+                StandardCharsets.UTF_8, (text, start, end, lineNumber) -> sb.append(lineNumber).append(':')
+                    .append(text.subSequence(start, end)).append(';'));
+        }
+        catch (Exception e)
+        {
+            throw new AssertionError(e);
+        }
+        assertEquals("1:a;2:;3:b;", sb.toString()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testMultiQueryCountsLinesPerQuery()
+    {
+        String content = "Query = New Query;\nQuery.Execute();\nRecord.Write();"; //$NON-NLS-1$
+        MultiQuery query = MultiQuery.compile(
+            Arrays.asList("query", "write", "missing"), false, false, null); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertArrayEquals(new int[] { 2, 1, 0 }, countMulti(content, query));
+    }
+
+    @Test
+    public void testMultiQueryMixesLiteralsAndRegex()
+    {
+        String content = "Procedure A() Export\nFunction B()\nEndFunction"; //$NON-NLS-1$
+        MultiQuery query = MultiQuery.compile(
+            Arrays.asList("Export", "^Function\\s", "End"), true, true, null); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertArrayEquals(new int[] { 1, 1, 1 }, countMulti(content, query));
+    }
+
+    @Test
+    public void testMultiQueryRespectsScope()
+    {
+        String content = "Message(\"Error\"); // Warning\nRaise Error;"; //$NON-NLS-1$
+        MultiQuery query = MultiQuery.compile(
+            Arrays.asList("Error", "Warning"), false, true, SpanKind.CODE); //$NON-NLS-1$ //$NON-NLS-2$
+        assertArrayEquals(new int[] { 1, 0 }, countMulti(content, query));
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.ditrix.edt.mcp.server.tools.impl.BslLexer.SpanKind;
+import com.ditrix.edt.mcp.server.tools.impl.BslLexer.Spans;
+
+/**
+ * Tests for {@link BslLexer}.
+ */
+public class BslLexerTest
+{
+    private static String describe(String line, int state, Spans spans)
+    {
+        spans.clear();
+        BslLexer.scanLine(line, 0, line.length(), state, spans);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < spans.size(); i++)
+        {
+            sb.append(spans.kind(i).name().charAt(0))
+                .append('[').append(line, spans.start(i), spans.end(i)).append(']');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testPlainCode()
+    {
+        assertEquals("C[x = 1;]", describe("x = 1;", BslLexer.STATE_DEFAULT, new Spans())); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testEmptyLineHasNoSpans()
+    {
+        Spans spans = new Spans();
+        assertEquals(BslLexer.STATE_DEFAULT, BslLexer.scanLine("", 0, 0, BslLexer.STATE_DEFAULT, spans)); //$NON-NLS-1$
+        assertEquals(0, spans.size());
+    }
+
+    @Test
+    public void testTrailingComment()
+    {
+        assertEquals("C[x = 1; ]C[// note]", //$NON-NLS-1$
+            describe("x = 1; // note", BslLexer.STATE_DEFAULT, new Spans())); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testCommentMarkerInsideString()
+    {
+        assertEquals("C[Url = ]S[\"https://example.com\"]C[;]", //$NON-NLS-1$
+            describe("Url = \"https://example.com\";", BslLexer.STATE_DEFAULT, new Spans())); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testEscapedQuotes()
+    {
+        assertEquals("C[a = ]S[\"say \"\"hi\"\"\"]C[;]", //$NON-NLS-1$
+            describe("a = \"say \"\"hi\"\"\";", BslLexer.STATE_DEFAULT, new Spans())); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testDateLiteral()
+    {
+        assertEquals("C[d = ]S['20240101']C[;]", //$NON-NLS-1$
+            describe("d = '20240101';", BslLexer.STATE_DEFAULT, new Spans())); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testPreprocessorAndDirective()
+    {
+        Spans spans = new Spans();
+        assertEquals("P[#Region Public ]C[// api]", //$NON-NLS-1$
+            describe("#Region Public // api", BslLexer.STATE_DEFAULT, spans)); //$NON-NLS-1$
+        assertEquals("C[  ]P[&AtServer]", describe("  &AtServer", BslLexer.STATE_DEFAULT, spans)); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testMultilineString()
+    {
+        Spans spans = new Spans();
+        String first = "Text = \"SELECT"; //$NON-NLS-1$
+        String comment = "// between lines"; //$NON-NLS-1$
+        String middle = "  |  Field // not a comment"; //$NON-NLS-1$
+        String last = "  |FROM T\"; // done"; //$NON-NLS-1$
+
+        int state = BslLexer.scanLine(first, 0, first.length(), BslLexer.STATE_DEFAULT, spans);
+        assertEquals(BslLexer.STATE_IN_STRING, state);
+        assertEquals("C[Text = ]S[\"SELECT]", describe(first, BslLexer.STATE_DEFAULT, spans)); //$NON-NLS-1$
+
+        assertEquals(BslLexer.STATE_IN_STRING, BslLexer.scanLine(comment, 0, comment.length(), state, spans));
+        assertEquals("C[// between lines]", describe(comment, state, spans)); //$NON-NLS-1$
+
+        assertEquals(BslLexer.STATE_IN_STRING, BslLexer.scanLine(middle, 0, middle.length(), state, spans));
+        assertEquals("S[  |  Field // not a comment]", describe(middle, state, spans)); //$NON-NLS-1$
+
+        assertEquals(BslLexer.STATE_DEFAULT, BslLexer.scanLine(last, 0, last.length(), state, spans));
+        assertEquals("S[  |FROM T\"]C[; ]C[// done]", describe(last, state, spans)); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testUnterminatedStringRecoversOnCodeLine()
+    {
+        Spans spans = new Spans();
+        String line = "Procedure Next()"; //$NON-NLS-1$
+        assertEquals(BslLexer.STATE_DEFAULT,
+            BslLexer.scanLine(line, 0, line.length(), BslLexer.STATE_IN_STRING, spans));
+        assertEquals(1, spans.size());
+        assertEquals(SpanKind.CODE, spans.kind(0));
+    }
+
+    @Test
+    public void testOffsetsWithinLargerText()
+    {
+        String text = "a;\nb = \"x\"; // c"; //$NON-NLS-1$
+        Spans spans = new Spans();
+        BslLexer.scanLine(text, 3, text.length(), BslLexer.STATE_DEFAULT, spans);
+        assertEquals(SpanKind.STRING, spans.kind(1));
+        assertEquals(7, spans.start(1));
+        assertEquals(10, spans.end(1));
+    }
+}
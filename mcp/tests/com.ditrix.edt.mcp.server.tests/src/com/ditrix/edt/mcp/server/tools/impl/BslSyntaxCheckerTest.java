@@ -8,6 +8,7 @@ package com.ditrix.edt.mcp.server.tools.impl;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -614,4 +615,82 @@ public class BslSyntaxCheckerTest
         assertFalse(result.isValid());
         assertTrue(result.getErrors().get(0).contains("Unexpected")); //$NON-NLS-1$
     }
+
+    // ==================== Incremental check ====================
+
+    private static final List<String> MODULE = Arrays.asList(
+        "Procedure First()", //$NON-NLS-1$
+        "    If a Then", //$NON-NLS-1$
+        "        x = 1;", //$NON-NLS-1$
+        "    EndIf;", //$NON-NLS-1$
+        "EndProcedure", //$NON-NLS-1$
+        "", //$NON-NLS-1$
+        "Var Module;", //$NON-NLS-1$
+        "", //$NON-NLS-1$
+        "Function Second()", //$NON-NLS-1$
+        "    Return 1;", //$NON-NLS-1$
+        "EndFunction" //$NON-NLS-1$
+    );
+
+    private static List<String> edit(List<String> lines, int index, String... replacement)
+    {
+        List<String> result = new ArrayList<>(lines);
+        result.remove(index);
+        result.addAll(index, Arrays.asList(replacement));
+        return result;
+    }
+
+    @Test
+    public void testCheckChangedUnchanged()
+    {
+        assertTrue(BslSyntaxChecker.checkChanged(MODULE, MODULE).isValid());
+    }
+
+    @Test
+    public void testCheckChangedReportsErrorInEditedMethod()
+    {
+        List<String> updated = edit(MODULE, 2, "        x = 1;", "        While b Do"); //$NON-NLS-1$ //$NON-NLS-2$
+        CheckResult result = BslSyntaxChecker.checkChanged(MODULE, updated);
+        assertFalse(result.isValid());
+        assertEquals(BslSyntaxChecker.check(updated).getErrors(), result.getErrors());
+        assertTrue(result.getErrors().get(0).contains("at line 5")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testCheckChangedIgnoresUntouchedMethods()
+    {
+        // First() is already broken; editing Second() does not report it
+        List<String> broken = edit(MODULE, 3, "    x = 2;"); //$NON-NLS-1$
+        List<String> updated = edit(broken, 9, "    Return 2;"); //$NON-NLS-1$
+        assertFalse(BslSyntaxChecker.check(updated).isValid());
+        assertTrue(BslSyntaxChecker.checkChanged(broken, updated).isValid());
+
+        updated = edit(broken, 9, "    Try"); //$NON-NLS-1$
+        CheckResult result = BslSyntaxChecker.checkChanged(broken, updated);
+        assertFalse(result.isValid());
+        for (String error : result.getErrors())
+        {
+            assertFalse(error, error.contains("line 2")); //$NON-NLS-1$
+        }
+    }
+
+    @Test
+    public void testCheckChangedRemovedEndProcedure()
+    {
+        List<String> updated = new ArrayList<>(MODULE);
+        updated.remove(4);
+        CheckResult result = BslSyntaxChecker.checkChanged(MODULE, updated);
+        assertFalse(result.isValid());
+        assertEquals(BslSyntaxChecker.check(updated).getErrors(), result.getErrors());
+    }
+
+    @Test
+    public void testCheckChangedBetweenMethods()
+    {
+        List<String> updated = edit(MODULE, 6, "EndIf;"); //$NON-NLS-1$
+        CheckResult result = BslSyntaxChecker.checkChanged(MODULE, updated);
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).contains("Unexpected")); //$NON-NLS-1$
+        assertTrue(result.getErrors().get(0).contains("line 7")); //$NON-NLS-1$
+    }
 }
@@ -0,0 +1,89 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link CheckModulesSyntaxTool}.
+ * <p>
+ * Tests cover tool metadata, parameter validation, which happens before the
+ * workspace is accessed, and the report. Checking modules needs a running Eclipse workspace.
+ */
+public class CheckModulesSyntaxToolTest
+{
+    @Test
+    public void testName()
+    {
+        assertEquals("check_modules_syntax", new CheckModulesSyntaxTool().getName()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testInputSchema()
+    {
+        String schema = new CheckModulesSyntaxTool().getInputSchema();
+        assertTrue(schema.contains("\"modules\":{\"type\":\"array\"")); //$NON-NLS-1$
+        assertTrue(schema.contains("\"changedOnly\"")); //$NON-NLS-1$
+        assertTrue(schema.contains("\"required\":[\"projectName\"]")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testResultFileName()
+    {
+        Map<String, String> params = new HashMap<>();
+        params.put("projectName", "MyProject"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("syntax-myproject.md", new CheckModulesSyntaxTool().getResultFileName(params)); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testMissingProjectName()
+    {
+        String result = new CheckModulesSyntaxTool().execute(new HashMap<>());
+        assertEquals("Error: projectName is required", result); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testUnknownMetadataType()
+    {
+        Map<String, String> params = new HashMap<>();
+        params.put("projectName", "TestProject"); //$NON-NLS-1$ //$NON-NLS-2$
+        params.put("metadataType", "noSuchType"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("Error: Unknown metadata type: noSuchType", new CheckModulesSyntaxTool().execute(params)); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testReportLimitAppliesAcrossModules()
+    {
+        Set<String> checked = new LinkedHashSet<>(List.of("A.bsl", "B.bsl", "C.bsl")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        Map<String, List<String>> errors = new HashMap<>();
+        errors.put("A.bsl", List.of("a1", "a2")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        errors.put("B.bsl", List.of("b1", "b2")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        errors.put("C.bsl", List.of("c1", "c2")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        String report = CheckModulesSyntaxTool.formatReport("P", checked, errors, Set.of(), 5, 3); //$NON-NLS-1$
+        assertTrue(report.contains("| A.bsl | a1 |")); //$NON-NLS-1$
+        assertTrue(report.contains("| A.bsl | a2 |")); //$NON-NLS-1$
+        assertTrue(report.contains("| B.bsl | b1 |")); //$NON-NLS-1$
+        assertFalse(report.contains("b2")); //$NON-NLS-1$
+        assertFalse(report.contains("C.bsl |")); //$NON-NLS-1$
+        assertTrue(report.contains("*Showing 3 of 6 errors")); //$NON-NLS-1$
+
+        // The limit also holds exactly at a module boundary
+        report = CheckModulesSyntaxTool.formatReport("P", checked, errors, Set.of(), 5, 2); //$NON-NLS-1$
+        assertTrue(report.contains("| A.bsl | a2 |")); //$NON-NLS-1$
+        assertFalse(report.contains("| B.bsl |")); //$NON-NLS-1$
+        assertFalse(report.contains("| C.bsl |")); //$NON-NLS-1$
+    }
+}
@@ -8,12 +8,22 @@ package com.ditrix.edt.mcp.server.tools.impl;
 
 import static org.junit.Assert.*;
 
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.jface.text.Document;
 import org.junit.Test;
 
+import com.ditrix.edt.mcp.server.index.LineIndex;
 import com.ditrix.edt.mcp.server.tools.IMcpTool.ResponseType;
+import com.ditrix.edt.mcp.server.tools.impl.WriteModuleSourceTool.LineChange;
 
 /**
  * Tests for {@link WriteModuleSourceTool}.
@@ -21,7 +31,8 @@ import com.ditrix.edt.mcp.server.tools.IMcpTool.ResponseType;
  * Tests cover: tool metadata, parameter validation, mode validation,
  * path traversal protection, .bsl extension check, modulePath resolution
  * from objectName + moduleType (including CommonForm/CommonCommand special cases),
- * searchReplace oldSource validation, and result file name generation.
+ * searchReplace oldSource validation, result file name generation, and the minimal
+ * line range edit applied to existing modules.
  * <p>
  * Note: tests that require Eclipse workspace (actual file I/O, searchReplace content matching)
  * are not included as they need a running Eclipse runtime. Those are covered by E2E tests.
@@ -618,4 +629,154 @@ public class WriteModuleSourceToolTest
         assertFalse(result.contains("oldSource is required")); //$NON-NLS-1$
         assertTrue(result.contains("Project not found")); //$NON-NLS-1$
     }
+
+    // ==================== Minimal line range edit ====================
+
+    private static String applyChange(String text, String... newLines) throws Exception
+    {
+        LineChange change = WriteModuleSourceTool.computeChange(LineIndex.of(text), Arrays.asList(newLines));
+        if (change == null)
+        {
+            return text;
+        }
+        Document document = new Document(text);
+        change.edit().apply(document);
+        return document.get();
+    }
+
+    @Test
+    public void testComputeChangeUnchanged()
+    {
+        assertNull(WriteModuleSourceTool.computeChange(LineIndex.of("a\r\nb\r\n"), List.of("a", "b"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    @Test
+    public void testComputeChangeCoversOnlyChangedLines()
+    {
+        String text = "a\r\nb\r\nc\r\nd\r\n"; //$NON-NLS-1$
+        LineChange change = WriteModuleSourceTool.computeChange(LineIndex.of(text),
+            List.of("a", "x", "y", "c", "d")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        assertEquals(2, change.fromLine());
+        assertEquals(1, change.linesRemoved());
+        assertEquals(2, change.linesInserted());
+        assertEquals(3, change.edit().getOffset());
+        assertEquals(3, change.edit().getLength());
+        assertEquals("x\r\ny\r\n", change.edit().getText()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testApplyChangeKeepsUntouchedSeparators() throws Exception
+    {
+        // Mixed separators outside the change stay as they are
+        assertEquals("a\nb\r\nX\r\nd", applyChange("a\nb\r\nc\r\nd", "a", "b", "X", "d")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+    }
+
+    @Test
+    public void testApplyChangeInsertAndDelete() throws Exception
+    {
+        assertEquals("a\nb\nc\n", applyChange("a\nc\n", "a", "b", "c")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        assertEquals("a\nc\n", applyChange("a\nb\nc\n", "a", "c")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        assertEquals("a\n", applyChange("a\nb\nc\n", "a")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertEquals("", applyChange("a\nb\n")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testApplyChangeAppend() throws Exception
+    {
+        assertEquals("a\r\nb\r\nc\r\n", applyChange("a\r\nb\r\n", "a", "b", "c")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        // A last line without terminator gets one before the appended lines
+        assertEquals("a\r\nb\r\nc\r\n", applyChange("a\r\nb", "a", "b", "c")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        assertEquals("x\n", applyChange("", "x")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    @Test
+    public void testApplyChangeRepeatedLines() throws Exception
+    {
+        // Prefix and suffix must not overlap when lines repeat
+        LineChange change = WriteModuleSourceTool.computeChange(LineIndex.of("a\na\n"), //$NON-NLS-1$
+            List.of("a", "a", "a")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertEquals(3, change.fromLine());
+        assertEquals(0, change.linesRemoved());
+        assertEquals(1, change.linesInserted());
+        assertEquals("a\na\na\n", applyChange("a\na\n", "a", "a", "a")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+    }
+
+    @Test
+    public void testApplyToAndUndoRoundTrip() throws Exception
+    {
+        String text = "a\r\nb\r\nc\r\n"; //$NON-NLS-1$
+        LineChange change = WriteModuleSourceTool.computeChange(LineIndex.of(text),
+            List.of("a", "x", "y", "c")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        String changed = change.applyTo(text);
+        assertEquals(applyChange(text, "a", "x", "y", "c"), changed); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+        Document document = new Document(changed);
+        change.undo(text).apply(document);
+        assertEquals(text, document.get());
+    }
+
+    private static ITextFileBuffer buffer(Document document, boolean dirty)
+    {
+        return (ITextFileBuffer)Proxy.newProxyInstance(WriteModuleSourceToolTest.class.getClassLoader(),
+            new Class<?>[] { ITextFileBuffer.class },
+            (proxy, method, args) -> "isDirty".equals(method.getName()) ? (Object)dirty : document); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testApplyInContextAppliesEdit()
+    {
+        String text = "a\nb\n"; //$NON-NLS-1$
+        LineChange change = WriteModuleSourceTool.computeChange(LineIndex.of(text), List.of("a", "x")); //$NON-NLS-1$ //$NON-NLS-2$
+        Document document = new Document(text);
+        CompletableFuture<Void> applied = new CompletableFuture<>();
+        WriteModuleSourceTool.applyInContext(buffer(document, false), change.edit(), text, applied,
+            new AtomicBoolean());
+        assertTrue(applied.isDone() && !applied.isCompletedExceptionally());
+        assertEquals(change.applyTo(text), document.get());
+    }
+
+    @Test
+    public void testApplyInContextSkipsCancelledEdit()
+    {
+        String text = "a\nb\n"; //$NON-NLS-1$
+        LineChange change = WriteModuleSourceTool.computeChange(LineIndex.of(text), List.of("a", "x")); //$NON-NLS-1$ //$NON-NLS-2$
+        Document document = new Document(text);
+        WriteModuleSourceTool.applyInContext(buffer(document, false), change.edit(), text,
+            new CompletableFuture<>(), new AtomicBoolean(true));
+        assertEquals(text, document.get());
+    }
+
+    @Test
+    public void testApplyInContextUndoesEditAfterWaiterGaveUp()
+    {
+        String text = "a\nb\n"; //$NON-NLS-1$
+        LineChange change = WriteModuleSourceTool.computeChange(LineIndex.of(text), List.of("a", "x")); //$NON-NLS-1$ //$NON-NLS-2$
+        Document document = new Document(text);
+        // The waiter timed out after the flag check of the runnable
+        CompletableFuture<Void> applied = new CompletableFuture<>();
+        applied.completeExceptionally(new TimeoutException());
+        WriteModuleSourceTool.applyInContext(buffer(document, false), change.edit(), text, applied,
+            new AtomicBoolean());
+        assertEquals(text, document.get());
+    }
+
+    @Test
+    public void testApplyInContextRejectsChangedBuffer() throws Exception
+    {
+        String text = "a\nb\n"; //$NON-NLS-1$
+        LineChange change = WriteModuleSourceTool.computeChange(LineIndex.of(text), List.of("a", "x")); //$NON-NLS-1$ //$NON-NLS-2$
+        Document document = new Document(text);
+        CompletableFuture<Void> applied = new CompletableFuture<>();
+        WriteModuleSourceTool.applyInContext(buffer(document, true), change.edit(), text, applied,
+            new AtomicBoolean());
+        assertTrue(applied.isCompletedExceptionally());
+        assertEquals(text, document.get());
+
+        document.replace(0, 1, "z"); //$NON-NLS-1$
+        applied = new CompletableFuture<>();
+        WriteModuleSourceTool.applyInContext(buffer(document, false), change.edit(), text, applied,
+            new AtomicBoolean());
+        assertTrue(applied.isCompletedExceptionally());
+        assertEquals("z\nb\n", document.get()); //$NON-NLS-1$
+    }
 }
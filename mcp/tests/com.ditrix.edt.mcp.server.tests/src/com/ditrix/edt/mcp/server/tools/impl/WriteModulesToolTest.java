@@ -0,0 +1,256 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.tools.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.junit.Test;
+
+import com.ditrix.edt.mcp.server.tools.impl.WriteModuleSourceTool.ModuleEdit;
+import com.ditrix.edt.mcp.server.tools.impl.WriteModuleSourceTool.PreparedWrite;
+
+/**
+ * Tests for {@link WriteModulesTool}.
+ * <p>
+ * Tests cover tool metadata, validation of the edits list, and the preparation and
+ * write/rollback sequencing with modules replaced by in-memory writes. Reading and
+ * writing module files needs a running Eclipse workspace.
+ */
+public class WriteModulesToolTest
+{
+    private static Map<String, String> params(String edits)
+    {
+        Map<String, String> params = new HashMap<>();
+        params.put("projectName", "TestProject"); //$NON-NLS-1$ //$NON-NLS-2$
+        if (edits != null)
+        {
+            params.put("edits", edits); //$NON-NLS-1$
+        }
+        return params;
+    }
+
+    @Test
+    public void testName()
+    {
+        assertEquals("write_modules", new WriteModulesTool().getName()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testInputSchema()
+    {
+        String schema = new WriteModulesTool().getInputSchema();
+        assertTrue(schema.contains("\"edits\":{\"type\":\"array\"")); //$NON-NLS-1$
+        assertTrue(schema.contains("\"oldSource\"")); //$NON-NLS-1$
+        assertTrue(schema.contains("\"required\":[\"projectName\",\"edits\"]")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testMissingProjectName()
+    {
+        Map<String, String> params = params("[]"); //$NON-NLS-1$
+        params.remove("projectName"); //$NON-NLS-1$
+        assertTrue(new WriteModulesTool().execute(params).contains("projectName is required")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testMissingOrEmptyEdits()
+    {
+        WriteModulesTool tool = new WriteModulesTool();
+        assertTrue(tool.execute(params(null)).contains("non-empty array")); //$NON-NLS-1$
+        assertTrue(tool.execute(params("[]")).contains("non-empty array")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(tool.execute(params("{\"source\":\"x\"}")).contains("non-empty array")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(tool.execute(params("[{")).contains("not valid JSON")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testInvalidEditReportsItsNumber()
+    {
+        WriteModulesTool tool = new WriteModulesTool();
+        String valid = "{\"modulePath\":\"CommonModules/A/Module.bsl\",\"source\":\"x = 1;\",\"mode\":\"append\"}"; //$NON-NLS-1$
+
+        String result = tool.execute(params("[" + valid + ",{\"modulePath\":\"CommonModules/B/Module.bsl\"}]")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("Error: edit #2: source is required", result); //$NON-NLS-1$
+
+        result = tool.execute(params("[" + valid //$NON-NLS-1$
+            + ",{\"modulePath\":\"../secret.bsl\",\"source\":\"x\",\"mode\":\"replace\"}]")); //$NON-NLS-1$
+        assertEquals("Error: edit #2: modulePath must not contain '..'", result); //$NON-NLS-1$
+
+        result = tool.execute(params("[{\"modulePath\":\"CommonModules/A/Module.bsl\",\"source\":\"x\"}]")); //$NON-NLS-1$
+        assertEquals("Error: edit #1: oldSource is required for searchReplace mode", result); //$NON-NLS-1$
+
+        result = tool.execute(params("[{\"objectName\":\"Unknown.Thing\",\"source\":\"x\",\"mode\":\"replace\"}]")); //$NON-NLS-1$
+        assertTrue(result.startsWith("Error: edit #1: unknown metadata type")); //$NON-NLS-1$
+
+        result = tool.execute(params("[1]")); //$NON-NLS-1$
+        assertEquals("Error: edit #1 is not an object", result); //$NON-NLS-1$
+    }
+
+    // ==================== Preparation and write sequencing ====================
+
+    private final List<String> log = new CopyOnWriteArrayList<>();
+
+    /**
+     * Records writes and rollbacks; fails the write or the rollback when asked to.
+     */
+    private final class RecordingWrite implements WriteModulesTool.ReversibleWrite
+    {
+        private final String modulePath;
+        private final boolean failWrite;
+        private final boolean failRollback;
+
+        RecordingWrite(String modulePath, boolean failWrite, boolean failRollback)
+        {
+            this.modulePath = modulePath;
+            this.failWrite = failWrite;
+            this.failRollback = failRollback;
+        }
+
+        @Override
+        public String modulePath()
+        {
+            return modulePath;
+        }
+
+        @Override
+        public void write() throws CoreException
+        {
+            log.add("write " + modulePath); //$NON-NLS-1$
+            if (failWrite)
+            {
+                throw new CoreException(new Status(IStatus.ERROR, "test", "disk full")); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+
+        @Override
+        public void rollback() throws CoreException
+        {
+            log.add("rollback " + modulePath); //$NON-NLS-1$
+            if (failRollback)
+            {
+                throw new CoreException(new Status(IStatus.ERROR, "test", "locked")); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+    }
+
+    @Test
+    public void testRejectionsAcrossSeveralModulesAreReportedInRequestOrder() throws Exception
+    {
+        Map<String, List<ModuleEdit>> byModule = new LinkedHashMap<>();
+        for (String module : List.of("A.bsl", "B.bsl", "C.bsl", "D.bsl")) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        {
+            byModule.put(module, List.of(new ModuleEdit("append", "x = 1;", null))); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        List<PreparedWrite> prepared = new ArrayList<>();
+        List<PreparedWrite> rejected = new ArrayList<>();
+        WriteModulesTool.prepareAll(byModule, (modulePath, edits) -> {
+            if (modulePath.startsWith("B")) //$NON-NLS-1$
+            {
+                throw new IllegalStateException("unreadable"); //$NON-NLS-1$
+            }
+            return modulePath.startsWith("D") //$NON-NLS-1$
+                ? PreparedWrite.rejected(modulePath, "Error: oldSource not found") //$NON-NLS-1$
+                : new PreparedWrite(null, modulePath, List.of("a"), List.of("a"), "a\n", "a\n", null, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                    false, true, 1);
+        }, prepared, rejected);
+
+        assertEquals(List.of("A.bsl", "C.bsl"), prepared.stream().map(w -> w.modulePath).toList()); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(List.of("B.bsl", "D.bsl"), rejected.stream().map(w -> w.modulePath).toList()); //$NON-NLS-1$ //$NON-NLS-2$
+
+        String report = WriteModulesTool.formatRejected(rejected, byModule.size());
+        assertTrue(report.startsWith("Error: 2 of 4 modules failed. Nothing was written.")); //$NON-NLS-1$
+        assertTrue(report.contains("### B.bsl\n\nError reading module: unreadable")); //$NON-NLS-1$
+        assertTrue(report.contains("### D.bsl\n\noldSource not found")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testEditsOfOneModuleAreAppliedInOrder()
+    {
+        List<String> lines = new ArrayList<>(List.of("a = 1;")); //$NON-NLS-1$
+        String error = WriteModuleSourceTool.applyEdits(lines, List.of(
+            new ModuleEdit("append", "b = 2;", null), //$NON-NLS-1$ //$NON-NLS-2$
+            new ModuleEdit("searchReplace", "b = 3;", "b = 2;"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertNull(error);
+        assertEquals(List.of("a = 1;", "b = 3;"), lines); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // The second edit sees the first one, so it no longer finds the replaced code
+        lines = new ArrayList<>(List.of("a = 1;")); //$NON-NLS-1$
+        error = WriteModuleSourceTool.applyEdits(lines, List.of(
+            new ModuleEdit("searchReplace", "a = 2;", "a = 1;"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            new ModuleEdit("searchReplace", "a = 3;", "a = 1;"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertTrue(error.startsWith("Error: oldSource not found")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testWriteAllWritesInOrder() throws Exception
+    {
+        WriteModulesTool.writeAll(List.of(new RecordingWrite("A", false, false), //$NON-NLS-1$
+            new RecordingWrite("B", false, false))); //$NON-NLS-1$
+        assertEquals(List.of("write A", "write B"), log); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testFailedWriteRestoresWrittenModulesInReverseOrder()
+    {
+        try
+        {
+            WriteModulesTool.writeAll(List.of(new RecordingWrite("A", false, false), //$NON-NLS-1$
+                new RecordingWrite("B", false, false), new RecordingWrite("C", true, false), //$NON-NLS-1$ //$NON-NLS-2$
+                new RecordingWrite("D", false, false))); //$NON-NLS-1$
+            fail("Expected CoreException"); //$NON-NLS-1$
+        }
+        catch (CoreException e)
+        {
+            assertEquals(List.of("write A", "write B", "write C", "rollback B", "rollback A"), log); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+            assertEquals("writing C failed: disk full. The 2 modules written before it were restored; " //$NON-NLS-1$
+                + "nothing was changed.", e.getStatus().getMessage()); //$NON-NLS-1$
+        }
+    }
+
+    @Test
+    public void testModulesThatCannotBeRestoredAreReported()
+    {
+        try
+        {
+            WriteModulesTool.writeAll(List.of(new RecordingWrite("A", false, false), //$NON-NLS-1$
+                new RecordingWrite("B", false, true), new RecordingWrite("C", true, false))); //$NON-NLS-1$ //$NON-NLS-2$
+            fail("Expected CoreException"); //$NON-NLS-1$
+        }
+        catch (CoreException e)
+        {
+            assertEquals(List.of("write A", "write B", "write C", "rollback B", "rollback A"), log); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+            String message = e.getStatus().getMessage();
+            assertTrue(message.contains("1 of 2 modules written before it were restored")); //$NON-NLS-1$
+            assertTrue(message.contains("Could not restore: B.")); //$NON-NLS-1$
+            assertFalse(message.contains("nothing was changed")); //$NON-NLS-1$
+        }
+    }
+
+    @Test
+    public void testFirstFailedWriteChangesNothing()
+    {
+        try
+        {
+            WriteModulesTool.writeAll(List.of(new RecordingWrite("A", true, false))); //$NON-NLS-1$
+            fail("Expected CoreException"); //$NON-NLS-1$
+        }
+        catch (CoreException e)
+        {
+            assertEquals(List.of("write A"), log); //$NON-NLS-1$
+            assertEquals("writing A failed: disk full. Nothing was changed.", e.getStatus().getMessage()); //$NON-NLS-1$
+        }
+    }
+}
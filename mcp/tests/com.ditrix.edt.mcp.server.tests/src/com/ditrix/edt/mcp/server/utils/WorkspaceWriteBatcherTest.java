@@ -0,0 +1,229 @@
+/**
+ * MCP Server for EDT - Tests
+ * Copyright (C) 2026 Diversus23 (https://github.com/Diversus23)
+ * Licensed under AGPL-3.0-or-later
+ */
+
+package com.ditrix.edt.mcp.server.utils;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.junit.After;
+import org.junit.Test;
+
+import com.ditrix.edt.mcp.server.utils.WorkspaceWriteBatcher.BatchResult;
+
+/**
+ * Tests for {@link WorkspaceWriteBatcher}.
+ * <p>
+ * The workspace operation is replaced by a runner that records how many operations
+ * were run, so direct writes, batching, closing and failure propagation are tested
+ * without a workspace.
+ */
+public class WorkspaceWriteBatcherTest
+{
+    private static final IProject PROJECT = (IProject)Proxy.newProxyInstance(
+        WorkspaceWriteBatcherTest.class.getClassLoader(), new Class<?>[] { IProject.class },
+        (proxy, method, args) -> "getName".equals(method.getName()) ? "TestProject" : null); //$NON-NLS-1$ //$NON-NLS-2$
+
+    private final AtomicInteger operations = new AtomicInteger();
+    private final List<String> log = new CopyOnWriteArrayList<>();
+    private WorkspaceWriteBatcher batcher;
+
+    @After
+    public void tearDown()
+    {
+        if (batcher != null)
+        {
+            batcher.shutdown(1000);
+        }
+    }
+
+    private WorkspaceWriteBatcher create(long idleMs, long timeoutMs)
+    {
+        batcher = new WorkspaceWriteBatcher((project, operation) -> {
+            operations.incrementAndGet();
+            operation.run(null);
+        }, idleMs, timeoutMs);
+        return batcher;
+    }
+
+    private static CoreException coreException(String message)
+    {
+        return new CoreException(new Status(IStatus.ERROR, "test", message)); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testWritesOutsideBatchAreAppliedAtOnce() throws Exception
+    {
+        create(60_000, 5000);
+        batcher.run(PROJECT, monitor -> log.add("A")); //$NON-NLS-1$
+        assertEquals(List.of("A"), log); //$NON-NLS-1$
+        batcher.run(PROJECT, monitor -> log.add("B")); //$NON-NLS-1$
+        assertEquals(2, operations.get());
+        assertFalse(batcher.isOpen("TestProject")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testSubmitWithoutBatchIsAppliedAtOnce() throws Exception
+    {
+        create(60_000, 5000);
+        CompletableFuture<Void> write = batcher.submit(PROJECT, "A", monitor -> log.add("A")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(write.isDone() && !write.isCompletedExceptionally());
+        assertEquals(List.of("A"), log); //$NON-NLS-1$
+        assertEquals(1, operations.get());
+    }
+
+    @Test
+    public void testSequentialWritesInBatchShareOneOperation() throws Exception
+    {
+        create(60_000, 5000);
+        batcher.begin(PROJECT);
+        // Each call returns before the next one is made, as sequential tool calls do
+        batcher.submit(PROJECT, "A", monitor -> log.add("A")); //$NON-NLS-1$ //$NON-NLS-2$
+        batcher.submit(PROJECT, "B", monitor -> log.add("B")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(0, operations.get());
+
+        batcher.end(PROJECT);
+        assertEquals(List.of("A", "B"), log); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(1, operations.get());
+    }
+
+    @Test
+    public void testExplicitBatchIsAppliedAtEnd() throws Exception
+    {
+        create(60_000, 5000);
+        assertTrue(batcher.begin(PROJECT));
+        assertFalse(batcher.begin(PROJECT));
+        batcher.submit(PROJECT, "A", monitor -> log.add("A")); //$NON-NLS-1$ //$NON-NLS-2$
+        batcher.submit(PROJECT, "B", monitor -> log.add("B")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(batcher.hasPending("TestProject", "A")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(batcher.isOpen("TestProject")); //$NON-NLS-1$
+
+        Thread.sleep(100);
+        assertEquals(0, operations.get());
+
+        BatchResult result = batcher.end(PROJECT);
+        assertEquals(2, result.applied());
+        assertTrue(result.failures().isEmpty());
+        assertEquals(1, operations.get());
+        assertFalse(batcher.isOpen("TestProject")); //$NON-NLS-1$
+        assertNull(batcher.end(PROJECT));
+    }
+
+    @Test
+    public void testIdleExplicitBatchClosesItself() throws Exception
+    {
+        create(50, 5000);
+        batcher.begin(PROJECT);
+        CompletableFuture<Void> write = batcher.submit(PROJECT, "A", monitor -> log.add("A")); //$NON-NLS-1$ //$NON-NLS-2$
+        write.get(2, TimeUnit.SECONDS);
+        assertEquals(List.of("A"), log); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testFailedWriteIsReportedAndOthersAreApplied() throws Exception
+    {
+        create(60_000, 5000);
+        batcher.begin(PROJECT);
+        CompletableFuture<Void> failing = batcher.submit(PROJECT, "A", monitor -> { //$NON-NLS-1$
+            throw coreException("boom"); //$NON-NLS-1$
+        });
+        batcher.submit(PROJECT, "B", monitor -> log.add("B")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        BatchResult result = batcher.end(PROJECT);
+        assertEquals(1, result.applied());
+        assertEquals(List.of("A: boom"), result.failures()); //$NON-NLS-1$
+        assertEquals(List.of("B"), log); //$NON-NLS-1$
+        try
+        {
+            failing.get();
+            fail("Expected the failed write to complete exceptionally"); //$NON-NLS-1$
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof CoreException);
+        }
+    }
+
+    @Test
+    public void testRunRethrowsCoreException()
+    {
+        create(60_000, 5000);
+        try
+        {
+            batcher.run(PROJECT, monitor -> {
+                throw coreException("boom"); //$NON-NLS-1$
+            });
+            fail("Expected CoreException"); //$NON-NLS-1$
+        }
+        catch (CoreException e)
+        {
+            assertEquals("boom", e.getStatus().getMessage()); //$NON-NLS-1$
+        }
+    }
+
+    @Test
+    public void testErrorInOperationCompletesAllWrites() throws Exception
+    {
+        create(60_000, 5000);
+        batcher.begin(PROJECT);
+        CompletableFuture<Void> first = batcher.submit(PROJECT, "A", monitor -> { //$NON-NLS-1$
+            throw new AssertionError("fatal"); //$NON-NLS-1$
+        });
+        CompletableFuture<Void> second = batcher.submit(PROJECT, "B", monitor -> log.add("B")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        BatchResult result = batcher.end(PROJECT);
+        assertEquals(0, result.applied());
+        assertEquals(2, result.failures().size());
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertTrue(log.isEmpty());
+    }
+
+    @Test
+    public void testEndTimesOutWhileProjectIsBusy() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        batcher = new WorkspaceWriteBatcher((project, operation) -> {
+            try
+            {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            operation.run(null);
+        }, 60_000, 200);
+
+        batcher.begin(PROJECT);
+        CompletableFuture<Void> write = batcher.submit(PROJECT, "A", monitor -> log.add("A")); //$NON-NLS-1$ //$NON-NLS-2$
+        try
+        {
+            batcher.end(PROJECT);
+            fail("Expected a timeout"); //$NON-NLS-1$
+        }
+        catch (CoreException e)
+        {
+            assertTrue(e.getStatus().getMessage().contains("waiting for the project")); //$NON-NLS-1$
+        }
+        // The batch is still applied once the project is free
+        release.countDown();
+        write.get(2, TimeUnit.SECONDS);
+        assertEquals(List.of("A"), log); //$NON-NLS-1$
+    }
+}
@@ -161,6 +161,8 @@ class TestRunner:
         self._test("read_method_source", self.test_read_method_source)
         self._test("search_in_code", self.test_search_in_code)
         self._test("search_in_code_count", self.test_search_in_code_count)
+        self._test("search_in_code_scope", self.test_search_in_code_scope)
+        self._test("search_in_code_multi", self.test_search_in_code_multi)
 
         # Phase 5: Advanced tools
         self._section("Advanced Tools")
@@ -440,6 +442,23 @@ class TestRunner:
         })
         self._assert_success(resp)
 
+    def test_search_in_code_scope(self):
+        resp = self._call("search_in_code", {
+            "projectName": self.config.project,
+            "query": "Error",
+            "outputMode": "files",
+            "scope": "code"
+        })
+        self._assert_success(resp)
+
+    def test_search_in_code_multi(self):
+        resp = self._call("search_in_code", {
+            "projectName": self.config.project,
+            "queries": ["Procedure", "Function"],
+            "outputMode": "count"
+        })
+        self._assert_success(resp)
+
     # ──────────────────────────────────────────────────────────────────────
     # Advanced Tools
     # ──────────────────────────────────────────────────────────────────────